@@ -0,0 +1,101 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.benchmark;
+
+import com.navercorp.pinpoint.profiler.context.CallStack;
+import com.navercorp.pinpoint.profiler.context.DefaultCallStack;
+import com.navercorp.pinpoint.profiler.context.DefaultSpanChunkFactory;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanChunkFactory;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.SpanEventFactory;
+import com.navercorp.pinpoint.profiler.context.SpanType;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import com.navercorp.pinpoint.profiler.context.storage.BufferedStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DefaultCallStack push/pop and BufferedStorage span chunk flushing in isolation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CallStackBenchmark {
+
+    private static final int MAX_DEPTH = 64;
+    private static final int MAX_SEQUENCE = 5000;
+
+    @Param({"8", "32", "128"})
+    private int spanEventCount;
+
+    @Param({"20"})
+    private int bufferSize;
+
+    private final CallStack.Factory<SpanEvent> spanEventFactory = new SpanEventFactory();
+
+    private TraceRoot traceRoot;
+    private SpanChunkFactory spanChunkFactory;
+    private CountingDataSender<SpanType> dataSender;
+
+    @Setup
+    public void setup() {
+        this.traceRoot = SpanFixtures.newTraceRoot(1);
+        this.spanChunkFactory = new DefaultSpanChunkFactory(traceRoot);
+        this.dataSender = new CountingDataSender<>();
+    }
+
+    @Benchmark
+    public void callStackPushPop(Blackhole blackhole) {
+        final CallStack<SpanEvent> callStack = new DefaultCallStack<>(spanEventFactory, MAX_DEPTH, MAX_SEQUENCE);
+        final int depth = Math.min(spanEventCount, MAX_DEPTH);
+        for (int i = 0; i < depth; i++) {
+            callStack.push(callStack.newInstance());
+        }
+        for (int i = 0; i < depth; i++) {
+            blackhole.consume(callStack.pop());
+        }
+    }
+
+    @Benchmark
+    public Span bufferedStorage() {
+        final BufferedStorage storage = new BufferedStorage(spanChunkFactory, dataSender, bufferSize);
+        final Span span = new Span(traceRoot);
+        final long startTime = span.getStartTime();
+        for (int sequence = 0; sequence < spanEventCount; sequence++) {
+            final SpanEvent spanEvent = SpanFixtures.newSpanEvent(startTime, sequence);
+            storage.store(spanEvent);
+        }
+        storage.store(span);
+        storage.close();
+        return span;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.benchmark;
+
+import com.navercorp.pinpoint.common.profiler.message.DataSender;
+
+/**
+ * DataSender that only counts messages so that transport cost is excluded from the measurement.
+ */
+public class CountingDataSender<T> implements DataSender<T> {
+
+    private long count;
+    private int hash;
+
+    @Override
+    public boolean send(T data) {
+        count++;
+        // keep the message reachable so the JIT can not eliminate its construction
+        hash += System.identityHashCode(data);
+        return true;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public int getHash() {
+        return hash;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public String toString() {
+        return "CountingDataSender{" +
+                "count=" + count +
+                '}';
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.benchmark;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.GeneratedMessageV3;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.grpc.trace.PSpan;
+import com.navercorp.pinpoint.grpc.trace.PSpanChunk;
+import com.navercorp.pinpoint.profiler.context.DefaultSpanChunk;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanChunk;
+import com.navercorp.pinpoint.profiler.context.SpanType;
+import com.navercorp.pinpoint.profiler.context.compress.GrpcSpanProcessorV2;
+import com.navercorp.pinpoint.profiler.context.compress.SpanProcessor;
+import com.navercorp.pinpoint.profiler.context.grpc.GrpcSpanMessageConverter;
+import com.navercorp.pinpoint.profiler.context.grpc.config.SpanAutoUriGetter;
+import com.navercorp.pinpoint.profiler.context.grpc.encoder.GrpcSpanWireEncoder;
+import com.navercorp.pinpoint.profiler.context.grpc.mapper.AnnotationValueMapper;
+import com.navercorp.pinpoint.profiler.context.grpc.mapper.SpanMessageMapper;
+import com.navercorp.pinpoint.profiler.context.grpc.mapper.SpanMessageMapperImpl;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Span/SpanChunk to protobuf conversion (GrpcSpanProcessorV2 + SpanMessageMapper) and wire encoding,
+ * compared with direct wire encoding (GrpcSpanWireEncoder) into a reused buffer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SpanEncodingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int spanEventCount;
+
+    private GrpcSpanMessageConverter converter;
+    private GrpcSpanWireEncoder wireEncoder;
+    private byte[] buffer = new byte[1024];
+
+    private Span span;
+    private SpanChunk spanChunk;
+    private List<SpanType> spanBatch;
+    private List<SpanType> spanChunkBatch;
+
+    @Setup
+    public void setup() {
+        final SpanProcessor<PSpan.Builder, PSpanChunk.Builder> spanProcessor = new GrpcSpanProcessorV2();
+        final AnnotationValueMapper annotationValueMapper = Mappers.getMapper(AnnotationValueMapper.class);
+        final SpanMessageMapper spanMessageMapper = new SpanMessageMapperImpl(annotationValueMapper, new SpanAutoUriGetter());
+        this.converter = new GrpcSpanMessageConverter(SpanFixtures.AGENT_ID, ServiceType.STAND_ALONE.getCode(),
+                spanProcessor, spanMessageMapper);
+        this.wireEncoder = new GrpcSpanWireEncoder(ServiceType.STAND_ALONE.getCode(), spanMessageMapper);
+
+        final TraceRoot traceRoot = SpanFixtures.newTraceRoot(1);
+        this.span = SpanFixtures.newSpan(traceRoot, spanEventCount);
+        this.spanChunk = new DefaultSpanChunk(traceRoot, SpanFixtures.newSpanEventList(span.getStartTime(), spanEventCount));
+        this.spanBatch = Collections.singletonList(span);
+        this.spanChunkBatch = Collections.singletonList(spanChunk);
+    }
+
+    @Benchmark
+    public GeneratedMessageV3 spanToMessage() {
+        return converter.toMessage(span);
+    }
+
+    @Benchmark
+    public byte[] spanToByteArray() {
+        return converter.toMessage(span).toByteArray();
+    }
+
+    @Benchmark
+    public GeneratedMessageV3 spanChunkToMessage() {
+        return converter.toMessage(spanChunk);
+    }
+
+    @Benchmark
+    public byte[] spanChunkToByteArray() {
+        return converter.toMessage(spanChunk).toByteArray();
+    }
+
+    @Benchmark
+    public int spanDirectEncode() throws IOException {
+        return directEncode(spanBatch);
+    }
+
+    @Benchmark
+    public int spanChunkDirectEncode() throws IOException {
+        return directEncode(spanChunkBatch);
+    }
+
+    private int directEncode(List<SpanType> batch) throws IOException {
+        final int size = wireEncoder.computeBatchSize(batch);
+        if (buffer.length < size) {
+            buffer = new byte[size];
+        }
+        final CodedOutputStream out = CodedOutputStream.newInstance(buffer, 0, size);
+        wireEncoder.writeBatch(batch, out);
+        return size;
+    }
+}
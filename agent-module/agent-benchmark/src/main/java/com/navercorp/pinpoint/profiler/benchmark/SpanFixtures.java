@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.benchmark;
+
+import com.navercorp.pinpoint.common.profiler.util.TransactionId;
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.annotation.Annotations;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds Span/SpanEvent graphs shaped like a typical web request
+ * (servlet -> service -> repository -> jdbc, repeated).
+ */
+public final class SpanFixtures {
+
+    public static final String AGENT_ID = "benchmark-agent";
+    public static final long AGENT_START_TIME = 1700000000000L;
+
+    private static final int STACK_PATTERN = 4;
+
+    private SpanFixtures() {
+    }
+
+    public static TraceRoot newTraceRoot(long transactionSequence) {
+        final TransactionId transactionId = TransactionId.of(AGENT_ID, AGENT_START_TIME, transactionSequence);
+        final DefaultTraceId traceId = new DefaultTraceId(transactionId);
+        return TraceRoot.remote(traceId, AGENT_ID, AGENT_START_TIME + 100, transactionSequence);
+    }
+
+    public static Span newSpan(TraceRoot traceRoot, int spanEventCount) {
+        final Span span = new Span(traceRoot);
+        span.setServiceType(ServiceType.STAND_ALONE.getCode());
+        span.setApiId(1);
+        span.setRemoteAddr("10.0.0.1");
+        span.setAcceptorHost("benchmark.host:8080");
+        span.setElapsedTime(120);
+        span.addAnnotation(Annotations.of(AnnotationKey.HTTP_URL.getCode(), "/api/benchmark/orders"));
+        span.addAnnotation(Annotations.of(AnnotationKey.HTTP_STATUS_CODE.getCode(), 200));
+
+        span.setSpanEventList(newSpanEventList(span.getStartTime(), spanEventCount));
+        return span;
+    }
+
+    public static List<SpanEvent> newSpanEventList(long startTime, int spanEventCount) {
+        final List<SpanEvent> spanEventList = new ArrayList<>(spanEventCount);
+        for (int sequence = 0; sequence < spanEventCount; sequence++) {
+            spanEventList.add(newSpanEvent(startTime, sequence));
+        }
+        return spanEventList;
+    }
+
+    public static SpanEvent newSpanEvent(long startTime, int sequence) {
+        final SpanEvent spanEvent = new SpanEvent();
+        spanEvent.setSequence(sequence);
+        spanEvent.setDepth((sequence % STACK_PATTERN) + 1);
+        spanEvent.setStartTime(startTime + sequence);
+        spanEvent.setElapsedTime(sequence % 7);
+        spanEvent.setApiId(100 + (sequence % STACK_PATTERN));
+        if (sequence % STACK_PATTERN == STACK_PATTERN - 1) {
+            spanEvent.setServiceType((short) 2101);
+            spanEvent.setEndPoint("db.benchmark:3306");
+            spanEvent.setDestinationId("benchmarkdb");
+            spanEvent.addAnnotation(Annotations.of(AnnotationKey.SQL_ID.getCode(), sequence));
+        } else {
+            spanEvent.setServiceType(ServiceType.INTERNAL_METHOD.getCode());
+            spanEvent.addAnnotation(Annotations.of(AnnotationKey.ARGS0.getCode(), "arg-" + sequence));
+        }
+        return spanEvent;
+    }
+}
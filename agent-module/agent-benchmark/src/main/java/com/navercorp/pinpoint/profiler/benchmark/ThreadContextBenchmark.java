@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.benchmark;
+
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.bootstrap.interceptor.scope.ExecutionPolicy;
+import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScope;
+import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScopeInvocation;
+import com.navercorp.pinpoint.profiler.context.Binder;
+import com.navercorp.pinpoint.profiler.context.DefaultReference;
+import com.navercorp.pinpoint.profiler.context.Reference;
+import com.navercorp.pinpoint.profiler.context.ThreadLocalBinder;
+import com.navercorp.pinpoint.profiler.interceptor.scope.DefaultInterceptorScope;
+import com.navercorp.pinpoint.profiler.interceptor.scope.DefaultInterceptorScopeInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-thread lookups of an intercepted call: the bound Trace and a few interceptor scopes.
+ * {@code threadLocalPerScope} is the previous layout with a ThreadLocal per scope and for the Trace binder,
+ * {@code agentThreadContext} goes through the single {@link com.navercorp.pinpoint.profiler.util.AgentThreadContext}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ThreadContextBenchmark {
+
+    private static final int SCOPES_PER_CALL = 4;
+
+    @Param({"8", "64", "256"})
+    private int scopeCount;
+
+    private InterceptorScope[] threadLocalScopes;
+    private ThreadLocal<Reference<Trace>> threadLocalTrace;
+
+    private InterceptorScope[] contextScopes;
+    private Binder<Trace> contextTrace;
+
+    private int next;
+
+    @Setup
+    public void setup() {
+        this.threadLocalScopes = new InterceptorScope[scopeCount];
+        this.contextScopes = new InterceptorScope[scopeCount];
+        for (int i = 0; i < scopeCount; i++) {
+            final String name = "scope-" + i;
+            this.threadLocalScopes[i] = new ThreadLocalInterceptorScope(name);
+            this.contextScopes[i] = new DefaultInterceptorScope(name);
+        }
+        this.threadLocalTrace = ThreadLocal.withInitial(DefaultReference::new);
+        this.contextTrace = new ThreadLocalBinder<>();
+
+        // every scope has been entered once on this thread, as in a warmed up application
+        for (int i = 0; i < scopeCount; i++) {
+            threadLocalScopes[i].getCurrentInvocation();
+            contextScopes[i].getCurrentInvocation();
+        }
+    }
+
+    @Benchmark
+    public Trace threadLocalPerScope() {
+        final Trace trace = threadLocalTrace.get().get();
+        intercept(threadLocalScopes);
+        return trace;
+    }
+
+    @Benchmark
+    public Trace agentThreadContext() {
+        final Trace trace = contextTrace.get().get();
+        intercept(contextScopes);
+        return trace;
+    }
+
+    private void intercept(InterceptorScope[] scopes) {
+        final int start = next;
+        for (int i = 0; i < SCOPES_PER_CALL; i++) {
+            final InterceptorScopeInvocation invocation = scopes[(start + i) % scopes.length].getCurrentInvocation();
+            if (invocation.tryEnter(ExecutionPolicy.BOUNDARY)) {
+                invocation.leave(ExecutionPolicy.BOUNDARY);
+            }
+        }
+        next = (start + SCOPES_PER_CALL) % scopes.length;
+    }
+
+    /**
+     * The previous DefaultInterceptorScope.
+     */
+    private static class ThreadLocalInterceptorScope implements InterceptorScope {
+        private final String name;
+        private final ThreadLocal<InterceptorScopeInvocation> threadLocal;
+
+        ThreadLocalInterceptorScope(String name) {
+            this.name = name;
+            this.threadLocal = ThreadLocal.withInitial(() -> new DefaultInterceptorScopeInvocation(name));
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public InterceptorScopeInvocation getCurrentInvocation() {
+            return threadLocal.get();
+        }
+    }
+}
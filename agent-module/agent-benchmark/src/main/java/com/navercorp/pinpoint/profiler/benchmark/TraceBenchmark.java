@@ -0,0 +1,161 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.benchmark;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Module;
+import com.navercorp.pinpoint.bootstrap.context.MethodDescriptor;
+import com.navercorp.pinpoint.bootstrap.context.SpanEventRecorder;
+import com.navercorp.pinpoint.bootstrap.context.SpanRecorder;
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.bootstrap.context.TraceContext;
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.context.DefaultMethodDescriptor;
+import com.navercorp.pinpoint.profiler.context.SpanType;
+import com.navercorp.pinpoint.profiler.context.module.DefaultApplicationContext;
+import com.navercorp.pinpoint.profiler.context.module.ModuleFactory;
+import com.navercorp.pinpoint.profiler.context.storage.BufferedStorageFactory;
+import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
+import com.navercorp.pinpoint.profiler.test.MockApplicationContextFactory;
+import com.navercorp.pinpoint.profiler.test.OverrideModuleFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trace start/end and SpanEventRecorder cost through DefaultTraceContext,
+ * wired by the same guice modules as the agent. Span data goes through BufferedStorage
+ * into a {@link CountingDataSender} so that only the profiler side is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TraceBenchmark {
+
+    private static final int IO_BUFFERING_BUFFER_SIZE = 20;
+
+    @Param({"1", "8", "32"})
+    private int callDepth;
+
+    private DefaultApplicationContext applicationContext;
+    private TraceContext traceContext;
+    private CountingDataSender<SpanType> dataSender;
+
+    private MethodDescriptor methodDescriptor;
+
+    @Setup
+    public void setup() {
+        Properties properties = new Properties();
+        properties.setProperty("profiler.sampling.enable", "true");
+        properties.setProperty("profiler.sampling.type", "COUNTING");
+        properties.setProperty("profiler.sampling.counting.sampling-rate", "1");
+
+        this.dataSender = new CountingDataSender<>();
+        final StorageFactory storageFactory = new BufferedStorageFactory(IO_BUFFERING_BUFFER_SIZE, dataSender);
+        Module storageModule = new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(StorageFactory.class).toInstance(storageFactory);
+            }
+        };
+        ModuleFactory moduleFactory = new OverrideModuleFactory(storageModule);
+
+        MockApplicationContextFactory factory = new MockApplicationContextFactory();
+        this.applicationContext = factory.build(properties, moduleFactory);
+        this.traceContext = applicationContext.getTraceContext();
+
+        this.methodDescriptor = new DefaultMethodDescriptor("com.navercorp.benchmark.OrderService", "findOrder",
+                new String[]{"java.lang.String"}, new String[]{"orderId"}, 42);
+        this.traceContext.cacheApi(methodDescriptor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (applicationContext != null) {
+            applicationContext.close();
+        }
+    }
+
+    @Benchmark
+    public Trace traceStartEnd() {
+        final Trace trace = traceContext.newTraceObject();
+        final SpanRecorder spanRecorder = trace.getSpanRecorder();
+        spanRecorder.recordServiceType(ServiceType.STAND_ALONE);
+        spanRecorder.recordApi(methodDescriptor);
+
+        trace.close();
+        traceContext.removeTraceObject();
+        return trace;
+    }
+
+    @Benchmark
+    public Trace traceWithSpanEvents() {
+        final Trace trace = traceContext.newTraceObject();
+        final SpanRecorder spanRecorder = trace.getSpanRecorder();
+        spanRecorder.recordServiceType(ServiceType.STAND_ALONE);
+        spanRecorder.recordApi(methodDescriptor);
+
+        for (int i = 0; i < callDepth; i++) {
+            final SpanEventRecorder recorder = trace.traceBlockBegin();
+            recorder.recordServiceType(ServiceType.INTERNAL_METHOD);
+            recorder.recordApi(methodDescriptor);
+            recorder.recordAttribute(AnnotationKey.ARGS0, "order-1234");
+        }
+        for (int i = 0; i < callDepth; i++) {
+            trace.traceBlockEnd();
+        }
+
+        trace.close();
+        traceContext.removeTraceObject();
+        return trace;
+    }
+
+    @Benchmark
+    public Trace traceWithSiblingSpanEvents() {
+        final Trace trace = traceContext.newTraceObject();
+        final SpanRecorder spanRecorder = trace.getSpanRecorder();
+        spanRecorder.recordServiceType(ServiceType.STAND_ALONE);
+        spanRecorder.recordApi(methodDescriptor);
+
+        // flat call pattern: a controller invoking callDepth sequential calls
+        for (int i = 0; i < callDepth; i++) {
+            final SpanEventRecorder recorder = trace.traceBlockBegin();
+            recorder.recordServiceType(ServiceType.INTERNAL_METHOD);
+            recorder.recordApi(methodDescriptor);
+            trace.traceBlockEnd();
+        }
+
+        trace.close();
+        traceContext.removeTraceObject();
+        return trace;
+    }
+}
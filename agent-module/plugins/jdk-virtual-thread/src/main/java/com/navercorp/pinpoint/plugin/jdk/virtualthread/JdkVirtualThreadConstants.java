@@ -0,0 +1,34 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.plugin.jdk.virtualthread;
+
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.trace.ServiceTypeProvider;
+
+public final class JdkVirtualThreadConstants {
+
+    private JdkVirtualThreadConstants() {
+    }
+
+    public static final ServiceType VIRTUAL_THREAD = ServiceTypeProvider.getByName("VIRTUAL_THREAD");
+
+    public static final String SCOPE_NAME = "VIRTUAL_THREAD_TASK";
+
+    // JDK 21, Executors.newVirtualThreadPerTaskExecutor() and Executors.newThreadPerTaskExecutor(ThreadFactory)
+    public static final String TASK_RUNNER = "java.util.concurrent.ThreadPerTaskExecutor$TaskRunner";
+    public static final String THREAD_BOUND_FUTURE = "java.util.concurrent.ThreadPerTaskExecutor$ThreadBoundFuture";
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.plugin.jdk.virtualthread;
+
+import com.navercorp.pinpoint.bootstrap.async.AsyncContextAccessor;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentClass;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentException;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentMethod;
+import com.navercorp.pinpoint.bootstrap.instrument.Instrumentor;
+import com.navercorp.pinpoint.bootstrap.instrument.transformer.TransformCallback;
+import com.navercorp.pinpoint.bootstrap.instrument.transformer.TransformTemplate;
+import com.navercorp.pinpoint.bootstrap.instrument.transformer.TransformTemplateAware;
+import com.navercorp.pinpoint.bootstrap.logging.PluginLogManager;
+import com.navercorp.pinpoint.bootstrap.logging.PluginLogger;
+import com.navercorp.pinpoint.bootstrap.plugin.ProfilerPlugin;
+import com.navercorp.pinpoint.bootstrap.plugin.ProfilerPluginSetupContext;
+import com.navercorp.pinpoint.plugin.jdk.virtualthread.interceptor.TaskConstructorInterceptor;
+import com.navercorp.pinpoint.plugin.jdk.virtualthread.interceptor.TaskRunInterceptor;
+
+import java.security.ProtectionDomain;
+
+/**
+ * Continues the trace of the submitting thread in the thread started for each task by
+ * {@code Executors.newVirtualThreadPerTaskExecutor()}.
+ * <p>
+ * {@code ThreadPerTaskExecutor} wraps every task in a {@code TaskRunner} (execute) or a {@code ThreadBoundFuture} (submit)
+ * before starting its thread, so the AsyncContext is captured when the wrapper is created and continued in its {@code run()}.
+ * Both classes must be listed in {@code profiler.instrument.jdk.allow.classnames}.
+ */
+public class JdkVirtualThreadPlugin implements ProfilerPlugin, TransformTemplateAware {
+    private final PluginLogger logger = PluginLogManager.getLogger(this.getClass());
+
+    private TransformTemplate transformTemplate;
+
+    @Override
+    public void setup(ProfilerPluginSetupContext context) {
+        final JdkVirtualThreadPluginConfig config = new JdkVirtualThreadPluginConfig(context.getConfig());
+        if (!config.isEnable()) {
+            logger.info("{} disabled", this.getClass().getSimpleName());
+            return;
+        }
+        logger.info("{} version range=[21,) config:{}", this.getClass().getSimpleName(), config);
+
+        transformTemplate.transform(JdkVirtualThreadConstants.TASK_RUNNER, TaskTransform.class);
+        transformTemplate.transform(JdkVirtualThreadConstants.THREAD_BOUND_FUTURE, TaskTransform.class);
+    }
+
+    @Override
+    public void setTransformTemplate(TransformTemplate transformTemplate) {
+        this.transformTemplate = transformTemplate;
+    }
+
+    public static class TaskTransform implements TransformCallback {
+        @Override
+        public byte[] doInTransform(Instrumentor instrumentor, ClassLoader loader, String className, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classfileBuffer) throws InstrumentException {
+            final InstrumentClass target = instrumentor.getInstrumentClass(loader, className, classfileBuffer);
+            target.addField(AsyncContextAccessor.class);
+            for (InstrumentMethod constructor : target.getDeclaredConstructors()) {
+                constructor.addScopedInterceptor(TaskConstructorInterceptor.class, JdkVirtualThreadConstants.SCOPE_NAME);
+            }
+            final InstrumentMethod run = target.getDeclaredMethod("run");
+            if (run != null) {
+                run.addInterceptor(TaskRunInterceptor.class);
+            }
+            return target.toBytecode();
+        }
+    }
+}
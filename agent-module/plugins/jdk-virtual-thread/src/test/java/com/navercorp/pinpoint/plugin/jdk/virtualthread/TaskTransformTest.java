@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.plugin.jdk.virtualthread;
+
+import com.navercorp.pinpoint.bootstrap.async.AsyncContextAccessor;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentClass;
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentMethod;
+import com.navercorp.pinpoint.bootstrap.instrument.Instrumentor;
+import com.navercorp.pinpoint.plugin.jdk.virtualthread.interceptor.TaskConstructorInterceptor;
+import com.navercorp.pinpoint.plugin.jdk.virtualthread.interceptor.TaskRunInterceptor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskTransformTest {
+
+    private final byte[] classfileBuffer = new byte[0];
+    private final byte[] transformed = new byte[]{1};
+
+    @Mock
+    private Instrumentor instrumentor;
+
+    @Mock
+    private InstrumentClass target;
+
+    @Mock
+    private InstrumentMethod constructor1;
+
+    @Mock
+    private InstrumentMethod constructor2;
+
+    @Mock
+    private InstrumentMethod run;
+
+    @Test
+    public void doInTransform() throws Exception {
+        doReturn(target).when(instrumentor).getInstrumentClass(null, JdkVirtualThreadConstants.TASK_RUNNER, classfileBuffer);
+        doReturn(Arrays.asList(constructor1, constructor2)).when(target).getDeclaredConstructors();
+        doReturn(run).when(target).getDeclaredMethod("run");
+        doReturn(transformed).when(target).toBytecode();
+
+        JdkVirtualThreadPlugin.TaskTransform transform = new JdkVirtualThreadPlugin.TaskTransform();
+        byte[] result = transform.doInTransform(instrumentor, null, JdkVirtualThreadConstants.TASK_RUNNER, null, null, classfileBuffer);
+
+        Assertions.assertSame(transformed, result);
+        verify(target).addField(AsyncContextAccessor.class);
+        verify(constructor1).addScopedInterceptor(TaskConstructorInterceptor.class, JdkVirtualThreadConstants.SCOPE_NAME);
+        verify(constructor2).addScopedInterceptor(TaskConstructorInterceptor.class, JdkVirtualThreadConstants.SCOPE_NAME);
+        verify(run).addInterceptor(TaskRunInterceptor.class);
+    }
+
+    @Test
+    public void doInTransform_noRunMethod() throws Exception {
+        doReturn(target).when(instrumentor).getInstrumentClass(null, JdkVirtualThreadConstants.THREAD_BOUND_FUTURE, classfileBuffer);
+        doReturn(Arrays.asList(constructor1)).when(target).getDeclaredConstructors();
+        doReturn(transformed).when(target).toBytecode();
+
+        JdkVirtualThreadPlugin.TaskTransform transform = new JdkVirtualThreadPlugin.TaskTransform();
+        byte[] result = transform.doInTransform(instrumentor, null, JdkVirtualThreadConstants.THREAD_BOUND_FUTURE, null, null, classfileBuffer);
+
+        Assertions.assertSame(transformed, result);
+        verify(target).addField(AsyncContextAccessor.class);
+        verify(constructor1).addScopedInterceptor(TaskConstructorInterceptor.class, JdkVirtualThreadConstants.SCOPE_NAME);
+        verify(target).getDeclaredMethod("run");
+    }
+}
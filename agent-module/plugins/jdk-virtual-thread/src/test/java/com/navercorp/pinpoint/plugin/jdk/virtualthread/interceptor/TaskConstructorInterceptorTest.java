@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.plugin.jdk.virtualthread.interceptor;
+
+import com.navercorp.pinpoint.bootstrap.async.AsyncContextAccessor;
+import com.navercorp.pinpoint.bootstrap.context.AsyncContext;
+import com.navercorp.pinpoint.bootstrap.context.MethodDescriptor;
+import com.navercorp.pinpoint.bootstrap.context.SpanEventRecorder;
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.bootstrap.context.TraceContext;
+import com.navercorp.pinpoint.common.profiler.trace.TraceMetadataRegistrar;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.trace.ServiceTypeLocator;
+import com.navercorp.pinpoint.plugin.jdk.virtualthread.JdkVirtualThreadConstants;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskConstructorInterceptorTest {
+
+    private static final ServiceType VIRTUAL_THREAD = mock(ServiceType.class);
+
+    @Mock
+    private TraceContext traceContext;
+
+    @Mock
+    private MethodDescriptor descriptor;
+
+    @Mock
+    private Trace trace;
+
+    @Mock
+    private SpanEventRecorder recorder;
+
+    @Mock
+    private AsyncContext asyncContext;
+
+    @Mock
+    private AsyncContextAccessor target;
+
+    @BeforeAll
+    public static void beforeClass() {
+        ServiceTypeLocator locator = mock(ServiceTypeLocator.class);
+        when(locator.findServiceTypeByName("VIRTUAL_THREAD")).thenReturn(VIRTUAL_THREAD);
+        TraceMetadataRegistrar.registerServiceTypes(locator);
+    }
+
+    @Test
+    public void before() {
+        doReturn(trace).when(traceContext).currentTraceObject();
+        doReturn(recorder).when(trace).traceBlockBegin();
+        doReturn(asyncContext).when(recorder).recordNextAsyncContext();
+
+        TaskConstructorInterceptor interceptor = new TaskConstructorInterceptor(traceContext, descriptor);
+        interceptor.before(target, new Object[0]);
+
+        verify(recorder).recordServiceType(JdkVirtualThreadConstants.VIRTUAL_THREAD);
+        verify(target)._$PINPOINT$_setAsyncContext(asyncContext);
+    }
+
+    @Test
+    public void after() {
+        doReturn(trace).when(traceContext).currentTraceObject();
+        doReturn(recorder).when(trace).currentSpanEventRecorder();
+
+        TaskConstructorInterceptor interceptor = new TaskConstructorInterceptor(traceContext, descriptor);
+        interceptor.after(target, new Object[0], null, null);
+
+        verify(recorder).recordApi(descriptor);
+        verify(trace).traceBlockEnd();
+    }
+}
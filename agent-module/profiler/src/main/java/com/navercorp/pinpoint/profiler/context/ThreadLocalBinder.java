@@ -17,19 +17,18 @@
 package com.navercorp.pinpoint.profiler.context;
 
 import com.google.inject.Inject;
-import com.navercorp.pinpoint.profiler.util.NamedThreadLocal;
+import com.navercorp.pinpoint.profiler.util.AgentThreadContext;
 
 /**
+ * The value is kept directly in the slot of the current thread, so removing it clears the slot.
+ *
  * @author emeroad
  */
 public class ThreadLocalBinder<T> implements Binder<T> {
 
-    private final ThreadLocal<Reference<T>> threadLocal = new NamedThreadLocal<Reference<T>>("ThreadLocalBinder") {
-        @Override
-        protected Reference<T> initialValue() {
-            return new DefaultReference<T>();
-        }
-    };
+    private final int slot = AgentThreadContext.newSlot();
+    // reads and writes the slot of the calling thread
+    private final Reference<T> reference = new SlotReference();
 
     @Inject
     public ThreadLocalBinder() {
@@ -37,14 +36,33 @@ public class ThreadLocalBinder<T> implements Binder<T> {
 
     @Override
     public Reference<T> get() {
-        return threadLocal.get();
+        return reference;
     }
 
 
     @Override
     public void remove() {
-        this.threadLocal.remove();
+        AgentThreadContext.set(slot, null);
     }
 
+    private class SlotReference implements Reference<T> {
+        @Override
+        public T get() {
+            return AgentThreadContext.get(slot);
+        }
 
+        @Override
+        public void set(T value) {
+            AgentThreadContext.set(slot, value);
+        }
+
+        @Override
+        public T clear() {
+            final T copy = AgentThreadContext.get(slot);
+            if (copy != null) {
+                AgentThreadContext.set(slot, null);
+            }
+            return copy;
+        }
+    }
 }
@@ -32,6 +32,10 @@ public interface ContextConfig {
 
     int getSamplingContinueThroughput();
 
+    int getSamplingAdaptiveThroughput();
+
+    long getSamplingAdaptiveInterval();
+
     boolean isIoBufferingEnable();
 
     int getIoBufferingBufferSize();
@@ -43,4 +47,6 @@ public interface ContextConfig {
     long getAgentInfoSendRetryInterval();
 
     boolean isProxyHttpHeaderEnable();
+
+    boolean isVirtualThreadEnable();
 }
@@ -41,6 +41,12 @@ public class DefaultContextConfig implements ContextConfig {
     @Value("${profiler.sampling.continue.throughput}")
     private int samplingContinueThroughput = 0;
 
+    // Adaptive sampling, target of sampled transactions per second
+    @Value("${profiler.sampling.adaptive.throughput}")
+    private int samplingAdaptiveThroughput = 0;
+    @Value("${profiler.sampling.adaptive.interval}")
+    private long samplingAdaptiveInterval = 1000L;
+
     // span buffering
     // configuration for sampling and IO buffer
     @Value("${profiler.io.buffering.enable}")
@@ -63,6 +69,9 @@ public class DefaultContextConfig implements ContextConfig {
     @Value("${profiler.proxy.http.header.enable}")
     private boolean proxyHttpHeaderEnable = true;
 
+    @Value("${profiler.virtual-thread.enable}")
+    private boolean virtualThreadEnable = false;
+
     public DefaultContextConfig() {
     }
 
@@ -101,6 +110,16 @@ public class DefaultContextConfig implements ContextConfig {
         return samplingContinueThroughput;
     }
 
+    @Override
+    public int getSamplingAdaptiveThroughput() {
+        return samplingAdaptiveThroughput;
+    }
+
+    @Override
+    public long getSamplingAdaptiveInterval() {
+        return samplingAdaptiveInterval;
+    }
+
     @Override
     public boolean isIoBufferingEnable() {
         return ioBufferingEnable;
@@ -131,6 +150,11 @@ public class DefaultContextConfig implements ContextConfig {
         return proxyHttpHeaderEnable;
     }
 
+    @Override
+    public boolean isVirtualThreadEnable() {
+        return virtualThreadEnable;
+    }
+
     @Override
     public String toString() {
         return "DefaultContextConfig{" +
@@ -141,6 +165,8 @@ public class DefaultContextConfig implements ContextConfig {
                 ", deadlockMonitorInterval=" + deadlockMonitorInterval +
                 ", samplingNewThroughput=" + samplingNewThroughput +
                 ", samplingContinueThroughput=" + samplingContinueThroughput +
+                ", samplingAdaptiveThroughput=" + samplingAdaptiveThroughput +
+                ", samplingAdaptiveInterval=" + samplingAdaptiveInterval +
                 ", ioBufferingEnable=" + ioBufferingEnable +
                 ", ioBufferingBufferSize=" + ioBufferingBufferSize +
                 ", profileJvmVendorName='" + profileJvmVendorName + '\'' +
@@ -148,6 +174,7 @@ public class DefaultContextConfig implements ContextConfig {
                 ", DEFAULT_AGENT_INFO_SEND_RETRY_INTERVAL=" + DEFAULT_AGENT_INFO_SEND_RETRY_INTERVAL +
                 ", agentInfoSendRetryInterval=" + agentInfoSendRetryInterval +
                 ", proxyHttpHeaderEnable=" + proxyHttpHeaderEnable +
+                ", virtualThreadEnable=" + virtualThreadEnable +
                 '}';
     }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.context.grpc;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.profiler.context.TraceDataFormatVersion;
+import com.navercorp.pinpoint.profiler.context.grpc.encoder.GrpcSpanWireEncoder;
+import com.navercorp.pinpoint.profiler.context.grpc.mapper.SpanMessageMapper;
+import com.navercorp.pinpoint.profiler.context.module.ApplicationServerType;
+
+import java.util.Objects;
+
+public class GrpcSpanWireEncoderProvider implements Provider<GrpcSpanWireEncoder> {
+
+    private final short applicationServiceTypeCode;
+    private final TraceDataFormatVersion version;
+    private final SpanMessageMapper mapper;
+
+    @Inject
+    public GrpcSpanWireEncoderProvider(@ApplicationServerType ServiceType applicationServiceType,
+                                       TraceDataFormatVersion version,
+                                       SpanMessageMapper spanMessageMapper) {
+        this.applicationServiceTypeCode = applicationServiceType.getCode();
+        this.version = Objects.requireNonNull(version, "version");
+        this.mapper = Objects.requireNonNull(spanMessageMapper, "spanMessageMapper");
+    }
+
+    @Override
+    public GrpcSpanWireEncoder get() {
+        if (version != TraceDataFormatVersion.V2) {
+            throw new UnsupportedOperationException("unknown version :" + version);
+        }
+        return new GrpcSpanWireEncoder(applicationServiceTypeCode, mapper);
+    }
+}
@@ -36,6 +36,12 @@ public class SpanBatchSenderConfig {
     private long collectDeadlineTimeMillis = DEFAULT_COLLECT_DEADLINE_TIME_MILLIS;
     @Value("${profiler.transport.grpc.span.batch-sender.max-concurrent-requests}")
     private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+    @Value("${profiler.transport.grpc.span.batch-sender.queue.type}")
+    private String queueType = SpanQueueType.defaultType().name();
+    @Value("${profiler.transport.grpc.span.batch-sender.queue.overflow-policy}")
+    private String queueOverflowPolicy = SpanQueueOverflowPolicy.defaultType().name();
+    @Value("${profiler.transport.grpc.span.batch-sender.encoder}")
+    private String encoderType = SpanEncoderType.defaultType().name();
 
     public int getSize() {
         return size;
@@ -53,6 +59,18 @@ public class SpanBatchSenderConfig {
         return maxConcurrentRequests;
     }
 
+    public SpanQueueType getQueueType() {
+        return SpanQueueType.fromValue(queueType);
+    }
+
+    public SpanQueueOverflowPolicy getQueueOverflowPolicy() {
+        return SpanQueueOverflowPolicy.fromValue(queueOverflowPolicy);
+    }
+
+    public SpanEncoderType getEncoderType() {
+        return SpanEncoderType.fromValue(encoderType);
+    }
+
     @Override
     public String toString() {
         return "SpanBatchSenderConfig{" +
@@ -60,6 +78,9 @@ public class SpanBatchSenderConfig {
                 ", flushIntervalMillis=" + flushIntervalMillis +
                 ", collectDeadlineTimeMillis=" + collectDeadlineTimeMillis +
                 ", maxConcurrentRequests=" + maxConcurrentRequests +
+                ", queueType=" + queueType +
+                ", queueOverflowPolicy=" + queueOverflowPolicy +
+                ", encoderType=" + encoderType +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,485 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.context.grpc.encoder;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.StringValue;
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+import com.navercorp.pinpoint.common.profiler.util.TransactionId;
+import com.navercorp.pinpoint.common.trace.attribute.AttributeKeyValue;
+import com.navercorp.pinpoint.common.util.CollectionUtils;
+import com.navercorp.pinpoint.common.util.IntStringValue;
+import com.navercorp.pinpoint.grpc.trace.PAcceptEvent;
+import com.navercorp.pinpoint.grpc.trace.PAnnotation;
+import com.navercorp.pinpoint.grpc.trace.PAnnotationValue;
+import com.navercorp.pinpoint.grpc.trace.PAttribute;
+import com.navercorp.pinpoint.grpc.trace.PIntStringValue;
+import com.navercorp.pinpoint.grpc.trace.PLocalAsyncId;
+import com.navercorp.pinpoint.grpc.trace.PMessageEvent;
+import com.navercorp.pinpoint.grpc.trace.PNextEvent;
+import com.navercorp.pinpoint.grpc.trace.PSpan;
+import com.navercorp.pinpoint.grpc.trace.PSpanChunk;
+import com.navercorp.pinpoint.grpc.trace.PSpanEvent;
+import com.navercorp.pinpoint.grpc.trace.PSpanMessage;
+import com.navercorp.pinpoint.grpc.trace.PSpanMessageBatch;
+import com.navercorp.pinpoint.grpc.trace.PTransactionId;
+import com.navercorp.pinpoint.io.SpanVersion;
+import com.navercorp.pinpoint.profiler.context.Annotation;
+import com.navercorp.pinpoint.profiler.context.AsyncId;
+import com.navercorp.pinpoint.profiler.context.AsyncSpanChunk;
+import com.navercorp.pinpoint.profiler.context.LocalAsyncId;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanChunk;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.SpanType;
+import com.navercorp.pinpoint.profiler.context.annotation.BooleanAnnotation;
+import com.navercorp.pinpoint.profiler.context.annotation.ByteAnnotation;
+import com.navercorp.pinpoint.profiler.context.annotation.DoubleAnnotation;
+import com.navercorp.pinpoint.profiler.context.annotation.IntAnnotation;
+import com.navercorp.pinpoint.profiler.context.annotation.LongAnnotation;
+import com.navercorp.pinpoint.profiler.context.annotation.NullAnnotation;
+import com.navercorp.pinpoint.profiler.context.annotation.ShortAnnotation;
+import com.navercorp.pinpoint.profiler.context.annotation.StringAnnotation;
+import com.navercorp.pinpoint.profiler.context.compress.SpanEventSequenceComparator;
+import com.navercorp.pinpoint.profiler.context.grpc.mapper.SpanMessageMapper;
+import com.navercorp.pinpoint.profiler.context.id.DefaultTraceId;
+import com.navercorp.pinpoint.profiler.context.id.Shared;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Encodes {@link Span} and {@link SpanChunk} straight into the {@link PSpanMessageBatch} wire format.
+ * <p>
+ * The decoded message is equal to the one built by {@link com.navercorp.pinpoint.profiler.context.grpc.GrpcSpanMessageConverter}
+ * with {@link com.navercorp.pinpoint.profiler.context.compress.GrpcSpanProcessorV2},
+ * but no PSpan/PSpanEvent object graph is created. Rarely used values (accept event, attributes, data type annotations)
+ * are still built through {@link SpanMessageMapper} and embedded as-is.
+ * <p>
+ * Not thread safe
+ */
+public class GrpcSpanWireEncoder {
+
+    private static final ProtoField BATCH_SPAN = field(PSpanMessageBatch.getDescriptor(), "span");
+
+    private static final ProtoField MESSAGE_SPAN = field(PSpanMessage.getDescriptor(), "span");
+    private static final ProtoField MESSAGE_SPAN_CHUNK = field(PSpanMessage.getDescriptor(), "spanChunk");
+
+    private static final ProtoField SPAN_VERSION = field(PSpan.getDescriptor(), "version");
+    private static final ProtoField SPAN_TRANSACTION_ID = field(PSpan.getDescriptor(), "transactionId");
+    private static final ProtoField SPAN_SPAN_ID = field(PSpan.getDescriptor(), "spanId");
+    private static final ProtoField SPAN_PARENT_SPAN_ID = field(PSpan.getDescriptor(), "parentSpanId");
+    private static final ProtoField SPAN_START_TIME = field(PSpan.getDescriptor(), "startTime");
+    private static final ProtoField SPAN_ELAPSED = field(PSpan.getDescriptor(), "elapsed");
+    private static final ProtoField SPAN_API_ID = field(PSpan.getDescriptor(), "apiId");
+    private static final ProtoField SPAN_SERVICE_TYPE = field(PSpan.getDescriptor(), "serviceType");
+    private static final ProtoField SPAN_ACCEPT_EVENT = field(PSpan.getDescriptor(), "acceptEvent");
+    private static final ProtoField SPAN_ANNOTATION = field(PSpan.getDescriptor(), "annotation");
+    private static final ProtoField SPAN_FLAG = field(PSpan.getDescriptor(), "flag");
+    private static final ProtoField SPAN_ERR = field(PSpan.getDescriptor(), "err");
+    private static final ProtoField SPAN_SPAN_EVENT = field(PSpan.getDescriptor(), "spanEvent");
+    private static final ProtoField SPAN_EXCEPTION_INFO = field(PSpan.getDescriptor(), "exceptionInfo");
+    private static final ProtoField SPAN_APPLICATION_SERVICE_TYPE = field(PSpan.getDescriptor(), "applicationServiceType");
+    private static final ProtoField SPAN_LOGGING_TRANSACTION_INFO = field(PSpan.getDescriptor(), "loggingTransactionInfo");
+    private static final ProtoField SPAN_ATTRIBUTE = field(PSpan.getDescriptor(), "attribute");
+
+    private static final ProtoField CHUNK_VERSION = field(PSpanChunk.getDescriptor(), "version");
+    private static final ProtoField CHUNK_TRANSACTION_ID = field(PSpanChunk.getDescriptor(), "transactionId");
+    private static final ProtoField CHUNK_SPAN_ID = field(PSpanChunk.getDescriptor(), "spanId");
+    private static final ProtoField CHUNK_END_POINT = field(PSpanChunk.getDescriptor(), "endPoint");
+    private static final ProtoField CHUNK_SPAN_EVENT = field(PSpanChunk.getDescriptor(), "spanEvent");
+    private static final ProtoField CHUNK_APPLICATION_SERVICE_TYPE = field(PSpanChunk.getDescriptor(), "applicationServiceType");
+    private static final ProtoField CHUNK_KEY_TIME = field(PSpanChunk.getDescriptor(), "keyTime");
+    private static final ProtoField CHUNK_LOCAL_ASYNC_ID = field(PSpanChunk.getDescriptor(), "localAsyncId");
+
+    private static final ProtoField TRANSACTION_ID_AGENT_ID = field(PTransactionId.getDescriptor(), "agentId");
+    private static final ProtoField TRANSACTION_ID_AGENT_START_TIME = field(PTransactionId.getDescriptor(), "agentStartTime");
+    private static final ProtoField TRANSACTION_ID_SEQUENCE = field(PTransactionId.getDescriptor(), "sequence");
+
+    private static final ProtoField LOCAL_ASYNC_ID_ASYNC_ID = field(PLocalAsyncId.getDescriptor(), "asyncId");
+    private static final ProtoField LOCAL_ASYNC_ID_SEQUENCE = field(PLocalAsyncId.getDescriptor(), "sequence");
+
+    private static final ProtoField EVENT_SEQUENCE = field(PSpanEvent.getDescriptor(), "sequence");
+    private static final ProtoField EVENT_DEPTH = field(PSpanEvent.getDescriptor(), "depth");
+    private static final ProtoField EVENT_START_ELAPSED = field(PSpanEvent.getDescriptor(), "startElapsed");
+    private static final ProtoField EVENT_END_ELAPSED = field(PSpanEvent.getDescriptor(), "endElapsed");
+    private static final ProtoField EVENT_SERVICE_TYPE = field(PSpanEvent.getDescriptor(), "serviceType");
+    private static final ProtoField EVENT_ANNOTATION = field(PSpanEvent.getDescriptor(), "annotation");
+    private static final ProtoField EVENT_ATTRIBUTE = field(PSpanEvent.getDescriptor(), "attribute");
+    private static final ProtoField EVENT_NEXT_EVENT = field(PSpanEvent.getDescriptor(), "nextEvent");
+    private static final ProtoField EVENT_ASYNC_EVENT = field(PSpanEvent.getDescriptor(), "asyncEvent");
+    private static final ProtoField EVENT_API_ID = field(PSpanEvent.getDescriptor(), "apiId");
+    private static final ProtoField EVENT_EXCEPTION_INFO = field(PSpanEvent.getDescriptor(), "exceptionInfo");
+
+    private static final ProtoField NEXT_EVENT_MESSAGE_EVENT = field(PNextEvent.getDescriptor(), "messageEvent");
+    private static final ProtoField MESSAGE_EVENT_NEXT_SPAN_ID = field(PMessageEvent.getDescriptor(), "nextSpanId");
+    private static final ProtoField MESSAGE_EVENT_END_POINT = field(PMessageEvent.getDescriptor(), "endPoint");
+    private static final ProtoField MESSAGE_EVENT_DESTINATION_ID = field(PMessageEvent.getDescriptor(), "destinationId");
+
+    private static final ProtoField INT_STRING_INT_VALUE = field(PIntStringValue.getDescriptor(), "intValue");
+    private static final ProtoField INT_STRING_STRING_VALUE = field(PIntStringValue.getDescriptor(), "stringValue");
+    private static final ProtoField STRING_VALUE_VALUE = field(StringValue.getDescriptor(), "value");
+
+    private static final ProtoField ANNOTATION_KEY = field(PAnnotation.getDescriptor(), "key");
+    private static final ProtoField ANNOTATION_VALUE = field(PAnnotation.getDescriptor(), "value");
+
+    private static final ProtoField VALUE_STRING = field(PAnnotationValue.getDescriptor(), "stringValue");
+    private static final ProtoField VALUE_BOOL = field(PAnnotationValue.getDescriptor(), "boolValue");
+    private static final ProtoField VALUE_INT = field(PAnnotationValue.getDescriptor(), "intValue");
+    private static final ProtoField VALUE_LONG = field(PAnnotationValue.getDescriptor(), "longValue");
+    private static final ProtoField VALUE_SHORT = field(PAnnotationValue.getDescriptor(), "shortValue");
+    private static final ProtoField VALUE_DOUBLE = field(PAnnotationValue.getDescriptor(), "doubleValue");
+    private static final ProtoField VALUE_BYTE = field(PAnnotationValue.getDescriptor(), "byteValue");
+
+    private final short applicationServiceType;
+    private final ProtoWireWriter writer = new ProtoWireWriter();
+
+    private final Function<Span, PAcceptEvent> acceptEventFactory;
+    private final Function<Annotation<?>, PAnnotation> annotationFactory;
+    private final Function<AttributeKeyValue, PAttribute> attributeFactory;
+
+    public GrpcSpanWireEncoder(short applicationServiceType, SpanMessageMapper spanMessageMapper) {
+        Objects.requireNonNull(spanMessageMapper, "spanMessageMapper");
+        this.applicationServiceType = applicationServiceType;
+        this.acceptEventFactory = spanMessageMapper::toAcceptEvent;
+        this.annotationFactory = spanMessageMapper::map;
+        this.attributeFactory = spanMessageMapper::map;
+    }
+
+    private static ProtoField field(Descriptors.Descriptor descriptor, String name) {
+        return ProtoField.of(descriptor, name);
+    }
+
+    /**
+     * Sizing pass. Must be followed by {@link #writeBatch(List, CodedOutputStream)} with the same batch.
+     *
+     * @return serialized size of the {@link PSpanMessageBatch}
+     */
+    public int computeBatchSize(List<SpanType> batch) throws IOException {
+        final ProtoWireWriter writer = this.writer;
+        writer.startSizing();
+        for (SpanType spanType : batch) {
+            sortSpanEvent(spanType);
+            encodeSpanMessage(spanType);
+        }
+        return writer.finishSizing();
+    }
+
+    /**
+     * Writing pass.
+     *
+     * @return number of encoded span messages
+     */
+    public int writeBatch(List<SpanType> batch, CodedOutputStream out) throws IOException {
+        final ProtoWireWriter writer = this.writer;
+        writer.startWriting(out);
+        int count = 0;
+        for (SpanType spanType : batch) {
+            if (encodeSpanMessage(spanType)) {
+                count++;
+            }
+        }
+        writer.finishWriting();
+        return count;
+    }
+
+    private void sortSpanEvent(SpanType spanType) {
+        final List<SpanEvent> spanEventList = getSpanEventList(spanType);
+        if (CollectionUtils.hasLength(spanEventList)) {
+            spanEventList.sort(SpanEventSequenceComparator.INSTANCE);
+        }
+    }
+
+    private List<SpanEvent> getSpanEventList(SpanType spanType) {
+        if (spanType instanceof SpanChunk) {
+            return ((SpanChunk) spanType).getSpanEventList();
+        }
+        if (spanType instanceof Span) {
+            return ((Span) spanType).getSpanEventList();
+        }
+        return null;
+    }
+
+    private boolean encodeSpanMessage(SpanType spanType) throws IOException {
+        if (spanType instanceof SpanChunk) {
+            writer.beginMessage(BATCH_SPAN);
+            writer.beginMessage(MESSAGE_SPAN_CHUNK);
+            encodeSpanChunk((SpanChunk) spanType);
+            writer.endMessage();
+            writer.endMessage();
+            return true;
+        }
+        if (spanType instanceof Span) {
+            writer.beginMessage(BATCH_SPAN);
+            writer.beginMessage(MESSAGE_SPAN);
+            encodeSpan((Span) spanType);
+            writer.endMessage();
+            writer.endMessage();
+            return true;
+        }
+        return false;
+    }
+
+    private void encodeSpan(Span span) throws IOException {
+        final ProtoWireWriter writer = this.writer;
+        final TraceRoot traceRoot = span.getTraceRoot();
+        final TraceId traceId = traceRoot.getTraceId();
+        final Shared shared = traceRoot.getShared();
+
+        writer.writeInt(SPAN_VERSION, SpanVersion.TRACE_V2);
+        encodeTransactionId(SPAN_TRANSACTION_ID, traceId);
+        writer.writeLong(SPAN_SPAN_ID, traceId.getSpanId());
+        writer.writeLong(SPAN_PARENT_SPAN_ID, traceId.getParentSpanId());
+        writer.writeLong(SPAN_START_TIME, span.getStartTime());
+        writer.writeInt(SPAN_ELAPSED, span.getElapsedTime());
+        writer.writeInt(SPAN_API_ID, span.getApiId());
+        writer.writeInt(SPAN_SERVICE_TYPE, span.getServiceType());
+        encodeMessage(SPAN_ACCEPT_EVENT, span, acceptEventFactory);
+        encodeAnnotations(SPAN_ANNOTATION, span.getAnnotations());
+        writer.writeInt(SPAN_FLAG, traceId.getFlags());
+        writer.writeInt(SPAN_ERR, shared.getErrorCode());
+        encodeSpanEvents(SPAN_SPAN_EVENT, span.getStartTime(), span.getSpanEventList());
+        encodeIntStringValue(SPAN_EXCEPTION_INFO, span.getExceptionInfo());
+        writer.writeInt(SPAN_APPLICATION_SERVICE_TYPE, applicationServiceType);
+        writer.writeInt(SPAN_LOGGING_TRANSACTION_INFO, shared.getLoggingInfo());
+        encodeAttributes(SPAN_ATTRIBUTE, span.getAttributes());
+    }
+
+    private void encodeSpanChunk(SpanChunk spanChunk) throws IOException {
+        final ProtoWireWriter writer = this.writer;
+        final TraceRoot traceRoot = spanChunk.getTraceRoot();
+        final TraceId traceId = traceRoot.getTraceId();
+        final List<SpanEvent> spanEventList = spanChunk.getSpanEventList();
+        final long keyTime = getKeyTime(spanEventList);
+
+        writer.writeInt(CHUNK_VERSION, SpanVersion.TRACE_V2);
+        encodeTransactionId(CHUNK_TRANSACTION_ID, traceId);
+        writer.writeLong(CHUNK_SPAN_ID, traceId.getSpanId());
+        writer.writeString(CHUNK_END_POINT, traceRoot.getShared().getEndPoint());
+        encodeSpanEvents(CHUNK_SPAN_EVENT, keyTime, spanEventList);
+        writer.writeInt(CHUNK_APPLICATION_SERVICE_TYPE, applicationServiceType);
+        writer.writeLong(CHUNK_KEY_TIME, keyTime);
+        if (spanChunk instanceof AsyncSpanChunk) {
+            final LocalAsyncId localAsyncId = ((AsyncSpanChunk) spanChunk).getLocalAsyncId();
+            if (localAsyncId != null) {
+                writer.beginMessage(CHUNK_LOCAL_ASYNC_ID);
+                writer.writeInt(LOCAL_ASYNC_ID_ASYNC_ID, localAsyncId.getAsyncId());
+                writer.writeInt(LOCAL_ASYNC_ID_SEQUENCE, localAsyncId.getSequence());
+                writer.endMessage();
+            }
+        }
+    }
+
+    private long getKeyTime(List<SpanEvent> spanEventList) {
+        if (CollectionUtils.isEmpty(spanEventList)) {
+            throw new IllegalArgumentException("spanEventList is empty.");
+        }
+        final SpanEvent first = spanEventList.get(0);
+        if (first == null) {
+            throw new IllegalStateException("first SpanEvent is null");
+        }
+        return first.getStartTime();
+    }
+
+    private void encodeTransactionId(ProtoField field, TraceId traceId) throws IOException {
+        if (!(traceId instanceof DefaultTraceId)) {
+            throw new IllegalArgumentException("Unexpected TraceId type: " + traceId);
+        }
+        final TransactionId transactionId = ((DefaultTraceId) traceId).getInternalTransactionId();
+        final ProtoWireWriter writer = this.writer;
+        writer.beginMessage(field);
+        writer.writeString(TRANSACTION_ID_AGENT_ID, transactionId.getAgentId());
+        writer.writeLong(TRANSACTION_ID_AGENT_START_TIME, transactionId.getAgentStartTime());
+        writer.writeLong(TRANSACTION_ID_SEQUENCE, transactionId.getTransactionSequence());
+        writer.endMessage();
+    }
+
+    // same delta/depth compression as GrpcSpanProcessorV2.postProcess()
+    private void encodeSpanEvents(ProtoField field, long keyTime, List<SpanEvent> spanEventList) throws IOException {
+        if (spanEventList == null) {
+            return;
+        }
+        int prevDepth = 0;
+        boolean first = true;
+        final int size = spanEventList.size();
+        for (int i = 0; i < size; i++) {
+            final SpanEvent spanEvent = spanEventList.get(i);
+            if (spanEvent == null) {
+                continue;
+            }
+            final long startTime = spanEvent.getStartTime();
+            final int startElapsed = (int) (startTime - keyTime);
+            keyTime = startTime;
+
+            final int currentDepth = spanEvent.getDepth();
+            final int depth;
+            if (first) {
+                first = false;
+                depth = currentDepth;
+            } else {
+                depth = currentDepth == prevDepth ? 0 : currentDepth;
+            }
+            prevDepth = currentDepth;
+
+            writer.beginMessage(field);
+            encodeSpanEvent(spanEvent, startElapsed, depth);
+            writer.endMessage();
+        }
+    }
+
+    private void encodeSpanEvent(SpanEvent spanEvent, int startElapsed, int depth) throws IOException {
+        final ProtoWireWriter writer = this.writer;
+        writer.writeInt(EVENT_SEQUENCE, spanEvent.getSequence());
+        writer.writeInt(EVENT_DEPTH, depth);
+        writer.writeInt(EVENT_START_ELAPSED, startElapsed);
+        writer.writeInt(EVENT_END_ELAPSED, spanEvent.getElapsedTime());
+        writer.writeInt(EVENT_SERVICE_TYPE, spanEvent.getServiceType());
+        encodeAnnotations(EVENT_ANNOTATION, spanEvent.getAnnotations());
+        encodeAttributes(EVENT_ATTRIBUTE, spanEvent.getAttributes());
+
+        writer.beginMessage(EVENT_NEXT_EVENT);
+        writer.beginMessage(NEXT_EVENT_MESSAGE_EVENT);
+        final long nextSpanId = spanEvent.getNextSpanId();
+        if (nextSpanId != -1) {
+            writer.writeLong(MESSAGE_EVENT_NEXT_SPAN_ID, nextSpanId);
+        }
+        writer.writeString(MESSAGE_EVENT_END_POINT, spanEvent.getEndPoint());
+        writer.writeString(MESSAGE_EVENT_DESTINATION_ID, spanEvent.getDestinationId());
+        writer.endMessage();
+        writer.endMessage();
+
+        final AsyncId asyncId = spanEvent.getAsyncIdObject();
+        if (asyncId != null) {
+            writer.writeInt(EVENT_ASYNC_EVENT, asyncId.getAsyncId());
+        }
+        writer.writeInt(EVENT_API_ID, spanEvent.getApiId());
+        encodeIntStringValue(EVENT_EXCEPTION_INFO, spanEvent.getExceptionInfo());
+    }
+
+    private void encodeIntStringValue(ProtoField field, IntStringValue value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        final ProtoWireWriter writer = this.writer;
+        writer.beginMessage(field);
+        writer.writeInt(INT_STRING_INT_VALUE, value.getIntValue());
+        final String stringValue = value.getStringValue();
+        if (stringValue != null) {
+            writer.beginMessage(INT_STRING_STRING_VALUE);
+            writer.writeString(STRING_VALUE_VALUE, stringValue);
+            writer.endMessage();
+        }
+        writer.endMessage();
+    }
+
+    private void encodeAnnotations(ProtoField field, List<Annotation<?>> annotations) throws IOException {
+        if (annotations == null) {
+            return;
+        }
+        for (Annotation<?> annotation : annotations) {
+            if (annotation != null) {
+                encodeAnnotation(field, annotation);
+            }
+        }
+    }
+
+    private void encodeAnnotation(ProtoField field, Annotation<?> annotation) throws IOException {
+        final ProtoWireWriter writer = this.writer;
+        if (annotation instanceof NullAnnotation) {
+            writer.beginMessage(field);
+            writer.writeInt(ANNOTATION_KEY, annotation.getKey());
+            writer.endMessage();
+            return;
+        }
+        final ProtoField valueField;
+        if (annotation instanceof StringAnnotation) {
+            valueField = VALUE_STRING;
+        } else if (annotation instanceof IntAnnotation) {
+            valueField = VALUE_INT;
+        } else if (annotation instanceof LongAnnotation) {
+            valueField = VALUE_LONG;
+        } else if (annotation instanceof BooleanAnnotation) {
+            valueField = VALUE_BOOL;
+        } else if (annotation instanceof ShortAnnotation) {
+            valueField = VALUE_SHORT;
+        } else if (annotation instanceof DoubleAnnotation) {
+            valueField = VALUE_DOUBLE;
+        } else if (annotation instanceof ByteAnnotation) {
+            valueField = VALUE_BYTE;
+        } else {
+            // bytes, object, data type values
+            encodeMessage(field, annotation, annotationFactory);
+            return;
+        }
+
+        writer.beginMessage(field);
+        writer.writeInt(ANNOTATION_KEY, annotation.getKey());
+        writer.beginMessage(ANNOTATION_VALUE);
+        if (valueField == VALUE_STRING) {
+            writer.writeString(VALUE_STRING, ((StringAnnotation) annotation).getValue());
+        } else if (valueField == VALUE_INT) {
+            writer.writeInt(VALUE_INT, ((IntAnnotation) annotation).getIntValue());
+        } else if (valueField == VALUE_LONG) {
+            writer.writeLong(VALUE_LONG, ((LongAnnotation) annotation).getLongValue());
+        } else if (valueField == VALUE_BOOL) {
+            writer.writeBool(VALUE_BOOL, ((BooleanAnnotation) annotation).getBooleanValue());
+        } else if (valueField == VALUE_SHORT) {
+            writer.writeInt(VALUE_SHORT, ((ShortAnnotation) annotation).getShortValue());
+        } else if (valueField == VALUE_DOUBLE) {
+            writer.writeDouble(VALUE_DOUBLE, ((DoubleAnnotation) annotation).getDoubleValue());
+        } else {
+            writer.writeInt(VALUE_BYTE, ((ByteAnnotation) annotation).getByteValue());
+        }
+        writer.endMessage();
+        writer.endMessage();
+    }
+
+    /**
+     * Embedded message built by the mapper. The factory runs in the sizing pass only,
+     * the writing pass reuses the message recorded by the writer.
+     */
+    private <T> void encodeMessage(ProtoField field, T source, Function<T, ? extends MessageLite> factory) throws IOException {
+        final ProtoWireWriter writer = this.writer;
+        if (writer.isSizing()) {
+            writer.sizeMessage(field, source == null ? null : factory.apply(source));
+        } else {
+            writer.writeSizedMessage(field);
+        }
+    }
+
+    private void encodeAttributes(ProtoField field, List<AttributeKeyValue> attributes) throws IOException {
+        if (attributes == null) {
+            return;
+        }
+        for (AttributeKeyValue attribute : attributes) {
+            if (attribute != null) {
+                encodeMessage(field, attribute, attributeFactory);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "GrpcSpanWireEncoder{" +
+                "applicationServiceType=" + applicationServiceType +
+                '}';
+    }
+}
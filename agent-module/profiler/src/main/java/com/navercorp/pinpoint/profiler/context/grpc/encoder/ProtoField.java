@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.context.grpc.encoder;
+
+import com.google.protobuf.Descriptors;
+
+import java.util.Objects;
+
+/**
+ * Field number and wire type of a protobuf field, resolved once from the generated descriptor.
+ */
+final class ProtoField {
+
+    private final String name;
+    private final int number;
+    private final Descriptors.FieldDescriptor.Type type;
+    private final boolean presence;
+
+    private ProtoField(Descriptors.FieldDescriptor field) {
+        this.name = field.getFullName();
+        this.number = field.getNumber();
+        this.type = field.getType();
+        // oneof members and message fields are serialized even when they hold the default value
+        this.presence = field.getContainingOneof() != null
+                || field.getJavaType() == Descriptors.FieldDescriptor.JavaType.MESSAGE;
+    }
+
+    static ProtoField of(Descriptors.Descriptor descriptor, String fieldName) {
+        Objects.requireNonNull(descriptor, "descriptor");
+        Objects.requireNonNull(fieldName, "fieldName");
+
+        Descriptors.FieldDescriptor field = descriptor.findFieldByName(fieldName);
+        if (field == null) {
+            for (Descriptors.FieldDescriptor candidate : descriptor.getFields()) {
+                if (candidate.getJsonName().equals(fieldName)) {
+                    field = candidate;
+                    break;
+                }
+            }
+        }
+        if (field == null) {
+            throw new IllegalStateException("field not found " + descriptor.getFullName() + "." + fieldName);
+        }
+        return new ProtoField(field);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getNumber() {
+        return number;
+    }
+
+    Descriptors.FieldDescriptor.Type getType() {
+        return type;
+    }
+
+    boolean hasPresence() {
+        return presence;
+    }
+
+    @Override
+    public String toString() {
+        return name + "=" + number + "(" + type + ")";
+    }
+}
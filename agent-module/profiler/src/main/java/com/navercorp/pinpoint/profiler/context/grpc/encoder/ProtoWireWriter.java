@@ -0,0 +1,317 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.context.grpc.encoder;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Writes protobuf wire format without building intermediate message objects.
+ * <p>
+ * Encoding runs in two passes over the same code path.
+ * The sizing pass records the length of every nested message in visiting order,
+ * the writing pass then emits each length prefix directly, so the output is produced in a single exact-size buffer
+ * with no per-level copies. Both passes must visit the same fields in the same order.
+ * <p>
+ * Not thread safe
+ */
+public final class ProtoWireWriter {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private boolean sizing;
+    private CodedOutputStream out;
+
+    // sizing pass: running byte count
+    private int bytes;
+
+    // nested message lengths in visiting order
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private int lengthCount;
+    private int lengthCursor;
+
+    // sizing pass: open nested messages
+    private int[] openIndex = new int[16];
+    private int[] openStart = new int[16];
+    private int depth;
+
+    // messages built during the sizing pass and reused by the writing pass
+    private MessageLite[] messages = new MessageLite[INITIAL_CAPACITY];
+    private int messageCount;
+    private int messageCursor;
+
+    public void startSizing() {
+        this.sizing = true;
+        this.out = null;
+        this.bytes = 0;
+        this.lengthCount = 0;
+        this.depth = 0;
+        Arrays.fill(messages, 0, messageCount, null);
+        this.messageCount = 0;
+    }
+
+    public int finishSizing() {
+        if (depth != 0) {
+            throw new IllegalStateException("unclosed message depth:" + depth);
+        }
+        return bytes;
+    }
+
+    public void startWriting(CodedOutputStream out) {
+        this.sizing = false;
+        this.out = Objects.requireNonNull(out, "out");
+        this.lengthCursor = 0;
+        this.messageCursor = 0;
+    }
+
+    public void finishWriting() throws IOException {
+        try {
+            out.flush();
+            if (lengthCursor != lengthCount || messageCursor != messageCount) {
+                throw new IllegalStateException("sizing and writing pass mismatch");
+            }
+        } finally {
+            this.out = null;
+            Arrays.fill(messages, 0, messageCount, null);
+            this.messageCount = 0;
+        }
+    }
+
+    public boolean isSizing() {
+        return sizing;
+    }
+
+    void beginMessage(ProtoField field) throws IOException {
+        if (sizing) {
+            bytes += CodedOutputStream.computeTagSize(field.getNumber());
+            if (depth == openIndex.length) {
+                openIndex = Arrays.copyOf(openIndex, depth * 2);
+                openStart = Arrays.copyOf(openStart, depth * 2);
+            }
+            openIndex[depth] = reserveLength();
+            openStart[depth] = bytes;
+            depth++;
+        } else {
+            out.writeTag(field.getNumber(), WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            out.writeUInt32NoTag(lengths[lengthCursor++]);
+        }
+    }
+
+    void endMessage() {
+        if (sizing) {
+            depth--;
+            final int length = bytes - openStart[depth];
+            lengths[openIndex[depth]] = length;
+            bytes += CodedOutputStream.computeUInt32SizeNoTag(length);
+        }
+    }
+
+    private int reserveLength() {
+        if (lengthCount == lengths.length) {
+            lengths = Arrays.copyOf(lengths, lengthCount * 2);
+        }
+        return lengthCount++;
+    }
+
+    /**
+     * Sizing pass: records a message built by the caller, {@code null} records an absent field.
+     * The writing pass emits the same instance through {@link #writeSizedMessage(ProtoField)},
+     * so each embedded message is built exactly once.
+     */
+    void sizeMessage(ProtoField field, MessageLite message) {
+        if (!sizing) {
+            throw new IllegalStateException("not sizing");
+        }
+        if (messageCount == messages.length) {
+            messages = Arrays.copyOf(messages, messageCount * 2);
+        }
+        messages[messageCount++] = message;
+        if (message != null) {
+            bytes += CodedOutputStream.computeMessageSize(field.getNumber(), message);
+        }
+    }
+
+    /**
+     * Writing pass: emits the next message recorded by {@link #sizeMessage(ProtoField, MessageLite)}.
+     */
+    void writeSizedMessage(ProtoField field) throws IOException {
+        if (sizing) {
+            throw new IllegalStateException("not writing");
+        }
+        final MessageLite message = messages[messageCursor++];
+        if (message != null) {
+            out.writeMessage(field.getNumber(), message);
+        }
+    }
+
+    void writeInt(ProtoField field, int value) throws IOException {
+        if (value == 0 && !field.hasPresence()) {
+            return;
+        }
+        final int number = field.getNumber();
+        switch (field.getType()) {
+            case INT32:
+                if (sizing) {
+                    bytes += CodedOutputStream.computeInt32Size(number, value);
+                } else {
+                    out.writeInt32(number, value);
+                }
+                return;
+            case SINT32:
+                if (sizing) {
+                    bytes += CodedOutputStream.computeSInt32Size(number, value);
+                } else {
+                    out.writeSInt32(number, value);
+                }
+                return;
+            case UINT32:
+                if (sizing) {
+                    bytes += CodedOutputStream.computeUInt32Size(number, value);
+                } else {
+                    out.writeUInt32(number, value);
+                }
+                return;
+            case FIXED32:
+                if (sizing) {
+                    bytes += CodedOutputStream.computeFixed32Size(number, value);
+                } else {
+                    out.writeFixed32(number, value);
+                }
+                return;
+            case SFIXED32:
+                if (sizing) {
+                    bytes += CodedOutputStream.computeSFixed32Size(number, value);
+                } else {
+                    out.writeSFixed32(number, value);
+                }
+                return;
+            case ENUM:
+                if (sizing) {
+                    bytes += CodedOutputStream.computeEnumSize(number, value);
+                } else {
+                    out.writeEnum(number, value);
+                }
+                return;
+            default:
+                writeLong(field, value);
+        }
+    }
+
+    void writeLong(ProtoField field, long value) throws IOException {
+        if (value == 0 && !field.hasPresence()) {
+            return;
+        }
+        final int number = field.getNumber();
+        switch (field.getType()) {
+            case INT64:
+                if (sizing) {
+                    bytes += CodedOutputStream.computeInt64Size(number, value);
+                } else {
+                    out.writeInt64(number, value);
+                }
+                return;
+            case SINT64:
+                if (sizing) {
+                    bytes += CodedOutputStream.computeSInt64Size(number, value);
+                } else {
+                    out.writeSInt64(number, value);
+                }
+                return;
+            case UINT64:
+                if (sizing) {
+                    bytes += CodedOutputStream.computeUInt64Size(number, value);
+                } else {
+                    out.writeUInt64(number, value);
+                }
+                return;
+            case FIXED64:
+                if (sizing) {
+                    bytes += CodedOutputStream.computeFixed64Size(number, value);
+                } else {
+                    out.writeFixed64(number, value);
+                }
+                return;
+            case SFIXED64:
+                if (sizing) {
+                    bytes += CodedOutputStream.computeSFixed64Size(number, value);
+                } else {
+                    out.writeSFixed64(number, value);
+                }
+                return;
+            case INT32:
+            case SINT32:
+            case UINT32:
+            case FIXED32:
+            case SFIXED32:
+            case ENUM:
+                writeInt(field, (int) value);
+                return;
+            default:
+                throw new IllegalArgumentException("not an integer field " + field);
+        }
+    }
+
+    void writeBool(ProtoField field, boolean value) throws IOException {
+        if (!value && !field.hasPresence()) {
+            return;
+        }
+        if (sizing) {
+            bytes += CodedOutputStream.computeBoolSize(field.getNumber(), value);
+        } else {
+            out.writeBool(field.getNumber(), value);
+        }
+    }
+
+    void writeDouble(ProtoField field, double value) throws IOException {
+        if (Double.doubleToRawLongBits(value) == 0 && !field.hasPresence()) {
+            return;
+        }
+        final int number = field.getNumber();
+        if (field.getType() == Descriptors.FieldDescriptor.Type.FLOAT) {
+            if (sizing) {
+                bytes += CodedOutputStream.computeFloatSize(number, (float) value);
+            } else {
+                out.writeFloat(number, (float) value);
+            }
+            return;
+        }
+        if (sizing) {
+            bytes += CodedOutputStream.computeDoubleSize(number, value);
+        } else {
+            out.writeDouble(number, value);
+        }
+    }
+
+    void writeString(ProtoField field, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.isEmpty() && !field.hasPresence()) {
+            return;
+        }
+        if (sizing) {
+            bytes += CodedOutputStream.computeStringSize(field.getNumber(), value);
+        } else {
+            out.writeString(field.getNumber(), value);
+        }
+    }
+}
@@ -36,6 +36,7 @@ import com.navercorp.pinpoint.profiler.AgentInfoSender;
 import com.navercorp.pinpoint.profiler.AgentInformation;
 import com.navercorp.pinpoint.profiler.context.ServerMetaDataRegistryService;
 import com.navercorp.pinpoint.profiler.context.SpanType;
+import com.navercorp.pinpoint.profiler.context.config.ContextConfig;
 import com.navercorp.pinpoint.profiler.context.javamodule.ClassFileTransformerModuleHandler;
 import com.navercorp.pinpoint.profiler.context.javamodule.JavaModuleFactoryFinder;
 import com.navercorp.pinpoint.profiler.context.provider.ShutdownHookRegisterProvider;
@@ -46,6 +47,8 @@ import com.navercorp.pinpoint.profiler.instrument.lambda.LambdaTransformBootload
 import com.navercorp.pinpoint.profiler.micrometer.MicrometerMonitor;
 import com.navercorp.pinpoint.profiler.monitor.AgentStatMonitor;
 import com.navercorp.pinpoint.profiler.monitor.DeadlockMonitor;
+import com.navercorp.pinpoint.profiler.util.AgentThreadContext;
+import com.navercorp.pinpoint.profiler.util.VirtualThreads;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -100,6 +103,12 @@ public class DefaultApplicationContext implements ApplicationContext {
 
         this.profilerConfig = injector.getInstance(ProfilerConfig.class);
 
+        final ContextConfig contextConfig = injector.getInstance(ContextConfig.class);
+        if (contextConfig.isVirtualThreadEnable()) {
+            logger.info("virtual thread mode supported:{}", VirtualThreads.isSupported());
+            AgentThreadContext.setVirtualThreadMode(VirtualThreads.isSupported());
+        }
+
         this.instrumentEngine = injector.getInstance(InstrumentEngine.class);
 
         this.classFileTransformer = injector.getInstance(ClassFileTransformer.class);
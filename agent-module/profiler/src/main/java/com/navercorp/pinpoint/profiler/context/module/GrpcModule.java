@@ -34,11 +34,13 @@ import com.navercorp.pinpoint.profiler.context.SpanType;
 import com.navercorp.pinpoint.profiler.context.compress.SpanProcessor;
 import com.navercorp.pinpoint.profiler.context.grpc.GrpcMetadataMessageConverterProvider;
 import com.navercorp.pinpoint.profiler.context.grpc.GrpcSpanMessageConverterProvider;
+import com.navercorp.pinpoint.profiler.context.grpc.GrpcSpanWireEncoderProvider;
 import com.navercorp.pinpoint.profiler.context.grpc.GrpcStatMessageConverterProvider;
 import com.navercorp.pinpoint.profiler.context.grpc.config.GrpcTransportConfig;
 import com.navercorp.pinpoint.profiler.context.grpc.config.SpanSenderType;
 import com.navercorp.pinpoint.profiler.context.grpc.config.SpanUriGetter;
 import com.navercorp.pinpoint.profiler.context.grpc.config.SpanUriGetterProvider;
+import com.navercorp.pinpoint.profiler.context.grpc.encoder.GrpcSpanWireEncoder;
 import com.navercorp.pinpoint.profiler.context.grpc.mapper.AgentInfoMapper;
 import com.navercorp.pinpoint.profiler.context.grpc.mapper.AgentStatMapper;
 import com.navercorp.pinpoint.profiler.context.grpc.mapper.AnnotationValueMapper;
@@ -204,6 +206,8 @@ public class GrpcModule extends PrivateModule {
 
         // not singleton
         bind(spanMessageConverterKey).toProvider(GrpcSpanMessageConverterProvider.class);
+        // not singleton
+        bind(GrpcSpanWireEncoder.class).toProvider(GrpcSpanWireEncoderProvider.class);
         TypeLiteral<SpanProcessor<PSpan.Builder, PSpanChunk.Builder>> spanPostProcessorType = new TypeLiteral<SpanProcessor<PSpan.Builder, PSpanChunk.Builder>>() {
         };
         bind(spanPostProcessorType).toProvider(GrpcSpanProcessorProvider.class).in(Scopes.SINGLETON);
@@ -22,6 +22,7 @@ public class DefaultMonitorConfig implements MonitorConfig {
 
     public static final int DEFAULT_AGENT_STAT_COLLECTION_INTERVAL_MS = 5 * 1000;
     public static final int DEFAULT_NUM_AGENT_STAT_BATCH_SEND = 6;
+    public static final long DEFAULT_AGENT_STAT_COLLECT_DEADLINE_MS = 1000;
 
     @Value("${profiler.custommetric.enable}")
     private boolean customMetricEnable = false;
@@ -48,6 +49,10 @@ public class DefaultMonitorConfig implements MonitorConfig {
     private int profileJvmStatBatchSendCount = DEFAULT_NUM_AGENT_STAT_BATCH_SEND;
     @Value("${profiler.jvm.stat.collect.detailed.metrics}")
     private boolean profilerJvmStatCollectDetailedMetrics = false;
+    @Value("${profiler.jvm.stat.collect.parallel.enable}")
+    private boolean profileJvmStatCollectParallelEnable = false;
+    @Value("${profiler.jvm.stat.collect.deadline}")
+    private long profileJvmStatCollectDeadlineMs = DEFAULT_AGENT_STAT_COLLECT_DEADLINE_MS;
 
     public DefaultMonitorConfig() {
     }
@@ -67,6 +72,16 @@ public class DefaultMonitorConfig implements MonitorConfig {
         return profilerJvmStatCollectDetailedMetrics;
     }
 
+    @Override
+    public boolean isProfileJvmStatCollectParallelEnable() {
+        return profileJvmStatCollectParallelEnable;
+    }
+
+    @Override
+    public long getProfileJvmStatCollectDeadlineMs() {
+        return profileJvmStatCollectDeadlineMs;
+    }
+
     @Override
     public boolean isCustomMetricEnable() {
         return customMetricEnable;
@@ -121,6 +136,8 @@ public class DefaultMonitorConfig implements MonitorConfig {
                 ", profileJvmStatCollectIntervalMs=" + profileJvmStatCollectIntervalMs +
                 ", profileJvmStatBatchSendCount=" + profileJvmStatBatchSendCount +
                 ", profilerJvmStatCollectDetailedMetrics=" + profilerJvmStatCollectDetailedMetrics +
+                ", profileJvmStatCollectParallelEnable=" + profileJvmStatCollectParallelEnable +
+                ", profileJvmStatCollectDeadlineMs=" + profileJvmStatCollectDeadlineMs +
                 '}';
     }
 }
@@ -23,6 +23,10 @@ public interface MonitorConfig {
 
     boolean isProfilerJvmStatCollectDetailedMetrics();
 
+    boolean isProfileJvmStatCollectParallelEnable();
+
+    long getProfileJvmStatCollectDeadlineMs();
+
     boolean isCustomMetricEnable();
 
     int getCustomMetricLimitSize();
@@ -30,11 +30,16 @@ import com.navercorp.pinpoint.grpc.client.config.ClientOption;
 import com.navercorp.pinpoint.profiler.context.SpanType;
 import com.navercorp.pinpoint.profiler.context.grpc.config.GrpcTransportConfig;
 import com.navercorp.pinpoint.profiler.context.grpc.config.SpanBatchSenderConfig;
+import com.navercorp.pinpoint.profiler.context.grpc.config.SpanEncoderType;
+import com.navercorp.pinpoint.profiler.context.grpc.config.SpanQueueOverflowPolicy;
+import com.navercorp.pinpoint.profiler.context.grpc.config.SpanQueueType;
+import com.navercorp.pinpoint.profiler.context.grpc.encoder.GrpcSpanWireEncoder;
 import com.navercorp.pinpoint.profiler.context.module.SpanDataSender;
 import com.navercorp.pinpoint.profiler.sender.grpc.SpanBatchGrpcDataSender;
 import com.navercorp.pinpoint.profiler.sender.grpc.metric.ChannelzReporter;
 import com.navercorp.pinpoint.profiler.sender.grpc.metric.ChannelzScheduledReporter;
 import com.navercorp.pinpoint.profiler.sender.grpc.metric.DefaultChannelzReporter;
+import com.navercorp.pinpoint.profiler.util.queue.MpmcRingBuffer;
 import io.grpc.ClientInterceptor;
 import io.grpc.NameResolverProvider;
 import io.netty.handler.ssl.SslContext;
@@ -43,6 +48,8 @@ import org.apache.logging.log4j.Logger;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 
 /**
  * @author emeroad
@@ -53,6 +60,7 @@ public class SpanBatchGrpcDataSenderProvider implements Provider<DataSender<Span
 
     private final GrpcTransportConfig grpcTransportConfig;
     private final MessageConverter<SpanType, GeneratedMessageV3> messageConverter;
+    private final Provider<GrpcSpanWireEncoder> wireEncoderProvider;
     private final HeaderFactory headerFactory;
     private final NameResolverProvider nameResolverProvider;
     private final ChannelzScheduledReporter reporter;
@@ -65,12 +73,14 @@ public class SpanBatchGrpcDataSenderProvider implements Provider<DataSender<Span
     @Inject
     public SpanBatchGrpcDataSenderProvider(GrpcTransportConfig grpcTransportConfig,
                                           @SpanDataSender MessageConverter<SpanType, GeneratedMessageV3> messageConverter,
+                                          Provider<GrpcSpanWireEncoder> wireEncoderProvider,
                                           HeaderFactory headerFactory,
                                           NameResolverProvider nameResolverProvider,
                                           ChannelzScheduledReporter reporter,
                                           Provider<SslContext> sslContextProvider) {
         this.grpcTransportConfig = Objects.requireNonNull(grpcTransportConfig, "grpcTransportConfig");
         this.messageConverter = Objects.requireNonNull(messageConverter, "messageConverter");
+        this.wireEncoderProvider = Objects.requireNonNull(wireEncoderProvider, "wireEncoderProvider");
         this.headerFactory = Objects.requireNonNull(headerFactory, "headerFactory");
         this.nameResolverProvider = Objects.requireNonNull(nameResolverProvider, "nameResolverProvider");
         this.reporter = Objects.requireNonNull(reporter, "reporter");
@@ -93,13 +103,16 @@ public class SpanBatchGrpcDataSenderProvider implements Provider<DataSender<Span
         final long flushIntervalMillis = batchConfig.getFlushIntervalMillis();
         final long batchCollectDeadLineTimeMillis = batchConfig.getCollectDeadlineTimeMillis();
         final int maxConcurrentRequests = batchConfig.getMaxConcurrentRequests();
+        final BlockingQueue<SpanType> queue = newQueue(batchConfig.getQueueType(), senderExecutorQueueSize);
+        final SpanQueueOverflowPolicy overflowPolicy = batchConfig.getQueueOverflowPolicy();
+        final GrpcSpanWireEncoder wireEncoder = newWireEncoder(batchConfig.getEncoderType());
 
         final ChannelFactoryBuilder channelFactoryBuilder = newChannelFactoryBuilder(sslEnable);
         final ChannelFactory channelFactory = channelFactoryBuilder.build();
 
         final SpanBatchGrpcDataSender spanListGrpcDataSender = new SpanBatchGrpcDataSender(
                 collectorIp, collectorPort,
-                senderExecutorQueueSize, messageConverter,
+                queue, overflowPolicy, messageConverter, wireEncoder,
                 channelFactory, batchSize, flushIntervalMillis, batchCollectDeadLineTimeMillis,
                 maxConcurrentRequests);
 
@@ -112,6 +125,32 @@ public class SpanBatchGrpcDataSenderProvider implements Provider<DataSender<Span
         return spanListGrpcDataSender;
     }
 
+    private BlockingQueue<SpanType> newQueue(SpanQueueType queueType, int queueSize) {
+        switch (queueType) {
+            case LINKED:
+                return new LinkedBlockingQueue<>(queueSize);
+            case RING_BUFFER:
+                final MpmcRingBuffer<SpanType> ringBuffer = new MpmcRingBuffer<>(queueSize);
+                if (ringBuffer.capacity() != queueSize) {
+                    logger.info("RING_BUFFER queue size rounded up to a power of two. queueSize:{}, capacity:{}", queueSize, ringBuffer.capacity());
+                }
+                return ringBuffer;
+            default:
+                throw new IllegalStateException("Unknown SpanQueueType: " + queueType);
+        }
+    }
+
+    private GrpcSpanWireEncoder newWireEncoder(SpanEncoderType encoderType) {
+        switch (encoderType) {
+            case MESSAGE:
+                return null;
+            case DIRECT:
+                return wireEncoderProvider.get();
+            default:
+                throw new IllegalStateException("Unknown SpanEncoderType: " + encoderType);
+        }
+    }
+
     private void registerChannelzReporter(SpanBatchGrpcDataSender sender) {
         final Logger statChannelLogger = LogManager.getLogger(SPAN_CHANNELZ);
         ChannelzReporter statReporter = new DefaultChannelzReporter(statChannelLogger);
@@ -22,18 +22,24 @@ import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
 import com.navercorp.pinpoint.bootstrap.sampler.TraceSampler;
+import com.navercorp.pinpoint.common.profiler.message.DataSender;
+import com.navercorp.pinpoint.profiler.context.SpanType;
 import com.navercorp.pinpoint.profiler.context.config.ContextConfig;
 import com.navercorp.pinpoint.profiler.context.id.IdGenerator;
+import com.navercorp.pinpoint.profiler.context.module.SpanDataSender;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveTraceSampler;
 import com.navercorp.pinpoint.profiler.sampler.BasicTraceSampler;
 import com.navercorp.pinpoint.profiler.sampler.RateLimitTraceSampler;
 import com.navercorp.pinpoint.profiler.sampler.SamplerType;
 import com.navercorp.pinpoint.profiler.sampler.UrlTraceSampler;
+import com.navercorp.pinpoint.profiler.sender.DiscardCounter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.LongSupplier;
 
 /**
  * @author Woonduk Kang(emeroad)
@@ -45,28 +51,56 @@ public class TraceSamplerProvider implements Provider<TraceSampler> {
     private final IdGenerator idGenerator;
     private final ContextConfig contextConfig;
     private final ProfilerConfig profilerConfig;
+    // @Nullable
+    private final Provider<DataSender<SpanType>> spanDataSenderProvider;
 
-    @Inject
     public TraceSamplerProvider(ProfilerConfig profilerConfig, ContextConfig contextConfig, Sampler sampler, IdGenerator idGenerator) {
+        this(profilerConfig, contextConfig, sampler, idGenerator, null);
+    }
+
+    @Inject
+    public TraceSamplerProvider(ProfilerConfig profilerConfig, ContextConfig contextConfig, Sampler sampler, IdGenerator idGenerator,
+                                @SpanDataSender Provider<DataSender<SpanType>> spanDataSenderProvider) {
         this.profilerConfig = Objects.requireNonNull(profilerConfig, "profilerConfig");
         this.contextConfig = Objects.requireNonNull(contextConfig, "contextConfig");
         this.sampler = Objects.requireNonNull(sampler, "sampler");
         this.idGenerator = Objects.requireNonNull(idGenerator, "idGenerator");
+        this.spanDataSenderProvider = spanDataSenderProvider;
     }
 
     @Override
     public TraceSampler get() {
+        TraceSampler traceSampler = newSampler();
+        final int adaptiveThroughput = contextConfig.getSamplingAdaptiveThroughput();
+        if (adaptiveThroughput > 0) {
+            traceSampler = new AdaptiveTraceSampler(adaptiveThroughput, contextConfig.getSamplingAdaptiveInterval(),
+                    newDiscardedCount(), idGenerator, traceSampler);
+        }
+        logger.info("TraceSamplerProvider {}", traceSampler);
+        return traceSampler;
+    }
+
+    private TraceSampler newSampler() {
         final TraceSampler traceSampler = newTraceSampler(idGenerator, sampler, contextConfig.getSamplingNewThroughput(), contextConfig.getSamplingContinueThroughput());
         final SamplerConfig samplerConfig = new SamplerConfig(profilerConfig);
         if (Boolean.FALSE == samplerConfig.isSamplingEnable() || Boolean.FALSE == samplerConfig.isUrlSamplingEnable()) {
-            logger.info("TraceSamplerProvider {}", traceSampler);
             return traceSampler;
         }
 
         final SamplerType samplerType = samplerConfig.getSamplerType();
-        final TraceSampler urlTraceSampler = newUrlSampler(traceSampler, samplerType);
-        logger.info("TraceSamplerProvider {}", urlTraceSampler);
-        return urlTraceSampler;
+        return newUrlSampler(traceSampler, samplerType);
+    }
+
+    private LongSupplier newDiscardedCount() {
+        if (spanDataSenderProvider == null) {
+            return () -> 0;
+        }
+        final DataSender<SpanType> spanDataSender = spanDataSenderProvider.get();
+        if (spanDataSender instanceof DiscardCounter) {
+            return ((DiscardCounter) spanDataSender)::getDiscardedCount;
+        }
+        logger.info("{} does not count discarded spans", spanDataSender);
+        return () -> 0;
     }
 
     TraceSampler newTraceSampler(IdGenerator idGenerator, Sampler sampler, int samplingNewThroughput, int samplingContinueThroughput) {
@@ -31,18 +31,18 @@ import org.apache.logging.log4j.Logger;
 import java.lang.instrument.ClassFileTransformer;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author jaehong.kim
  */
 public class MatchableTransformerRegistry implements TransformerRegistry {
+    private static final long MATCHING_TIME_LOG_INTERVAL = 10000;
+
     private final Logger logger = LogManager.getLogger(this.getClass());
     private final boolean isDebug = logger.isDebugEnabled();
 
@@ -52,7 +52,11 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
     // class matcher operand.
     private final Map<String, IndexValue> classNameBasedIndex = new HashMap<>(64);
     // package matcher operand.
-    private final Map<String, Set<IndexValue>> packageNameBasedIndex;
+    private final PackageNameTrie<IndexValue> packageNameBasedIndex = new PackageNameTrie<>();
+
+    // time spent to find the transformer of a class
+    private final AtomicLong matchingCount = new AtomicLong(0);
+    private final AtomicLong matchingTimeNanos = new AtomicLong(0);
 
     private final TransformerMatcherExecutionPlanner executionPlanner = new TransformerMatcherExecutionPlanner();
     private final TransformerMatcher transformerMatcher;
@@ -64,9 +68,6 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
         final List<MatchableClassFileTransformer> defaultTransfomerList = filterDefaultMatcher(matchableClassFileTransformerList);
         this.defaultTransformerRegistry = new DefaultTransformerRegistry(defaultTransfomerList);
 
-        // sorted by package name length.
-        this.packageNameBasedIndex = new TreeMap<>();
-
         final List<MatchableClassFileTransformer> baseTransformer = filterBaseMatcher(matchableClassFileTransformerList);
         for (MatchableClassFileTransformer transformer : baseTransformer) {
             try {
@@ -89,6 +90,21 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
 
     @Override
     public ClassFileTransformer findTransformer(final ClassLoader classLoader, final String classInternalName, final byte[] classFileBuffer, final InternalClassMetadata classMetadata) {
+        final long startTime = System.nanoTime();
+        final ClassFileTransformer transformer = findTransformer0(classLoader, classInternalName, classFileBuffer, classMetadata);
+        final long elapsedTime = System.nanoTime() - startTime;
+        final long count = matchingCount.incrementAndGet();
+        final long totalTime = matchingTimeNanos.addAndGet(elapsedTime);
+        if (isDebug) {
+            logger.debug("Find transformer elapsed={}us, class={}, transformer={}", TimeUnit.NANOSECONDS.toMicros(elapsedTime), classInternalName, transformer);
+        }
+        if (count % MATCHING_TIME_LOG_INTERVAL == 0) {
+            logger.info("Find transformer classes={}, accumulator={}ms", count, TimeUnit.NANOSECONDS.toMillis(totalTime));
+        }
+        return transformer;
+    }
+
+    private ClassFileTransformer findTransformer0(final ClassLoader classLoader, final String classInternalName, final byte[] classFileBuffer, final InternalClassMetadata classMetadata) {
         // find default.
         final ClassFileTransformer transformer = this.defaultTransformerRegistry.findTransformer(classLoader, classInternalName, classFileBuffer);
         if (transformer != null) {
@@ -134,15 +150,11 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
     }
 
     private ClassFileTransformer findPackageBasedTransformer(final ClassLoader classLoader, final String classInternalName, final ClassMetadataWrapper classMetadataWrapper) {
-        for (Map.Entry<String, Set<IndexValue>> entry : this.packageNameBasedIndex.entrySet()) {
-            final String packageInternalName = entry.getKey();
-            if (classInternalName.startsWith(packageInternalName)) {
-                for (IndexValue value : entry.getValue()) {
-                    ClassFileTransformer transformer = match(classLoader, value, classMetadataWrapper);
-                    if (transformer != null) {
-                        return transformer;
-                    }
-                }
+        final List<IndexValue> candidates = this.packageNameBasedIndex.find(classInternalName);
+        for (IndexValue value : candidates) {
+            ClassFileTransformer transformer = match(classLoader, value, classMetadataWrapper);
+            if (transformer != null) {
+                return transformer;
             }
         }
 
@@ -150,11 +162,12 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
     }
 
     private ClassFileTransformer match(final ClassLoader classLoader, final IndexValue indexValue, final ClassMetadataWrapper classMetadataWrapper) {
-        final long startTime = System.currentTimeMillis();
+        final long startTime = System.nanoTime();
         if (transformerMatcher.match(classLoader, indexValue.operand, classMetadataWrapper.get())) {
             long elapsedTime = indexValue.accumulatorTime(startTime);
             if (isDebug) {
-                logger.debug("Matching time elapsed={}ms, accumulator={}ms, operand={}", elapsedTime, indexValue.accumulatorTimeMillis, indexValue.operand);
+                logger.debug("Matching time elapsed={}us, accumulator={}ms, operand={}", TimeUnit.NANOSECONDS.toMicros(elapsedTime),
+                        TimeUnit.NANOSECONDS.toMillis(indexValue.accumulatorTimeNanos.get()), indexValue.operand);
             }
             return indexValue.transformer;
         } else {
@@ -214,7 +227,7 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
                 indexed = true;
             } else if (operand instanceof PackageInternalNameMatcherOperand) {
                 PackageInternalNameMatcherOperand packageInternalNameMatcherOperand = (PackageInternalNameMatcherOperand) operand;
-                addIndexData(packageInternalNameMatcherOperand.getPackageInternalName(), indexValue, this.packageNameBasedIndex);
+                this.packageNameBasedIndex.put(packageInternalNameMatcherOperand.getPackageInternalName(), indexValue);
                 indexed = true;
             } else {
                 throw new IllegalArgumentException("invalid matcher or execution planner - unknown operand. condition=" + condition + ", unknown operand=" + operand);
@@ -226,29 +239,28 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
         }
     }
 
-    private void addIndexData(final String key, final IndexValue indexValue, final Map<String, Set<IndexValue>> index) {
-        Set<IndexValue> indexValueSet = index.get(key);
-        if (indexValueSet == null) {
-            indexValueSet = new LinkedHashSet<>();
-            index.put(key, indexValueSet);
-        }
-        indexValueSet.add(indexValue);
+    public long getMatchingCount() {
+        return matchingCount.get();
+    }
+
+    public long getMatchingTimeNanos() {
+        return matchingTimeNanos.get();
     }
 
     static class IndexValue {
         private final MatcherOperand operand;
         private final ClassFileTransformer transformer;
-        private final AtomicLong accumulatorTimeMillis = new AtomicLong(0);
+        private final AtomicLong accumulatorTimeNanos = new AtomicLong(0);
 
         public IndexValue(final MatcherOperand operand, final ClassFileTransformer transformer) {
             this.operand = operand;
             this.transformer = transformer;
         }
 
-        public long accumulatorTime(final long startTimeMillis) {
-            final long elapsedTimeMillis = System.currentTimeMillis() - startTimeMillis;
-            accumulatorTimeMillis.addAndGet(elapsedTimeMillis);
-            return elapsedTimeMillis;
+        public long accumulatorTime(final long startTimeNanos) {
+            final long elapsedTimeNanos = System.nanoTime() - startTimeNanos;
+            accumulatorTimeNanos.addAndGet(elapsedTimeNanos);
+            return elapsedTimeNanos;
         }
     }
 
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Package internal name prefixes indexed by package segment.
+ * <p>
+ * A prefix matches like {@link String#startsWith(String)}, so its last part may end in the middle of a segment,
+ * eg) {@code com/foo} matches {@code com/foobar/Baz}.
+ * Such a part is kept in the node of the preceding segments, and compared with the segment of the class name only.
+ * Values are returned in the order of the prefixes in a {@link TreeMap}, which is the order of their length.
+ * <p>
+ * Not thread safe for writes, the index is built once before it is read.
+ *
+ * @param <V> value
+ */
+class PackageNameTrie<V> {
+
+    private final Node<V> root = new Node<>();
+    private boolean empty = true;
+
+    void put(String packageInternalName, V value) {
+        Node<V> node = root;
+        int start = 0;
+        int slash;
+        while ((slash = packageInternalName.indexOf('/', start)) != -1) {
+            node = node.getOrCreateChild(packageInternalName.substring(start, slash));
+            start = slash + 1;
+        }
+        // empty if the prefix ends with '/'
+        final String lastPart = packageInternalName.substring(start);
+        node.addValue(lastPart, value);
+        this.empty = false;
+    }
+
+    boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * @return values of every prefix of the classInternalName
+     */
+    List<V> find(String classInternalName) {
+        List<V> result = null;
+        Node<V> node = root;
+        int start = 0;
+        while (true) {
+            final int slash = classInternalName.indexOf('/', start);
+            final int end = slash == -1 ? classInternalName.length() : slash;
+            result = node.collect(classInternalName, start, end, result);
+            if (slash == -1) {
+                break;
+            }
+            node = node.getChild(classInternalName.substring(start, end));
+            if (node == null) {
+                break;
+            }
+            start = slash + 1;
+        }
+        if (result == null) {
+            return Collections.emptyList();
+        }
+        return result;
+    }
+
+    private static class Node<V> {
+        private Map<String, Node<V>> children;
+        // last part of the prefix -> values
+        private TreeMap<String, Set<V>> values;
+
+        Node<V> getChild(String segment) {
+            if (children == null) {
+                return null;
+            }
+            return children.get(segment);
+        }
+
+        Node<V> getOrCreateChild(String segment) {
+            if (children == null) {
+                children = new HashMap<>();
+            }
+            Node<V> child = children.get(segment);
+            if (child == null) {
+                child = new Node<>();
+                children.put(segment, child);
+            }
+            return child;
+        }
+
+        void addValue(String lastPart, V value) {
+            if (values == null) {
+                values = new TreeMap<>();
+            }
+            Set<V> valueSet = values.get(lastPart);
+            if (valueSet == null) {
+                valueSet = new LinkedHashSet<>();
+                values.put(lastPart, valueSet);
+            }
+            valueSet.add(value);
+        }
+
+        List<V> collect(String name, int start, int end, List<V> result) {
+            if (values == null) {
+                return result;
+            }
+            final int segmentLength = end - start;
+            for (Map.Entry<String, Set<V>> entry : values.entrySet()) {
+                final String lastPart = entry.getKey();
+                if (lastPart.length() <= segmentLength && name.startsWith(lastPart, start)) {
+                    if (result == null) {
+                        result = new ArrayList<>();
+                    }
+                    result.addAll(entry.getValue());
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -16,6 +16,7 @@ package com.navercorp.pinpoint.profiler.interceptor.scope;
 
 import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScope;
 import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScopeInvocation;
+import com.navercorp.pinpoint.profiler.util.AgentThreadContext;
 
 /**
  * @author Jongho Moon
@@ -23,18 +24,11 @@ import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScopeInvoca
  */
 public class DefaultInterceptorScope implements InterceptorScope {
     private final String name;
-    private final ThreadLocal<InterceptorScopeInvocation> threadLocal;
+    private final int slot;
     
     public DefaultInterceptorScope(final String name) {
         this.name = name;
-        this.threadLocal = new ThreadLocal<InterceptorScopeInvocation>() {
-
-            @Override
-            protected InterceptorScopeInvocation initialValue() {
-                return new DefaultInterceptorScopeInvocation(name);
-            }
-            
-        };
+        this.slot = AgentThreadContext.newSlot();
     }
 
     @Override
@@ -44,6 +38,15 @@ public class DefaultInterceptorScope implements InterceptorScope {
 
     @Override
     public InterceptorScopeInvocation getCurrentInvocation() {
-        return threadLocal.get();
+        final InterceptorScopeInvocation invocation = AgentThreadContext.get(slot);
+        if (invocation != null) {
+            return invocation;
+        }
+        if (AgentThreadContext.isCompact()) {
+            return new SlotInterceptorScopeInvocation(name, slot);
+        }
+        final InterceptorScopeInvocation newInvocation = new DefaultInterceptorScopeInvocation(name);
+        AgentThreadContext.set(slot, newInvocation);
+        return newInvocation;
     }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.interceptor.scope;
+
+import com.navercorp.pinpoint.bootstrap.interceptor.scope.ExecutionPolicy;
+import com.navercorp.pinpoint.profiler.util.AgentThreadContext;
+
+/**
+ * Scope invocation of a compact {@link AgentThreadContext}.
+ * It is stored in its slot when entered and clears the slot when the outermost invocation leaves,
+ * so a thread outside the scope holds no invocation.
+ */
+public class SlotInterceptorScopeInvocation extends DefaultInterceptorScopeInvocation {
+
+    private final int slot;
+
+    public SlotInterceptorScopeInvocation(String name, int slot) {
+        super(name);
+        this.slot = slot;
+    }
+
+    @Override
+    public boolean tryEnter(ExecutionPolicy point) {
+        final boolean active = isActive();
+        final boolean entered = super.tryEnter(point);
+        if (entered && !active) {
+            AgentThreadContext.set(slot, this);
+        }
+        return entered;
+    }
+
+    @Override
+    public void leave(ExecutionPolicy point) {
+        super.leave(point);
+        if (!isActive()) {
+            AgentThreadContext.set(slot, null);
+        }
+    }
+}
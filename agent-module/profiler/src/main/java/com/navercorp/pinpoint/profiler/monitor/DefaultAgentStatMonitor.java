@@ -35,6 +35,8 @@ import com.navercorp.pinpoint.profiler.name.ObjectName;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -61,6 +63,7 @@ public class DefaultAgentStatMonitor implements AgentStatMonitor {
     private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1, new PinpointThreadFactory("Pinpoint-stat-monitor", true));
 
     private final StatMonitorJob statMonitorJob;
+    private final AgentStatMetricCollector<AgentStatMetricSnapshot> agentStatCollector;
 
     @Inject
     public DefaultAgentStatMonitor(@StatDataSender DataSender<MetricType> dataSender,
@@ -72,8 +75,7 @@ public class DefaultAgentStatMonitor implements AgentStatMonitor {
                                    MonitorConfig monitorConfig) {
         Objects.requireNonNull(dataSender, "dataSender");
         Objects.requireNonNull(objectName, "objectName");
-        Objects.requireNonNull(agentStatCollector, "agentStatCollector");
-
+        this.agentStatCollector = Objects.requireNonNull(agentStatCollector, "agentStatCollector");
 
         this.collectionIntervalMs = getCollectionIntervalMs(monitorConfig.getProfileJvmStatCollectIntervalMs());
 
@@ -145,6 +147,13 @@ public class DefaultAgentStatMonitor implements AgentStatMonitor {
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
+        if (agentStatCollector instanceof Closeable) {
+            try {
+                ((Closeable) agentStatCollector).close();
+            } catch (IOException e) {
+                logger.warn("AgentStatCollector close failed", e);
+            }
+        }
         logger.info("AgentStat monitor stopped");
     }
 
@@ -17,8 +17,10 @@
 package com.navercorp.pinpoint.profiler.monitor.collector;
 
 import com.google.inject.Inject;
+import com.navercorp.pinpoint.common.profiler.concurrent.PinpointThreadFactory;
 import com.navercorp.pinpoint.profiler.context.active.ActiveTraceHistogram;
 import com.navercorp.pinpoint.profiler.context.module.AgentStartTime;
+import com.navercorp.pinpoint.profiler.context.monitor.config.MonitorConfig;
 import com.navercorp.pinpoint.profiler.monitor.metric.AgentStatMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.JvmGcMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.buffer.BufferMetricSnapshot;
@@ -31,13 +33,38 @@ import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeValue
 import com.navercorp.pinpoint.profiler.monitor.metric.totalthread.TotalThreadMetricSnapshot;
 import com.navercorp.pinpoint.profiler.monitor.metric.transaction.TransactionMetricSnapshot;
 import com.navercorp.pinpoint.profiler.name.ObjectName;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 
 /**
+ * In parallel mode, the slow metric collectors run on a thread each and are awaited until their own deadline,
+ * while the others run on the calling thread.
+ * A late collector is left out of the snapshot and is not restarted until it completes,
+ * its result is then used for the next snapshot.
+ *
  * @author HyunGil Jeong
  */
-public class AgentStatCollector implements AgentStatMetricCollector<AgentStatMetricSnapshot> {
+public class AgentStatCollector implements AgentStatMetricCollector<AgentStatMetricSnapshot>, Closeable {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private static final long TIMING_REPORT_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(5);
 
     private final ObjectName objectName;
     private final long agentStartTimestamp;
@@ -53,6 +80,13 @@ public class AgentStatCollector implements AgentStatMetricCollector<AgentStatMet
     private final AgentStatMetricCollector<TotalThreadMetricSnapshot> totalThreadMetricCollector;
     private final AgentStatMetricCollector<LoadedClassMetricSnapshot> loadedClassMetricCollector;
 
+    private final List<CollectTask<?>> tasks;
+    private final List<CollectorTiming> timings;
+    // null in sequential mode
+    private final ExecutorService executor;
+    private final long deadlineNanos;
+    private long lastTimingReportNanos = System.nanoTime();
+
     @Inject
     public AgentStatCollector(
             ObjectName objectName,
@@ -67,7 +101,8 @@ public class AgentStatCollector implements AgentStatMetricCollector<AgentStatMet
             AgentStatMetricCollector<FileDescriptorMetricSnapshot> fileDescriptorMetricCollector,
             AgentStatMetricCollector<BufferMetricSnapshot> bufferMetricCollector,
             AgentStatMetricCollector<TotalThreadMetricSnapshot> totalThreadMetricCollector,
-            AgentStatMetricCollector<LoadedClassMetricSnapshot> loadedClassMetricCollector) {
+            AgentStatMetricCollector<LoadedClassMetricSnapshot> loadedClassMetricCollector,
+            MonitorConfig monitorConfig) {
         this.objectName = Objects.requireNonNull(objectName, "objectName");
         this.agentStartTimestamp = agentStartTimestamp;
         this.jvmGcMetricCollector = Objects.requireNonNull(jvmGcMetricCollector, "jvmGcMetricCollector");
@@ -81,6 +116,40 @@ public class AgentStatCollector implements AgentStatMetricCollector<AgentStatMet
         this.bufferMetricCollector = Objects.requireNonNull(bufferMetricCollector, "bufferMetricCollector");
         this.totalThreadMetricCollector = Objects.requireNonNull(totalThreadMetricCollector, "totalThreadMetricCollector");
         this.loadedClassMetricCollector = Objects.requireNonNull(loadedClassMetricCollector, "loadedClassMetricCollector");
+        Objects.requireNonNull(monitorConfig, "monitorConfig");
+
+        this.tasks = Arrays.<CollectTask<?>>asList(
+                new CollectTask<>("jvmGc", jvmGcMetricCollector, AgentStatMetricSnapshot::setGc),
+                new CollectTask<>("cpuLoad", cpuLoadMetricCollector, AgentStatMetricSnapshot::setCpuLoad),
+                new CollectTask<>("transaction", transactionMetricCollector, AgentStatMetricSnapshot::setTransaction),
+                new CollectTask<>("activeTrace", activeTraceMetricCollector, AgentStatMetricSnapshot::setActiveTrace),
+                new CollectTask<>("dataSource", dataSourceMetricCollector, AgentStatMetricSnapshot::setDataSourceList, true),
+                new CollectTask<>("responseTime", responseTimeMetricCollector, AgentStatMetricSnapshot::setResponseTime),
+                new CollectTask<>("deadlock", deadlockMetricCollector, AgentStatMetricSnapshot::setDeadlock, true),
+                new CollectTask<>("fileDescriptor", fileDescriptorMetricCollector, AgentStatMetricSnapshot::setFileDescriptor, true),
+                new CollectTask<>("directBuffer", bufferMetricCollector, AgentStatMetricSnapshot::setDirectBuffer),
+                new CollectTask<>("totalThread", totalThreadMetricCollector, AgentStatMetricSnapshot::setTotalThread),
+                new CollectTask<>("loadedClass", loadedClassMetricCollector, AgentStatMetricSnapshot::setLoadedClassCount)
+        );
+        final List<CollectorTiming> timings = new ArrayList<>(tasks.size());
+        int slowCount = 0;
+        for (CollectTask<?> task : tasks) {
+            timings.add(task.timing);
+            if (task.slow) {
+                slowCount++;
+            }
+        }
+        this.timings = Collections.unmodifiableList(timings);
+
+        if (monitorConfig.isProfileJvmStatCollectParallelEnable()) {
+            // a thread per slow collector, a hung one never delays another
+            final int threadCount = slowCount;
+            this.executor = Executors.newFixedThreadPool(threadCount, new PinpointThreadFactory("Pinpoint-stat-collector", true));
+            this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(monitorConfig.getProfileJvmStatCollectDeadlineMs());
+        } else {
+            this.executor = null;
+            this.deadlineNanos = 0;
+        }
     }
 
     @Override
@@ -88,21 +157,143 @@ public class AgentStatCollector implements AgentStatMetricCollector<AgentStatMet
         AgentStatMetricSnapshot agentStat = new AgentStatMetricSnapshot();
         agentStat.setAgentId(objectName.getAgentId());
         agentStat.setStartTimestamp(agentStartTimestamp);
-        agentStat.setGc(jvmGcMetricCollector.collect());
-        agentStat.setCpuLoad(cpuLoadMetricCollector.collect());
-        agentStat.setTransaction(transactionMetricCollector.collect());
-        agentStat.setActiveTrace(activeTraceMetricCollector.collect());
-        agentStat.setDataSourceList(dataSourceMetricCollector.collect());
-        agentStat.setResponseTime(responseTimeMetricCollector.collect());
-        agentStat.setDeadlock(deadlockMetricCollector.collect());
-        agentStat.setFileDescriptor(fileDescriptorMetricCollector.collect());
-        agentStat.setDirectBuffer(bufferMetricCollector.collect());
-        agentStat.setTotalThread(totalThreadMetricCollector.collect());
-        agentStat.setLoadedClassCount(loadedClassMetricCollector.collect());
-
+        if (executor == null) {
+            for (CollectTask<?> task : tasks) {
+                task.collectTo(agentStat);
+            }
+        } else {
+            collectParallel(agentStat);
+        }
+        reportTimings();
         return agentStat;
     }
 
+    private void reportTimings() {
+        final long now = System.nanoTime();
+        if (now - lastTimingReportNanos >= TIMING_REPORT_INTERVAL_NANOS) {
+            this.lastTimingReportNanos = now;
+            logger.info("Collector timings {}", timings);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("Collector timings {}", timings);
+        }
+    }
+
+    private void collectParallel(AgentStatMetricSnapshot agentStat) {
+        for (CollectTask<?> task : tasks) {
+            if (task.slow) {
+                try {
+                    task.submit(executor);
+                } catch (RejectedExecutionException e) {
+                    // closed
+                    return;
+                }
+            }
+        }
+
+        for (CollectTask<?> task : tasks) {
+            if (!task.slow) {
+                task.collectTo(agentStat);
+            }
+        }
+
+        for (CollectTask<?> task : tasks) {
+            if (!task.slow) {
+                continue;
+            }
+            try {
+                task.awaitTo(agentStat, deadlineNanos);
+            } catch (TimeoutException e) {
+                task.timing.late();
+                if (task.lateStreak++ == 0) {
+                    logger.warn("{} collector missed the deadline of {}ms, skipped until completed. {}",
+                            task.timing.getName(), TimeUnit.NANOSECONDS.toMillis(deadlineNanos), task.timing);
+                }
+            } catch (ExecutionException e) {
+                logger.warn("{} collect failed. Caused:{}", task.timing.getName(), e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // for test
+    List<CollectorTiming> getCollectorTimings() {
+        return timings;
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class CollectTask<T> implements Callable<T> {
+        private final CollectorTiming timing;
+        private final AgentStatMetricCollector<T> collector;
+        private final BiConsumer<AgentStatMetricSnapshot, T> setter;
+        // runs on the executor in parallel mode
+        private final boolean slow;
+
+        // accessed by the stat monitor thread only
+        private Future<T> inFlight;
+        private long deadlineStartNanos;
+        private int lateStreak;
+
+        private CollectTask(String name, AgentStatMetricCollector<T> collector, BiConsumer<AgentStatMetricSnapshot, T> setter) {
+            this(name, collector, setter, false);
+        }
+
+        private CollectTask(String name, AgentStatMetricCollector<T> collector, BiConsumer<AgentStatMetricSnapshot, T> setter, boolean slow) {
+            this.timing = new CollectorTiming(name);
+            this.collector = collector;
+            this.setter = setter;
+            this.slow = slow;
+        }
+
+        @Override
+        public T call() {
+            final long start = System.nanoTime();
+            try {
+                return collector.collect();
+            } finally {
+                timing.record(System.nanoTime() - start);
+            }
+        }
+
+        void submit(ExecutorService executor) {
+            if (inFlight == null) {
+                this.inFlight = executor.submit(this);
+            }
+            // a collector still running since a previous snapshot gets a new deadline
+            this.deadlineStartNanos = System.nanoTime();
+        }
+
+        void collectTo(AgentStatMetricSnapshot agentStat) {
+            setter.accept(agentStat, call());
+        }
+
+        void awaitTo(AgentStatMetricSnapshot agentStat, long deadlineNanos) throws InterruptedException, ExecutionException, TimeoutException {
+            final Future<T> future = this.inFlight;
+            if (future == null) {
+                return;
+            }
+            final long timeoutNanos = deadlineStartNanos + deadlineNanos - System.nanoTime();
+            final T value;
+            try {
+                value = future.get(Math.max(0, timeoutNanos), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                this.inFlight = null;
+                this.lateStreak = 0;
+                throw e;
+            }
+            this.inFlight = null;
+            this.lateStreak = 0;
+            setter.accept(agentStat, value);
+        }
+    }
+
     @Override
     public String toString() {
         return "AgentStatCollector{" + "objectName='" + objectName + '\'' +
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.collector;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time spent by an {@link AgentStatMetricCollector}.
+ * A collector runs on one thread at a time, so each field has a single writer.
+ * Timings are logged at info level every few minutes, and at debug level on every collection.
+ */
+class CollectorTiming {
+
+    private final String name;
+
+    private volatile long count;
+    private volatile long lastNanos;
+    private volatile long maxNanos;
+    private volatile long lateCount;
+
+    CollectorTiming(String name) {
+        this.name = Objects.requireNonNull(name, "name");
+    }
+
+    void record(long elapsedNanos) {
+        this.lastNanos = elapsedNanos;
+        if (elapsedNanos > maxNanos) {
+            this.maxNanos = elapsedNanos;
+        }
+        this.count = count + 1;
+    }
+
+    void late() {
+        this.lateCount = lateCount + 1;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * @return number of collections the collector missed the deadline
+     */
+    long getLateCount() {
+        return lateCount;
+    }
+
+    @Override
+    public String toString() {
+        return name + "{" +
+                "last=" + TimeUnit.NANOSECONDS.toMicros(lastNanos) + "us" +
+                ", max=" + TimeUnit.NANOSECONDS.toMicros(maxNanos) + "us" +
+                ", count=" + count +
+                ", late=" + lateCount +
+                '}';
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.sampler.TraceSampler;
+import com.navercorp.pinpoint.common.profiler.clock.Clock;
+import com.navercorp.pinpoint.profiler.context.id.IdGenerator;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the sampled transactions around {@code targetThroughput} per second.
+ * <p>
+ * Every interval, the rate of new transactions is set so that new and continued transactions fit in the target,
+ * using the transactions sampled by the wrapped sampler during the previous interval.
+ * When the span sender discarded messages, the target is halved, and restored step by step while nothing is discarded.
+ * Continued transactions are never skipped here, the caller has already decided to trace them.
+ */
+public class AdaptiveTraceSampler implements TraceSampler {
+
+    static final double MIN_RATE = 0.0001;
+    static final double DISCARD_BACKOFF = 0.5;
+    static final double RECOVERY_STEP = 0.1;
+
+    private final TraceSampler traceSampler;
+    private final int targetThroughput;
+    private final long intervalMillis;
+    private final LongSupplier discardedCount;
+    private final Clock clock;
+
+    private final State newSkipState;
+
+    private final LongAdder newCount = new LongAdder();
+    private final LongAdder continueCount = new LongAdder();
+    private final AtomicLong sequence = new AtomicLong();
+
+    // replaced as a whole by the thread winning the adjustment
+    private final AtomicReference<Rate> rate;
+
+    public AdaptiveTraceSampler(int targetThroughput, long intervalMillis, LongSupplier discardedCount,
+                                IdGenerator idGenerator, TraceSampler traceSampler) {
+        this(targetThroughput, intervalMillis, discardedCount, idGenerator, traceSampler, Clock.systemUTC());
+    }
+
+    AdaptiveTraceSampler(int targetThroughput, long intervalMillis, LongSupplier discardedCount,
+                         IdGenerator idGenerator, TraceSampler traceSampler, Clock clock) {
+        if (targetThroughput <= 0) {
+            throw new IllegalArgumentException("targetThroughput must be positive");
+        }
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("intervalMillis must be positive");
+        }
+        Objects.requireNonNull(idGenerator, "idGenerator");
+        this.targetThroughput = targetThroughput;
+        this.intervalMillis = intervalMillis;
+        this.discardedCount = Objects.requireNonNull(discardedCount, "discardedCount");
+        this.traceSampler = Objects.requireNonNull(traceSampler, "traceSampler");
+        this.clock = Objects.requireNonNull(clock, "clock");
+
+        this.newSkipState = new State() {
+            @Override
+            public boolean isSampled() {
+                return false;
+            }
+
+            @Override
+            public long nextId() {
+                return idGenerator.nextSkippedId();
+            }
+        };
+        this.rate = new AtomicReference<>(new Rate(clock.millis() + intervalMillis, discardedCount.getAsLong(), 0, 1.0, 1.0));
+    }
+
+    @Override
+    public State isNewSampled() {
+        return throttle(traceSampler.isNewSampled());
+    }
+
+    @Override
+    public State isNewSampled(String urlPath) {
+        return throttle(traceSampler.isNewSampled(urlPath));
+    }
+
+    private State throttle(State newState) {
+        if (!newState.isSampled()) {
+            return newState;
+        }
+        final double rate = adjust().newRate;
+        newCount.increment();
+
+        if (rate >= 1.0) {
+            return newState;
+        }
+        // spreads the sampled transactions evenly, (n * rate) crosses an integer once every 1/rate calls
+        final long n = sequence.incrementAndGet();
+        if ((long) (n * rate) != (long) ((n - 1) * rate)) {
+            return newState;
+        }
+        return newSkipState;
+    }
+
+    @Override
+    public State isContinueSampled() {
+        final State continueState = traceSampler.isContinueSampled();
+        if (continueState.isSampled()) {
+            adjust();
+            continueCount.increment();
+        }
+        return continueState;
+    }
+
+    @Override
+    public State getContinueDisableState() {
+        return traceSampler.getContinueDisableState();
+    }
+
+    private Rate adjust() {
+        final Rate current = rate.get();
+        final long now = clock.millis();
+        if (now < current.nextAdjustTime) {
+            return current;
+        }
+        final long newSum = newCount.sum();
+        final long continueSum = continueCount.sum();
+        final double seconds = (now - current.nextAdjustTime + intervalMillis) / 1000.0;
+        final double newPerSecond = newSum / seconds;
+        final double continuePerSecond = continueSum / seconds;
+
+        // rises immediately, decays slowly
+        final double newThroughput = Math.max(newPerSecond, (current.newThroughput + newPerSecond) / 2);
+
+        final long discarded = discardedCount.getAsLong();
+        final double targetRatio;
+        if (discarded != current.lastDiscardedCount) {
+            targetRatio = Math.max(MIN_RATE, current.targetRatio * DISCARD_BACKOFF);
+        } else {
+            targetRatio = Math.min(1.0, current.targetRatio + RECOVERY_STEP);
+        }
+
+        final double budget = targetThroughput * targetRatio - continuePerSecond;
+        final double newRate;
+        if (newThroughput <= budget) {
+            newRate = 1.0;
+        } else {
+            newRate = Math.max(MIN_RATE, budget / newThroughput);
+        }
+
+        final Rate next = new Rate(now + intervalMillis, discarded, newThroughput, targetRatio, newRate);
+        if (!rate.compareAndSet(current, next)) {
+            // adjusted by another thread
+            return rate.get();
+        }
+        // keeps the transactions counted after the snapshot for the next interval
+        newCount.add(-newSum);
+        continueCount.add(-continueSum);
+        return next;
+    }
+
+    double getNewRate() {
+        return rate.get().newRate;
+    }
+
+    double getTargetRatio() {
+        return rate.get().targetRatio;
+    }
+
+    private static final class Rate {
+        private final long nextAdjustTime;
+        private final long lastDiscardedCount;
+        private final double newThroughput;
+        private final double targetRatio;
+        private final double newRate;
+
+        private Rate(long nextAdjustTime, long lastDiscardedCount, double newThroughput, double targetRatio, double newRate) {
+            this.nextAdjustTime = nextAdjustTime;
+            this.lastDiscardedCount = lastDiscardedCount;
+            this.newThroughput = newThroughput;
+            this.targetRatio = targetRatio;
+            this.newRate = newRate;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveTraceSampler{" +
+                "targetThroughput=" + targetThroughput +
+                ", intervalMillis=" + intervalMillis +
+                ", traceSampler=" + traceSampler +
+                '}';
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.util.AntPathMatcher;
+import com.navercorp.pinpoint.bootstrap.util.EqualsPathMatcher;
+import com.navercorp.pinpoint.bootstrap.util.PathMatcher;
+import com.navercorp.pinpoint.common.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Segment trie of url patterns with first-match semantics.
+ * <p>
+ * Each pattern is split on '/' into literal, '*' (any single segment) and '**' (any number of segments) nodes.
+ * Segments with partial wildcards ('bar???', '*.do', '{id}') are indexed as '*'.
+ * The trie is a superset filter: candidates reached by the walk are confirmed with the original
+ * {@link AntPathMatcher}/{@link EqualsPathMatcher} in registration order, so the result is the same as
+ * testing every pattern linearly while the cost depends on the path depth instead of the number of patterns.
+ */
+public class UrlPathMatcherTrie<T> {
+
+    private static final String PATH_SEPARATOR = "/";
+    private static final String ANY_SEGMENT = "*";
+    private static final String ANY_PATH = "**";
+
+    private static final int NOT_FOUND = Integer.MAX_VALUE;
+
+    private final Node root = new Node();
+
+    private final PathMatcher[] matchers;
+    private final List<T> values;
+
+    public UrlPathMatcherTrie(Map<String, T> patternMap) {
+        Objects.requireNonNull(patternMap, "patternMap");
+
+        final List<PathMatcher> matcherList = new ArrayList<>();
+        final List<T> valueList = new ArrayList<>();
+        for (Map.Entry<String, T> entry : patternMap.entrySet()) {
+            final String pattern = entry.getKey();
+            final T value = entry.getValue();
+            if (StringUtils.isEmpty(pattern) || value == null) {
+                continue;
+            }
+            final int ruleIndex = matcherList.size();
+            matcherList.add(newPathMatcher(pattern));
+            valueList.add(value);
+            insert(pattern, ruleIndex);
+        }
+        this.matchers = matcherList.toArray(new PathMatcher[0]);
+        this.values = valueList;
+    }
+
+    private static PathMatcher newPathMatcher(String pattern) {
+        if (AntPathMatcher.isAntStylePattern(pattern)) {
+            return new AntPathMatcher(pattern);
+        }
+        return new EqualsPathMatcher(pattern);
+    }
+
+    private void insert(String pattern, int ruleIndex) {
+        Node node = root;
+        node.updateMinRuleIndex(ruleIndex);
+        for (String segment : tokenize(pattern)) {
+            node = node.child(toNodeKey(segment));
+            node.updateMinRuleIndex(ruleIndex);
+        }
+        node.addRule(ruleIndex);
+    }
+
+    private static String toNodeKey(String segment) {
+        if (ANY_PATH.equals(segment)) {
+            return ANY_PATH;
+        }
+        if (AntPathMatcher.isAntStylePattern(segment) || segment.indexOf('{') != -1) {
+            return ANY_SEGMENT;
+        }
+        return segment;
+    }
+
+    /**
+     * Same tokenizing rule as spring AntPathMatcher (trim tokens, ignore empty tokens)
+     */
+    static String[] tokenize(String path) {
+        final List<String> tokens = new ArrayList<>();
+        int start = 0;
+        final int length = path.length();
+        while (start <= length) {
+            int end = path.indexOf(PATH_SEPARATOR, start);
+            if (end == -1) {
+                end = length;
+            }
+            final String token = path.substring(start, end).trim();
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+            start = end + 1;
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    public int size() {
+        return matchers.length;
+    }
+
+    /**
+     * @return value of the first registered pattern matching the path, or {@code null}
+     */
+    public T find(String path) {
+        if (path == null || matchers.length == 0) {
+            return null;
+        }
+        final String[] segments = tokenize(path);
+        final int ruleIndex = match(root, segments, 0, path, NOT_FOUND);
+        if (ruleIndex == NOT_FOUND) {
+            return null;
+        }
+        return values.get(ruleIndex);
+    }
+
+    private int match(Node node, String[] segments, int index, String path, int best) {
+        if (node.minRuleIndex >= best) {
+            // every rule below this node was registered after the current best
+            return best;
+        }
+        if (index == segments.length) {
+            best = confirm(node, path, best);
+            // trailing '*' also matches a path ending with the separator ("/foo/*" -> "/foo/")
+            final Node anySegment = node.anySegment;
+            if (anySegment != null) {
+                best = confirm(anySegment, path, best);
+            }
+            final Node anyPath = node.anyPath;
+            if (anyPath != null) {
+                best = match(anyPath, segments, index, path, best);
+            }
+            return best;
+        }
+
+        final Node literal = node.literal(segments[index]);
+        if (literal != null) {
+            best = match(literal, segments, index + 1, path, best);
+        }
+        final Node anySegment = node.anySegment;
+        if (anySegment != null) {
+            best = match(anySegment, segments, index + 1, path, best);
+        }
+        final Node anyPath = node.anyPath;
+        if (anyPath != null) {
+            // '**' consumes zero or more segments
+            for (int next = index; next <= segments.length; next++) {
+                best = match(anyPath, segments, next, path, best);
+            }
+        }
+        return best;
+    }
+
+    private int confirm(Node node, String path, int best) {
+        final int[] rules = node.rules;
+        for (int ruleIndex : rules) {
+            if (ruleIndex >= best) {
+                return best;
+            }
+            if (matchers[ruleIndex].isMatched(path)) {
+                return ruleIndex;
+            }
+        }
+        return best;
+    }
+
+    private static class Node {
+        private static final int[] EMPTY_RULES = new int[0];
+
+        private Map<String, Node> literals;
+        private Node anySegment;
+        private Node anyPath;
+
+        // sorted ascending
+        private int[] rules = EMPTY_RULES;
+        private int minRuleIndex = NOT_FOUND;
+
+        Node child(String key) {
+            if (ANY_PATH.equals(key)) {
+                if (anyPath == null) {
+                    anyPath = new Node();
+                }
+                return anyPath;
+            }
+            if (ANY_SEGMENT.equals(key)) {
+                if (anySegment == null) {
+                    anySegment = new Node();
+                }
+                return anySegment;
+            }
+            if (literals == null) {
+                literals = new HashMap<>();
+            }
+            return literals.computeIfAbsent(key, k -> new Node());
+        }
+
+        Node literal(String segment) {
+            final Map<String, Node> literals = this.literals;
+            if (literals == null) {
+                return null;
+            }
+            return literals.get(segment);
+        }
+
+        void addRule(int ruleIndex) {
+            // rules are inserted in registration order
+            final int[] copy = Arrays.copyOf(rules, rules.length + 1);
+            copy[rules.length] = ruleIndex;
+            this.rules = copy;
+        }
+
+        void updateMinRuleIndex(int ruleIndex) {
+            if (ruleIndex < minRuleIndex) {
+                minRuleIndex = ruleIndex;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "UrlPathMatcherTrie{" +
+                "matchers=" + Arrays.toString(matchers) +
+                '}';
+    }
+}
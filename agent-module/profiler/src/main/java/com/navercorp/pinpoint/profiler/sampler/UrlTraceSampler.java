@@ -17,34 +17,19 @@
 package com.navercorp.pinpoint.profiler.sampler;
 
 import com.navercorp.pinpoint.bootstrap.sampler.TraceSampler;
-import com.navercorp.pinpoint.bootstrap.util.AntPathMatcher;
-import com.navercorp.pinpoint.bootstrap.util.EqualsPathMatcher;
-import com.navercorp.pinpoint.bootstrap.util.PathMatcher;
 import com.navercorp.pinpoint.common.util.StringUtils;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
 public class UrlTraceSampler implements TraceSampler {
-    private final UrlPathMatcher[] urlPathMatcherList;
+    private final UrlPathMatcherTrie<TraceSampler> urlPathMatcherTrie;
     private final TraceSampler defaultTraceSampler;
 
     public UrlTraceSampler(Map<String, TraceSampler> urlMap, TraceSampler defaultTraceSampler) {
         Objects.requireNonNull(urlMap, "urlMap");
         this.defaultTraceSampler = Objects.requireNonNull(defaultTraceSampler, "defaultSampler");
-
-        final List<UrlPathMatcher> list = new ArrayList<>();
-        for (Map.Entry<String, TraceSampler> entry : urlMap.entrySet()) {
-            final String urlPath = entry.getKey();
-            final TraceSampler traceSampler = entry.getValue();
-            if (StringUtils.isEmpty(urlPath) || traceSampler == null) {
-                continue;
-            }
-            list.add(new UrlPathMatcher(urlPath, traceSampler));
-        }
-        this.urlPathMatcherList = list.toArray(new UrlPathMatcher[0]);
+        this.urlPathMatcherTrie = new UrlPathMatcherTrie<>(urlMap);
     }
 
     @Override
@@ -74,36 +59,10 @@ public class UrlTraceSampler implements TraceSampler {
     }
 
     TraceSampler getSampler(String urlPath) {
-        for (UrlPathMatcher urlPathMatcher : this.urlPathMatcherList) {
-            if (urlPathMatcher != null && urlPathMatcher.isMatched(urlPath)) {
-                if (urlPathMatcher.getTraceSampler() != null) {
-                    return urlPathMatcher.getTraceSampler();
-                }
-            }
-        }
-        return this.defaultTraceSampler;
-    }
-
-    private static class UrlPathMatcher implements PathMatcher {
-        private final PathMatcher pathMatcher;
-        private final TraceSampler traceSampler;
-
-        public UrlPathMatcher(String urlPath, TraceSampler traceSampler) {
-            if (AntPathMatcher.isAntStylePattern(urlPath)) {
-                this.pathMatcher = new AntPathMatcher(urlPath);
-            } else {
-                this.pathMatcher = new EqualsPathMatcher(urlPath);
-            }
-            this.traceSampler = traceSampler;
-        }
-
-        @Override
-        public boolean isMatched(String urlPath) {
-            return this.pathMatcher.isMatched(urlPath);
-        }
-
-        public TraceSampler getTraceSampler() {
+        final TraceSampler traceSampler = this.urlPathMatcherTrie.find(urlPath);
+        if (traceSampler != null) {
             return traceSampler;
         }
+        return this.defaultTraceSampler;
     }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.sender.grpc;
+
+import java.util.Objects;
+
+/**
+ * Pre-serialized PSpanMessageBatch backed by a pooled buffer.
+ */
+final class EncodedSpanBatch {
+
+    private final byte[] buffer;
+    private final int length;
+    private final int spanCount;
+
+    EncodedSpanBatch(byte[] buffer, int length, int spanCount) {
+        this.buffer = Objects.requireNonNull(buffer, "buffer");
+        this.length = length;
+        this.spanCount = spanCount;
+    }
+
+    byte[] getBuffer() {
+        return buffer;
+    }
+
+    int getLength() {
+        return length;
+    }
+
+    int getSpanCount() {
+        return spanCount;
+    }
+
+    @Override
+    public String toString() {
+        return "EncodedSpanBatch{" +
+                "length=" + length +
+                ", spanCount=" + spanCount +
+                '}';
+    }
+}
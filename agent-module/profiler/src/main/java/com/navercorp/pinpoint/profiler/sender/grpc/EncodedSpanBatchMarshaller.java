@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.sender.grpc;
+
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Hands the pre-serialized bytes of an {@link EncodedSpanBatch} to gRPC as the request body.
+ */
+final class EncodedSpanBatchMarshaller implements MethodDescriptor.Marshaller<EncodedSpanBatch> {
+
+    static final EncodedSpanBatchMarshaller INSTANCE = new EncodedSpanBatchMarshaller();
+
+    private EncodedSpanBatchMarshaller() {
+    }
+
+    @Override
+    public InputStream stream(EncodedSpanBatch value) {
+        return new EncodedInputStream(value.getBuffer(), value.getLength());
+    }
+
+    @Override
+    public EncodedSpanBatch parse(InputStream stream) {
+        throw new UnsupportedOperationException("client side marshaller");
+    }
+
+    private static final class EncodedInputStream extends ByteArrayInputStream implements KnownLength, Drainable {
+
+        EncodedInputStream(byte[] buffer, int length) {
+            super(buffer, 0, length);
+        }
+
+        @Override
+        public int drainTo(OutputStream target) throws IOException {
+            final int length = count - pos;
+            target.write(buf, pos, length);
+            pos = count;
+            return length;
+        }
+    }
+}
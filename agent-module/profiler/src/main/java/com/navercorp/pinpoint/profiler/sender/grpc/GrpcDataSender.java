@@ -22,20 +22,23 @@ import com.navercorp.pinpoint.common.profiler.concurrent.ExecutorFactory;
 import com.navercorp.pinpoint.common.profiler.concurrent.PinpointThreadFactory;
 import com.navercorp.pinpoint.common.profiler.message.MessageConverter;
 import com.navercorp.pinpoint.grpc.client.ChannelFactory;
+import com.navercorp.pinpoint.profiler.sender.DiscardCounter;
 
 import java.time.Duration;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author Woonduk Kang(emeroad)
  */
-public abstract class GrpcDataSender<T> extends AbstractGrpcDataSender<T> {
+public abstract class GrpcDataSender<T> extends AbstractGrpcDataSender<T> implements DiscardCounter {
 
     protected final ExecutorService executor;
     protected final BlockingQueue<T> queue;
+    private final AtomicLong discardedCount = new AtomicLong();
 
     public GrpcDataSender(String host, int port,
                           int executorQueueSize,
@@ -57,6 +60,7 @@ public abstract class GrpcDataSender<T> extends AbstractGrpcDataSender<T> {
         if (this.queue.offer(data)) {
             return true;
         }
+        this.discardedCount.incrementAndGet();
         if (logger.isDebugEnabled()) {
             logger.debug("reject message queue size:{}", this.queue.size());
         } else {
@@ -67,6 +71,10 @@ public abstract class GrpcDataSender<T> extends AbstractGrpcDataSender<T> {
         return false;
     }
 
+    @Override
+    public long getDiscardedCount() {
+        return discardedCount.get();
+    }
 
     protected void release() {
         if (!MoreExecutors.shutdownAndAwaitTermination(executor, Duration.ofSeconds(3))) {
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.sender.grpc;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of encoding buffers. A buffer is borrowed for the lifetime of one SendSpanBatch call.
+ */
+final class SpanBatchBufferPool {
+
+    private static final int MIN_BUFFER_SIZE = 1024 * 4;
+
+    private final BlockingQueue<byte[]> pool;
+    private final int maxPooledBufferSize;
+
+    SpanBatchBufferPool(int poolSize, int maxPooledBufferSize) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("poolSize must be positive. poolSize:" + poolSize);
+        }
+        this.pool = new ArrayBlockingQueue<>(poolSize);
+        this.maxPooledBufferSize = maxPooledBufferSize;
+    }
+
+    byte[] acquire(int minSize) {
+        final byte[] buffer = pool.poll();
+        if (buffer != null && buffer.length >= minSize) {
+            return buffer;
+        }
+        return new byte[Math.max(minSize, MIN_BUFFER_SIZE)];
+    }
+
+    void release(byte[] buffer) {
+        if (buffer == null || buffer.length > maxPooledBufferSize) {
+            return;
+        }
+        pool.offer(buffer);
+    }
+
+    int size() {
+        return pool.size();
+    }
+}
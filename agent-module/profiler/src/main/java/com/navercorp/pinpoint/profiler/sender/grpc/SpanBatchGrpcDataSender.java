@@ -30,13 +30,23 @@ import com.navercorp.pinpoint.grpc.trace.PSpanMessageBatch;
 import com.navercorp.pinpoint.grpc.trace.PSpanResultBatch;
 import com.navercorp.pinpoint.grpc.trace.SpanGrpc;
 import com.navercorp.pinpoint.profiler.context.SpanType;
+import com.navercorp.pinpoint.profiler.context.grpc.config.SpanQueueOverflowPolicy;
+import com.navercorp.pinpoint.profiler.context.grpc.encoder.GrpcSpanWireEncoder;
+import com.navercorp.pinpoint.profiler.sender.DiscardCounter;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.MethodDescriptor;
+import io.grpc.stub.ClientCalls;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Sends spans in batches via a unary RPC (SendSpanBatch), replacing the long-lived streaming approach.
@@ -50,10 +60,20 @@ import java.util.concurrent.TimeUnit;
  *
  * @author emeroad
  */
-public class SpanBatchGrpcDataSender extends AbstractGrpcDataSender<SpanType> {
+public class SpanBatchGrpcDataSender extends AbstractGrpcDataSender<SpanType> implements DiscardCounter {
+
+    private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024 * 4;
+
+    // same RPC as SpanGrpc.getSendSpanBatchMethod(), request is already serialized
+    private static final MethodDescriptor<EncodedSpanBatch, PSpanResultBatch> SEND_ENCODED_SPAN_BATCH_METHOD =
+            SpanGrpc.getSendSpanBatchMethod().toBuilder(EncodedSpanBatchMarshaller.INSTANCE,
+                    SpanGrpc.getSendSpanBatchMethod().getResponseMarshaller()).build();
 
     private final SpanGrpc.SpanFutureStub spanFutureStub;
     private final BlockingQueue<SpanType> queue;
+    private final SpanQueueOverflowPolicy overflowPolicy;
+    private final AtomicLong discardedOldestCount = new AtomicLong();
+    private final AtomicLong discardedNewestCount = new AtomicLong();
     private final Thread sendThread;
     private final int batchSize;
     private final long flushTimeoutMillis;
@@ -66,6 +86,8 @@ public class SpanBatchGrpcDataSender extends AbstractGrpcDataSender<SpanType> {
     // Reusable — safe because sendLoop runs on a single thread
     private final List<SpanType> batchBuffer;
     private final SpanMessageBatchBuilder batchMessageBuilder;
+    // null when spans are sent through messageConverter
+    private final SpanMessageBatchEncoder batchEncoder;
 
     public SpanBatchGrpcDataSender(String host, int port,
                                   int executorQueueSize,
@@ -75,9 +97,37 @@ public class SpanBatchGrpcDataSender extends AbstractGrpcDataSender<SpanType> {
                                   long flushTimeoutMillis,
                                   long batchCollectDeadLineTimeMillis,
                                   int maxConcurrentRequests) {
+        this(host, port, new LinkedBlockingQueue<>(executorQueueSize), SpanQueueOverflowPolicy.DROP_OLDEST,
+                messageConverter, channelFactory, batchSize, flushTimeoutMillis, batchCollectDeadLineTimeMillis, maxConcurrentRequests);
+    }
+
+    public SpanBatchGrpcDataSender(String host, int port,
+                                  BlockingQueue<SpanType> queue,
+                                  SpanQueueOverflowPolicy overflowPolicy,
+                                  MessageConverter<SpanType, GeneratedMessageV3> messageConverter,
+                                  ChannelFactory channelFactory,
+                                  int batchSize,
+                                  long flushTimeoutMillis,
+                                  long batchCollectDeadLineTimeMillis,
+                                  int maxConcurrentRequests) {
+        this(host, port, queue, overflowPolicy, messageConverter, null, channelFactory,
+                batchSize, flushTimeoutMillis, batchCollectDeadLineTimeMillis, maxConcurrentRequests);
+    }
+
+    public SpanBatchGrpcDataSender(String host, int port,
+                                  BlockingQueue<SpanType> queue,
+                                  SpanQueueOverflowPolicy overflowPolicy,
+                                  MessageConverter<SpanType, GeneratedMessageV3> messageConverter,
+                                  GrpcSpanWireEncoder wireEncoder,
+                                  ChannelFactory channelFactory,
+                                  int batchSize,
+                                  long flushTimeoutMillis,
+                                  long batchCollectDeadLineTimeMillis,
+                                  int maxConcurrentRequests) {
         super(host, port, messageConverter, channelFactory);
         this.spanFutureStub = SpanGrpc.newFutureStub(managedChannel);
-        this.queue = new LinkedBlockingQueue<>(executorQueueSize);
+        this.queue = Objects.requireNonNull(queue, "queue");
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy, "overflowPolicy");
         this.batchSize = batchSize;
         this.flushTimeoutMillis = flushTimeoutMillis;
         this.batchCollectDeadLineTimeMillis = batchCollectDeadLineTimeMillis;
@@ -86,6 +136,12 @@ public class SpanBatchGrpcDataSender extends AbstractGrpcDataSender<SpanType> {
         this.sendCallback = newSendCallback(this.concurrentRequestPermit);
         this.batchBuffer = new ArrayList<>(batchSize);
         this.batchMessageBuilder = new SpanMessageBatchBuilder(messageConverter);
+        if (wireEncoder != null) {
+            final SpanBatchBufferPool bufferPool = new SpanBatchBufferPool(maxConcurrentRequests + 1, MAX_POOLED_BUFFER_SIZE);
+            this.batchEncoder = new SpanMessageBatchEncoder(wireEncoder, bufferPool);
+        } else {
+            this.batchEncoder = null;
+        }
         this.sendThread = new Thread(this::sendLoop, "Pinpoint-SpanBatch-Sender");
         this.sendThread.setDaemon(true);
         this.sendThread.start();
@@ -99,17 +155,40 @@ public class SpanBatchGrpcDataSender extends AbstractGrpcDataSender<SpanType> {
         if (queue.offer(data)) {
             return true;
         }
+        if (overflowPolicy == SpanQueueOverflowPolicy.DROP_NEWEST) {
+            final long discardedCount = discardedNewestCount.incrementAndGet();
+            if (isDebug) {
+                logger.debug("discard newest message queue size:{} discarded:{}", queue.size(), discardedCount);
+            } else {
+                tLogger.info("discard newest message queue size:{} discarded:{}", queue.size(), discardedCount);
+            }
+            return false;
+        }
         final SpanType discarded = queue.poll();
         if (discarded != null) {
+            final long discardedCount = discardedOldestCount.incrementAndGet();
             if (isDebug) {
-                logger.debug("discard oldest message queue size:{}", queue.size());
+                logger.debug("discard oldest message queue size:{} discarded:{}", queue.size(), discardedCount);
             } else {
-                tLogger.info("discard oldest message queue size:{}", queue.size());
+                tLogger.info("discard oldest message queue size:{} discarded:{}", queue.size(), discardedCount);
             }
         }
         return queue.offer(data);
     }
 
+    public long getDiscardedOldestCount() {
+        return discardedOldestCount.get();
+    }
+
+    public long getDiscardedNewestCount() {
+        return discardedNewestCount.get();
+    }
+
+    @Override
+    public long getDiscardedCount() {
+        return discardedOldestCount.get() + discardedNewestCount.get();
+    }
+
     private void sendLoop() {
         while (!shutdown) {
             final List<SpanType> buffer = this.batchBuffer;
@@ -141,6 +220,10 @@ public class SpanBatchGrpcDataSender extends AbstractGrpcDataSender<SpanType> {
         // Gather more items within the collection time window
         final long deadline = System.currentTimeMillis() + batchCollectDeadLineTimeMillis;
         while (buffer.size() < batchSize) {
+            // Take whatever is already queued in one pass before waiting
+            if (queue.drainTo(buffer, batchSize - buffer.size()) > 0) {
+                continue;
+            }
             final long remaining = deadline - System.currentTimeMillis();
             if (remaining <= 0) {
                 break;
@@ -174,6 +257,10 @@ public class SpanBatchGrpcDataSender extends AbstractGrpcDataSender<SpanType> {
     }
 
     private void sendBatchAsync(List<SpanType> batch) {
+        if (batchEncoder != null) {
+            sendEncodedBatchAsync(batch);
+            return;
+        }
         final PSpanMessageBatch spanMessageBatch = batchMessageBuilder.buildBatch(batch);
         if (spanMessageBatch.getSpanCount() == 0) {
             return;
@@ -183,18 +270,9 @@ public class SpanBatchGrpcDataSender extends AbstractGrpcDataSender<SpanType> {
             logger.debug("SendSpanBatch size={}", spanMessageBatch.getSpanCount());
         }
 
-        try {
-            if (!concurrentRequestPermit.tryAcquire(flushTimeoutMillis, TimeUnit.MILLISECONDS)) {
-                tLogger.info("SendSpanBatch skipped: no available permits within {}ms concurrentRequests:{}/{}", flushTimeoutMillis, concurrentRequestPermit.availablePermits(), maxConcurrentRequests);
-                return;
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        if (!acquireRequestPermit(spanMessageBatch.getSpanCount())) {
             return;
         }
-        if (logger.isDebugEnabled()) {
-            logger.debug("SendSpanBatch batchSize={} concurrentRequests={}/{}", spanMessageBatch.getSpanCount(), concurrentRequestPermit.availablePermits(), maxConcurrentRequests);
-        }
 
         try {
             final ListenableFuture<PSpanResultBatch> future = spanFutureStub.sendSpanBatch(spanMessageBatch);
@@ -206,6 +284,71 @@ public class SpanBatchGrpcDataSender extends AbstractGrpcDataSender<SpanType> {
 
     }
 
+    private void sendEncodedBatchAsync(List<SpanType> batch) {
+        final EncodedSpanBatch encodedBatch;
+        try {
+            encodedBatch = batchEncoder.encodeBatch(batch);
+        } catch (IOException e) {
+            tLogger.info("SendSpanBatch encoding failed", e);
+            return;
+        }
+        if (encodedBatch.getSpanCount() == 0) {
+            batchEncoder.release(encodedBatch);
+            return;
+        }
+
+        if (isDebug) {
+            logger.debug("SendSpanBatch size={} bytes={}", encodedBatch.getSpanCount(), encodedBatch.getLength());
+        }
+
+        if (!acquireRequestPermit(encodedBatch.getSpanCount())) {
+            batchEncoder.release(encodedBatch);
+            return;
+        }
+
+        try {
+            final ClientCall<EncodedSpanBatch, PSpanResultBatch> call = managedChannel.newCall(SEND_ENCODED_SPAN_BATCH_METHOD, CallOptions.DEFAULT);
+            final ListenableFuture<PSpanResultBatch> future = ClientCalls.futureUnaryCall(call, encodedBatch);
+            Futures.addCallback(future, newEncodedSendCallback(encodedBatch), MoreExecutors.directExecutor());
+        } catch (Throwable t) {
+            // the buffer is not returned to the pool; the call may still reference it
+            concurrentRequestPermit.release();
+            tLogger.info("sendSpanBatch failed synchronously", t);
+        }
+    }
+
+    private boolean acquireRequestPermit(int spanCount) {
+        try {
+            if (!concurrentRequestPermit.tryAcquire(flushTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                tLogger.info("SendSpanBatch skipped: no available permits within {}ms concurrentRequests:{}/{}", flushTimeoutMillis, concurrentRequestPermit.availablePermits(), maxConcurrentRequests);
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("SendSpanBatch batchSize={} concurrentRequests={}/{}", spanCount, concurrentRequestPermit.availablePermits(), maxConcurrentRequests);
+        }
+        return true;
+    }
+
+    private FutureCallback<PSpanResultBatch> newEncodedSendCallback(final EncodedSpanBatch encodedBatch) {
+        return new FutureCallback<PSpanResultBatch>() {
+            @Override
+            public void onSuccess(PSpanResultBatch response) {
+                batchEncoder.release(encodedBatch);
+                sendCallback.onSuccess(response);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                batchEncoder.release(encodedBatch);
+                sendCallback.onFailure(t);
+            }
+        };
+    }
+
     private FutureCallback<PSpanResultBatch> newSendCallback(final Semaphore concurrentRequestPermit) {
         return new FutureCallback<PSpanResultBatch>() {
             @Override
@@ -249,6 +392,11 @@ public class SpanBatchGrpcDataSender extends AbstractGrpcDataSender<SpanType> {
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
+        final long discardedOldest = discardedOldestCount.get();
+        final long discardedNewest = discardedNewestCount.get();
+        if (discardedOldest > 0 || discardedNewest > 0) {
+            logger.info("SpanBatchGrpcDataSender discarded oldest:{} newest:{}", discardedOldest, discardedNewest);
+        }
         releaseChannel();
     }
 
@@ -262,6 +410,9 @@ public class SpanBatchGrpcDataSender extends AbstractGrpcDataSender<SpanType> {
                 ", flushTimeoutMillis=" + flushTimeoutMillis +
                 ", batchCollectDeadLineTimeMillis=" + batchCollectDeadLineTimeMillis +
                 ", maxConcurrentRequests=" + maxConcurrentRequests +
+                ", queue=" + queue.getClass().getSimpleName() +
+                ", overflowPolicy=" + overflowPolicy +
+                ", directEncoding=" + (batchEncoder != null) +
                 '}';
     }
 }
\ No newline at end of file
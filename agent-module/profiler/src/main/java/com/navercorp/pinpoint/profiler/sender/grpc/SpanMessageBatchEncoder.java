@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.sender.grpc;
+
+import com.google.protobuf.CodedOutputStream;
+import com.navercorp.pinpoint.profiler.context.SpanType;
+import com.navercorp.pinpoint.profiler.context.grpc.encoder.GrpcSpanWireEncoder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Encodes a batch with {@link GrpcSpanWireEncoder} into a pooled buffer.
+ * <p>
+ * This class is NOT thread-safe. It is designed to be used by a single flush thread.
+ * The returned buffer must be given back with {@link #release(EncodedSpanBatch)} once the RPC completes.
+ */
+class SpanMessageBatchEncoder {
+
+    private final GrpcSpanWireEncoder encoder;
+    private final SpanBatchBufferPool bufferPool;
+
+    SpanMessageBatchEncoder(GrpcSpanWireEncoder encoder, SpanBatchBufferPool bufferPool) {
+        this.encoder = Objects.requireNonNull(encoder, "encoder");
+        this.bufferPool = Objects.requireNonNull(bufferPool, "bufferPool");
+    }
+
+    EncodedSpanBatch encodeBatch(List<SpanType> batch) throws IOException {
+        final int size = encoder.computeBatchSize(batch);
+        final byte[] buffer = bufferPool.acquire(size);
+        try {
+            final CodedOutputStream out = CodedOutputStream.newInstance(buffer, 0, size);
+            final int spanCount = encoder.writeBatch(batch, out);
+            out.checkNoSpaceLeft();
+            return new EncodedSpanBatch(buffer, size, spanCount);
+        } catch (IOException | RuntimeException e) {
+            bufferPool.release(buffer);
+            throw e;
+        }
+    }
+
+    void release(EncodedSpanBatch batch) {
+        bufferPool.release(batch.getBuffer());
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * All per-thread state of the agent (trace binding, interceptor scope invocations) behind a single ThreadLocal.
+ * <p>
+ * Each owner allocates a slot once with {@link #newSlot()}, e.g. when an interceptor scope is created at plugin setup,
+ * and then reaches its value with one ThreadLocal lookup and an array index,
+ * instead of a ThreadLocal per owner and a ThreadLocalMap entry per owner on every thread.
+ * Slots are never reused.
+ * <p>
+ * A thread gets its context on the first non-null {@link #set(int, Object)}, {@link #get(int)} never creates it.
+ * <p>
+ * In virtual thread mode, a virtual thread keeps only the slots it has set, in a small array searched linearly,
+ * and drops its context once every slot is cleared.
+ * The owners clear their slot when the value is no longer in use:
+ * the trace binder when the trace is removed, and the interceptor scopes when the outermost invocation leaves.
+ * So a virtual thread holds a context only while it is traced or inside a scope.
+ * A platform thread holds an array of every allocated slot, which multiplied by millions of virtual threads would dominate the heap.
+ * The context belongs to the virtual thread, not the carrier, so it follows the thread across unmount and mount
+ * and is released with the thread.
+ */
+public final class AgentThreadContext {
+
+    private static final int INITIAL_SIZE = 16;
+    private static final int COMPACT_INITIAL_SIZE = 4;
+
+    private static final AtomicInteger SLOT_COUNTER = new AtomicInteger();
+
+    private static volatile boolean virtualThreadMode = false;
+
+    private static final ThreadLocal<AgentThreadContext> CONTEXT = new NamedThreadLocal<AgentThreadContext>("AgentThreadContext");
+
+    // false: values indexed by slot, true: slots[i] is the slot of values[i], i < size
+    private final boolean compact;
+    private int[] slots;
+    private Object[] values;
+    private int size;
+
+    private AgentThreadContext(int[] slots, Object[] values) {
+        this.compact = slots != null;
+        this.slots = slots;
+        this.values = values;
+    }
+
+    public static int newSlot() {
+        return SLOT_COUNTER.getAndIncrement();
+    }
+
+    public static void setVirtualThreadMode(boolean virtualThreadMode) {
+        AgentThreadContext.virtualThreadMode = virtualThreadMode;
+    }
+
+    public static boolean isVirtualThreadMode() {
+        return virtualThreadMode;
+    }
+
+    /**
+     * @return true if the current thread keeps only the slots it has set, the owners should then clear their slot when unused
+     */
+    public static boolean isCompact() {
+        return virtualThreadMode && VirtualThreads.isVirtual(Thread.currentThread());
+    }
+
+    /**
+     * @return true if the current thread has a context
+     */
+    static boolean exists() {
+        return CONTEXT.get() != null;
+    }
+
+    private static AgentThreadContext newContext() {
+        if (isCompact()) {
+            return new AgentThreadContext(new int[COMPACT_INITIAL_SIZE], new Object[COMPACT_INITIAL_SIZE]);
+        }
+        return new AgentThreadContext(null, new Object[Math.max(INITIAL_SIZE, SLOT_COUNTER.get())]);
+    }
+
+    /**
+     * @return the value of the slot on the current thread
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T get(int slot) {
+        final AgentThreadContext context = CONTEXT.get();
+        if (context == null) {
+            return null;
+        }
+        if (!context.compact) {
+            final Object[] values = context.values;
+            if (slot < values.length) {
+                return (T) values[slot];
+            }
+            return null;
+        }
+        final int index = context.indexOf(slot);
+        if (index == -1) {
+            return null;
+        }
+        return (T) context.values[index];
+    }
+
+    /**
+     * Sets the value of the slot on the current thread.
+     */
+    public static void set(int slot, Object value) {
+        AgentThreadContext context = CONTEXT.get();
+        if (context == null) {
+            if (value == null) {
+                return;
+            }
+            context = newContext();
+            CONTEXT.set(context);
+        }
+        if (!context.compact) {
+            context.setIndexed(slot, value);
+        } else {
+            context.setCompact(slot, value);
+        }
+    }
+
+    private void setIndexed(int slot, Object value) {
+        if (slot >= values.length) {
+            if (value == null) {
+                return;
+            }
+            // grow to every slot allocated so far, most of them are used soon after setup
+            this.values = Arrays.copyOf(values, Math.max(slot + 1, SLOT_COUNTER.get()));
+        }
+        values[slot] = value;
+    }
+
+    private void setCompact(int slot, Object value) {
+        final int index = indexOf(slot);
+        if (index != -1) {
+            if (value != null) {
+                values[index] = value;
+                return;
+            }
+            final int last = --size;
+            slots[index] = slots[last];
+            values[index] = values[last];
+            values[last] = null;
+            if (size == 0) {
+                CONTEXT.remove();
+            }
+            return;
+        }
+        if (value == null) {
+            return;
+        }
+        if (size == slots.length) {
+            this.slots = Arrays.copyOf(slots, size * 2);
+            this.values = Arrays.copyOf(values, size * 2);
+        }
+        slots[size] = slot;
+        values[size] = value;
+        size++;
+    }
+
+    private int indexOf(int slot) {
+        final int[] slots = this.slots;
+        for (int i = 0; i < size; i++) {
+            if (slots[i] == slot) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "AgentThreadContext{" +
+                "compact=" + compact +
+                ", values=" + values.length +
+                '}';
+    }
+}
@@ -21,6 +21,7 @@ import com.navercorp.pinpoint.bootstrap.interceptor.scope.AttachmentFactory;
 import com.navercorp.pinpoint.bootstrap.interceptor.scope.ExecutionPolicy;
 import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScopeInvocation;
 import com.navercorp.pinpoint.profiler.interceptor.scope.DefaultInterceptorScopeInvocation;
+import com.navercorp.pinpoint.profiler.interceptor.scope.SlotInterceptorScopeInvocation;
 
 import java.util.Objects;
 
@@ -29,18 +30,15 @@ import java.util.Objects;
  */
 public class ThreadLocalScope implements InterceptorScopeInvocation {
 
-    private final NamedThreadLocal<InterceptorScopeInvocation> scope;
+    private final String name;
+    private final int slot;
 
 
     public ThreadLocalScope(final InterceptorScopeDefinition scopeDefinition) {
         Objects.requireNonNull(scopeDefinition, "scopeDefinition");
 
-        this.scope = new NamedThreadLocal<InterceptorScopeInvocation>(scopeDefinition.getName()) {
-            @Override
-            protected InterceptorScopeInvocation initialValue() {
-                return new DefaultInterceptorScopeInvocation(scopeDefinition.getName());
-            }
-        };
+        this.name = scopeDefinition.getName();
+        this.slot = AgentThreadContext.newSlot();
     }
     
     @Override
@@ -62,19 +60,28 @@ public class ThreadLocalScope implements InterceptorScopeInvocation {
     }
 
     protected InterceptorScopeInvocation getLocalScope() {
-        return scope.get();
+        final InterceptorScopeInvocation localScope = AgentThreadContext.get(slot);
+        if (localScope != null) {
+            return localScope;
+        }
+        if (AgentThreadContext.isCompact()) {
+            return new SlotInterceptorScopeInvocation(name, slot);
+        }
+        final InterceptorScopeInvocation newScope = new DefaultInterceptorScopeInvocation(name);
+        AgentThreadContext.set(slot, newScope);
+        return newScope;
     }
 
 
     @Override
     public String getName() {
-        return scope.getName();
+        return name;
     }
 
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("ThreadLocalScope{");
-        sb.append("scope=").append(scope.getName());
+        sb.append("scope=").append(name);
         sb.append('}');
         return sb.toString();
     }
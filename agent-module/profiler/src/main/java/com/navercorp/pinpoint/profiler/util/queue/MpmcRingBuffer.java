@@ -0,0 +1,286 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.util.queue;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded lock-free ring buffer (sequence per slot, D. Vyukov's bounded queue).
+ * <p>
+ * offer/poll never allocate and never take a lock. The queue is multi-producer and multi-consumer:
+ * any thread may call {@link #offer(Object)} and {@link #poll()}, so a producer can evict the oldest element
+ * by polling it when the buffer is full.
+ * Blocking waits ({@link #poll(long, TimeUnit)}, {@link #take()}) wake a single waiting thread only,
+ * so only one thread should block on the queue at a time.
+ * <p>
+ * The capacity is rounded up to the next power of two; {@link #capacity()} returns the effective capacity.
+ * {@link #iterator()} is not supported.
+ */
+public class MpmcRingBuffer<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    private volatile Thread waitingConsumer;
+
+    public MpmcRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive. capacity:" + capacity);
+        }
+        this.capacity = roundToPowerOfTwo(capacity);
+        this.mask = this.capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    static int roundToPowerOfTwo(int value) {
+        if (value > (1 << 30)) {
+            throw new IllegalArgumentException("capacity too large. capacity:" + value);
+        }
+        final int highestOneBit = Integer.highestOneBit(value);
+        if (highestOneBit == value) {
+            return value;
+        }
+        return highestOneBit << 1;
+    }
+
+    /**
+     * @return the effective capacity, the requested capacity rounded up to a power of two
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e, "e");
+        long position = tail.get();
+        for (; ; ) {
+            final int index = (int) (position & mask);
+            final long sequence = sequences.get(index);
+            final long diff = sequence - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer.lazySet(index, e);
+                    // volatile write pairs with the volatile read of waitingConsumer below
+                    sequences.set(index, position + 1);
+                    signalConsumer();
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                // full
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private void signalConsumer() {
+        final Thread consumer = this.waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    @Override
+    public E poll() {
+        long position = head.get();
+        for (; ; ) {
+            final int index = (int) (position & mask);
+            final long sequence = sequences.get(index);
+            final long diff = sequence - (position + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    final E e = buffer.get(index);
+                    buffer.lazySet(index, null);
+                    sequences.lazySet(index, position + capacity);
+                    return e;
+                }
+                position = head.get();
+            } else if (diff < 0) {
+                // empty, or the producer of this slot has not published yet
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    @Override
+    public E peek() {
+        final long position = head.get();
+        final int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        return buffer.get(index);
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E e = poll();
+        if (e != null) {
+            return e;
+        }
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (; ; ) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            e = awaitAndPoll(remaining);
+            if (e != null) {
+                return e;
+            }
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        for (; ; ) {
+            final E e = awaitAndPoll(MAX_PARK_NANOS);
+            if (e != null) {
+                return e;
+            }
+        }
+    }
+
+    private E awaitAndPoll(long parkNanos) throws InterruptedException {
+        this.waitingConsumer = Thread.currentThread();
+        try {
+            // re-check after publishing the waiter to avoid a lost wake-up
+            E e = poll();
+            if (e != null) {
+                return e;
+            }
+            LockSupport.parkNanos(this, Math.min(parkNanos, MAX_PARK_NANOS));
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            return poll();
+        } finally {
+            this.waitingConsumer = null;
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        while (!offer(e)) {
+            LockSupport.parkNanos(this, 1000);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!offer(e)) {
+            if (deadline - System.nanoTime() <= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(this, 1000);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c, "c");
+        if (c == this) {
+            throw new IllegalArgumentException("c == this");
+        }
+        int count = 0;
+        while (count < maxElements) {
+            final E e = poll();
+            if (e == null) {
+                break;
+            }
+            c.add(e);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int size() {
+        for (; ; ) {
+            final long currentHead = head.get();
+            final long currentTail = tail.get();
+            if (currentHead == head.get()) {
+                final long size = currentTail - currentHead;
+                if (size < 0) {
+                    return 0;
+                }
+                return (int) Math.min(size, capacity);
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        throw new UnsupportedOperationException("iterator");
+    }
+
+    @Override
+    public String toString() {
+        return "MpmcRingBuffer{" +
+                "capacity=" + capacity +
+                ", size=" + size() +
+                '}';
+    }
+}
@@ -0,0 +1,97 @@
+package com.navercorp.pinpoint.profiler.context.grpc;
+
+import com.google.protobuf.CodedOutputStream;
+import com.navercorp.pinpoint.grpc.trace.PSpan;
+import com.navercorp.pinpoint.grpc.trace.PSpanChunk;
+import com.navercorp.pinpoint.grpc.trace.PSpanMessageBatch;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanChunk;
+import com.navercorp.pinpoint.profiler.context.SpanType;
+import com.navercorp.pinpoint.profiler.context.compress.GrpcSpanProcessorV2;
+import com.navercorp.pinpoint.profiler.context.compress.SpanProcessor;
+import com.navercorp.pinpoint.profiler.context.grpc.config.SpanAutoUriGetter;
+import com.navercorp.pinpoint.profiler.context.grpc.config.SpanUriGetter;
+import com.navercorp.pinpoint.profiler.context.grpc.encoder.GrpcSpanWireEncoder;
+import com.navercorp.pinpoint.profiler.context.grpc.mapper.AnnotationValueMapper;
+import com.navercorp.pinpoint.profiler.context.grpc.mapper.SpanMessageMapper;
+import com.navercorp.pinpoint.profiler.context.grpc.mapper.SpanMessageMapperImpl;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class GrpcSpanWireEncoderTest {
+
+    private static final short applicationServiceType = 1000;
+    private final SpanProcessor<PSpan.Builder, PSpanChunk.Builder> spanProcessorProtoV2 = new GrpcSpanProcessorV2();
+    private final SpanUriGetter spanUriGetter = new SpanAutoUriGetter();
+    private final AnnotationValueMapper annotationValueMapper = Mappers.getMapper(AnnotationValueMapper.class);
+    private final SpanMessageMapper spanMessageMapper = new SpanMessageMapperImpl(annotationValueMapper, spanUriGetter);
+
+    private final GrpcSpanMessageConverter converter = new GrpcSpanMessageConverter(
+            "agent", applicationServiceType, spanProcessorProtoV2, spanMessageMapper
+    );
+    private final GrpcSpanWireEncoder encoder = new GrpcSpanWireEncoder(applicationServiceType, spanMessageMapper);
+
+    @Test
+    void encodeSpan() throws IOException {
+        Span span = GrpcSpanMessageConverterTest.newSpan();
+        PSpan expected = converter.buildPSpan(span);
+
+        PSpanMessageBatch batch = encode(Arrays.asList(span));
+
+        assertThat(batch.getSpanCount()).isEqualTo(1);
+        assertThat(batch.getSpan(0).getSpan()).isEqualTo(expected);
+    }
+
+    @Test
+    void encodeSpanChunk() throws IOException {
+        SpanChunk spanChunk = GrpcSpanMessageConverterTest.newSpanChunk();
+        PSpanChunk expected = converter.buildPSpanChunk(spanChunk);
+
+        PSpanMessageBatch batch = encode(Arrays.asList(spanChunk));
+
+        assertThat(batch.getSpanCount()).isEqualTo(1);
+        assertThat(batch.getSpan(0).getSpanChunk()).isEqualTo(expected);
+    }
+
+    @Test
+    void encodeAsyncSpanChunk() throws IOException {
+        SpanChunk spanChunk = GrpcSpanMessageConverterTest.newAsyncSpanChunk();
+        PSpanChunk expected = converter.buildPSpanChunk(spanChunk);
+
+        PSpanMessageBatch batch = encode(Arrays.asList(spanChunk));
+
+        assertThat(batch.getSpan(0).getSpanChunk()).isEqualTo(expected);
+    }
+
+    @Test
+    void encodeBatch() throws IOException {
+        Span span = GrpcSpanMessageConverterTest.newSpan();
+        SpanChunk spanChunk = GrpcSpanMessageConverterTest.newSpanChunk();
+        SpanType unknown = mock(SpanType.class);
+
+        PSpan expectedSpan = converter.buildPSpan(span);
+        PSpanChunk expectedSpanChunk = converter.buildPSpanChunk(spanChunk);
+
+        PSpanMessageBatch batch = encode(Arrays.asList(span, unknown, spanChunk));
+
+        assertThat(batch.getSpanCount()).isEqualTo(2);
+        assertThat(batch.getSpan(0).getSpan()).isEqualTo(expectedSpan);
+        assertThat(batch.getSpan(1).getSpanChunk()).isEqualTo(expectedSpanChunk);
+    }
+
+    private PSpanMessageBatch encode(List<SpanType> batch) throws IOException {
+        final int size = encoder.computeBatchSize(batch);
+        final byte[] buffer = new byte[size];
+        final CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+        encoder.writeBatch(batch, out);
+        out.checkNoSpaceLeft();
+        return PSpanMessageBatch.parseFrom(buffer);
+    }
+}
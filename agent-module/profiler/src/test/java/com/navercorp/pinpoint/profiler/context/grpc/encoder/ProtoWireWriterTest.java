@@ -0,0 +1,126 @@
+package com.navercorp.pinpoint.profiler.context.grpc.encoder;
+
+import com.google.protobuf.Api;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Method;
+import com.google.protobuf.SourceContext;
+import com.google.protobuf.Syntax;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProtoWireWriterTest {
+
+    private static final ProtoField API_NAME = ProtoField.of(Api.getDescriptor(), "name");
+    private static final ProtoField API_METHODS = ProtoField.of(Api.getDescriptor(), "methods");
+    private static final ProtoField API_VERSION = ProtoField.of(Api.getDescriptor(), "version");
+    private static final ProtoField API_SOURCE_CONTEXT = ProtoField.of(Api.getDescriptor(), "sourceContext");
+    private static final ProtoField API_SYNTAX = ProtoField.of(Api.getDescriptor(), "syntax");
+
+    private static final ProtoField METHOD_NAME = ProtoField.of(Method.getDescriptor(), "name");
+    private static final ProtoField METHOD_REQUEST_TYPE_URL = ProtoField.of(Method.getDescriptor(), "request_type_url");
+    private static final ProtoField METHOD_REQUEST_STREAMING = ProtoField.of(Method.getDescriptor(), "requestStreaming");
+
+    private static final ProtoField SOURCE_CONTEXT_FILE_NAME = ProtoField.of(SourceContext.getDescriptor(), "fileName");
+
+    private final ProtoWireWriter writer = new ProtoWireWriter();
+
+    @Test
+    void encode() throws IOException {
+        Api expected = Api.newBuilder()
+                .setName("api")
+                .addMethods(Method.newBuilder().setName("m1").setRequestTypeUrl("type/a").setRequestStreaming(true))
+                .addMethods(Method.newBuilder().setName("m2"))
+                .addMethods(Method.newBuilder())
+                .setVersion("")
+                .setSourceContext(SourceContext.newBuilder().setFileName("file.proto"))
+                .setSyntax(Syntax.SYNTAX_PROTO3)
+                .build();
+
+        writer.startSizing();
+        writeApi();
+        final int size = writer.finishSizing();
+        assertThat(size).isEqualTo(expected.getSerializedSize());
+
+        final byte[] buffer = new byte[size];
+        final CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+        writer.startWriting(out);
+        writeApi();
+        writer.finishWriting();
+        out.checkNoSpaceLeft();
+
+        assertThat(buffer).isEqualTo(expected.toByteArray());
+    }
+
+    @Test
+    void embeddedMessage() throws IOException {
+        SourceContext sourceContext = SourceContext.newBuilder().setFileName("embedded.proto").build();
+        Api expected = Api.newBuilder().setSourceContext(sourceContext).build();
+
+        writer.startSizing();
+        writer.sizeMessage(API_SOURCE_CONTEXT, sourceContext);
+        writer.sizeMessage(API_SOURCE_CONTEXT, null);
+        final byte[] buffer = new byte[writer.finishSizing()];
+
+        writer.startWriting(CodedOutputStream.newInstance(buffer));
+        writer.writeSizedMessage(API_SOURCE_CONTEXT);
+        writer.writeSizedMessage(API_SOURCE_CONTEXT);
+        writer.finishWriting();
+
+        assertThat(Api.parseFrom(buffer)).isEqualTo(expected);
+    }
+
+    @Test
+    void sizedMessage_wrongPass() throws IOException {
+        writer.startSizing();
+        assertThrows(IllegalStateException.class, () -> writer.writeSizedMessage(API_SOURCE_CONTEXT));
+
+        writer.startWriting(CodedOutputStream.newInstance(new byte[0]));
+        assertThrows(IllegalStateException.class, () -> writer.sizeMessage(API_SOURCE_CONTEXT, null));
+    }
+
+    @Test
+    void passMismatch() throws IOException {
+        writer.startSizing();
+        writer.beginMessage(API_SOURCE_CONTEXT);
+        writer.endMessage();
+        final byte[] buffer = new byte[writer.finishSizing()];
+
+        writer.startWriting(CodedOutputStream.newInstance(buffer));
+        assertThrows(IllegalStateException.class, writer::finishWriting);
+    }
+
+    @Test
+    void unknownField() {
+        assertThrows(IllegalStateException.class, () -> ProtoField.of(Api.getDescriptor(), "unknown"));
+    }
+
+    private void writeApi() throws IOException {
+        writer.writeString(API_NAME, "api");
+
+        writer.beginMessage(API_METHODS);
+        writer.writeString(METHOD_NAME, "m1");
+        writer.writeString(METHOD_REQUEST_TYPE_URL, "type/a");
+        writer.writeBool(METHOD_REQUEST_STREAMING, true);
+        writer.endMessage();
+
+        writer.beginMessage(API_METHODS);
+        writer.writeString(METHOD_NAME, "m2");
+        writer.writeBool(METHOD_REQUEST_STREAMING, false);
+        writer.endMessage();
+
+        writer.beginMessage(API_METHODS);
+        writer.endMessage();
+
+        writer.writeString(API_VERSION, "");
+
+        writer.beginMessage(API_SOURCE_CONTEXT);
+        writer.writeString(SOURCE_CONTEXT_FILE_NAME, "file.proto");
+        writer.endMessage();
+
+        writer.writeInt(API_SYNTAX, Syntax.SYNTAX_PROTO3_VALUE);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PackageNameTrieTest {
+
+    private static final List<String> PREFIXES = Arrays.asList(
+            "", "c", "com", "com/", "com/foo", "com/foo/", "com/foobar", "com/foo/bar",
+            "com/foo/bar/", "org/springframework/web", "org/springframework/web/servlet", "net");
+
+    private static final List<String> CLASS_NAMES = Arrays.asList(
+            "com", "Foo", "com/Foo", "com/foo/Bar", "com/foobar/Baz", "com/foo/bar/Baz", "com/foo/barbaz/Qux",
+            "org/springframework/web/servlet/DispatcherServlet", "org/springframework/webflux/Handler",
+            "org/springframework/Foo", "net/Foo", "network/Foo", "co/Foo");
+
+    @Test
+    public void find_sameAsStartsWith() {
+        PackageNameTrie<String> trie = new PackageNameTrie<>();
+        for (String prefix : PREFIXES) {
+            trie.put(prefix, prefix);
+        }
+
+        for (String className : CLASS_NAMES) {
+            assertEquals(startsWith(className), trie.find(className), className);
+        }
+    }
+
+    @Test
+    public void find_valuesOfSamePrefix() {
+        PackageNameTrie<String> trie = new PackageNameTrie<>();
+        trie.put("com/foo", "b");
+        trie.put("com/foo", "a");
+        trie.put("com", "c");
+
+        assertEquals(Arrays.asList("c", "b", "a"), trie.find("com/foo/Bar"));
+    }
+
+    @Test
+    public void empty() {
+        PackageNameTrie<String> trie = new PackageNameTrie<>();
+        assertTrue(trie.isEmpty());
+        assertEquals(Collections.emptyList(), trie.find("com/foo/Bar"));
+    }
+
+    // previous linear scan of the TreeMap
+    private static List<String> startsWith(String className) {
+        Map<String, String> index = new TreeMap<>();
+        for (String prefix : PREFIXES) {
+            index.put(prefix, prefix);
+        }
+        List<String> result = new ArrayList<>();
+        for (Map.Entry<String, String> entry : index.entrySet()) {
+            if (className.startsWith(entry.getKey())) {
+                result.add(entry.getValue());
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.collector;
+
+import com.navercorp.pinpoint.profiler.context.monitor.config.DefaultMonitorConfig;
+import com.navercorp.pinpoint.profiler.context.monitor.config.MonitorConfig;
+import com.navercorp.pinpoint.profiler.monitor.metric.AgentStatMetricSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.datasource.DataSourceMetricSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.deadlock.DeadlockMetricSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.filedescriptor.FileDescriptorMetricSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.totalthread.TotalThreadMetricSnapshot;
+import com.navercorp.pinpoint.profiler.name.v1.ObjectNameV1;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class AgentStatCollectorTest {
+
+    private final TotalThreadMetricSnapshot totalThread = new TotalThreadMetricSnapshot(10);
+    private final DeadlockMetricSnapshot deadlock = new DeadlockMetricSnapshot();
+    private final FileDescriptorMetricSnapshot fileDescriptor = new FileDescriptorMetricSnapshot(100);
+
+    @Test
+    public void collect() {
+        AgentStatCollector collector = newCollector(() -> deadlock, new DefaultMonitorConfig());
+
+        AgentStatMetricSnapshot snapshot = collector.collect();
+        Assertions.assertSame(totalThread, snapshot.getTotalThread());
+        Assertions.assertSame(deadlock, snapshot.getDeadlock());
+        for (CollectorTiming timing : collector.getCollectorTimings()) {
+            Assertions.assertEquals(1, timing.getCount(), timing.getName());
+        }
+        collector.close();
+    }
+
+    @Test
+    public void collectParallel_lateCollector() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AgentStatMetricCollector<DeadlockMetricSnapshot> slowCollector = () -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return deadlock;
+        };
+        AgentStatCollector collector = newCollector(slowCollector, parallelConfig());
+        try {
+            AgentStatMetricSnapshot first = collector.collect();
+            Assertions.assertSame(totalThread, first.getTotalThread());
+            Assertions.assertNull(first.getDeadlock());
+            Assertions.assertEquals(1, timing(collector, "deadlock").getLateCount());
+
+            release.countDown();
+            // the late result goes to the next snapshot
+            AgentStatMetricSnapshot second = collector.collect();
+            Assertions.assertSame(deadlock, second.getDeadlock());
+            Assertions.assertEquals(1, timing(collector, "deadlock").getCount());
+            Assertions.assertEquals(2, timing(collector, "totalThread").getCount());
+        } finally {
+            collector.close();
+        }
+    }
+
+    @Test
+    public void collectParallel_hungCollectors() {
+        CountDownLatch release = new CountDownLatch(1);
+        AgentStatMetricCollector<DataSourceMetricSnapshot> hungDataSource = () -> {
+            await(release);
+            return new DataSourceMetricSnapshot();
+        };
+        AgentStatMetricCollector<DeadlockMetricSnapshot> hungDeadlock = () -> {
+            await(release);
+            return deadlock;
+        };
+        AgentStatCollector collector = newCollector(hungDataSource, hungDeadlock, () -> fileDescriptor, parallelConfig());
+        try {
+            for (int i = 1; i <= 3; i++) {
+                final long start = System.nanoTime();
+                AgentStatMetricSnapshot snapshot = collector.collect();
+                final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+                // neither the fast collectors nor the other slow one wait for the hung collectors
+                Assertions.assertSame(totalThread, snapshot.getTotalThread());
+                Assertions.assertSame(fileDescriptor, snapshot.getFileDescriptor());
+                Assertions.assertNull(snapshot.getDataSourceList());
+                Assertions.assertNull(snapshot.getDeadlock());
+                Assertions.assertTrue(elapsedMs < 1000, "elapsed " + elapsedMs + "ms");
+
+                Assertions.assertEquals(i, timing(collector, "fileDescriptor").getCount());
+                Assertions.assertEquals(i, timing(collector, "dataSource").getLateCount());
+                Assertions.assertEquals(i, timing(collector, "deadlock").getLateCount());
+            }
+        } finally {
+            release.countDown();
+            collector.close();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static CollectorTiming timing(AgentStatCollector collector, String name) {
+        for (CollectorTiming timing : collector.getCollectorTimings()) {
+            if (timing.getName().equals(name)) {
+                return timing;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    private static MonitorConfig parallelConfig() {
+        return new DefaultMonitorConfig() {
+            @Override
+            public boolean isProfileJvmStatCollectParallelEnable() {
+                return true;
+            }
+
+            @Override
+            public long getProfileJvmStatCollectDeadlineMs() {
+                return 100;
+            }
+        };
+    }
+
+    private AgentStatCollector newCollector(AgentStatMetricCollector<DeadlockMetricSnapshot> deadlockCollector, MonitorConfig monitorConfig) {
+        return newCollector(() -> null, deadlockCollector, () -> null, monitorConfig);
+    }
+
+    private AgentStatCollector newCollector(AgentStatMetricCollector<DataSourceMetricSnapshot> dataSourceCollector,
+                                            AgentStatMetricCollector<DeadlockMetricSnapshot> deadlockCollector,
+                                            AgentStatMetricCollector<FileDescriptorMetricSnapshot> fileDescriptorCollector,
+                                            MonitorConfig monitorConfig) {
+        return new AgentStatCollector(new ObjectNameV1("agentId", "agentName", "applicationName"), 0,
+                () -> null, () -> null, () -> null, () -> null, dataSourceCollector, () -> null,
+                deadlockCollector, fileDescriptorCollector, () -> null, () -> totalThread, () -> null,
+                monitorConfig);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.sampler.TraceSampler;
+import com.navercorp.pinpoint.common.profiler.clock.Clock;
+import com.navercorp.pinpoint.profiler.context.id.AtomicIdGenerator;
+import com.navercorp.pinpoint.profiler.context.id.IdGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AdaptiveTraceSamplerTest {
+
+    private final IdGenerator idGenerator = new AtomicIdGenerator();
+    private final AtomicLong time = new AtomicLong(10_000);
+    private final AtomicLong discarded = new AtomicLong();
+    private final Clock clock = time::get;
+
+    private AdaptiveTraceSampler newSampler(int targetThroughput) {
+        TraceSampler traceSampler = new BasicTraceSampler(idGenerator, TrueSampler.INSTANCE);
+        return new AdaptiveTraceSampler(targetThroughput, 1000, discarded::get, idGenerator, traceSampler, clock);
+    }
+
+    @Test
+    public void underTarget() {
+        AdaptiveTraceSampler sampler = newSampler(100);
+
+        Assertions.assertEquals(50, sampleNew(sampler, 50));
+        time.addAndGet(1000);
+        Assertions.assertEquals(50, sampleNew(sampler, 50));
+        Assertions.assertEquals(1.0, sampler.getNewRate());
+    }
+
+    @Test
+    public void spike() {
+        AdaptiveTraceSampler sampler = newSampler(100);
+
+        sampleNew(sampler, 1000);
+        time.addAndGet(1000);
+        // adjusted with the previous second
+        sampleNew(sampler, 1);
+        Assertions.assertEquals(0.1, sampler.getNewRate(), 0.0001);
+
+        int sampled = sampleNew(sampler, 999);
+        Assertions.assertEquals(100, sampled, 1);
+    }
+
+    @Test
+    public void continueTransactionUsesBudget() {
+        AdaptiveTraceSampler sampler = newSampler(100);
+
+        for (int i = 0; i < 60; i++) {
+            Assertions.assertTrue(sampler.isContinueSampled().isSampled());
+        }
+        sampleNew(sampler, 80);
+        time.addAndGet(1000);
+        sampleNew(sampler, 1);
+
+        Assertions.assertEquals(0.5, sampler.getNewRate(), 0.0001);
+    }
+
+    @Test
+    public void discardBackoff() {
+        AdaptiveTraceSampler sampler = newSampler(100);
+
+        sampleNew(sampler, 100);
+        discarded.addAndGet(10);
+        time.addAndGet(1000);
+        sampleNew(sampler, 100);
+        Assertions.assertEquals(0.5, sampler.getTargetRatio(), 0.0001);
+        Assertions.assertEquals(0.5, sampler.getNewRate(), 0.0001);
+
+        // recovers while nothing is discarded
+        for (int i = 0; i < 5; i++) {
+            time.addAndGet(1000);
+            sampleNew(sampler, 100);
+        }
+        Assertions.assertEquals(1.0, sampler.getTargetRatio(), 0.0001);
+        Assertions.assertEquals(1.0, sampler.getNewRate(), 0.0001);
+    }
+
+    @Test
+    public void notSampled() {
+        TraceSampler traceSampler = new BasicTraceSampler(idGenerator, FalseSampler.INSTANCE);
+        AdaptiveTraceSampler sampler = new AdaptiveTraceSampler(1, 1000, discarded::get, idGenerator, traceSampler, clock);
+
+        Assertions.assertFalse(sampler.isNewSampled().isSampled());
+    }
+
+    private int sampleNew(TraceSampler sampler, int count) {
+        int sampled = 0;
+        for (int i = 0; i < count; i++) {
+            if (sampler.isNewSampled().isSampled()) {
+                sampled++;
+            }
+        }
+        return sampled;
+    }
+}
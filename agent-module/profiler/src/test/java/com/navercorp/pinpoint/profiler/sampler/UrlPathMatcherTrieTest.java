@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.util.AntPathMatcher;
+import com.navercorp.pinpoint.bootstrap.util.EqualsPathMatcher;
+import com.navercorp.pinpoint.bootstrap.util.PathMatcher;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UrlPathMatcherTrieTest {
+
+    private static final List<String> PATTERNS = Arrays.asList(
+            "/foo/*",
+            "/**/bar???",
+            "/baz/**",
+            "/api/v1/users",
+            "/api/v1/users/*",
+            "/api/v1/users/{id}/orders",
+            "/api/*/items/**",
+            "/static/**/*.js",
+            "/health",
+            "/a/**/b/**/c",
+            "relative/*",
+            "/trailing/"
+    );
+
+    private static final List<String> PATHS = Arrays.asList(
+            "/foo/bar", "/foo/foo", "/foo", "/foo/", "/foo/bar/baz",
+            "/bar/bar000", "/AAA/bar001", "/CCC/bar/DDD", "/bar",
+            "/baz", "/baz/", "/baz/foo", "/baz/foo/bar",
+            "/api/v1/users", "/api/v1/users/", "/api/v1/users/10", "/api/v1/users/10/orders",
+            "/api/v2/items", "/api/v2/items/1/2", "/api/v2/item",
+            "/static/js/app.js", "/static/app.js", "/static/app.css",
+            "/health", "/health/", "health", "//health",
+            "/a/b/c", "/a/x/b/y/c", "/a/b/b/c/c", "/a/c",
+            "relative/x", "/relative/x",
+            "/trailing", "/trailing/",
+            "/", ""
+    );
+
+    @Test
+    void find_sameAsLinearMatch() {
+        Map<String, String> patternMap = new LinkedHashMap<>();
+        for (String pattern : PATTERNS) {
+            patternMap.put(pattern, pattern);
+        }
+        UrlPathMatcherTrie<String> trie = new UrlPathMatcherTrie<>(patternMap);
+
+        for (String path : PATHS) {
+            assertThat(trie.find(path))
+                    .describedAs(path)
+                    .isEqualTo(linearFind(PATTERNS, path));
+        }
+    }
+
+    @Test
+    void find_firstMatch() {
+        Map<String, String> patternMap = new LinkedHashMap<>();
+        patternMap.put("/**", "all");
+        patternMap.put("/foo/bar", "foo");
+        UrlPathMatcherTrie<String> trie = new UrlPathMatcherTrie<>(patternMap);
+
+        assertThat(trie.find("/foo/bar")).isEqualTo("all");
+        assertThat(trie.find("foo/bar")).isNull();
+    }
+
+    @Test
+    void find_skipInvalidEntry() {
+        Map<String, String> patternMap = new LinkedHashMap<>();
+        patternMap.put("", "empty");
+        patternMap.put("/null", null);
+        patternMap.put("/foo", "foo");
+        UrlPathMatcherTrie<String> trie = new UrlPathMatcherTrie<>(patternMap);
+
+        assertThat(trie.size()).isEqualTo(1);
+        assertThat(trie.find("/null")).isNull();
+        assertThat(trie.find("/foo")).isEqualTo("foo");
+        assertThat(trie.find(null)).isNull();
+    }
+
+    @Test
+    void tokenize() {
+        assertThat(UrlPathMatcherTrie.tokenize("/a//b/ c /")).containsExactly("a", "b", "c");
+        assertThat(UrlPathMatcherTrie.tokenize("/")).isEmpty();
+        assertThat(UrlPathMatcherTrie.tokenize("")).isEmpty();
+    }
+
+    private String linearFind(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            PathMatcher pathMatcher = AntPathMatcher.isAntStylePattern(pattern) ?
+                    new AntPathMatcher(pattern) : new EqualsPathMatcher(pattern);
+            if (pathMatcher.isMatched(path)) {
+                return pattern;
+            }
+        }
+        return null;
+    }
+}
@@ -26,6 +26,8 @@ import com.navercorp.pinpoint.grpc.trace.PSpanMessageBatch;
 import com.navercorp.pinpoint.grpc.trace.PSpanResultBatch;
 import com.navercorp.pinpoint.grpc.trace.SpanGrpc;
 import com.navercorp.pinpoint.profiler.context.SpanType;
+import com.navercorp.pinpoint.profiler.context.grpc.config.SpanQueueOverflowPolicy;
+import com.navercorp.pinpoint.profiler.util.queue.MpmcRingBuffer;
 import io.grpc.ManagedChannel;
 import io.grpc.Server;
 import io.grpc.Status;
@@ -37,6 +39,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -153,6 +156,50 @@ class SpanBatchGrpcDataSenderTest {
         assertThat(apiIds).doesNotContain(3, 4);
     }
 
+    @Test
+    void ringBufferOverflow_discardsNewestSpan() throws Exception {
+        setUpServer(TestSpanBatchService.blocking());
+
+        sender = createSender(new MpmcRingBuffer<>(1), SpanQueueOverflowPolicy.DROP_NEWEST, 1, 5000, 50, 1);
+
+        sender.send(new TestSpan(1));
+        assertThat(service.getRequestArrivedLatch().await(3, TimeUnit.SECONDS)).isTrue();
+
+        sender.send(new TestSpan(2));
+        Thread.sleep(300);
+
+        assertThat(sender.send(new TestSpan(3))).isTrue();
+        assertThat(sender.send(new TestSpan(4))).isFalse();
+        assertThat(sender.send(new TestSpan(5))).isFalse();
+        assertThat(sender.getDiscardedNewestCount()).isEqualTo(2);
+        assertThat(sender.getDiscardedOldestCount()).isZero();
+
+        service.unblock();
+
+        await().atMost(5, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(totalSpanCount()).isGreaterThanOrEqualTo(3));
+
+        List<Integer> apiIds = collectAllApiIds();
+        assertThat(apiIds).contains(1, 2, 3);
+        assertThat(apiIds).doesNotContain(4, 5);
+    }
+
+    @Test
+    void ringBuffer_allSentSpansReceived() throws IOException {
+        setUpServer(new TestSpanBatchService());
+        sender = createSender(new MpmcRingBuffer<>(100), SpanQueueOverflowPolicy.DROP_OLDEST, 5, 200, 100, 5);
+
+        for (int i = 1; i <= 10; i++) {
+            sender.send(new TestSpan(i));
+        }
+
+        await().atMost(3, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(totalSpanCount()).isEqualTo(10));
+
+        List<Integer> apiIds = collectAllApiIds();
+        assertThat(apiIds).containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+    }
+
     @Test
     void concurrentRequestLimiting() throws Exception {
         setUpServer(new TestSpanBatchService(false, null, () -> false, 500));
@@ -263,12 +310,29 @@ class SpanBatchGrpcDataSenderTest {
     private SpanBatchGrpcDataSender createSender(int executorQueueSize, int batchSize,
                                                   long flushTimeoutMillis, long batchCollectDeadLineTimeMillis,
                                                   int maxConcurrentRequests) {
-        MessageConverter<SpanType, GeneratedMessageV3> converter = message -> {
+        return new SpanBatchGrpcDataSender("localhost", 0, executorQueueSize,
+                newMessageConverter(), newChannelFactory(), batchSize, flushTimeoutMillis,
+                batchCollectDeadLineTimeMillis, maxConcurrentRequests);
+    }
+
+    private SpanBatchGrpcDataSender createSender(BlockingQueue<SpanType> queue, SpanQueueOverflowPolicy overflowPolicy,
+                                                  int batchSize,
+                                                  long flushTimeoutMillis, long batchCollectDeadLineTimeMillis,
+                                                  int maxConcurrentRequests) {
+        return new SpanBatchGrpcDataSender("localhost", 0, queue, overflowPolicy,
+                newMessageConverter(), newChannelFactory(), batchSize, flushTimeoutMillis,
+                batchCollectDeadLineTimeMillis, maxConcurrentRequests);
+    }
+
+    private MessageConverter<SpanType, GeneratedMessageV3> newMessageConverter() {
+        return message -> {
             TestSpan span = (TestSpan) message;
             return PSpan.newBuilder().setApiId(span.id).build();
         };
+    }
 
-        ChannelFactory channelFactory = new ChannelFactory() {
+    private ChannelFactory newChannelFactory() {
+        return new ChannelFactory() {
             @Override
             public String getFactoryName() {
                 return "test-span-batch";
@@ -288,10 +352,6 @@ class SpanBatchGrpcDataSenderTest {
             public void close() {
             }
         };
-
-        return new SpanBatchGrpcDataSender("localhost", 0, executorQueueSize,
-                converter, channelFactory, batchSize, flushTimeoutMillis,
-                batchCollectDeadLineTimeMillis, maxConcurrentRequests);
     }
 
     private int totalSpanCount() {
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.util;
+
+import com.navercorp.pinpoint.bootstrap.interceptor.scope.ExecutionPolicy;
+import com.navercorp.pinpoint.bootstrap.interceptor.scope.InterceptorScope;
+import com.navercorp.pinpoint.profiler.context.ThreadLocalBinder;
+import com.navercorp.pinpoint.profiler.interceptor.scope.DefaultInterceptorScope;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AgentThreadContextTest {
+
+    @Test
+    public void getAndSet() {
+        int slot1 = AgentThreadContext.newSlot();
+        int slot2 = AgentThreadContext.newSlot();
+
+        assertThat(AgentThreadContext.<String>get(slot1)).isNull();
+        AgentThreadContext.set(slot1, "a");
+        AgentThreadContext.set(slot2, "b");
+        assertThat(AgentThreadContext.<String>get(slot1)).isEqualTo("a");
+        assertThat(AgentThreadContext.<String>get(slot2)).isEqualTo("b");
+
+        AgentThreadContext.set(slot1, null);
+        assertThat(AgentThreadContext.<String>get(slot1)).isNull();
+        AgentThreadContext.set(slot2, null);
+    }
+
+    @Test
+    public void grow() {
+        int slot = 0;
+        for (int i = 0; i < 100; i++) {
+            slot = AgentThreadContext.newSlot();
+        }
+        assertThat(AgentThreadContext.<String>get(slot)).isNull();
+
+        AgentThreadContext.set(slot, "value");
+        assertThat(AgentThreadContext.<String>get(slot)).isEqualTo("value");
+        AgentThreadContext.set(slot, null);
+    }
+
+    @Test
+    public void perThread() throws InterruptedException {
+        int slot = AgentThreadContext.newSlot();
+        AgentThreadContext.set(slot, "main");
+
+        AtomicReference<Object> other = new AtomicReference<>("not executed");
+        Thread thread = new Thread(() -> other.set(AgentThreadContext.get(slot)));
+        thread.start();
+        thread.join();
+
+        assertThat(other.get()).isNull();
+        assertThat(AgentThreadContext.<String>get(slot)).isEqualTo("main");
+        AgentThreadContext.set(slot, null);
+    }
+
+    @Test
+    public void virtualThread() throws Exception {
+        Assumptions.assumeTrue(VirtualThreads.isSupported(), "virtual thread not supported");
+        final Method startVirtualThread = Thread.class.getMethod("startVirtualThread", Runnable.class);
+
+        final int[] slots = new int[10];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = AgentThreadContext.newSlot();
+        }
+
+        AgentThreadContext.setVirtualThreadMode(true);
+        try {
+            final AtomicReference<List<Object>> result = new AtomicReference<>();
+            final Runnable task = () -> {
+                final List<Object> values = new ArrayList<>();
+                for (int slot : slots) {
+                    AgentThreadContext.set(slot, "value-" + slot);
+                }
+                try {
+                    // unmounted from the carrier
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                values.add(AgentThreadContext.get(slots[3]));
+                AgentThreadContext.set(slots[3], null);
+                values.add(AgentThreadContext.get(slots[3]));
+                values.add(AgentThreadContext.get(slots[9]));
+                for (int slot : slots) {
+                    AgentThreadContext.set(slot, null);
+                }
+                values.add(AgentThreadContext.get(slots[0]));
+                result.set(values);
+            };
+            final Thread thread = (Thread) startVirtualThread.invoke(null, task);
+            thread.join();
+
+            assertThat(VirtualThreads.isVirtual(thread)).isTrue();
+            assertThat(result.get()).containsExactly("value-" + slots[3], null, "value-" + slots[9], null);
+        } finally {
+            AgentThreadContext.setVirtualThreadMode(false);
+        }
+    }
+
+    @Test
+    public void virtualThread_releaseContext() throws Exception {
+        Assumptions.assumeTrue(VirtualThreads.isSupported(), "virtual thread not supported");
+        final Method startVirtualThread = Thread.class.getMethod("startVirtualThread", Runnable.class);
+
+        final ThreadLocalBinder<String> binder = new ThreadLocalBinder<>();
+        final InterceptorScope scope = new DefaultInterceptorScope("scope");
+
+        AgentThreadContext.setVirtualThreadMode(true);
+        try {
+            final List<Object> result = new ArrayList<>();
+            final Runnable task = () -> {
+                result.add(binder.get().get());
+                result.add(scope.getCurrentInvocation().isActive());
+                result.add(AgentThreadContext.exists());
+
+                binder.get().set("trace");
+                result.add(AgentThreadContext.exists());
+                result.add(binder.get().clear());
+                result.add(AgentThreadContext.exists());
+
+                scope.getCurrentInvocation().tryEnter(ExecutionPolicy.BOUNDARY);
+                scope.getCurrentInvocation().tryEnter(ExecutionPolicy.ALWAYS);
+                scope.getCurrentInvocation().leave(ExecutionPolicy.ALWAYS);
+                result.add(scope.getCurrentInvocation().isActive());
+                scope.getCurrentInvocation().leave(ExecutionPolicy.BOUNDARY);
+                result.add(AgentThreadContext.exists());
+            };
+            final Thread thread = (Thread) startVirtualThread.invoke(null, task);
+            thread.join();
+
+            assertThat(result).containsExactly(null, false, false, true, "trace", false, true, false);
+        } finally {
+            AgentThreadContext.setVirtualThreadMode(false);
+        }
+    }
+}
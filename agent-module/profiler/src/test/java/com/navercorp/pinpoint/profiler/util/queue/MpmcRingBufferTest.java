@@ -0,0 +1,159 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.util.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MpmcRingBufferTest {
+
+    @Test
+    void capacity_roundUp() {
+        assertThat(new MpmcRingBuffer<>(1).capacity()).isEqualTo(1);
+        assertThat(new MpmcRingBuffer<>(5).capacity()).isEqualTo(8);
+        assertThat(new MpmcRingBuffer<>(1024).capacity()).isEqualTo(1024);
+        assertThrows(IllegalArgumentException.class, () -> new MpmcRingBuffer<>(0));
+    }
+
+    @Test
+    void offer_poll_fifo() {
+        MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(queue.offer(i)).isTrue();
+        }
+        assertThat(queue.offer(4)).isFalse();
+        assertThat(queue.size()).isEqualTo(4);
+        assertThat(queue.remainingCapacity()).isZero();
+
+        assertThat(queue.peek()).isEqualTo(0);
+        for (int i = 0; i < 4; i++) {
+            assertThat(queue.poll()).isEqualTo(i);
+        }
+        assertThat(queue.poll()).isNull();
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void wrapAround() {
+        MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(2);
+        for (int i = 0; i < 100; i++) {
+            assertThat(queue.offer(i)).isTrue();
+            assertThat(queue.poll()).isEqualTo(i);
+        }
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    void evictOldest() {
+        MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(2);
+        queue.offer(1);
+        queue.offer(2);
+        assertThat(queue.offer(3)).isFalse();
+
+        assertThat(queue.poll()).isEqualTo(1);
+        assertThat(queue.offer(3)).isTrue();
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(queue.drainTo(drained)).isEqualTo(2);
+        assertThat(drained).containsExactly(2, 3);
+    }
+
+    @Test
+    void drainTo_maxElements() {
+        MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(8);
+        for (int i = 0; i < 6; i++) {
+            queue.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+        assertThat(queue.drainTo(drained, 4)).isEqualTo(4);
+        assertThat(drained).containsExactly(0, 1, 2, 3);
+        assertThat(queue.size()).isEqualTo(2);
+    }
+
+    @Test
+    void poll_timeout() throws InterruptedException {
+        MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(2);
+        assertThat(queue.poll(10, TimeUnit.MILLISECONDS)).isNull();
+
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ignore) {
+                Thread.currentThread().interrupt();
+            }
+            queue.offer(7);
+        });
+        producer.start();
+        assertThat(queue.poll(5, TimeUnit.SECONDS)).isEqualTo(7);
+        producer.join();
+    }
+
+    @Test
+    void multiProducer() throws InterruptedException {
+        final int producers = 4;
+        final int perProducer = 10000;
+        final MpmcRingBuffer<Integer> queue = new MpmcRingBuffer<>(128);
+        final CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            for (int p = 0; p < producers; p++) {
+                final int base = p * perProducer;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!queue.offer(base + i)) {
+                            Thread.yield();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+
+            Set<Integer> received = new HashSet<>();
+            List<Integer> buffer = new ArrayList<>();
+            while (received.size() < producers * perProducer) {
+                Integer first = queue.poll(5, TimeUnit.SECONDS);
+                assertThat(first).isNotNull();
+                received.add(first);
+                queue.drainTo(buffer, 32);
+                received.addAll(buffer);
+                buffer.clear();
+            }
+            assertThat(received).hasSize(producers * perProducer);
+            assertThat(queue.poll()).isNull();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -19,10 +19,18 @@ package com.navercorp.pinpoint.collector;
 import com.navercorp.pinpoint.collector.config.BatchHbaseClientConfiguration;
 import com.navercorp.pinpoint.collector.config.HbaseAsyncConfiguration;
 import com.navercorp.pinpoint.collector.config.SchedulerConfiguration;
+import com.navercorp.pinpoint.collector.dao.TraceIdFilterDao;
+import com.navercorp.pinpoint.collector.dao.hbase.EmptyTraceIdFilterDao;
+import com.navercorp.pinpoint.collector.dao.hbase.HbaseTraceIdFilterDao;
 import com.navercorp.pinpoint.collector.dao.hbase.encode.ApplicationIndexRowKeyEncoder;
 import com.navercorp.pinpoint.collector.dao.hbase.encode.TraceIndexRowKeyEncoder;
 import com.navercorp.pinpoint.collector.scatter.ScatterCollectorConfiguration;
+import com.navercorp.pinpoint.collector.util.BufferPoolMetrics;
 import com.navercorp.pinpoint.collector.util.DurabilityApplier;
+import com.navercorp.pinpoint.common.buffer.BufferPool;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.common.hbase.async.HbaseAsyncTemplate;
 import com.navercorp.pinpoint.common.hbase.config.DistributorConfiguration;
 import com.navercorp.pinpoint.common.hbase.config.HbaseNamespaceConfiguration;
 import com.navercorp.pinpoint.common.hbase.config.HbasePutWriterConfiguration;
@@ -43,6 +51,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.PropertySource;
 
+import java.time.Duration;
+
 @Configuration
 @Import({
         CommonsHbaseConfiguration.class,
@@ -75,4 +85,27 @@ public class CollectorHbaseModule {
         return new DurabilityApplier(spanDurability);
     }
 
+    @Bean
+    public BufferPoolMetrics spanEncodeBufferPoolMetrics(@Qualifier("spanEncodeBufferPool") BufferPool spanEncodeBufferPool) {
+        return new BufferPoolMetrics("span.encode", spanEncodeBufferPool);
+    }
+
+    @Bean
+    public TraceIdFilterDao traceIdFilterDao(@Value("${collector.trace.id-filter.enable:false}") boolean enable,
+                                             @Value("${collector.trace.id-filter.expected-insertions:1000000}") long expectedInsertions,
+                                             @Value("${collector.trace.id-filter.fpp:0.01}") double fpp,
+                                             @Value("${collector.trace.id-filter.max-lag:10s}") Duration maxLag,
+                                             @Value("${collector.trace.id-filter.flush-interval:60s}") Duration flushInterval,
+                                             HbaseOperations hbaseTemplate,
+                                             HbaseAsyncTemplate asyncTemplate,
+                                             TableNameProvider tableNameProvider) {
+        if (!enable) {
+            return new EmptyTraceIdFilterDao();
+        }
+        HbaseTraceIdFilterDao traceIdFilterDao = new HbaseTraceIdFilterDao(hbaseTemplate, asyncTemplate, tableNameProvider,
+                expectedInsertions, fpp, maxLag, flushInterval);
+        logger.info("TraceIdFilter:{}", traceIdFilterDao);
+        return traceIdFilterDao;
+    }
+
 }
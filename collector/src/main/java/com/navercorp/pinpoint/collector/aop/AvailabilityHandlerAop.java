@@ -11,6 +11,7 @@ import org.aspectj.lang.annotation.Pointcut;
 import org.springframework.core.annotation.Order;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import static com.navercorp.pinpoint.collector.aop.AvailabilityHandlerAop.ORDER;
 import static com.navercorp.pinpoint.common.server.log.Makers.AOP;
@@ -47,6 +48,18 @@ public class AvailabilityHandlerAop {
         return joinPoint.proceed();
     }
 
+    @Around("simpleHandlerPointcut() && execution(public java.util.concurrent.CompletableFuture handleSimpleAsync(..))")
+    public Object aroundHandleSimpleAsync(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (isDebug) {
+            logger.debug(AOP, "[AOP] Check availability {}", joinPoint.toShortString());
+        }
+        if (!checkAvailable()) {
+            logger.debug(AOP, "[AOP] Handler is disabled. Skipping send message {}.", joinPoint.getSignature());
+            return CompletableFuture.completedFuture(null);
+        }
+        return joinPoint.proceed();
+    }
+
 
     @Pointcut("@within(org.springframework.stereotype.Service) && target(com.navercorp.pinpoint.collector.handler.RequestResponseHandler+)")
     public void requestResponseHandlerPointcut() {
@@ -34,6 +34,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 /**
  * Trace service implementation for HBase storage.
@@ -293,6 +294,17 @@ public class HbaseApplicationMapService implements ApplicationMapService {
         }
     }
 
+    /**
+     * The span events read by {@link #insertSpanEventList}, all others are skipped.
+     */
+    public static Predicate<SpanEventBo> linkSpanEventFilter(ServiceTypeRegistryService registry) {
+        Objects.requireNonNull(registry, "registry");
+        return spanEvent -> {
+            final ServiceType spanEventType = registry.findServiceType(spanEvent.getServiceType());
+            return spanEventType.isAlias() || spanEventType.isRecordStatistics();
+        };
+    }
+
     private String normalize(String spanEventApplicationName, ServiceType spanEventType) {
         if (spanEventType.getCategory() == ServiceTypeCategory.DATABASE) {
             // empty database id
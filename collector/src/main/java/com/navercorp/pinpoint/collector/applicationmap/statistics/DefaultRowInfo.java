@@ -47,6 +47,10 @@ public record DefaultRowInfo(TableName tableName,
 
     @Override
     public int hashCode() {
+        return hashCode(tableName, rowKey, columnName);
+    }
+
+    static int hashCode(TableName tableName, RowKey rowKey, ColumnName columnName) {
         int result = tableName.hashCode();
         result = 31 * result + rowKey.hashCode();
         result = 31 * result + columnName.hashCode();
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.applicationmap.statistics;
+
+import com.navercorp.pinpoint.common.server.applicationmap.statistics.ColumnName;
+import com.navercorp.pinpoint.common.server.applicationmap.statistics.RowInfo;
+import com.navercorp.pinpoint.common.server.applicationmap.statistics.RowKey;
+import org.apache.hadoop.hbase.TableName;
+
+import java.util.Map;
+
+/**
+ * {@link BulkIncrementer} that spreads increments over per thread stripes and sums them on flush.
+ */
+public class StripedBulkIncrementer implements BulkIncrementer {
+
+    private final StripedLongMap counter;
+
+    public StripedBulkIncrementer(int stripes) {
+        this.counter = new StripedLongMap(stripes, Long::sum);
+    }
+
+    @Override
+    public void increment(TableName tableName, RowKey rowKey, ColumnName columnName) {
+        increment(tableName, rowKey, columnName, 1L);
+    }
+
+    @Override
+    public void increment(TableName tableName, RowKey rowKey, ColumnName columnName, long addition) {
+        counter.accumulate(tableName, rowKey, columnName, addition);
+    }
+
+    @Override
+    public Map<RowInfo, Long> getIncrements() {
+        return counter.remove();
+    }
+
+    @Override
+    public int getSize() {
+        return counter.size();
+    }
+
+    @Override
+    public String toString() {
+        return "StripedBulkIncrementer{" +
+                "stripes=" + counter.stripes() +
+                '}';
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.applicationmap.statistics;
+
+import com.navercorp.pinpoint.common.server.applicationmap.statistics.ColumnName;
+import com.navercorp.pinpoint.common.server.applicationmap.statistics.RowInfo;
+import com.navercorp.pinpoint.common.server.applicationmap.statistics.RowKey;
+import org.apache.hadoop.hbase.TableName;
+
+import java.util.Map;
+
+/**
+ * {@link BulkUpdater} that keeps the max value per thread stripe and merges the stripes on flush.
+ */
+public class StripedBulkUpdater implements BulkUpdater {
+
+    private final StripedLongMap max;
+
+    public StripedBulkUpdater(int stripes) {
+        this.max = new StripedLongMap(stripes, Long::max);
+    }
+
+    @Override
+    public void updateMax(TableName tableName, RowKey rowKey, ColumnName columnName, long value) {
+        max.accumulate(tableName, rowKey, columnName, value);
+    }
+
+    @Override
+    public Map<RowInfo, Long> getMaxUpdate() {
+        return max.remove();
+    }
+
+    @Override
+    public int getSize() {
+        return max.size();
+    }
+
+    @Override
+    public String toString() {
+        return "StripedBulkUpdater{" +
+                "stripes=" + max.stripes() +
+                '}';
+    }
+}
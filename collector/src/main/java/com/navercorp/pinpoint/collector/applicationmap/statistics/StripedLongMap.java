@@ -0,0 +1,223 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.applicationmap.statistics;
+
+import com.navercorp.pinpoint.common.server.applicationmap.statistics.ColumnName;
+import com.navercorp.pinpoint.common.server.applicationmap.statistics.RowInfo;
+import com.navercorp.pinpoint.common.server.applicationmap.statistics.RowKey;
+import org.apache.hadoop.hbase.TableName;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Long counters per {@link RowInfo} split into lock striped {@link HashMap}s.
+ * <p>
+ * Like {@code LongAdder}, a writer starts on the stripe picked by its per thread probe and moves the probe
+ * to another stripe when that stripe is contended, so writers spread out over the stripes they actually use.
+ * Each stripe looks its counters up through a reusable probe key, so a {@link DefaultRowInfo} is only allocated
+ * the first time a stripe sees a row.
+ * Values of the same row written from different stripes are merged with the accumulator on {@link #remove()}.
+ */
+final class StripedLongMap {
+
+    private static final int MAX_STRIPES = 1 << 16;
+
+    private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(() -> new int[]{ThreadLocalRandom.current().nextInt() | 1});
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final LongBinaryOperator accumulator;
+
+    StripedLongMap(int stripes, LongBinaryOperator accumulator) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive:" + stripes);
+        }
+        this.accumulator = Objects.requireNonNull(accumulator, "accumulator");
+
+        final int size = stripeSize(stripes);
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.mask = size - 1;
+    }
+
+    static int stripeSize(int stripes) {
+        if (stripes >= MAX_STRIPES) {
+            return MAX_STRIPES;
+        }
+        final int highestOneBit = Integer.highestOneBit(stripes);
+        if (highestOneBit == stripes) {
+            return stripes;
+        }
+        return highestOneBit << 1;
+    }
+
+    void accumulate(TableName tableName, RowKey rowKey, ColumnName columnName, long value) {
+        Objects.requireNonNull(tableName, "tableName");
+        Objects.requireNonNull(rowKey, "rowKey");
+        Objects.requireNonNull(columnName, "columnName");
+
+        final int[] probe = PROBE.get();
+        final Stripe stripe = stripes[probe[0] & mask];
+        if (stripe.lock.tryLock()) {
+            try {
+                stripe.accumulate(tableName, rowKey, columnName, value, accumulator);
+            } finally {
+                stripe.lock.unlock();
+            }
+            return;
+        }
+        // contended: move this thread to another stripe for this and later writes
+        probe[0] = advanceProbe(probe[0]);
+        final Stripe next = stripes[probe[0] & mask];
+        next.lock.lock();
+        try {
+            next.accumulate(tableName, rowKey, columnName, value, accumulator);
+        } finally {
+            next.lock.unlock();
+        }
+    }
+
+    static int advanceProbe(int probe) {
+        // xorshift, same as ThreadLocalRandom.advanceProbe
+        probe ^= probe << 13;
+        probe ^= probe >>> 17;
+        probe ^= probe << 5;
+        return probe;
+    }
+
+    Map<RowInfo, Long> remove() {
+        final Map<RowInfo, Long> result = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            final Map<Object, Counter> drained = stripe.drain();
+            for (Counter counter : drained.values()) {
+                result.merge(counter.rowInfo, counter.value, (v1, v2) -> accumulator.applyAsLong(v1, v2));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The same row held by several stripes is counted once per stripe.
+     */
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    int stripes() {
+        return stripes.length;
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ProbeKey probeKey = new ProbeKey();
+        private Map<Object, Counter> counters = new HashMap<>();
+
+        // called with lock held
+        void accumulate(TableName tableName, RowKey rowKey, ColumnName columnName, long value, LongBinaryOperator accumulator) {
+            final Counter counter = counters.get(probeKey.set(tableName, rowKey, columnName));
+            probeKey.clear();
+            if (counter == null) {
+                final DefaultRowInfo rowInfo = new DefaultRowInfo(tableName, rowKey, columnName);
+                counters.put(rowInfo, new Counter(rowInfo, value));
+            } else {
+                counter.value = accumulator.applyAsLong(counter.value, value);
+            }
+        }
+
+        Map<Object, Counter> drain() {
+            lock.lock();
+            try {
+                final Map<Object, Counter> drained = counters;
+                if (drained.isEmpty()) {
+                    return drained;
+                }
+                this.counters = new HashMap<>(drained.size());
+                return drained;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return counters.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Lookup only key that matches a stored {@link DefaultRowInfo} with the same row.
+     * {@link HashMap#get(Object)} calls {@code equals} on the argument, so the probe never has to be stored.
+     */
+    private static final class ProbeKey {
+        private TableName tableName;
+        private RowKey rowKey;
+        private ColumnName columnName;
+        private int hash;
+
+        ProbeKey set(TableName tableName, RowKey rowKey, ColumnName columnName) {
+            this.tableName = tableName;
+            this.rowKey = rowKey;
+            this.columnName = columnName;
+            this.hash = DefaultRowInfo.hashCode(tableName, rowKey, columnName);
+            return this;
+        }
+
+        void clear() {
+            this.tableName = null;
+            this.rowKey = null;
+            this.columnName = null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof DefaultRowInfo that)) {
+                return false;
+            }
+            return rowKey.equals(that.rowKey()) && tableName.equals(that.tableName()) && columnName.equals(that.columnName());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class Counter {
+        private final RowInfo rowInfo;
+        private long value;
+
+        private Counter(RowInfo rowInfo, long value) {
+            this.rowInfo = rowInfo;
+            this.value = value;
+        }
+    }
+}
@@ -43,7 +43,7 @@ public class BulkConfiguration {
                                    HbaseAsyncTemplate asyncTemplate,
                                    BulkIncrementerFactory bulkIncrementerFactory,
                                    BulkOperationReporterFactory bulkOperationReporterFactory) {
-        return new BulkFactory(bulkProperties.enableBulk(), asyncTemplate, bulkIncrementerFactory, bulkOperationReporterFactory);
+        return new BulkFactory(bulkProperties.enableBulk(), bulkProperties.getStripes(), asyncTemplate, bulkIncrementerFactory, bulkOperationReporterFactory);
     }
 
 }
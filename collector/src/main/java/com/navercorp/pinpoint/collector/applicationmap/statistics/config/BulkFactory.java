@@ -22,6 +22,8 @@ import com.navercorp.pinpoint.collector.applicationmap.statistics.BulkWriter;
 import com.navercorp.pinpoint.collector.applicationmap.statistics.DefaultBulkIncrementer;
 import com.navercorp.pinpoint.collector.applicationmap.statistics.DefaultBulkUpdater;
 import com.navercorp.pinpoint.collector.applicationmap.statistics.DefaultBulkWriter;
+import com.navercorp.pinpoint.collector.applicationmap.statistics.StripedBulkIncrementer;
+import com.navercorp.pinpoint.collector.applicationmap.statistics.StripedBulkUpdater;
 import com.navercorp.pinpoint.collector.applicationmap.statistics.SyncWriter;
 import com.navercorp.pinpoint.collector.monitor.dao.hbase.BulkOperationReporter;
 import com.navercorp.pinpoint.common.hbase.async.HbaseAsyncTemplate;
@@ -35,6 +37,7 @@ import java.util.Objects;
 public class BulkFactory {
 
     private final boolean bulkWriter;
+    private final int stripes;
     private final HbaseAsyncTemplate asyncTemplate;
     private final BulkIncrementerFactory bulkIncrementerFactory;
     private final BulkOperationReporterFactory bulkOperationReporterFactory;
@@ -43,7 +46,19 @@ public class BulkFactory {
                        HbaseAsyncTemplate asyncTemplate,
                        BulkIncrementerFactory bulkIncrementerFactory,
                        BulkOperationReporterFactory bulkOperationReporterFactory) {
+        this(bulkWriter, 0, asyncTemplate, bulkIncrementerFactory, bulkOperationReporterFactory);
+    }
+
+    /**
+     * @param stripes number of lock stripes for incrementer and max updater, 0 or less uses a single AtomicLongMap
+     */
+    public BulkFactory(boolean bulkWriter,
+                       int stripes,
+                       HbaseAsyncTemplate asyncTemplate,
+                       BulkIncrementerFactory bulkIncrementerFactory,
+                       BulkOperationReporterFactory bulkOperationReporterFactory) {
         this.bulkWriter = bulkWriter;
+        this.stripes = stripes;
         this.asyncTemplate = Objects.requireNonNull(asyncTemplate, "asyncTemplate");
         this.bulkIncrementerFactory = Objects.requireNonNull(bulkIncrementerFactory, "bulkIncrementerFactory");
         this.bulkOperationReporterFactory = Objects.requireNonNull(bulkOperationReporterFactory, "bulkOperationReporterFactory");
@@ -53,17 +68,31 @@ public class BulkFactory {
     public BulkIncrementer newBulkIncrementer(String reporterName, int limitSize) {
         BulkOperationReporter reporter = bulkOperationReporterFactory.getBulkOperationReporter(reporterName);
 
-        BulkIncrementer bulkIncrementer = new DefaultBulkIncrementer();
+        BulkIncrementer bulkIncrementer = createBulkIncrementer();
         return bulkIncrementerFactory.wrap(bulkIncrementer, limitSize, reporter);
     }
 
 
     public BulkUpdater getBulkUpdater(String reporterName, int limitSize) {
         BulkOperationReporter reporter = bulkOperationReporterFactory.getBulkOperationReporter(reporterName);
-        BulkUpdater bulkUpdater = new DefaultBulkUpdater();
+        BulkUpdater bulkUpdater = createBulkUpdater();
         return bulkIncrementerFactory.wrap(bulkUpdater, limitSize, reporter);
     }
 
+    private BulkIncrementer createBulkIncrementer() {
+        if (stripes > 0) {
+            return new StripedBulkIncrementer(stripes);
+        }
+        return new DefaultBulkIncrementer();
+    }
+
+    private BulkUpdater createBulkUpdater() {
+        if (stripes > 0) {
+            return new StripedBulkUpdater(stripes);
+        }
+        return new DefaultBulkUpdater();
+    }
+
     public BulkWriter newBulkWriter(String loggerName,
                                     RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
                                     byte[] family,
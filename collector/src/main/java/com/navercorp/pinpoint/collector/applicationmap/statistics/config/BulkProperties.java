@@ -36,15 +36,18 @@ public class BulkProperties {
 
     private final boolean enableBulk;
 
+    private final int stripes;
 
     public BulkProperties(@Value("${collector.cachedStatDao.caller.limit:-1}") int callerLimitSize,
                           @Value("${collector.cachedStatDao.callee.limit:-1}") int calleeLimitSize,
                           @Value("${collector.cachedStatDao.self.limit:-1}") int selfLimitSize,
-                          @Value("${collector.cachedStatDao.bulk.enable:true}") boolean enableBulk) {
+                          @Value("${collector.cachedStatDao.bulk.enable:true}") boolean enableBulk,
+                          @Value("${collector.cachedStatDao.bulk.stripes:0}") int stripes) {
         this.callerLimitSize = callerLimitSize;
         this.calleeLimitSize = calleeLimitSize;
         this.selfLimitSize = selfLimitSize;
         this.enableBulk = enableBulk;
+        this.stripes = stripes;
     }
 
     public int getCallerLimitSize() {
@@ -63,6 +66,10 @@ public class BulkProperties {
         return enableBulk;
     }
 
+    public int getStripes() {
+        return stripes;
+    }
+
     @PostConstruct
     public void log() {
         logger.info("{}", this);
@@ -75,6 +82,7 @@ public class BulkProperties {
                 ", calleeLimitSize=" + calleeLimitSize +
                 ", selfLimitSize=" + selfLimitSize +
                 ", enableBulk=" + enableBulk +
+                ", stripes=" + stripes +
                 '}';
     }
 }
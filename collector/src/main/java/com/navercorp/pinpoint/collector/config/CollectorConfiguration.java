@@ -19,26 +19,40 @@ package com.navercorp.pinpoint.collector.config;
 
 import com.navercorp.pinpoint.collector.aop.AvailabilityHandlerAop;
 import com.navercorp.pinpoint.collector.manage.HandlerManager;
+import com.navercorp.pinpoint.collector.sampler.EmptyTailSampler;
 import com.navercorp.pinpoint.collector.sampler.SimpleSpanSamplerFactory;
 import com.navercorp.pinpoint.collector.sampler.SpanSamplerFactory;
+import com.navercorp.pinpoint.collector.sampler.TailSampler;
+import com.navercorp.pinpoint.collector.sampler.TailSamplingPolicy;
+import com.navercorp.pinpoint.collector.sampler.WindowTailSampler;
+import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.common.server.config.AgentProperties;
 import com.navercorp.pinpoint.common.server.executor.ExecutorCustomizer;
 import com.navercorp.pinpoint.common.server.executor.ExecutorProperties;
 import com.navercorp.pinpoint.common.server.executor.ThreadPoolExecutorCustomizer;
 import com.navercorp.pinpoint.common.server.util.CallerUtils;
+import com.navercorp.pinpoint.loader.service.ServiceTypeRegistryService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolExecutorFactoryBean;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 
 @Configuration
 public class CollectorConfiguration {
 
+    private final Logger logger = LogManager.getLogger(CollectorConfiguration.class);
+
     @Bean
     public AgentProperties agentProperties() {
         return new AgentProperties();
@@ -73,6 +87,36 @@ public class CollectorConfiguration {
         return new SimpleSpanSamplerFactory(collectorProperties);
     }
 
+    @Bean
+    public TailSampler tailSampler(@Value("${collector.span.tail-sampling.enable:false}") boolean enable,
+                                   @Value("${collector.span.tail-sampling.window:5s}") Duration window,
+                                   @Value("${collector.span.tail-sampling.max-buffered-spans:100000}") int maxBufferedSpans,
+                                   @Value("${collector.span.tail-sampling.max-retained-transactions:10000}") int maxRetainedTransactions,
+                                   @Value("${collector.span.tail-sampling.slow-threshold:3s}") Duration slowThreshold,
+                                   @Value("${collector.span.tail-sampling.error.enable:true}") boolean errorRetained,
+                                   @Value("${collector.span.tail-sampling.service-types:}") String[] serviceTypeNames,
+                                   SpanSamplerFactory spanSamplerFactory,
+                                   ServiceTypeRegistryService serviceTypeRegistry) {
+        if (!enable) {
+            return new EmptyTailSampler();
+        }
+        final Set<Integer> serviceTypes = new HashSet<>();
+        for (String name : serviceTypeNames) {
+            if (name.isBlank()) {
+                continue;
+            }
+            final ServiceType serviceType = serviceTypeRegistry.findServiceTypeByName(name.trim());
+            if (serviceType == null || serviceType == ServiceType.UNDEFINED) {
+                logger.warn("Unknown tail sampling service type:{}", name);
+                continue;
+            }
+            serviceTypes.add((int) serviceType.getCode());
+        }
+        final TailSamplingPolicy policy = new TailSamplingPolicy(Math.toIntExact(slowThreshold.toMillis()), errorRetained,
+                serviceTypes, spanSamplerFactory.createBasicSpanSampler());
+        return new WindowTailSampler(policy, window, maxBufferedSpans, maxRetainedTransactions);
+    }
+
 
     @Bean
     public AvailabilityHandlerAop availabilityHandlerAop(HandlerManager handlerManager) {
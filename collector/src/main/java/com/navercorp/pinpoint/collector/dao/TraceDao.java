@@ -2,6 +2,7 @@ package com.navercorp.pinpoint.collector.dao;
 
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.EncodedSpan;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -15,4 +16,9 @@ public interface TraceDao {
     CompletableFuture<Void> asyncInsert(SpanBo span);
 
     void insertSpanChunk(SpanChunkBo spanChunk);
+
+    /**
+     * Stores a span or a span chunk already encoded into the trace column.
+     */
+    CompletableFuture<Void> asyncInsert(EncodedSpan encodedSpan);
 }
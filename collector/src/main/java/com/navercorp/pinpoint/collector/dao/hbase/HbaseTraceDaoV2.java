@@ -17,15 +17,18 @@
 package com.navercorp.pinpoint.collector.dao.hbase;
 
 import com.navercorp.pinpoint.collector.dao.TraceDao;
+import com.navercorp.pinpoint.collector.dao.TraceIdFilterDao;
 import com.navercorp.pinpoint.collector.util.DurabilityApplier;
 import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
 import com.navercorp.pinpoint.common.hbase.HbaseTables;
 import com.navercorp.pinpoint.common.hbase.TableNameProvider;
 import com.navercorp.pinpoint.common.hbase.async.HbasePutWriter;
+import com.navercorp.pinpoint.common.server.bo.BasicSpan;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
 import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
 import com.navercorp.pinpoint.common.server.bo.serializer.RowKeyEncoder;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.EncodedSpan;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanChunkSerializerV2;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanSerializerV2;
 import com.navercorp.pinpoint.common.server.trace.ServerTraceId;
@@ -65,13 +68,16 @@ public class HbaseTraceDaoV2 implements TraceDao {
 
     private final DurabilityApplier durabilityApplier;
 
+    private final TraceIdFilterDao traceIdFilterDao;
+
     public HbaseTraceDaoV2(@Qualifier("spanPutWriter")
                            HbasePutWriter putWriter,
                            TableNameProvider tableNameProvider,
                            @Qualifier("traceRowKeyEncoderV2") RowKeyEncoder<ServerTraceId> rowKeyEncoder,
                            SpanSerializerV2 spanSerializer,
                            SpanChunkSerializerV2 spanChunkSerializer,
-                           DurabilityApplier durabilityApplier) {
+                           DurabilityApplier durabilityApplier,
+                           TraceIdFilterDao traceIdFilterDao) {
         this.putWriter = Objects.requireNonNull(putWriter, "putWriter");
         this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
         this.rowKeyEncoder = Objects.requireNonNull(rowKeyEncoder, "rowKeyEncoder");
@@ -79,6 +85,7 @@ public class HbaseTraceDaoV2 implements TraceDao {
         this.spanChunkSerializer = Objects.requireNonNull(spanChunkSerializer, "spanChunkSerializer");
 
         this.durabilityApplier = Objects.requireNonNull(durabilityApplier, "durabilityApplier");
+        this.traceIdFilterDao = Objects.requireNonNull(traceIdFilterDao, "traceIdFilterDao");
     }
 
     @Override
@@ -115,6 +122,28 @@ public class HbaseTraceDaoV2 implements TraceDao {
         this.spanSerializer.serialize(spanBo, put, null);
 
         TableName traceTableName = tableNameProvider.getTableName(descriptor.getTable());
+        return this.traceIdFilterDao.add(acceptedTime, rowKey)
+                .thenCompose((unused) -> putWriter.put(traceTableName, put));
+    }
+
+    @Override
+    public CompletableFuture<Void> asyncInsert(EncodedSpan encodedSpan) {
+        Objects.requireNonNull(encodedSpan, "encodedSpan");
+
+        final BasicSpan span = encodedSpan.span();
+        final byte[] rowKey = this.rowKeyEncoder.encodeRowKey(span.getTransactionId());
+        final long acceptedTime = span.getCollectorAcceptTime();
+        final Put put = new Put(rowKey, acceptedTime, true);
+
+        this.durabilityApplier.apply(put);
+
+        put.addColumn(descriptor.getName(), encodedSpan.qualifier(), acceptedTime, encodedSpan.value());
+
+        TableName traceTableName = tableNameProvider.getTableName(descriptor.getTable());
+        if (span instanceof SpanBo) {
+            return this.traceIdFilterDao.add(acceptedTime, rowKey)
+                    .thenCompose((unused) -> putWriter.put(traceTableName, put));
+        }
         return putWriter.put(traceTableName, put);
     }
 
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.collector.dao.TraceIdFilterDao;
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations;
+import com.navercorp.pinpoint.common.hbase.HbaseTables;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.common.hbase.async.AsyncHbaseOperations;
+import com.navercorp.pinpoint.common.hbase.util.Puts;
+import com.navercorp.pinpoint.common.profiler.concurrent.PinpointThreadFactory;
+import com.navercorp.pinpoint.common.server.trace.filter.TraceIdBloomFilter;
+import com.navercorp.pinpoint.common.server.trace.filter.TraceIdFilterRowKey;
+import com.navercorp.pinpoint.common.server.trace.filter.TraceIdFilterSnapshot;
+import com.navercorp.pinpoint.common.util.BytesUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps one bloom filter per hour bucket and periodically writes it to {@code TraceV2:F},
+ * in a column owned by this collector process.
+ * <p>
+ * A bucket is tainted, so the web never trusts it,
+ * when a row key is added more than {@code maxLag} after its accept time
+ * or before the column of the bucket was written once.
+ * The span is written only after its taint, so a snapshot already written never hides the key of a stored span.
+ * A failed taint fails the span insert and is written again by the next {@link #add(long, byte[])}.
+ * The next bucket is written ahead of time so that tainting does not happen in normal operation.
+ */
+public class HbaseTraceIdFilterDao implements TraceIdFilterDao {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private static final HbaseColumnFamily DESCRIPTOR = HbaseTables.TRACE_V2_ID_FILTER;
+
+    private static final CompletableFuture<Void> COMPLETED = CompletableFuture.completedFuture(null);
+
+    private final HbaseOperations hbaseTemplate;
+    private final AsyncHbaseOperations asyncTemplate;
+    private final TableNameProvider tableNameProvider;
+
+    private final byte[] qualifier;
+    private final long expectedInsertions;
+    private final double fpp;
+    private final long maxLag;
+    private final long flushInterval;
+
+    private final ConcurrentMap<Long, FilterBucket> buckets = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler;
+
+    public HbaseTraceIdFilterDao(HbaseOperations hbaseTemplate,
+                                 AsyncHbaseOperations asyncTemplate,
+                                 TableNameProvider tableNameProvider,
+                                 long expectedInsertions,
+                                 double fpp,
+                                 Duration maxLag,
+                                 Duration flushInterval) {
+        this.hbaseTemplate = Objects.requireNonNull(hbaseTemplate, "hbaseTemplate");
+        this.asyncTemplate = Objects.requireNonNull(asyncTemplate, "asyncTemplate");
+        this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
+        this.qualifier = newQualifier();
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+        this.maxLag = Objects.requireNonNull(maxLag, "maxLag").toMillis();
+        this.flushInterval = Objects.requireNonNull(flushInterval, "flushInterval").toMillis();
+        if (this.flushInterval <= 0) {
+            throw new IllegalArgumentException("flushInterval must be positive");
+        }
+        // validate the sizing before any span is accepted
+        TraceIdBloomFilter.create(expectedInsertions, fpp);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(PinpointThreadFactory.createThreadFactory("TraceIdFilter-flush", true));
+    }
+
+    private static byte[] newQualifier() {
+        final UUID uuid = UUID.randomUUID();
+        final byte[] qualifier = new byte[BytesUtils.LONG_BYTE_LENGTH * 2];
+        BytesUtils.writeLong(uuid.getMostSignificantBits(), qualifier, 0);
+        BytesUtils.writeLong(uuid.getLeastSignificantBits(), qualifier, BytesUtils.LONG_BYTE_LENGTH);
+        return qualifier;
+    }
+
+    @PostConstruct
+    public void start() {
+        logger.info("TraceIdFilter started. expectedInsertions={}, fpp={}, maxLag={}ms, flushInterval={}ms",
+                expectedInsertions, fpp, maxLag, flushInterval);
+        // open the current bucket before spans are received
+        flush();
+        this.scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        this.scheduler.shutdown();
+        try {
+            this.scheduler.awaitTermination(flushInterval, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    @Override
+    public CompletableFuture<Void> add(long collectorAcceptTime, byte[] traceRowKey) {
+        final long bucketStart = TraceIdFilterRowKey.bucketStart(collectorAcceptTime);
+        FilterBucket bucket = buckets.computeIfAbsent(bucketStart, this::newBucket);
+        bucket.filter.put(traceRowKey);
+        CompletableFuture<Void> future = COMPLETED;
+        if (!bucket.written || System.currentTimeMillis() - collectorAcceptTime > maxLag) {
+            future = taint(bucket);
+        }
+        if (bucket.evicted) {
+            // the final snapshot may have missed this key
+            bucket = buckets.computeIfAbsent(bucketStart, this::newBucket);
+            future = CompletableFuture.allOf(future, taint(bucket));
+        }
+        return future;
+    }
+
+    private CompletableFuture<Void> taint(FilterBucket bucket) {
+        CompletableFuture<Void> taint = bucket.taint;
+        if (taint != null && !taint.isCompletedExceptionally()) {
+            return taint;
+        }
+        synchronized (bucket) {
+            taint = bucket.taint;
+            if (taint != null && !taint.isCompletedExceptionally()) {
+                return taint;
+            }
+            // the filter of a tainted snapshot is never read, an empty one is enough
+            final TraceIdFilterSnapshot snapshot = new TraceIdFilterSnapshot(0, maxLag, TraceIdBloomFilter.create(1, fpp));
+            final TableName tableName = tableNameProvider.getTableName(DESCRIPTOR.getTable());
+            taint = asyncPut(tableName, bucket, snapshot);
+            bucket.taint = taint;
+            return taint;
+        }
+    }
+
+    private CompletableFuture<Void> asyncPut(TableName tableName, FilterBucket bucket, TraceIdFilterSnapshot snapshot) {
+        final Put put = newPut(bucket, snapshot);
+        final CompletableFuture<Void> future;
+        try {
+            future = asyncTemplate.put(tableName, put);
+        } catch (Throwable th) {
+            logger.warn("TraceIdFilter taint failed. bucketStart={}", bucket.bucketStart, th);
+            return CompletableFuture.failedFuture(th);
+        }
+        return future.whenComplete((unused, th) -> {
+            if (th != null) {
+                logger.warn("TraceIdFilter taint failed. bucketStart={}", bucket.bucketStart, th);
+                return;
+            }
+            bucket.written = true;
+        });
+    }
+
+    private FilterBucket newBucket(long bucketStart) {
+        return new FilterBucket(bucketStart, TraceIdBloomFilter.create(expectedInsertions, fpp));
+    }
+
+    void flush() {
+        try {
+            final long now = System.currentTimeMillis();
+            final long currentBucket = TraceIdFilterRowKey.bucketStart(now);
+            buckets.computeIfAbsent(currentBucket, this::newBucket);
+            final long nextBucket = currentBucket + TraceIdFilterRowKey.BUCKET_SIZE;
+            if (now + flushInterval * 2 >= nextBucket) {
+                buckets.computeIfAbsent(nextBucket, this::newBucket);
+            }
+
+            final TableName tableName = tableNameProvider.getTableName(DESCRIPTOR.getTable());
+            for (Map.Entry<Long, FilterBucket> entry : buckets.entrySet()) {
+                final FilterBucket bucket = entry.getValue();
+                final long bucketEnd = bucket.bucketStart + TraceIdFilterRowKey.BUCKET_SIZE;
+                if (bucketEnd + maxLag < now) {
+                    // this write covers the whole bucket
+                    bucket.evicted = true;
+                    buckets.remove(entry.getKey(), bucket);
+                }
+                write(tableName, bucket, now);
+            }
+        } catch (Throwable th) {
+            logger.warn("TraceIdFilter flush failed", th);
+        }
+    }
+
+    private void write(TableName tableName, FilterBucket bucket, long snapshotTime) {
+        // a concurrent taint must not be overwritten by a snapshot taken before it
+        synchronized (bucket) {
+            // snapshotTime must be taken before the bits are copied
+            final long effectiveSnapshotTime = bucket.isTainted() ? 0 : snapshotTime;
+            final TraceIdFilterSnapshot snapshot = new TraceIdFilterSnapshot(effectiveSnapshotTime, maxLag, bucket.filter);
+            put(tableName, bucket, snapshot);
+        }
+    }
+
+    private Put newPut(FilterBucket bucket, TraceIdFilterSnapshot snapshot) {
+        final byte[] rowKey = TraceIdFilterRowKey.encodeRowKey(bucket.bucketStart);
+        return Puts.put(rowKey, DESCRIPTOR.getName(), qualifier, snapshot.encode());
+    }
+
+    private void put(TableName tableName, FilterBucket bucket, TraceIdFilterSnapshot snapshot) {
+        final Put put = newPut(bucket, snapshot);
+        try {
+            hbaseTemplate.put(tableName, put);
+            bucket.written = true;
+        } catch (Throwable th) {
+            logger.warn("TraceIdFilter write failed. bucketStart={}", bucket.bucketStart, th);
+        }
+    }
+
+    private static class FilterBucket {
+        private final long bucketStart;
+        private final TraceIdBloomFilter filter;
+        private volatile boolean written;
+        private volatile CompletableFuture<Void> taint;
+        private volatile boolean evicted;
+
+        private FilterBucket(long bucketStart, TraceIdBloomFilter filter) {
+            this.bucketStart = bucketStart;
+            this.filter = filter;
+        }
+
+        /**
+         * A pending taint counts, a failed one does not, its spans were not stored.
+         */
+        private boolean isTainted() {
+            final CompletableFuture<Void> taint = this.taint;
+            return taint != null && !taint.isCompletedExceptionally();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "HbaseTraceIdFilterDao{" +
+                "expectedInsertions=" + expectedInsertions +
+                ", fpp=" + fpp +
+                ", maxLag=" + maxLag +
+                ", flushInterval=" + flushInterval +
+                '}';
+    }
+}
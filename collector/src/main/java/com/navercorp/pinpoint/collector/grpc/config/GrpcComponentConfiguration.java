@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.grpc.config;
 
+import com.navercorp.pinpoint.collector.applicationmap.service.HbaseApplicationMapService;
 import com.navercorp.pinpoint.collector.receiver.grpc.monitor.BasicMonitor;
 import com.navercorp.pinpoint.collector.receiver.grpc.monitor.Monitor;
 import com.navercorp.pinpoint.collector.receiver.grpc.service.DefaultServerRequestFactory;
@@ -24,11 +25,14 @@ import com.navercorp.pinpoint.collector.receiver.grpc.service.ServerRequestFacto
 import com.navercorp.pinpoint.collector.receiver.grpc.service.ServerResponseFactory;
 import com.navercorp.pinpoint.collector.receiver.grpc.service.StreamCloseOnError;
 import com.navercorp.pinpoint.common.server.bo.filter.SpanEventFilter;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoderV0;
 import com.navercorp.pinpoint.common.server.io.CollectorGrpcSpanFactory;
 import com.navercorp.pinpoint.common.server.io.GrpcSpanBinder;
+import com.navercorp.pinpoint.common.server.io.GrpcSpanColumnEncoder;
 import com.navercorp.pinpoint.io.request.UidFetcherService;
 import com.navercorp.pinpoint.io.request.UidFetcherStreamService;
 import com.navercorp.pinpoint.io.request.UidFetchers;
+import com.navercorp.pinpoint.loader.service.ServiceTypeRegistryService;
 import io.grpc.ServerTransportFilter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -79,6 +83,14 @@ public class GrpcComponentConfiguration {
         return new CollectorGrpcSpanFactory(grpcSpanBinder, spanEventFilter);
     }
 
+    @Bean
+    public GrpcSpanColumnEncoder grpcSpanColumnEncoder(SpanEncoderV0 spanEncoder, SpanEventFilter spanEventFilter,
+                                                       ServiceTypeRegistryService registry) {
+        GrpcSpanBinder grpcSpanBinder = new GrpcSpanBinder();
+        // keeps the span events of the application map statistics
+        return new GrpcSpanColumnEncoder(grpcSpanBinder, spanEncoder, spanEventFilter, HbaseApplicationMapService.linkSpanEventFilter(registry));
+    }
+
     @Bean
     public Monitor grpcReceiverMonitor(@Value("${collector.receiver.grpc.monitor.enable:true}") boolean enable) {
         if (enable) {
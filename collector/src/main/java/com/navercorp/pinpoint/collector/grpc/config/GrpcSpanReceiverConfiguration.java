@@ -88,8 +88,12 @@ public class GrpcSpanReceiverConfiguration {
                                                                @Qualifier("spanStreamExecutorInterceptor")
                                                                ServerInterceptor serverInterceptor,
                                                                ServerRequestFactory serverRequestFactory,
-                                                               StreamCloseOnError streamCloseOnError) {
-        BindableService spanService = new SpanService(spanHandler, spanCheckHandler, uidFetcherStreamService, executor, serverRequestFactory, streamCloseOnError);
+                                                               StreamCloseOnError streamCloseOnError,
+                                                               @Value("${collector.receiver.grpc.span.async.enable:false}")
+                                                               boolean asyncSpan,
+                                                               @Value("${collector.receiver.grpc.span.batch.parallelism:1}")
+                                                               int batchParallelism) {
+        BindableService spanService = new SpanService(spanHandler, spanCheckHandler, uidFetcherStreamService, executor, serverRequestFactory, streamCloseOnError, asyncSpan, batchParallelism);
         return ServerInterceptors.intercept(spanService, serverInterceptor);
     }
 
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.handler;
+
+import com.navercorp.pinpoint.common.server.io.ServerRequest;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link SimpleHandler} that hands the storage work off and completes the returned future when it is done.
+ * The caller thread is never blocked on the storage.
+ */
+public interface AsyncSimpleHandler<REQ> extends SimpleHandler<REQ> {
+
+    CompletableFuture<Void> handleSimpleAsync(ServerRequest<REQ> serverRequest);
+
+}
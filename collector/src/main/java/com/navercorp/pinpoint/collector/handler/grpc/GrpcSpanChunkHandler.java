@@ -20,11 +20,14 @@ package com.navercorp.pinpoint.collector.handler.grpc;
 import com.navercorp.pinpoint.collector.handler.SimpleHandler;
 import com.navercorp.pinpoint.collector.sampler.Sampler;
 import com.navercorp.pinpoint.collector.sampler.SpanSamplerFactory;
+import com.navercorp.pinpoint.collector.sampler.TailSampler;
 import com.navercorp.pinpoint.collector.service.TraceService;
 import com.navercorp.pinpoint.common.hbase.RequestNotPermittedException;
 import com.navercorp.pinpoint.common.profiler.logging.LogSampler;
 import com.navercorp.pinpoint.common.server.bo.BasicSpan;
 import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.EncodedSpan;
+import com.navercorp.pinpoint.common.server.io.GrpcSpanColumnEncoder;
 import com.navercorp.pinpoint.common.server.io.GrpcSpanFactory;
 import com.navercorp.pinpoint.common.server.io.ServerHeader;
 import com.navercorp.pinpoint.common.server.io.ServerRequest;
@@ -34,6 +37,7 @@ import com.navercorp.pinpoint.grpc.trace.PSpanEvent;
 import com.navercorp.pinpoint.grpc.trace.PTransactionId;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
@@ -54,15 +58,24 @@ public class GrpcSpanChunkHandler implements SimpleHandler<PSpanChunk> {
     private final TraceService[] traceServices;
 
     private final GrpcSpanFactory spanFactory;
+    private final GrpcSpanColumnEncoder spanColumnEncoder;
+    private final boolean directEncoding;
 
     private final Sampler<BasicSpan> sampler;
+    private final TailSampler tailSampler;
 
-    public GrpcSpanChunkHandler(TraceService[] traceServices, GrpcSpanFactory spanFactory, SpanSamplerFactory spanSamplerFactory) {
+    public GrpcSpanChunkHandler(TraceService[] traceServices, GrpcSpanFactory spanFactory, SpanSamplerFactory spanSamplerFactory,
+                                TailSampler tailSampler,
+                                GrpcSpanColumnEncoder spanColumnEncoder,
+                                @Value("${collector.receiver.grpc.span.direct-encoding.enable:false}") boolean directEncoding) {
         this.traceServices = Objects.requireNonNull(traceServices, "traceServices");
         this.spanFactory = Objects.requireNonNull(spanFactory, "spanFactory");
+        this.spanColumnEncoder = Objects.requireNonNull(spanColumnEncoder, "spanColumnEncoder");
+        this.directEncoding = directEncoding && !GrpcSpanHandler.isSpanBoRequired(traceServices);
         this.sampler = spanSamplerFactory.createBasicSpanSampler();
+        this.tailSampler = Objects.requireNonNull(tailSampler, "tailSampler");
 
-        logger.info("TraceServices {}", Arrays.toString(traceServices));
+        logger.info("TraceServices {} directEncoding:{} tailSampler:{}", Arrays.toString(traceServices), this.directEncoding, tailSampler);
     }
 
     @Override
@@ -78,19 +91,29 @@ public class GrpcSpanChunkHandler implements SimpleHandler<PSpanChunk> {
         if (isDebug) {
             logger.debug("Handle {} {}", header, createSimpleSpanChunkLog(spanChunk));
         }
-        final SpanChunkBo spanChunkBo = spanFactory.buildSpanChunkBo(spanChunk, header, requestTime);
-        if (!sampler.isSampling(spanChunkBo)) {
-            if (isDebug) {
-                logger.debug("Unsampled {} {}", header, createSimpleSpanChunkLog(spanChunk));
-            } else {
-                infoLog.log(() -> {
-                    if (logger.isInfoEnabled()) {
-                        logger.info("Unsampled {} {}", header, createSimpleSpanChunkLog(spanChunk));
-                    }
-                });
+        if (directEncoding) {
+            final EncodedSpan encodedSpanChunk = spanColumnEncoder.encodeSpanChunk(spanChunk, header, requestTime);
+            if (encodedSpanChunk != null) {
+                if (tailSampler.offer(encodedSpanChunk.span(), () -> insertEncodedSpanChunk(encodedSpanChunk, header, spanChunk))) {
+                    return;
+                }
+                if (isSampling(encodedSpanChunk.span(), header, spanChunk)) {
+                    insertEncodedSpanChunk(encodedSpanChunk, header, spanChunk);
+                }
+                return;
             }
+        }
+        final SpanChunkBo spanChunkBo = spanFactory.buildSpanChunkBo(spanChunk, header, requestTime);
+        if (tailSampler.offer(spanChunkBo, () -> insertSpanChunk(spanChunkBo, header, spanChunk))) {
             return;
         }
+        if (!isSampling(spanChunkBo, header, spanChunk)) {
+            return;
+        }
+        insertSpanChunk(spanChunkBo, header, spanChunk);
+    }
+
+    private void insertSpanChunk(SpanChunkBo spanChunkBo, ServerHeader header, PSpanChunk spanChunk) {
         for (TraceService traceService : traceServices) {
             try {
                 traceService.insertSpanChunk(spanChunkBo);
@@ -102,6 +125,36 @@ public class GrpcSpanChunkHandler implements SimpleHandler<PSpanChunk> {
         }
     }
 
+    private void insertEncodedSpanChunk(EncodedSpan encodedSpanChunk, ServerHeader header, PSpanChunk spanChunk) {
+        for (TraceService traceService : traceServices) {
+            try {
+                traceService.asyncInsertEncodedSpan(encodedSpanChunk)
+                        .exceptionally(throwable -> {
+                            logger.warn("Failed to handle {} {}", header, MessageFormatUtils.debugLog(spanChunk), throwable);
+                            return null;
+                        });
+            } catch (Throwable e) {
+                logger.warn("Failed to handle {} {}", header, MessageFormatUtils.debugLog(spanChunk), e);
+            }
+        }
+    }
+
+    private boolean isSampling(BasicSpan basicSpan, ServerHeader header, PSpanChunk spanChunk) {
+        if (!sampler.isSampling(basicSpan)) {
+            if (isDebug) {
+                logger.debug("Unsampled {} {}", header, createSimpleSpanChunkLog(spanChunk));
+            } else {
+                infoLog.log(() -> {
+                    if (logger.isInfoEnabled()) {
+                        logger.info("Unsampled {} {}", header, createSimpleSpanChunkLog(spanChunk));
+                    }
+                });
+            }
+            return false;
+        }
+        return true;
+    }
+
     private String createSimpleSpanChunkLog(PSpanChunk spanChunk) {
         if (!isDebug) {
             return "";
@@ -16,14 +16,18 @@
 
 package com.navercorp.pinpoint.collector.handler.grpc;
 
-import com.navercorp.pinpoint.collector.handler.SimpleHandler;
+import com.navercorp.pinpoint.collector.handler.AsyncSimpleHandler;
 import com.navercorp.pinpoint.collector.sampler.Sampler;
 import com.navercorp.pinpoint.collector.sampler.SpanSamplerFactory;
+import com.navercorp.pinpoint.collector.sampler.TailSampler;
 import com.navercorp.pinpoint.collector.service.TraceService;
 import com.navercorp.pinpoint.common.hbase.RequestNotPermittedException;
+import com.navercorp.pinpoint.common.hbase.async.ConcurrencyLimiterHelper;
 import com.navercorp.pinpoint.common.profiler.logging.LogSampler;
 import com.navercorp.pinpoint.common.server.bo.BasicSpan;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.EncodedSpan;
+import com.navercorp.pinpoint.common.server.io.GrpcSpanColumnEncoder;
 import com.navercorp.pinpoint.common.server.io.GrpcSpanFactory;
 import com.navercorp.pinpoint.common.server.io.ServerHeader;
 import com.navercorp.pinpoint.common.server.io.ServerRequest;
@@ -33,18 +37,26 @@ import com.navercorp.pinpoint.grpc.trace.PSpanEvent;
 import com.navercorp.pinpoint.grpc.trace.PTransactionId;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 /**
  * @author emeroad
  * @author netspider
  */
 @Service
-public class GrpcSpanHandler implements SimpleHandler<PSpan> {
+public class GrpcSpanHandler implements AsyncSimpleHandler<PSpan> {
+
+    private static final CompletableFuture<Void> COMPLETED = CompletableFuture.completedFuture(null);
 
     private final Logger logger = LogManager.getLogger(getClass());
     private final LogSampler infoLog = new LogSampler(1000);
@@ -54,15 +66,43 @@ public class GrpcSpanHandler implements SimpleHandler<PSpan> {
     private final TraceService[] traceServices;
 
     private final GrpcSpanFactory spanFactory;
+    private final GrpcSpanColumnEncoder spanColumnEncoder;
+    private final boolean directEncoding;
 
     private final Sampler<BasicSpan> sampler;
+    private final TailSampler tailSampler;
+
+    private final ConcurrencyLimiterHelper inFlightLimiter;
+    private final BiConsumer<Void, Throwable> inFlightRelease;
+    private final LongAdder tailSampledFailures = new LongAdder();
 
-    public GrpcSpanHandler(TraceService[] traceServices, GrpcSpanFactory spanFactory, SpanSamplerFactory spanSamplerFactory) {
+    public GrpcSpanHandler(TraceService[] traceServices, GrpcSpanFactory spanFactory, SpanSamplerFactory spanSamplerFactory,
+                           TailSampler tailSampler,
+                           @Value("${collector.receiver.grpc.span.async.max-in-flight:4096}") int maxInFlight,
+                           GrpcSpanColumnEncoder spanColumnEncoder,
+                           @Value("${collector.receiver.grpc.span.direct-encoding.enable:false}") boolean directEncoding) {
         this.traceServices = Objects.requireNonNull(traceServices, "traceServices");
         this.spanFactory = Objects.requireNonNull(spanFactory, "spanFactory");
+        this.spanColumnEncoder = Objects.requireNonNull(spanColumnEncoder, "spanColumnEncoder");
+        this.directEncoding = directEncoding && !isSpanBoRequired(traceServices);
         this.sampler = spanSamplerFactory.createBasicSpanSampler();
+        this.tailSampler = Objects.requireNonNull(tailSampler, "tailSampler");
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive:" + maxInFlight);
+        }
+        this.inFlightLimiter = new ConcurrencyLimiterHelper(maxInFlight);
+        this.inFlightRelease = inFlightLimiter.release();
 
-        logger.info("TraceServices {}", Arrays.toString(traceServices));
+        logger.info("TraceServices {} maxInFlight:{} directEncoding:{} tailSampler:{}", Arrays.toString(traceServices), maxInFlight, this.directEncoding, tailSampler);
+    }
+
+    static boolean isSpanBoRequired(TraceService[] traceServices) {
+        for (TraceService traceService : traceServices) {
+            if (traceService.isSpanBoRequired()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -75,24 +115,128 @@ public class GrpcSpanHandler implements SimpleHandler<PSpan> {
 
     }
 
-    private void handleSpan(PSpan span, ServerHeader serverHeader, long requestTime) {
-        if (isDebug) {
-            logger.debug("Handle {} {}", serverHeader, createSimpleSpanLog(span));
+    /**
+     * Spans in flight are bounded by maxInFlight permits.
+     * If no permit is left, the returned future fails with {@link RequestNotPermittedException} without storing the span.
+     * The returned future also fails if a {@link TraceService} fails to store the span, so the failure is reported to the agent.
+     * Spans taken by the {@link TailSampler} complete immediately, they are bounded by the tail sampler itself.
+     * Once released by the tail sampler, they take a permit as well, and their failures are counted and logged.
+     */
+    @Override
+    public CompletableFuture<Void> handleSimpleAsync(ServerRequest<PSpan> serverRequest) {
+        final PSpan span = serverRequest.getData();
+        final ServerHeader header = serverRequest.getHeader();
+
+        if (directEncoding) {
+            final EncodedSpan encodedSpan = spanColumnEncoder.encodeSpan(span, header, serverRequest.getRequestTime());
+            if (encodedSpan != null) {
+                final Function<TraceService, CompletableFuture<Void>> insert = traceService -> traceService.asyncInsertEncodedSpan(encodedSpan);
+                if (offerTailSampler(encodedSpan.span(), insert, header, span)) {
+                    return COMPLETED;
+                }
+                if (!isSampling(encodedSpan.span(), header, span)) {
+                    return COMPLETED;
+                }
+                return asyncInsertAll(insert, header, span);
+            }
         }
 
-        final SpanBo spanBo = spanFactory.buildSpanBo(span, serverHeader, requestTime);
-        if (!sampler.isSampling(spanBo)) {
-            if (isDebug) {
-                logger.debug("Unsampled {} {}", serverHeader, createSimpleSpanLog(span));
-            } else {
-                infoLog.log(() -> {
-                    if (logger.isInfoEnabled()) {
-                        logger.info("Unsampled {} {}", serverHeader, createSimpleSpanLog(span));
+        final SpanBo spanBo = buildSpanBo(span, header, serverRequest.getRequestTime());
+        final Function<TraceService, CompletableFuture<Void>> insert = traceService -> traceService.asyncInsertSpan(spanBo);
+        if (offerTailSampler(spanBo, insert, header, span)) {
+            return COMPLETED;
+        }
+        if (!isSampling(spanBo, header, span)) {
+            return COMPLETED;
+        }
+        return asyncInsertAll(insert, header, span);
+    }
+
+    private boolean offerTailSampler(BasicSpan basicSpan, Function<TraceService, CompletableFuture<Void>> insert, ServerHeader header, PSpan span) {
+        return tailSampler.offer(basicSpan, () -> asyncInsertAll(insert, header, span)
+                .whenComplete((unused, throwable) -> {
+                    if (throwable != null) {
+                        tailSampledFailures.increment();
+                        warnLog.log((c) -> logger.warn("Failed to store tail sampled Span {} failures:{} cause:{} {}",
+                                header, tailSampledFailures.sum(), unwrap(throwable).getMessage(), c));
                     }
-                });
+                }));
+    }
+
+    private CompletableFuture<Void> asyncInsertAll(Function<TraceService, CompletableFuture<Void>> insert, ServerHeader header, PSpan span) {
+        if (!inFlightLimiter.acquire(1)) {
+            return CompletableFuture.failedFuture(
+                    new RequestNotPermittedException("max in-flight spans reached. inFlight:" + inFlightLimiter.count(), false));
+        }
+
+        final CompletableFuture<?>[] futures = new CompletableFuture[traceServices.length];
+        for (int i = 0; i < traceServices.length; i++) {
+            futures[i] = asyncInsertSpan(traceServices[i], insert, header, span);
+        }
+        final CompletableFuture<Void> result = CompletableFuture.allOf(futures);
+        result.whenComplete(inFlightRelease);
+        return result;
+    }
+
+    private CompletableFuture<Void> asyncInsertSpan(TraceService traceService, Function<TraceService, CompletableFuture<Void>> insert,
+                                                    ServerHeader serverHeader, PSpan span) {
+        try {
+            return insert.apply(traceService)
+                    .whenComplete((unused, throwable) -> {
+                        if (throwable != null) {
+                            handleInsertError(serverHeader, span, throwable);
+                        }
+                    });
+        } catch (Throwable e) {
+            handleInsertError(serverHeader, span, e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void handleInsertError(ServerHeader serverHeader, PSpan span, Throwable throwable) {
+        final Throwable cause = unwrap(throwable);
+        if (cause instanceof RequestNotPermittedException) {
+            warnLog.log((c) -> logger.warn("Failed to handle Span {} RequestNotPermitted:{} {}", serverHeader, cause.getMessage(), c));
+        } else {
+            logger.warn("Failed to handle {} {}", serverHeader, MessageFormatUtils.debugLog(span), cause);
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
+    private void handleSpan(PSpan span, ServerHeader serverHeader, long requestTime) {
+        if (directEncoding) {
+            final EncodedSpan encodedSpan = spanColumnEncoder.encodeSpan(span, serverHeader, requestTime);
+            if (encodedSpan != null) {
+                final Function<TraceService, CompletableFuture<Void>> insert = service -> service.asyncInsertEncodedSpan(encodedSpan);
+                if (offerTailSampler(encodedSpan.span(), insert, serverHeader, span)) {
+                    return;
+                }
+                if (isSampling(encodedSpan.span(), serverHeader, span)) {
+                    for (TraceService traceService : traceServices) {
+                        asyncInsertSpan(traceService, insert, serverHeader, span);
+                    }
+                }
+                return;
             }
+        }
+
+        final SpanBo spanBo = buildSpanBo(span, serverHeader, requestTime);
+        if (tailSampler.offer(spanBo, () -> insertSpan(spanBo, serverHeader, span))) {
             return;
         }
+        if (!isSampling(spanBo, serverHeader, span)) {
+            return;
+        }
+        insertSpan(spanBo, serverHeader, span);
+    }
+
+    private void insertSpan(SpanBo spanBo, ServerHeader serverHeader, PSpan span) {
         for (TraceService traceService : traceServices) {
             try {
                 traceService.insertSpan(spanBo);
@@ -104,6 +248,29 @@ public class GrpcSpanHandler implements SimpleHandler<PSpan> {
         }
     }
 
+    private SpanBo buildSpanBo(PSpan span, ServerHeader serverHeader, long requestTime) {
+        if (isDebug) {
+            logger.debug("Handle {} {}", serverHeader, createSimpleSpanLog(span));
+        }
+        return spanFactory.buildSpanBo(span, serverHeader, requestTime);
+    }
+
+    private boolean isSampling(BasicSpan basicSpan, ServerHeader serverHeader, PSpan span) {
+        if (!sampler.isSampling(basicSpan)) {
+            if (isDebug) {
+                logger.debug("Unsampled {} {}", serverHeader, createSimpleSpanLog(span));
+            } else {
+                infoLog.log(() -> {
+                    if (logger.isInfoEnabled()) {
+                        logger.info("Unsampled {} {}", serverHeader, createSimpleSpanLog(span));
+                    }
+                });
+            }
+            return false;
+        }
+        return true;
+    }
+
     private String createSimpleSpanLog(PSpan span) {
         if (!isDebug) {
             return "";
@@ -21,9 +21,11 @@ import com.navercorp.pinpoint.collector.heatmap.vo.HeatmapStat;
 import com.navercorp.pinpoint.collector.service.TraceService;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.EncodedSpan;
 import org.springframework.stereotype.Service;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author minwoo-jung
@@ -46,4 +48,17 @@ public class HeatmapService implements TraceService {
         HeatmapStat heatmapStat = new HeatmapStat(spanBo.getApplicationName(), spanBo.getAgentId(), spanBo.getCollectorAcceptTime(), spanBo.getElapsed(), spanBo.getErrCode());
         heatmapDao.insert(heatmapStat);
     }
+
+    @Override
+    public boolean isSpanBoRequired() {
+        return false;
+    }
+
+    @Override
+    public CompletableFuture<Void> asyncInsertEncodedSpan(EncodedSpan encodedSpan) {
+        if (encodedSpan.span() instanceof SpanBo spanBo) {
+            insertSpan(spanBo);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
 }
@@ -20,6 +20,9 @@ import com.navercorp.pinpoint.common.util.ErrorId;
 import com.navercorp.pinpoint.grpc.trace.PPartialSuccess;
 import com.navercorp.pinpoint.grpc.trace.PSpanResultBatch;
 
+/**
+ * Rejected spans of one span batch. Shared by the tasks handling the partitions of the batch.
+ */
 public class SpanBatchErrorResult {
 
     private static final int DEFAULT_ERROR_MESSAGE_LIMIT = 3;
@@ -37,14 +40,14 @@ public class SpanBatchErrorResult {
         this.errorMessageLimit = errorMessageLimit;
     }
 
-    public ErrorId getErrorId() {
+    public synchronized ErrorId getErrorId() {
         if (errorId == null) {
             return ErrorId.EMPTY;
         }
         return errorId;
     }
 
-    public void recordException(Throwable e) {
+    public synchronized void recordException(Throwable e) {
         rejectedSpans++;
         if (errorId == null) {
             errorId = ErrorId.random();
@@ -60,7 +63,7 @@ public class SpanBatchErrorResult {
         }
     }
 
-    public PSpanResultBatch buildResultBatch() {
+    public synchronized PSpanResultBatch buildResultBatch() {
         if (rejectedSpans == 0) {
             return PSpanResultBatch.getDefaultInstance();
         }
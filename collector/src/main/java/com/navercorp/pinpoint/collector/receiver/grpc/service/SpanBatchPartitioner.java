@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.grpc.service;
+
+import com.navercorp.pinpoint.grpc.trace.PSpanMessage;
+import com.navercorp.pinpoint.grpc.trace.PTransactionId;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a span batch into sub-batches that can be handled concurrently.
+ * Spans and span chunks of a transaction always go to the same sub-batch, in their original order.
+ */
+final class SpanBatchPartitioner {
+
+    // smaller batches are not worth a task switch
+    static final int MIN_PARTITION_SIZE = 16;
+
+    private SpanBatchPartitioner() {
+    }
+
+    /**
+     * @return at most {@code parallelism} non-empty sub-batches, the batch itself if it is not split
+     */
+    static List<List<PSpanMessage>> partition(List<PSpanMessage> spans, int parallelism) {
+        final int partitionCount = Math.min(parallelism, spans.size() / MIN_PARTITION_SIZE);
+        if (partitionCount <= 1) {
+            return List.of(spans);
+        }
+        final List<List<PSpanMessage>> partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new ArrayList<>(spans.size() / partitionCount + 1));
+        }
+        for (PSpanMessage span : spans) {
+            partitions.get(partitionOf(span, partitionCount)).add(span);
+        }
+        partitions.removeIf(List::isEmpty);
+        return partitions;
+    }
+
+    static int partitionOf(PSpanMessage spanMessage, int partitionCount) {
+        final PTransactionId transactionId;
+        if (spanMessage.hasSpan()) {
+            transactionId = spanMessage.getSpan().getTransactionId();
+        } else if (spanMessage.hasSpanChunk()) {
+            transactionId = spanMessage.getSpanChunk().getTransactionId();
+        } else {
+            return 0;
+        }
+        int hash = transactionId.getAgentId().hashCode();
+        hash = 31 * hash + Long.hashCode(transactionId.getAgentStartTime());
+        hash = 31 * hash + Long.hashCode(transactionId.getSequence());
+        return Math.floorMod(hash, partitionCount);
+    }
+}
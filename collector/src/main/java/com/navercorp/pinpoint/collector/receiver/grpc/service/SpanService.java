@@ -17,7 +17,9 @@
 package com.navercorp.pinpoint.collector.receiver.grpc.service;
 
 import com.google.protobuf.Empty;
+import com.navercorp.pinpoint.collector.handler.AsyncSimpleHandler;
 import com.navercorp.pinpoint.collector.handler.SimpleHandler;
+import com.navercorp.pinpoint.common.hbase.RequestNotPermittedException;
 import com.navercorp.pinpoint.common.profiler.logging.ThrottledLogger;
 import com.navercorp.pinpoint.common.server.io.MessageTypes;
 import com.navercorp.pinpoint.common.server.io.ServerRequest;
@@ -38,7 +40,11 @@ import io.grpc.stub.StreamObserver;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
@@ -57,6 +63,8 @@ public class SpanService extends SpanGrpc.SpanImplBase {
 
     private final SimpleHandler<PSpan> spanHandler;
     private final SimpleHandler<PSpanChunk> spanCheckHandler;
+    private final AsyncSimpleHandler<PSpan> asyncSpanHandler;
+    private final int batchParallelism;
 
     private final Executor executor;
     private final ServerRequestFactory serverRequestFactory;
@@ -69,13 +77,57 @@ public class SpanService extends SpanGrpc.SpanImplBase {
                        Executor executor,
                        ServerRequestFactory serverRequestFactory,
                        StreamCloseOnError streamCloseOnError) {
+        this(spanHandler, spanCheckHandler, uidFetcherStreamService, executor, serverRequestFactory, streamCloseOnError, false);
+    }
+
+    /**
+     * @param asyncSpan if true and spanHandler is an {@link AsyncSimpleHandler}, worker threads do not wait for the span to be stored
+     */
+    public SpanService(SimpleHandler<PSpan> spanHandler,
+                       SimpleHandler<PSpanChunk> spanCheckHandler,
+                       UidFetcherStreamService uidFetcherStreamService,
+                       Executor executor,
+                       ServerRequestFactory serverRequestFactory,
+                       StreamCloseOnError streamCloseOnError,
+                       boolean asyncSpan) {
+        this(spanHandler, spanCheckHandler, uidFetcherStreamService, executor, serverRequestFactory, streamCloseOnError, asyncSpan, 1);
+    }
+
+    /**
+     * @param batchParallelism max number of executor tasks handling one span batch concurrently, 1 handles the batch sequentially.
+     *                         Spans of the same transaction are handled by the same task in order.
+     */
+    public SpanService(SimpleHandler<PSpan> spanHandler,
+                       SimpleHandler<PSpanChunk> spanCheckHandler,
+                       UidFetcherStreamService uidFetcherStreamService,
+                       Executor executor,
+                       ServerRequestFactory serverRequestFactory,
+                       StreamCloseOnError streamCloseOnError,
+                       boolean asyncSpan,
+                       int batchParallelism) {
         this.spanHandler = Objects.requireNonNull(spanHandler, "spanHandler");
         this.spanCheckHandler = Objects.requireNonNull(spanCheckHandler, "spanCheckHandler");
+        this.asyncSpanHandler = asyncSpanHandler(spanHandler, asyncSpan);
 
         this.uidFetcherStreamService = Objects.requireNonNull(uidFetcherStreamService, "uidFetcherStreamService");
         this.executor = Objects.requireNonNull(executor, "executor");
         this.serverRequestFactory = Objects.requireNonNull(serverRequestFactory, "serverRequestFactory");
         this.streamCloseOnError = Objects.requireNonNull(streamCloseOnError, "streamCloseOnError");
+        if (batchParallelism < 1) {
+            throw new IllegalArgumentException("batchParallelism must be greater than 0. batchParallelism:" + batchParallelism);
+        }
+        this.batchParallelism = batchParallelism;
+    }
+
+    private AsyncSimpleHandler<PSpan> asyncSpanHandler(SimpleHandler<PSpan> spanHandler, boolean asyncSpan) {
+        if (!asyncSpan) {
+            return null;
+        }
+        if (spanHandler instanceof AsyncSimpleHandler<PSpan> asyncHandler) {
+            return asyncHandler;
+        }
+        logger.warn("AsyncSimpleHandler not supported. spanHandler:{}", spanHandler);
+        return null;
     }
 
     @Override
@@ -91,10 +143,52 @@ public class SpanService extends SpanGrpc.SpanImplBase {
     }
 
     private void handleSpanBatch(Context current, PSpanMessageBatch request, StreamObserver<PSpanResultBatch> responseObserver) {
-        final UidFetcher fetcher = uidFetcherStreamService.newUidFetcher();
         final SpanBatchErrorResult errorReporter = new SpanBatchErrorResult();
+        final List<List<PSpanMessage>> partitions = SpanBatchPartitioner.partition(request.getSpanList(), batchParallelism);
+        if (partitions.size() == 1) {
+            final List<PendingSpan> pendingSpans = handleSpans(current, partitions.get(0), errorReporter);
+            completeSpanBatch(pendingSpans, errorReporter, responseObserver);
+            return;
+        }
+
+        final List<CompletableFuture<List<PendingSpan>>> partitionFutures = new ArrayList<>(partitions.size());
+        for (int i = 1; i < partitions.size(); i++) {
+            partitionFutures.add(submitPartition(current, partitions.get(i), errorReporter));
+        }
+        // the batch task handles the first partition itself
+        partitionFutures.add(CompletableFuture.completedFuture(handleSpans(current, partitions.get(0), errorReporter)));
 
-        for (PSpanMessage spanMessage : request.getSpanList()) {
+        CompletableFuture.allOf(partitionFutures.toArray(new CompletableFuture[0])).whenComplete((unused, throwable) -> {
+            if (throwable != null) {
+                logger.warn("Failed to handle span batch. header:{}", ServerContext.getAgentInfo(current), throwable);
+                responseObserver.onError(Status.INTERNAL.withDescription("Failed to handle span batch").withCause(throwable).asException());
+                return;
+            }
+            final List<PendingSpan> pendingSpans = new ArrayList<>();
+            for (CompletableFuture<List<PendingSpan>> partitionFuture : partitionFutures) {
+                pendingSpans.addAll(partitionFuture.join());
+            }
+            completeSpanBatch(pendingSpans, errorReporter, responseObserver);
+        });
+    }
+
+    private CompletableFuture<List<PendingSpan>> submitPartition(Context current, List<PSpanMessage> spans, SpanBatchErrorResult errorReporter) {
+        try {
+            return CompletableFuture.supplyAsync(() -> handleSpans(current, spans, errorReporter), current.fixedContextExecutor(executor));
+        } catch (RejectedExecutionException e) {
+            // the batch has already been accepted, do not reject a part of it
+            return CompletableFuture.completedFuture(handleSpans(current, spans, errorReporter));
+        }
+    }
+
+    /**
+     * @return spans still being stored by the {@link AsyncSimpleHandler}
+     */
+    private List<PendingSpan> handleSpans(Context current, List<PSpanMessage> spans, SpanBatchErrorResult errorReporter) {
+        final UidFetcher fetcher = uidFetcherStreamService.newUidFetcher();
+        final List<PendingSpan> pendingSpans = new ArrayList<>();
+
+        for (PSpanMessage spanMessage : spans) {
             if (isDebug) {
                 logger.debug("SendSpanList PSpanMessage={}", MessageFormatUtils.debugLog(spanMessage));
             }
@@ -102,7 +196,12 @@ public class SpanService extends SpanGrpc.SpanImplBase {
                 final PSpan span = spanMessage.getSpan();
                 final ServerRequest<PSpan> serverRequest = serverRequestFactory.newServerRequest(current, fetcher, MessageTypes.SPAN, span);
                 try {
-                    spanHandler.handleSimple(serverRequest);
+                    if (asyncSpanHandler != null) {
+                        CompletableFuture<Void> future = asyncSpanHandler.handleSimpleAsync(serverRequest);
+                        pendingSpans.add(new PendingSpan(serverRequest, future));
+                    } else {
+                        spanHandler.handleSimple(serverRequest);
+                    }
                 } catch (Throwable e) {
                     logger.warn("Failed to handle span. header={} spanErrorId={}", serverRequest.getHeader(), errorReporter.getErrorId(), e);
                     errorReporter.recordException(e);
@@ -118,8 +217,54 @@ public class SpanService extends SpanGrpc.SpanImplBase {
                 }
             }
         }
-        responseObserver.onNext(errorReporter.buildResultBatch());
-        responseObserver.onCompleted();
+        return pendingSpans;
+    }
+
+    private void completeSpanBatch(List<PendingSpan> pendingSpans, SpanBatchErrorResult errorReporter, StreamObserver<PSpanResultBatch> responseObserver) {
+        if (pendingSpans.isEmpty()) {
+            responseObserver.onNext(errorReporter.buildResultBatch());
+            responseObserver.onCompleted();
+            return;
+        }
+
+        final CompletableFuture<?>[] futures = new CompletableFuture[pendingSpans.size()];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = pendingSpans.get(i).future();
+        }
+        CompletableFuture.allOf(futures).whenComplete((unused, throwable) -> {
+            for (PendingSpan pendingSpan : pendingSpans) {
+                final Throwable error = pendingSpan.error();
+                if (error != null) {
+                    errorReporter.recordException(error);
+                    tLogger.warn("Failed to handle span. header={} spanErrorId={} cause={}", pendingSpan.request().getHeader(), errorReporter.getErrorId(), error.getMessage());
+                }
+            }
+            responseObserver.onNext(errorReporter.buildResultBatch());
+            responseObserver.onCompleted();
+        });
+    }
+
+    private record PendingSpan(ServerRequest<PSpan> request, CompletableFuture<Void> future) {
+        Throwable error() {
+            if (!future.isCompletedExceptionally()) {
+                return null;
+            }
+            try {
+                future.join();
+                return null;
+            } catch (CompletionException e) {
+                return unwrap(e);
+            } catch (Throwable e) {
+                return e;
+            }
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
     }
 
     @Override
@@ -151,7 +296,11 @@ public class SpanService extends SpanGrpc.SpanImplBase {
             PSpan span = spanMessage.getSpan();
             UidFetcher fetcher = call.getUidFetcher();
             ServerRequest<PSpan> request = serverRequestFactory.newServerRequest(context, fetcher, MessageTypes.SPAN, span);
-            this.dispatch(this.spanHandler, request, responseObserver);
+            if (asyncSpanHandler != null) {
+                this.dispatchAsync(this.asyncSpanHandler, request, responseObserver);
+            } else {
+                this.dispatch(this.spanHandler, request, responseObserver);
+            }
         } else if (spanMessage.hasSpanChunk()) {
             PSpanChunk spanChunk = spanMessage.getSpanChunk();
             UidFetcher fetcher = call.getUidFetcher();
@@ -175,4 +324,31 @@ public class SpanService extends SpanGrpc.SpanImplBase {
         }
     }
 
+    private <T> void dispatchAsync(AsyncSimpleHandler<T> handler,
+                                   ServerRequest<T> request,
+                                   ServerCallStream<PSpanMessage, Empty> responseObserver) {
+        final CompletableFuture<Void> future;
+        try {
+            future = handler.handleSimpleAsync(request);
+        } catch (Throwable e) {
+            logger.warn("Failed to request. header={}", request.getHeader(), e);
+            responseObserver.onNextError(e);
+            return;
+        }
+        future.whenComplete((unused, throwable) -> {
+            if (throwable == null) {
+                return;
+            }
+            final Throwable cause = unwrap(throwable);
+            if (cause instanceof RequestNotPermittedException) {
+                // surface backpressure to the agent
+                tLogger.warn("Failed to request. RequestNotPermitted:{} header={}", cause.getMessage(), request.getHeader());
+                responseObserver.onNextError(Status.RESOURCE_EXHAUSTED.withDescription(cause.getMessage()).asException());
+            } else {
+                logger.warn("Failed to request. header={}", request.getHeader(), cause);
+                responseObserver.onNextError(cause);
+            }
+        });
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.sampler;
+
+import com.navercorp.pinpoint.common.server.bo.BasicSpan;
+
+/**
+ * Decides retention per transaction instead of per span.
+ */
+public interface TailSampler {
+
+    /**
+     * Takes over the span, {@code forward} is called later if its transaction is retained.
+     *
+     * @return false if tail sampling is disabled, the caller then samples and stores the span itself
+     */
+    boolean offer(BasicSpan span, Runnable forward);
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.sampler;
+
+import com.navercorp.pinpoint.common.server.bo.BasicSpan;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A transaction is remarkable, and always retained, if one of its spans is slow, failed or of a given service type.
+ * Other transactions are retained by the fallback sampler.
+ */
+public class TailSamplingPolicy {
+
+    private final int slowThreshold;
+    private final boolean errorRetained;
+    private final Set<Integer> serviceTypes;
+    private final Sampler<BasicSpan> fallbackSampler;
+
+    /**
+     * @param slowThreshold elapsed millis of a slow span, 0 or less to disable
+     * @param serviceTypes  service type codes of spans to retain
+     */
+    public TailSamplingPolicy(int slowThreshold, boolean errorRetained, Set<Integer> serviceTypes, Sampler<BasicSpan> fallbackSampler) {
+        this.slowThreshold = slowThreshold;
+        this.errorRetained = errorRetained;
+        this.serviceTypes = Set.copyOf(Objects.requireNonNull(serviceTypes, "serviceTypes"));
+        this.fallbackSampler = Objects.requireNonNull(fallbackSampler, "fallbackSampler");
+    }
+
+    public boolean isRemarkable(BasicSpan span) {
+        if (span instanceof SpanBo spanBo) {
+            if (slowThreshold > 0 && spanBo.getElapsed() >= slowThreshold) {
+                return true;
+            }
+            if (errorRetained && spanBo.getErrCode() != 0) {
+                return true;
+            }
+            if (serviceTypes.contains(spanBo.getServiceType())) {
+                return true;
+            }
+        }
+        return span.hasApplicationServiceType() && serviceTypes.contains(span.getApplicationServiceType());
+    }
+
+    public int getSlowThreshold() {
+        return slowThreshold;
+    }
+
+    /**
+     * Decision for a transaction without remarkable span.
+     * It depends on the transaction id only, so every collector keeps or drops the same transactions.
+     */
+    public boolean isFallbackSampling(BasicSpan span) {
+        return fallbackSampler.isSampling(span);
+    }
+
+    @Override
+    public String toString() {
+        return "TailSamplingPolicy{" +
+                "slowThreshold=" + slowThreshold +
+                ", errorRetained=" + errorRetained +
+                ", serviceTypes=" + serviceTypes +
+                ", fallbackSampler=" + fallbackSampler +
+                '}';
+    }
+}
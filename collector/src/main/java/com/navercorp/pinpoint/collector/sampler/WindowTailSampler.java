@@ -0,0 +1,308 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.sampler;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.navercorp.pinpoint.common.profiler.concurrent.PinpointThreadFactory;
+import com.navercorp.pinpoint.common.server.bo.BasicSpan;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.trace.ServerTraceId;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffers the spans of a transaction until it can be decided.
+ * <p>
+ * As soon as a remarkable span is received, the buffered spans are forwarded
+ * and the spans received afterward are forwarded directly.
+ * Otherwise the fallback sampler decides for the whole transaction {@code window} after its root span is received.
+ * Until then, a child span is buffered for the slow threshold after its start time plus {@code window},
+ * so the children of a transaction are still buffered when its slow root span arrives.
+ * If more than {@code maxBufferedSpans} spans are buffered, the oldest transactions are decided early.
+ * Up to {@code maxRetainedTransactions} retained transactions are remembered to forward their late spans.
+ * <p>
+ * The decision is local to this collector, spans of a remarkable transaction received by another collector
+ * are kept only if the fallback sampler retains them.
+ */
+public class WindowTailSampler implements TailSampler {
+
+    private final Logger logger = LogManager.getLogger(getClass());
+
+    private final TailSamplingPolicy policy;
+    private final long window;
+    private final long slowThreshold;
+    private final int maxBufferedSpans;
+    private final int maxRetainedTransactions;
+
+    private final ConcurrentMap<ServerTraceId, PendingTransaction> pending = new ConcurrentHashMap<>();
+    // arrival order of the transactions, the oldest are evicted first
+    private final Queue<PendingTransaction> arrivalQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger bufferedSpans = new AtomicInteger();
+    private final Cache<ServerTraceId, Boolean> retained;
+
+    private final AtomicLong retainedSpans = new AtomicLong();
+    private final AtomicLong droppedSpans = new AtomicLong();
+    private final AtomicLong evictedTransactions = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler;
+
+    public WindowTailSampler(TailSamplingPolicy policy, Duration window, int maxBufferedSpans, int maxRetainedTransactions) {
+        this.policy = Objects.requireNonNull(policy, "policy");
+        this.window = Objects.requireNonNull(window, "window").toMillis();
+        if (this.window <= 0) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        if (maxBufferedSpans <= 0) {
+            throw new IllegalArgumentException("maxBufferedSpans must be positive:" + maxBufferedSpans);
+        }
+        if (maxRetainedTransactions <= 0) {
+            throw new IllegalArgumentException("maxRetainedTransactions must be positive:" + maxRetainedTransactions);
+        }
+        this.slowThreshold = Math.max(policy.getSlowThreshold(), 0);
+        this.maxBufferedSpans = maxBufferedSpans;
+        this.maxRetainedTransactions = maxRetainedTransactions;
+        this.retained = Caffeine.newBuilder()
+                .maximumSize(maxRetainedTransactions)
+                .expireAfterAccess(window)
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(PinpointThreadFactory.createThreadFactory("TailSampler-expire", true));
+    }
+
+    @PostConstruct
+    public void start() {
+        logger.info("TailSampler started. {}", this);
+        final long period = Math.max(window / 10, 10);
+        this.scheduler.scheduleWithFixedDelay(() -> expire(System.currentTimeMillis()), period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        this.scheduler.shutdown();
+        try {
+            this.scheduler.awaitTermination(window, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        expire(Long.MAX_VALUE);
+    }
+
+    @Override
+    public boolean offer(BasicSpan span, Runnable forward) {
+        final ServerTraceId transactionId = span.getTransactionId();
+        if (retained.getIfPresent(transactionId) != null) {
+            forward(forward);
+            return true;
+        }
+        if (policy.isRemarkable(span)) {
+            retained.put(transactionId, Boolean.TRUE);
+            final PendingTransaction transaction = pending.remove(transactionId);
+            if (transaction != null) {
+                decide(transaction, true);
+            }
+            forward(forward);
+            return true;
+        }
+
+        final long now = System.currentTimeMillis();
+        final PendingTransaction transaction = pending.computeIfAbsent(transactionId, id -> newTransaction(id, span, now));
+        if (!transaction.add(forward, span, now)) {
+            // decided concurrently
+            if (transaction.retained) {
+                forward(forward);
+            } else {
+                droppedSpans.incrementAndGet();
+            }
+            return true;
+        }
+        bufferedSpans.incrementAndGet();
+        // a remarkable span may have been received between the retained check and computeIfAbsent
+        if (retained.getIfPresent(transactionId) != null && pending.remove(transactionId, transaction)) {
+            decide(transaction, true);
+        }
+        if (bufferedSpans.get() > maxBufferedSpans) {
+            evict();
+        }
+        return true;
+    }
+
+    private PendingTransaction newTransaction(ServerTraceId transactionId, BasicSpan span, long now) {
+        final boolean fallback = policy.isFallbackSampling(span);
+        final PendingTransaction transaction = new PendingTransaction(transactionId, fallback, now + window);
+        arrivalQueue.offer(transaction);
+        return transaction;
+    }
+
+    /**
+     * The root span is the last span of a transaction, the transaction is decided {@code window} after it.
+     * Before it, a child span waits for a root span that is not slow, which ends the slow threshold after the child started at the latest.
+     */
+    private long deadline(BasicSpan span, long now) {
+        if (span instanceof SpanBo spanBo && !spanBo.isRoot()) {
+            return Math.max(now, spanBo.getStartTime() + slowThreshold) + window;
+        }
+        return now + window;
+    }
+
+    void expire(long now) {
+        for (PendingTransaction transaction : pending.values()) {
+            if (transaction.deadline <= now && pending.remove(transaction.transactionId, transaction)) {
+                decide(transaction, transaction.fallback);
+            }
+        }
+        // decided transactions are left in the arrival queue
+        PendingTransaction head;
+        while ((head = arrivalQueue.peek()) != null && head.isClosed()) {
+            arrivalQueue.remove(head);
+        }
+    }
+
+    private void evict() {
+        while (bufferedSpans.get() > maxBufferedSpans) {
+            final PendingTransaction transaction = arrivalQueue.poll();
+            if (transaction == null) {
+                return;
+            }
+            pending.remove(transaction.transactionId, transaction);
+            if (decide(transaction, transaction.fallback)) {
+                evictedTransactions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Decided transactions are left in the arrival queue, and skipped when polled.
+     *
+     * @return false if already decided
+     */
+    private boolean decide(PendingTransaction transaction, boolean retain) {
+        final List<Runnable> spans = transaction.close(retain);
+        if (spans == null) {
+            return false;
+        }
+        bufferedSpans.addAndGet(-spans.size());
+        if (retain) {
+            retained.put(transaction.transactionId, Boolean.TRUE);
+            for (Runnable forward : spans) {
+                forward(forward);
+            }
+        } else {
+            droppedSpans.addAndGet(spans.size());
+        }
+        return true;
+    }
+
+    private void forward(Runnable forward) {
+        retainedSpans.incrementAndGet();
+        try {
+            forward.run();
+        } catch (Throwable th) {
+            logger.warn("Failed to forward span", th);
+        }
+    }
+
+    int getBufferedSpans() {
+        return bufferedSpans.get();
+    }
+
+    public long getRetainedSpans() {
+        return retainedSpans.get();
+    }
+
+    public long getDroppedSpans() {
+        return droppedSpans.get();
+    }
+
+    public long getEvictedTransactions() {
+        return evictedTransactions.get();
+    }
+
+    private class PendingTransaction {
+        private final ServerTraceId transactionId;
+        private final boolean fallback;
+        private volatile long deadline;
+        private boolean rootReceived;
+
+        private List<Runnable> spans = new ArrayList<>(4);
+        private volatile boolean retained;
+
+        private PendingTransaction(ServerTraceId transactionId, boolean fallback, long deadline) {
+            this.transactionId = transactionId;
+            this.fallback = fallback;
+            this.deadline = deadline;
+        }
+
+        synchronized boolean add(Runnable forward, BasicSpan span, long now) {
+            if (spans == null) {
+                return false;
+            }
+            spans.add(forward);
+            if (span instanceof SpanBo spanBo && spanBo.isRoot()) {
+                this.rootReceived = true;
+                this.deadline = now + window;
+            } else if (rootReceived) {
+                this.deadline = Math.max(this.deadline, now + window);
+            } else {
+                this.deadline = Math.max(this.deadline, deadline(span, now));
+            }
+            return true;
+        }
+
+        synchronized boolean isClosed() {
+            return spans == null;
+        }
+
+        /**
+         * @return null if already closed
+         */
+        synchronized List<Runnable> close(boolean retain) {
+            final List<Runnable> copy = spans;
+            if (copy == null) {
+                return null;
+            }
+            this.retained = retain;
+            this.spans = null;
+            return copy;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "WindowTailSampler{" +
+                "policy=" + policy +
+                ", window=" + window +
+                ", maxBufferedSpans=" + maxBufferedSpans +
+                ", maxRetainedTransactions=" + maxRetainedTransactions +
+                '}';
+    }
+}
@@ -20,8 +20,10 @@ import com.navercorp.pinpoint.collector.applicationmap.service.ApplicationMapSer
 import com.navercorp.pinpoint.collector.dao.TraceDao;
 import com.navercorp.pinpoint.collector.event.SpanStorePublisher;
 import com.navercorp.pinpoint.collector.scatter.service.ScatterService;
+import com.navercorp.pinpoint.common.server.bo.BasicSpan;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.EncodedSpan;
 import com.navercorp.pinpoint.common.server.event.SpanChunkInsertEvent;
 import com.navercorp.pinpoint.common.server.event.SpanInsertEvent;
 import org.apache.logging.log4j.LogManager;
@@ -75,6 +77,11 @@ public class HbaseTraceService implements TraceService {
 
     @Override
     public void insertSpan(final SpanBo spanBo) {
+        asyncInsertSpan(spanBo);
+    }
+
+    @Override
+    public CompletableFuture<Void> asyncInsertSpan(final SpanBo spanBo) {
         SpanInsertEvent event = publisher.captureContext(spanBo);
 
         CompletableFuture<Void> future = traceDao.asyncInsert(spanBo);
@@ -83,7 +90,7 @@ public class HbaseTraceService implements TraceService {
 
         this.applicationMapService.insertSpan(spanBo);
 
-        future.whenCompleteAsync((unused, throwable) -> {
+        return future.whenCompleteAsync((unused, throwable) -> {
             final boolean result = throwable == null;
             if (logger.isTraceEnabled()) {
                 logger.trace("success {}", result);
@@ -91,4 +98,38 @@ public class HbaseTraceService implements TraceService {
             publisher.publishEvent(event, result);
         }, grpcSpanServerExecutor);
     }
+
+    /**
+     * Scatter and application map only read the span header and the span events retained by the encoder.
+     */
+    @Override
+    public boolean isSpanBoRequired() {
+        return false;
+    }
+
+    @Override
+    public CompletableFuture<Void> asyncInsertEncodedSpan(EncodedSpan encodedSpan) {
+        final BasicSpan span = encodedSpan.span();
+        if (span instanceof SpanBo spanBo) {
+            final SpanInsertEvent event = publisher.captureContext(spanBo);
+
+            final CompletableFuture<Void> future = traceDao.asyncInsert(encodedSpan);
+
+            this.scatterService.insert(spanBo);
+
+            this.applicationMapService.insertSpan(spanBo);
+
+            return future.whenCompleteAsync((unused, throwable) -> publisher.publishEvent(event, throwable == null), grpcSpanServerExecutor);
+        }
+        if (span instanceof SpanChunkBo spanChunkBo) {
+            final SpanChunkInsertEvent event = publisher.captureContext(spanChunkBo);
+
+            final CompletableFuture<Void> future = traceDao.asyncInsert(encodedSpan);
+
+            this.applicationMapService.insertSpanChunk(spanChunkBo);
+
+            return future.whenCompleteAsync((unused, throwable) -> publisher.publishEvent(event, throwable == null), grpcSpanServerExecutor);
+        }
+        return CompletableFuture.failedFuture(new IllegalArgumentException("unsupported span " + span.getClass()));
+    }
 }
\ No newline at end of file
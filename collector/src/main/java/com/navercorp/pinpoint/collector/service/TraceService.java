@@ -18,9 +18,39 @@ package com.navercorp.pinpoint.collector.service;
 
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.EncodedSpan;
+
+import java.util.concurrent.CompletableFuture;
 
 public interface TraceService {
     void insertSpanChunk(SpanChunkBo spanChunkBo);
 
     void insertSpan(SpanBo spanBo);
+
+    /**
+     * The returned future completes when the span is stored.
+     * The default implementation stores the span on the caller thread.
+     */
+    default CompletableFuture<Void> asyncInsertSpan(SpanBo spanBo) {
+        insertSpan(spanBo);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Services supporting {@link #asyncInsertEncodedSpan(EncodedSpan)} return false.
+     * If no service requires the {@link SpanBo}, spans are encoded without building the span event list
+     * and passed to {@link #asyncInsertEncodedSpan(EncodedSpan)}.
+     */
+    default boolean isSpanBoRequired() {
+        return true;
+    }
+
+    /**
+     * Stores a span or a span chunk already encoded into the trace column.
+     * The {@link EncodedSpan#span()} is a {@link SpanBo} or a {@link com.navercorp.pinpoint.common.server.bo.SpanChunkBo}
+     * holding only the span events used by the application map statistics.
+     */
+    default CompletableFuture<Void> asyncInsertEncodedSpan(EncodedSpan encodedSpan) {
+        return CompletableFuture.failedFuture(new UnsupportedOperationException("encoded span not supported " + this));
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.util;
+
+import com.navercorp.pinpoint.common.buffer.BufferPool;
+import com.navercorp.pinpoint.common.buffer.ThreadLocalBufferPool;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Objects;
+
+/**
+ * Exposes the reuse rate and peak size of a {@link ThreadLocalBufferPool}.
+ * Nothing is registered for an unpooled {@link BufferPool}.
+ */
+public class BufferPoolMetrics implements MeterBinder {
+
+    private final String name;
+    private final BufferPool bufferPool;
+
+    public BufferPoolMetrics(String name, BufferPool bufferPool) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.bufferPool = Objects.requireNonNull(bufferPool, "bufferPool");
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(bufferPool instanceof ThreadLocalBufferPool pool)) {
+            return;
+        }
+        final String prefix = "pinpoint.collector.buffer-pool";
+        FunctionCounter.builder(prefix + ".acquire", pool, ThreadLocalBufferPool::getAcquireCount)
+                .tag("name", name)
+                .register(registry);
+        FunctionCounter.builder(prefix + ".reuse", pool, ThreadLocalBufferPool::getReuseCount)
+                .tag("name", name)
+                .register(registry);
+        FunctionCounter.builder(prefix + ".discard", pool, ThreadLocalBufferPool::getDiscardCount)
+                .description("released buffers dropped for exceeding the max retained size")
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder(prefix + ".reuse.rate", pool, ThreadLocalBufferPool::getReuseRate)
+                .tag("name", name)
+                .register(registry);
+        Gauge.builder(prefix + ".peak.size", pool, ThreadLocalBufferPool::getPeakSize)
+                .baseUnit("bytes")
+                .tag("name", name)
+                .register(registry);
+    }
+}
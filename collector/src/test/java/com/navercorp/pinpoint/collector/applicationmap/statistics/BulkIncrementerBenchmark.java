@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.applicationmap.statistics;
+
+import com.navercorp.pinpoint.collector.applicationmap.statistics.BulkIncrementerTestClazz.TestData;
+import com.navercorp.pinpoint.collector.applicationmap.statistics.BulkIncrementerTestClazz.TestDataSet;
+import org.apache.hadoop.hbase.TableName;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contended increments on {@link DefaultBulkIncrementer} and {@link StripedBulkIncrementer}.
+ * <p>
+ * Run on a host with at least as many cores as {@link Threads}; on fewer cores the threads do not contend.
+ * <pre>
+ * java -cp &lt;test-classpath&gt; com.navercorp.pinpoint.collector.applicationmap.statistics.BulkIncrementerBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+@Threads(8)
+@State(Scope.Benchmark)
+public class BulkIncrementerBenchmark {
+
+    @Param({"default", "striped"})
+    public String type;
+
+    @Param({"16"})
+    public int stripes;
+
+    @Param({"64"})
+    public int keys;
+
+    private BulkIncrementer bulkIncrementer;
+    private TestData[] testDatas;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.bulkIncrementer = newBulkIncrementer();
+
+        TableName tableName = TableName.valueOf("benchmark");
+        List<TestData> list = new ArrayList<>(keys);
+        for (int i = 0; i < keys; i++) {
+            list.addAll(TestDataSet.testSet(tableName, i, i % 4, 1).getTestDatas());
+        }
+        this.testDatas = list.toArray(new TestData[0]);
+    }
+
+    private BulkIncrementer newBulkIncrementer() {
+        return switch (type) {
+            case "default" -> new DefaultBulkIncrementer();
+            case "striped" -> new StripedBulkIncrementer(stripes);
+            default -> throw new IllegalArgumentException("Unknown type:" + type);
+        };
+    }
+
+    @TearDown(Level.Iteration)
+    public void flush() {
+        bulkIncrementer.getIncrements();
+    }
+
+    @Benchmark
+    public void increment() {
+        TestData testData = testDatas[ThreadLocalRandom.current().nextInt(testDatas.length)];
+        bulkIncrementer.increment(testData.getTableName(), testData.getRowKey(), testData.getColumnName());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BulkIncrementerBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
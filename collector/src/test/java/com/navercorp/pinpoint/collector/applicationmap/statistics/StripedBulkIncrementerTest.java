@@ -0,0 +1,159 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.applicationmap.statistics;
+
+import com.navercorp.pinpoint.collector.applicationmap.statistics.BulkIncrementerTestClazz.Flusher;
+import com.navercorp.pinpoint.collector.applicationmap.statistics.BulkIncrementerTestClazz.Incrementer;
+import com.navercorp.pinpoint.collector.applicationmap.statistics.BulkIncrementerTestClazz.TestData;
+import com.navercorp.pinpoint.collector.applicationmap.statistics.BulkIncrementerTestClazz.TestDataSet;
+import com.navercorp.pinpoint.collector.applicationmap.statistics.BulkIncrementerTestClazz.TestVerifier;
+import com.navercorp.pinpoint.common.server.applicationmap.statistics.RowInfo;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Increment;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StripedBulkIncrementerTest {
+
+    @Test
+    public void stripeSize() {
+        assertThat(StripedLongMap.stripeSize(1)).isEqualTo(1);
+        assertThat(StripedLongMap.stripeSize(3)).isEqualTo(4);
+        assertThat(StripedLongMap.stripeSize(16)).isEqualTo(16);
+        assertThat(StripedLongMap.stripeSize(17)).isEqualTo(32);
+    }
+
+    @Test
+    public void mergeStripes() throws Exception {
+        BulkIncrementer bulkIncrementer = new StripedBulkIncrementer(8);
+        TableName tableA = TableName.valueOf("A");
+        TestDataSet testDataSet = TestDataSet.testSet(tableA, 0, 0, 1);
+        TestData testData = testDataSet.getTestDatas().get(0);
+
+        final int numThreads = 8;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < numThreads; i++) {
+            Thread thread = new Thread(() -> bulkIncrementer.increment(testData.getTableName(), testData.getRowKey(), testData.getColumnName(), 10));
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5L));
+        }
+
+        Map<RowInfo, Long> increments = bulkIncrementer.getIncrements();
+        assertThat(increments).hasSize(1);
+        assertThat(increments.values()).containsExactly(10L * numThreads);
+
+        assertThat(bulkIncrementer.getSize()).isZero();
+        assertThat(bulkIncrementer.getIncrements()).isEmpty();
+    }
+
+    @Test
+    public void equalRowsShareCounter() {
+        BulkIncrementer bulkIncrementer = new StripedBulkIncrementer(1);
+        TableName tableA = TableName.valueOf("A");
+        TestData testData1 = TestDataSet.testSet(tableA, 0, 0, 1).getTestDatas().get(0);
+        TestData testData2 = TestDataSet.testSet(TableName.valueOf("A"), 0, 0, 1).getTestDatas().get(0);
+        TestData testData3 = TestDataSet.testSet(tableA, 1, 0, 1).getTestDatas().get(0);
+
+        bulkIncrementer.increment(testData1.getTableName(), testData1.getRowKey(), testData1.getColumnName(), 1);
+        bulkIncrementer.increment(testData2.getTableName(), testData2.getRowKey(), testData2.getColumnName(), 2);
+        bulkIncrementer.increment(testData3.getTableName(), testData3.getRowKey(), testData3.getColumnName(), 4);
+        assertThat(bulkIncrementer.getSize()).isEqualTo(2);
+
+        Map<RowInfo, Long> increments = bulkIncrementer.getIncrements();
+        assertThat(increments).containsEntry(new DefaultRowInfo(testData1.getTableName(), testData1.getRowKey(), testData1.getColumnName()), 3L);
+        assertThat(increments).containsEntry(new DefaultRowInfo(testData3.getTableName(), testData3.getRowKey(), testData3.getColumnName()), 4L);
+    }
+
+    @Test
+    public void advanceProbe() {
+        int probe = 1;
+        for (int i = 0; i < 100; i++) {
+            probe = StripedLongMap.advanceProbe(probe);
+            assertThat(probe).isNotZero();
+        }
+    }
+
+    @Test
+    public void updateMax() {
+        BulkUpdater bulkUpdater = new StripedBulkUpdater(4);
+        TableName tableA = TableName.valueOf("A");
+        TestData testData = TestDataSet.testSet(tableA, 0, 0, 1).getTestDatas().get(0);
+
+        bulkUpdater.updateMax(testData.getTableName(), testData.getRowKey(), testData.getColumnName(), 10);
+        bulkUpdater.updateMax(testData.getTableName(), testData.getRowKey(), testData.getColumnName(), 30);
+        bulkUpdater.updateMax(testData.getTableName(), testData.getRowKey(), testData.getColumnName(), 20);
+
+        Map<RowInfo, Long> maxUpdate = bulkUpdater.getMaxUpdate();
+        assertThat(maxUpdate.values()).containsExactly(30L);
+        assertThat(bulkUpdater.getSize()).isZero();
+    }
+
+    @Test
+    public void multipleTablesConcurrent() throws Exception {
+        // Given
+        final int numTables = 10;
+        final int numRowIds = 20;
+        final int numColumnIds = 10;
+        final int maxCallCount = 200;
+
+        BulkIncrementer bulkIncrementer = new StripedBulkIncrementer(8);
+
+        List<TestDataSet> testDataSets = BulkIncrementerTestClazz.createRandomTestDataSetList(numTables, numRowIds, numColumnIds, maxCallCount);
+        List<TestData> testDatas = new ArrayList<>();
+        for (TestDataSet testDataSet : testDataSets) {
+            testDatas.addAll(testDataSet.getTestDatas());
+        }
+        Collections.shuffle(testDatas);
+
+        // When
+        final int numIncrementers = 16;
+        List<List<TestData>> testDataPartitions = ListUtils.partition(testDatas, testDatas.size() / (numIncrementers - 1));
+        final CountDownLatch incrementorLatch = new CountDownLatch(testDataPartitions.size());
+
+        FutureTask<Map<TableName, List<Increment>>> flushTask = new FutureTask<>(new Flusher(bulkIncrementer, incrementorLatch));
+        Thread flusher = new Thread(flushTask, "Flusher");
+        flusher.start();
+
+        int counter = 0;
+        for (List<TestData> testDataPartition : testDataPartitions) {
+            Incrementer incrementer = new Incrementer(bulkIncrementer, incrementorLatch, testDataPartition);
+            new Thread(incrementer, "Incrementer-" + counter++).start();
+        }
+
+        ThreadUtils.awaitTermination(flusher, TimeUnit.SECONDS.toMillis(5L));
+
+        // Then
+        Map<TableName, List<Increment>> incrementMap = flushTask.get(5L, TimeUnit.SECONDS);
+        TestVerifier verifier = new TestVerifier(incrementMap);
+        for (TestDataSet testDataSet : testDataSets) {
+            verifier.verify(testDataSet);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.common.hbase.HbaseOperations;
+import com.navercorp.pinpoint.common.hbase.HbaseTables;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.common.hbase.async.AsyncHbaseOperations;
+import com.navercorp.pinpoint.common.server.trace.filter.TraceIdFilterSnapshot;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Put;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class HbaseTraceIdFilterDaoTest {
+
+    private final HbaseOperations hbaseTemplate = mock(HbaseOperations.class);
+    private final AsyncHbaseOperations asyncTemplate = mock(AsyncHbaseOperations.class);
+    private final TableNameProvider tableNameProvider = mock(TableNameProvider.class);
+    private final List<TraceIdFilterSnapshot> written = new ArrayList<>();
+
+    @Test
+    public void lateAdd_taintedBeforeReturn() {
+        doAnswer((invocation) -> {
+            record(invocation.getArgument(1));
+            return null;
+        }).when(hbaseTemplate).put(any(), any(Put.class));
+        when(asyncTemplate.put(any(), any(Put.class))).thenAnswer((invocation) -> {
+            record(invocation.getArgument(1));
+            return CompletableFuture.completedFuture(null);
+        });
+
+        HbaseTraceIdFilterDao dao = newDao();
+        long now = System.currentTimeMillis();
+        dao.flush();
+        written.clear();
+
+        assertThat(dao.add(now, rowKey(1))).isCompleted();
+        assertThat(written).isEmpty();
+
+        assertThat(dao.add(now - Duration.ofSeconds(11).toMillis(), rowKey(2))).isCompleted();
+        assertThat(written).isNotEmpty();
+        assertThat(written).allMatch(snapshot -> snapshot.snapshotTime() == 0);
+        written.clear();
+
+        // the flush keeps the bucket tainted
+        dao.flush();
+        assertThat(written).anyMatch(snapshot -> snapshot.snapshotTime() == 0);
+    }
+
+    @Test
+    public void taintFailed_spanFailsAndTaintRetried() {
+        CompletableFuture<Void> failedTaint = new CompletableFuture<>();
+        CompletableFuture<Void> retriedTaint = new CompletableFuture<>();
+        when(asyncTemplate.put(any(), any(Put.class))).thenReturn(failedTaint, retriedTaint);
+
+        HbaseTraceIdFilterDao dao = newDao();
+        long now = System.currentTimeMillis();
+        dao.flush();
+
+        long lateAcceptTime = now - Duration.ofSeconds(11).toMillis();
+        CompletableFuture<Void> first = dao.add(lateAcceptTime, rowKey(1));
+        // a concurrent late span waits for the same taint
+        CompletableFuture<Void> second = dao.add(lateAcceptTime, rowKey(2));
+        assertThat(first).isNotDone();
+        assertThat(second).isNotDone();
+
+        failedTaint.completeExceptionally(new RuntimeException("taint failed"));
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+
+        // the bucket is not tainted, the next late span writes the taint again
+        CompletableFuture<Void> third = dao.add(lateAcceptTime, rowKey(3));
+        assertThat(third).isNotDone();
+        retriedTaint.complete(null);
+        assertThat(third).isCompleted();
+        assertThat(dao.add(lateAcceptTime, rowKey(4))).isCompleted();
+
+        verify(asyncTemplate, times(2)).put(any(), any(Put.class));
+    }
+
+    private HbaseTraceIdFilterDao newDao() {
+        return new HbaseTraceIdFilterDao(hbaseTemplate, asyncTemplate, tableNameProvider, 1000, 0.01,
+                Duration.ofSeconds(10), Duration.ofMinutes(1));
+    }
+
+    private void record(Put put) {
+        for (Cell cell : put.getFamilyCellMap().get(HbaseTables.TRACE_V2_ID_FILTER.getName())) {
+            written.add(TraceIdFilterSnapshot.decode(CellUtil.cloneValue(cell)));
+        }
+    }
+
+    private static byte[] rowKey(int i) {
+        return ("agent^1700000000000^" + i).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.handler.grpc;
+
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.filter.SequenceSpanEventFilter;
+import com.navercorp.pinpoint.common.server.bo.filter.SpanEventFilter;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.EncodedSpan;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoderV0;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncodingContext;
+import com.navercorp.pinpoint.common.server.io.CollectorGrpcSpanFactory;
+import com.navercorp.pinpoint.common.server.io.DefaultServerHeader;
+import com.navercorp.pinpoint.common.server.io.GrpcSpanBinder;
+import com.navercorp.pinpoint.common.server.io.GrpcSpanColumnEncoder;
+import com.navercorp.pinpoint.common.server.io.GrpcSpanFactory;
+import com.navercorp.pinpoint.common.server.io.ServerHeader;
+import com.navercorp.pinpoint.common.server.uid.ServiceUid;
+import com.navercorp.pinpoint.grpc.trace.PAcceptEvent;
+import com.navercorp.pinpoint.grpc.trace.PAnnotation;
+import com.navercorp.pinpoint.grpc.trace.PAnnotationValue;
+import com.navercorp.pinpoint.grpc.trace.PMessageEvent;
+import com.navercorp.pinpoint.grpc.trace.PNextEvent;
+import com.navercorp.pinpoint.grpc.trace.PSpan;
+import com.navercorp.pinpoint.grpc.trace.PSpanEvent;
+import com.navercorp.pinpoint.grpc.trace.PTransactionId;
+import com.navercorp.pinpoint.io.SpanVersion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding a {@link PSpan} into the trace column through {@link SpanBo} and through {@link GrpcSpanColumnEncoder}.
+ * Run with {@code -prof gc} to compare the allocation rate.
+ * <pre>
+ * java -cp &lt;test-classpath&gt; com.navercorp.pinpoint.collector.handler.grpc.GrpcSpanEncodingBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GrpcSpanEncodingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int spanEvents;
+
+    private final ServerHeader header = new DefaultServerHeader("agentId", "agentName", "applicationName", "serviceName",
+            () -> ServiceUid.DEFAULT, 1000, 100, false);
+
+    private final SpanEventFilter filter = new SequenceSpanEventFilter(SequenceSpanEventFilter.MAX_SEQUENCE);
+    private final SpanEncoderV0 spanEncoder = new SpanEncoderV0();
+    private final GrpcSpanFactory spanFactory = new CollectorGrpcSpanFactory(new GrpcSpanBinder(), filter);
+    private final GrpcSpanColumnEncoder columnEncoder = new GrpcSpanColumnEncoder(new GrpcSpanBinder(), spanEncoder, filter);
+
+    private PSpan span;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final PSpan.Builder builder = PSpan.newBuilder()
+                .setVersion(SpanVersion.TRACE_V2)
+                .setTransactionId(PTransactionId.newBuilder().setAgentStartTime(1000).setSequence(1))
+                .setSpanId(1)
+                .setParentSpanId(-1)
+                .setStartTime(System.currentTimeMillis())
+                .setElapsed(100)
+                .setServiceType(1010)
+                .setApplicationServiceType(1010)
+                .setApiId(1)
+                .setAcceptEvent(PAcceptEvent.newBuilder().setRpc("/rpc").setEndPoint("localhost:8080").setRemoteAddr("127.0.0.1"))
+                .addAnnotation(annotation(12, "/rpc"));
+        for (int i = 0; i < spanEvents; i++) {
+            builder.addSpanEvent(spanEvent(i));
+        }
+        this.span = builder.build();
+    }
+
+    private PSpanEvent spanEvent(int sequence) {
+        PMessageEvent messageEvent = PMessageEvent.newBuilder()
+                .setNextSpanId(sequence)
+                .setDestinationId("destination")
+                .setEndPoint("localhost:3306")
+                .build();
+        return PSpanEvent.newBuilder()
+                .setSequence(sequence)
+                .setDepth(sequence % 4 == 0 ? 1 : 0)
+                .setStartElapsed(1)
+                .setEndElapsed(2)
+                .setServiceType(2101)
+                .setApiId(sequence % 16)
+                .setNextEvent(PNextEvent.newBuilder().setMessageEvent(messageEvent))
+                .addAnnotation(annotation(20, "SELECT * FROM table WHERE id = ?"))
+                .addAnnotation(annotation(41, "1"))
+                .build();
+    }
+
+    private PAnnotation annotation(int key, String value) {
+        return PAnnotation.newBuilder()
+                .setKey(key)
+                .setValue(PAnnotationValue.newBuilder().setStringValue(value))
+                .build();
+    }
+
+    @Benchmark
+    public void spanBo(Blackhole blackhole) {
+        final SpanBo spanBo = spanFactory.buildSpanBo(span, header, 1000);
+        final SpanEncodingContext<SpanBo> encodingContext = new SpanEncodingContext<>(spanBo);
+        blackhole.consume(spanEncoder.encodeSpanQualifier(encodingContext));
+        blackhole.consume(spanEncoder.encodeSpanColumnValue(encodingContext));
+    }
+
+    @Benchmark
+    public EncodedSpan direct() {
+        return columnEncoder.encodeSpan(span, header, 1000);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(GrpcSpanEncodingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
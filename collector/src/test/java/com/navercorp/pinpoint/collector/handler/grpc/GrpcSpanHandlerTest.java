@@ -0,0 +1,170 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.handler.grpc;
+
+import com.navercorp.pinpoint.collector.sampler.EmptyTailSampler;
+import com.navercorp.pinpoint.collector.sampler.SpanSamplerFactory;
+import com.navercorp.pinpoint.collector.sampler.TailSampler;
+import com.navercorp.pinpoint.collector.service.TraceService;
+import com.navercorp.pinpoint.common.hbase.RequestNotPermittedException;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.EncodedSpan;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoderV0;
+import com.navercorp.pinpoint.common.server.io.DefaultServerHeader;
+import com.navercorp.pinpoint.common.server.io.GrpcSpanBinder;
+import com.navercorp.pinpoint.common.server.io.GrpcSpanColumnEncoder;
+import com.navercorp.pinpoint.common.server.io.GrpcSpanFactory;
+import com.navercorp.pinpoint.common.server.io.ServerRequest;
+import com.navercorp.pinpoint.common.server.uid.ServiceUid;
+import com.navercorp.pinpoint.grpc.trace.PSpan;
+import com.navercorp.pinpoint.grpc.trace.PSpanEvent;
+import com.navercorp.pinpoint.grpc.trace.PTransactionId;
+import com.navercorp.pinpoint.io.SpanVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GrpcSpanHandlerTest {
+
+    private final TraceService traceService = mock(TraceService.class);
+    private final GrpcSpanFactory spanFactory = mock(GrpcSpanFactory.class);
+    private final GrpcSpanColumnEncoder spanColumnEncoder = new GrpcSpanColumnEncoder(new GrpcSpanBinder(), new SpanEncoderV0(), null);
+    private final SpanSamplerFactory samplerFactory = () -> span -> true;
+
+    @SuppressWarnings("unchecked")
+    private final ServerRequest<PSpan> serverRequest = mock(ServerRequest.class);
+
+    @BeforeEach
+    public void setUp() {
+        when(serverRequest.getData()).thenReturn(PSpan.getDefaultInstance());
+        when(spanFactory.buildSpanBo(any(), any(), anyLong())).thenReturn(new SpanBo());
+    }
+
+    @Test
+    public void handleSimpleAsync_maxInFlight() {
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+        when(traceService.asyncInsertSpan(any())).thenReturn(pending);
+
+        GrpcSpanHandler handler = new GrpcSpanHandler(new TraceService[]{traceService}, spanFactory, samplerFactory, new EmptyTailSampler(), 1, spanColumnEncoder, false);
+
+        CompletableFuture<Void> first = handler.handleSimpleAsync(serverRequest);
+        assertThat(first).isNotDone();
+
+        CompletableFuture<Void> rejected = handler.handleSimpleAsync(serverRequest);
+        assertThat(rejected).isCompletedExceptionally();
+        assertThat(rejected).failsWithin(Duration.ZERO)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(RequestNotPermittedException.class);
+
+        pending.complete(null);
+        assertThat(first).isCompleted();
+
+        when(traceService.asyncInsertSpan(any())).thenReturn(CompletableFuture.completedFuture(null));
+        assertThat(handler.handleSimpleAsync(serverRequest)).isCompleted();
+    }
+
+    @Test
+    public void handleSimpleAsync_storageFailure() {
+        when(traceService.asyncInsertSpan(any())).thenReturn(CompletableFuture.failedFuture(new RuntimeException("test")));
+
+        GrpcSpanHandler handler = new GrpcSpanHandler(new TraceService[]{traceService}, spanFactory, samplerFactory, new EmptyTailSampler(), 1, spanColumnEncoder, false);
+
+        // storage failure is reported and releases the permit
+        for (int i = 0; i < 2; i++) {
+            assertThat(handler.handleSimpleAsync(serverRequest)).failsWithin(Duration.ZERO)
+                    .withThrowableOfType(ExecutionException.class)
+                    .withMessageContaining("test")
+                    .withCauseInstanceOf(RuntimeException.class);
+        }
+    }
+
+    @Test
+    public void handleSimpleAsync_directEncoding() {
+        PSpan span = PSpan.newBuilder()
+                .setVersion(SpanVersion.TRACE_V2)
+                .setTransactionId(PTransactionId.newBuilder().setAgentStartTime(1000).setSequence(1))
+                .setSpanId(1)
+                .setParentSpanId(-1)
+                .setServiceType(1010)
+                .addSpanEvent(PSpanEvent.newBuilder().setSequence(0).setServiceType(2101))
+                .build();
+        when(serverRequest.getData()).thenReturn(span);
+        when(serverRequest.getHeader()).thenReturn(new DefaultServerHeader("agentId", "agentName", "applicationName", "serviceName",
+                () -> ServiceUid.DEFAULT, 1000, 100, false));
+        when(traceService.isSpanBoRequired()).thenReturn(false);
+        when(traceService.asyncInsertEncodedSpan(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        GrpcSpanHandler handler = new GrpcSpanHandler(new TraceService[]{traceService}, spanFactory, samplerFactory, new EmptyTailSampler(), 1, spanColumnEncoder, true);
+
+        assertThat(handler.handleSimpleAsync(serverRequest)).isCompleted();
+
+        ArgumentCaptor<EncodedSpan> encodedSpan = ArgumentCaptor.forClass(EncodedSpan.class);
+        verify(traceService).asyncInsertEncodedSpan(encodedSpan.capture());
+        assertThat(encodedSpan.getValue().span().getSpanId()).isEqualTo(1);
+        verify(traceService, never()).asyncInsertSpan(any());
+        verify(spanFactory, never()).buildSpanBo(any(), any(), anyLong());
+    }
+
+    @Test
+    public void directEncoding_disabledIfSpanBoRequired() {
+        when(traceService.isSpanBoRequired()).thenReturn(true);
+        when(traceService.asyncInsertSpan(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        GrpcSpanHandler handler = new GrpcSpanHandler(new TraceService[]{traceService}, spanFactory, samplerFactory, new EmptyTailSampler(), 1, spanColumnEncoder, true);
+
+        assertThat(handler.handleSimpleAsync(serverRequest)).isCompleted();
+        verify(traceService).asyncInsertSpan(any());
+        verify(traceService, never()).asyncInsertEncodedSpan(any());
+    }
+
+    @Test
+    public void tailSampledSpan_maxInFlight() {
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+        when(traceService.asyncInsertSpan(any())).thenReturn(pending);
+        List<Runnable> released = new ArrayList<>();
+        TailSampler tailSampler = (span, forward) -> released.add(forward);
+
+        GrpcSpanHandler handler = new GrpcSpanHandler(new TraceService[]{traceService}, spanFactory, samplerFactory, tailSampler, 1, spanColumnEncoder, false);
+
+        assertThat(handler.handleSimpleAsync(serverRequest)).isCompleted();
+        assertThat(handler.handleSimpleAsync(serverRequest)).isCompleted();
+        assertThat(released).hasSize(2);
+
+        released.forEach(Runnable::run);
+        // the second released span is rejected by the in-flight limit
+        verify(traceService, times(1)).asyncInsertSpan(any());
+
+        pending.complete(null);
+        released.get(1).run();
+        verify(traceService, times(2)).asyncInsertSpan(any());
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.grpc.service;
+
+import com.navercorp.pinpoint.grpc.trace.PSpan;
+import com.navercorp.pinpoint.grpc.trace.PSpanChunk;
+import com.navercorp.pinpoint.grpc.trace.PSpanMessage;
+import com.navercorp.pinpoint.grpc.trace.PTransactionId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class SpanBatchPartitionerTest {
+
+    @Test
+    void smallBatchNotSplit() {
+        List<PSpanMessage> spans = spans(SpanBatchPartitioner.MIN_PARTITION_SIZE * 2 - 1);
+
+        List<List<PSpanMessage>> partitions = SpanBatchPartitioner.partition(spans, 8);
+
+        Assertions.assertEquals(1, partitions.size());
+        Assertions.assertSame(spans, partitions.get(0));
+    }
+
+    @Test
+    void sequential() {
+        List<PSpanMessage> spans = spans(500);
+
+        List<List<PSpanMessage>> partitions = SpanBatchPartitioner.partition(spans, 1);
+
+        Assertions.assertEquals(1, partitions.size());
+        Assertions.assertSame(spans, partitions.get(0));
+    }
+
+    @Test
+    void partition() {
+        List<PSpanMessage> spans = spans(500);
+
+        List<List<PSpanMessage>> partitions = SpanBatchPartitioner.partition(spans, 4);
+
+        Assertions.assertEquals(4, partitions.size());
+        int total = 0;
+        for (List<PSpanMessage> partition : partitions) {
+            total += partition.size();
+            // original order within a partition
+            for (int i = 1; i < partition.size(); i++) {
+                Assertions.assertTrue(spans.indexOf(partition.get(i - 1)) < spans.indexOf(partition.get(i)));
+            }
+        }
+        Assertions.assertEquals(spans.size(), total);
+    }
+
+    @Test
+    void sameTransactionSamePartition() {
+        List<PSpanMessage> spans = new ArrayList<>(spans(100));
+        PTransactionId transactionId = transactionId(7);
+        PSpanMessage span = PSpanMessage.newBuilder()
+                .setSpan(PSpan.newBuilder().setTransactionId(transactionId).setSpanId(1))
+                .build();
+        PSpanMessage spanChunk = PSpanMessage.newBuilder()
+                .setSpanChunk(PSpanChunk.newBuilder().setTransactionId(transactionId).setSpanId(1))
+                .build();
+        spans.add(spanChunk);
+        spans.add(span);
+
+        List<List<PSpanMessage>> partitions = SpanBatchPartitioner.partition(spans, 4);
+
+        for (List<PSpanMessage> partition : partitions) {
+            int chunkIndex = partition.indexOf(spanChunk);
+            int spanIndex = partition.indexOf(span);
+            Assertions.assertEquals(chunkIndex == -1, spanIndex == -1);
+            if (chunkIndex != -1) {
+                Assertions.assertTrue(chunkIndex < spanIndex);
+                Assertions.assertTrue(partition.contains(spans.get(7)));
+            }
+        }
+    }
+
+    private static List<PSpanMessage> spans(int count) {
+        List<PSpanMessage> spans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            PSpan span = PSpan.newBuilder()
+                    .setTransactionId(transactionId(i))
+                    .setSpanId(i)
+                    .build();
+            spans.add(PSpanMessage.newBuilder().setSpan(span).build());
+        }
+        return spans;
+    }
+
+    private static PTransactionId transactionId(long sequence) {
+        return PTransactionId.newBuilder()
+                .setAgentStartTime(1000)
+                .setSequence(sequence)
+                .build();
+    }
+}
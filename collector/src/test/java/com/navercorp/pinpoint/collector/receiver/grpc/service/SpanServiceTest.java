@@ -0,0 +1,245 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.grpc.service;
+
+import com.navercorp.pinpoint.collector.handler.AsyncSimpleHandler;
+import com.navercorp.pinpoint.collector.handler.SimpleHandler;
+import com.navercorp.pinpoint.common.server.io.MessageType;
+import com.navercorp.pinpoint.common.server.io.ServerRequest;
+import com.navercorp.pinpoint.grpc.trace.PSpan;
+import com.navercorp.pinpoint.grpc.trace.PSpanChunk;
+import com.navercorp.pinpoint.grpc.trace.PSpanMessage;
+import com.navercorp.pinpoint.grpc.trace.PSpanMessageBatch;
+import com.navercorp.pinpoint.grpc.trace.PSpanResultBatch;
+import com.navercorp.pinpoint.grpc.trace.PTransactionId;
+import com.navercorp.pinpoint.io.request.UidFetcher;
+import com.navercorp.pinpoint.io.request.UidFetcherStreamService;
+import io.grpc.Context;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SpanServiceTest {
+
+    private static final int PARALLELISM = 4;
+    private static final int SPAN_COUNT = 200;
+
+    private static final UidFetcherStreamService UID_FETCHER_STREAM_SERVICE = () -> serviceName -> CompletableFuture.completedFuture(null);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(PARALLELISM);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void parallelBatch_aggregateErrors() throws Exception {
+        Set<Long> handled = ConcurrentHashMap.newKeySet();
+        SimpleHandler<PSpan> failingHandler = request -> {
+            long spanId = request.getData().getSpanId();
+            handled.add(spanId);
+            if (spanId % 10 == 0) {
+                throw new IllegalStateException("span" + spanId);
+            }
+        };
+        SpanService spanService = newSpanService(failingHandler, executor, false);
+        ResultObserver observer = new ResultObserver();
+
+        spanService.sendSpanBatch(spanBatch(SPAN_COUNT), observer);
+
+        observer.await();
+        awaitExecutor();
+        Assertions.assertEquals(SPAN_COUNT, handled.size());
+        PSpanResultBatch result = observer.getResult();
+        Assertions.assertEquals(SPAN_COUNT / 10, result.getPartialSuccess().getRejectedSpans());
+        Assertions.assertNotEquals(0L, result.getPartialSuccess().getErrorId());
+        // error messages are limited to the first 3
+        Assertions.assertEquals(3, result.getPartialSuccess().getErrorMessage().split(", ").length);
+    }
+
+    @Test
+    void rejectedPartition_handledInline() throws Exception {
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicBoolean batchAccepted = new AtomicBoolean();
+        // runs the batch task on the caller, rejects the partition tasks
+        Executor rejectingExecutor = command -> {
+            if (!batchAccepted.compareAndSet(false, true)) {
+                rejected.incrementAndGet();
+                throw new RejectedExecutionException("rejected");
+            }
+            command.run();
+        };
+        Set<Thread> handlerThreads = ConcurrentHashMap.newKeySet();
+        AtomicInteger handled = new AtomicInteger();
+        SimpleHandler<PSpan> spanHandler = request -> {
+            handlerThreads.add(Thread.currentThread());
+            handled.incrementAndGet();
+        };
+        SpanService spanService = newSpanService(spanHandler, rejectingExecutor, false);
+        ResultObserver observer = new ResultObserver();
+
+        spanService.sendSpanBatch(spanBatch(SPAN_COUNT), observer);
+
+        observer.await();
+        Assertions.assertEquals(PARALLELISM - 1, rejected.get());
+        Assertions.assertEquals(SPAN_COUNT, handled.get());
+        Assertions.assertEquals(Set.of(Thread.currentThread()), handlerThreads);
+        Assertions.assertFalse(observer.getResult().hasPartialSuccess());
+    }
+
+    @Test
+    void parallelBatch_awaitPendingSpans() throws Exception {
+        Queue<CompletableFuture<Void>> pending = new ConcurrentLinkedQueue<>();
+        CountDownLatch allHandled = new CountDownLatch(SPAN_COUNT);
+        AsyncSimpleHandler<PSpan> asyncHandler = new AsyncSimpleHandler<>() {
+            @Override
+            public CompletableFuture<Void> handleSimpleAsync(ServerRequest<PSpan> serverRequest) {
+                CompletableFuture<Void> future = new CompletableFuture<>();
+                pending.add(future);
+                allHandled.countDown();
+                return future;
+            }
+
+            @Override
+            public void handleSimple(ServerRequest<PSpan> serverRequest) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        SpanService spanService = newSpanService(asyncHandler, executor, true);
+        ResultObserver observer = new ResultObserver();
+
+        spanService.sendSpanBatch(spanBatch(SPAN_COUNT), observer);
+
+        Assertions.assertTrue(allHandled.await(5, TimeUnit.SECONDS));
+        awaitExecutor();
+        Assertions.assertTrue(observer.results.isEmpty());
+        Assertions.assertEquals(0, observer.completed.get());
+
+        int failed = 0;
+        for (CompletableFuture<Void> future : pending) {
+            if (failed < 5) {
+                future.completeExceptionally(new IllegalStateException("storage"));
+                failed++;
+            } else {
+                future.complete(null);
+            }
+        }
+
+        observer.await();
+        Assertions.assertEquals(5, observer.getResult().getPartialSuccess().getRejectedSpans());
+    }
+
+    private SpanService newSpanService(SimpleHandler<PSpan> spanHandler, Executor executor, boolean asyncSpan) {
+        SimpleHandler<PSpanChunk> spanChunkHandler = request -> {
+        };
+        return new SpanService(spanHandler, spanChunkHandler, UID_FETCHER_STREAM_SERVICE, executor,
+                new TestServerRequestFactory(), StreamCloseOnError.FALSE, asyncSpan, PARALLELISM);
+    }
+
+    private void awaitExecutor() throws InterruptedException {
+        // partition tasks and completion callbacks have run once the pool is idle
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private static PSpanMessageBatch spanBatch(int count) {
+        PSpanMessageBatch.Builder batch = PSpanMessageBatch.newBuilder();
+        for (int i = 0; i < count; i++) {
+            PTransactionId transactionId = PTransactionId.newBuilder()
+                    .setAgentStartTime(1000)
+                    .setSequence(i)
+                    .build();
+            PSpan span = PSpan.newBuilder()
+                    .setTransactionId(transactionId)
+                    .setSpanId(i)
+                    .build();
+            batch.addSpan(PSpanMessage.newBuilder().setSpan(span));
+        }
+        return batch.build();
+    }
+
+    private static class ResultObserver implements StreamObserver<PSpanResultBatch> {
+        private final List<PSpanResultBatch> results = new CopyOnWriteArrayList<>();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger errors = new AtomicInteger();
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        @Override
+        public void onNext(PSpanResultBatch value) {
+            results.add(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            errors.incrementAndGet();
+            done.countDown();
+        }
+
+        @Override
+        public void onCompleted() {
+            completed.incrementAndGet();
+            done.countDown();
+        }
+
+        void await() throws InterruptedException {
+            Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+
+        PSpanResultBatch getResult() {
+            Assertions.assertEquals(0, errors.get());
+            Assertions.assertEquals(1, completed.get());
+            Assertions.assertEquals(1, results.size());
+            return results.get(0);
+        }
+    }
+
+    private static class TestServerRequestFactory implements ServerRequestFactory {
+        @Override
+        public <T> ServerRequest<T> newServerRequest(Context context, MessageType messageType, T data) {
+            return newServerRequest(context, null, messageType, data);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ServerRequest<T> newServerRequest(Context context, UidFetcher uidFetcher, MessageType messageType, T data) {
+            ServerRequest<T> request = mock(ServerRequest.class);
+            when(request.getData()).thenReturn(data);
+            return request;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.sampler;
+
+import com.navercorp.pinpoint.common.server.bo.BasicSpan;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.trace.PinpointServerTraceId;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WindowTailSamplerTest {
+
+    private static final int SLOW = 1000;
+    private static final int RETAINED_SERVICE_TYPE = 1010;
+
+    // even transaction sequences are retained by the fallback sampler
+    private final Sampler<BasicSpan> fallbackSampler = span -> ((PinpointServerTraceId) span.getTransactionId()).getTransactionSequence() % 2 == 0;
+    private final TailSamplingPolicy policy = new TailSamplingPolicy(SLOW, true, Set.of(RETAINED_SERVICE_TYPE), fallbackSampler);
+
+    private final AtomicInteger forwarded = new AtomicInteger();
+
+    @Test
+    public void slowSpanRetainsBufferedSpans() {
+        WindowTailSampler sampler = new WindowTailSampler(policy, Duration.ofSeconds(5), 100, 100);
+
+        assertThat(sampler.offer(span(1, 10), forwarded::incrementAndGet)).isTrue();
+        assertThat(sampler.offer(span(1, 10), forwarded::incrementAndGet)).isTrue();
+        assertThat(forwarded).hasValue(0);
+        assertThat(sampler.getBufferedSpans()).isEqualTo(2);
+
+        sampler.offer(span(1, SLOW), forwarded::incrementAndGet);
+        assertThat(forwarded).hasValue(3);
+        assertThat(sampler.getBufferedSpans()).isZero();
+
+        // late span of a retained transaction
+        sampler.offer(span(1, 10), forwarded::incrementAndGet);
+        assertThat(forwarded).hasValue(4);
+    }
+
+    @Test
+    public void errorSpan() {
+        WindowTailSampler sampler = new WindowTailSampler(policy, Duration.ofSeconds(5), 100, 100);
+
+        SpanBo error = span(1, 10);
+        error.setErrCode(1);
+        sampler.offer(error, forwarded::incrementAndGet);
+        assertThat(forwarded).hasValue(1);
+    }
+
+    @Test
+    public void serviceType() {
+        WindowTailSampler sampler = new WindowTailSampler(policy, Duration.ofSeconds(5), 100, 100);
+
+        SpanBo span = span(1, 10);
+        span.setServiceType(RETAINED_SERVICE_TYPE);
+        sampler.offer(span, forwarded::incrementAndGet);
+        assertThat(forwarded).hasValue(1);
+    }
+
+    @Test
+    public void windowExpired() {
+        WindowTailSampler sampler = new WindowTailSampler(policy, Duration.ofSeconds(5), 100, 100);
+
+        sampler.offer(span(1, 10), forwarded::incrementAndGet);
+        sampler.offer(span(2, 10), forwarded::incrementAndGet);
+        sampler.offer(span(2, 10), forwarded::incrementAndGet);
+
+        sampler.expire(System.currentTimeMillis());
+        assertThat(forwarded).hasValue(0);
+
+        sampler.expire(Long.MAX_VALUE);
+        assertThat(forwarded).hasValue(2);
+        assertThat(sampler.getDroppedSpans()).isEqualTo(1);
+        assertThat(sampler.getBufferedSpans()).isZero();
+    }
+
+    @Test
+    public void evictOldestTransaction() {
+        WindowTailSampler sampler = new WindowTailSampler(policy, Duration.ofSeconds(5), 2, 100);
+
+        sampler.offer(span(2, 10), forwarded::incrementAndGet);
+        sampler.offer(span(2, 10), forwarded::incrementAndGet);
+        assertThat(forwarded).hasValue(0);
+
+        sampler.offer(span(4, 10), forwarded::incrementAndGet);
+        assertThat(forwarded).hasValue(2);
+        assertThat(sampler.getEvictedTransactions()).isEqualTo(1);
+        assertThat(sampler.getBufferedSpans()).isEqualTo(1);
+    }
+
+    @Test
+    public void childrenWaitForSlowRoot() {
+        WindowTailSampler sampler = new WindowTailSampler(policy, Duration.ofSeconds(5), 100, 100);
+
+        // the child started now, the root span is expected within the slow threshold
+        SpanBo child = span(1, 10);
+        child.setStartTime(System.currentTimeMillis());
+        sampler.offer(child, forwarded::incrementAndGet);
+
+        sampler.expire(System.currentTimeMillis() + 5000 + SLOW / 2);
+        assertThat(sampler.getBufferedSpans()).isEqualTo(1);
+
+        SpanBo root = span(1, SLOW);
+        root.setParentSpanId(-1);
+        sampler.offer(root, forwarded::incrementAndGet);
+        assertThat(forwarded).hasValue(2);
+    }
+
+    @Test
+    public void rootSpanStartsWindow() {
+        WindowTailSampler sampler = new WindowTailSampler(policy, Duration.ofSeconds(5), 100, 100);
+
+        SpanBo child = span(2, 10);
+        child.setStartTime(System.currentTimeMillis());
+        sampler.offer(child, forwarded::incrementAndGet);
+        SpanBo root = span(2, 10);
+        root.setParentSpanId(-1);
+        sampler.offer(root, forwarded::incrementAndGet);
+
+        sampler.expire(System.currentTimeMillis() + 5000 + SLOW / 2);
+        assertThat(forwarded).hasValue(2);
+        assertThat(sampler.getBufferedSpans()).isZero();
+    }
+
+    private static SpanBo span(long transactionSequence, int elapsed) {
+        SpanBo span = new SpanBo();
+        span.setTransactionId(new PinpointServerTraceId("agent", 1L, transactionSequence));
+        span.setElapsed(elapsed);
+        return span;
+    }
+}
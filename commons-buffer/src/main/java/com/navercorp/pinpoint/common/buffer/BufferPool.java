@@ -0,0 +1,35 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.buffer;
+
+/**
+ * Source of {@link AutomaticBuffer} for encoders.
+ * <p>
+ * An acquired buffer has to be released once its content has been copied,
+ * the {@link Buffer#wrapByteBuffer()} of a released buffer must not be used anymore.
+ */
+public interface BufferPool {
+
+    BufferPool UNPOOLED = new UnpooledBufferPool();
+
+    /**
+     * @param initialSize size of the buffer if no buffer can be reused
+     */
+    Buffer acquire(int initialSize);
+
+    void release(Buffer buffer);
+}
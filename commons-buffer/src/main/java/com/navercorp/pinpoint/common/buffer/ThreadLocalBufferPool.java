@@ -0,0 +1,166 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.buffer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recycles the byte[] of released buffers per thread.
+ * <p>
+ * A recycled array keeps the size it grew to, so after a few encodings a thread writes into an array
+ * already at its high-water mark instead of growing a new buffer from scratch.
+ * Arrays larger than {@code maxRetainedSize} are dropped and each thread keeps at most {@code maxBuffersPerThread} arrays,
+ * which bounds the memory held by the pool.
+ * A buffer has to be released on the thread that acquired it.
+ */
+public class ThreadLocalBufferPool implements BufferPool {
+
+    public static final int DEFAULT_MAX_RETAINED_SIZE = 64 * 1024;
+    public static final int DEFAULT_MAX_BUFFERS_PER_THREAD = 4;
+
+    private final int maxRetainedSize;
+    private final int maxBuffersPerThread;
+    private final ThreadLocal<FreeList> freeList;
+
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder reuseCount = new LongAdder();
+    private final LongAdder discardCount = new LongAdder();
+    private final AtomicInteger peakSize = new AtomicInteger();
+
+    public ThreadLocalBufferPool() {
+        this(DEFAULT_MAX_RETAINED_SIZE, DEFAULT_MAX_BUFFERS_PER_THREAD);
+    }
+
+    public ThreadLocalBufferPool(int maxRetainedSize, int maxBuffersPerThread) {
+        if (maxRetainedSize < 0) {
+            throw new IllegalArgumentException("negative maxRetainedSize:" + maxRetainedSize);
+        }
+        if (maxBuffersPerThread < 0) {
+            throw new IllegalArgumentException("negative maxBuffersPerThread:" + maxBuffersPerThread);
+        }
+        this.maxRetainedSize = maxRetainedSize;
+        this.maxBuffersPerThread = maxBuffersPerThread;
+        this.freeList = ThreadLocal.withInitial(() -> new FreeList(maxBuffersPerThread));
+    }
+
+    @Override
+    public Buffer acquire(int initialSize) {
+        acquireCount.increment();
+        final byte[] bytes = freeList.get().poll();
+        if (bytes == null) {
+            return new AutomaticBuffer(initialSize);
+        }
+        reuseCount.increment();
+        return new AutomaticBuffer(bytes);
+    }
+
+    @Override
+    public void release(Buffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        updatePeakSize(buffer.getOffset());
+
+        final byte[] bytes = buffer.getInternalBuffer();
+        if (bytes.length > maxRetainedSize) {
+            discardCount.increment();
+            return;
+        }
+        freeList.get().offer(bytes);
+    }
+
+    private void updatePeakSize(int size) {
+        int peak = peakSize.get();
+        while (size > peak) {
+            if (peakSize.compareAndSet(peak, size)) {
+                return;
+            }
+            peak = peakSize.get();
+        }
+    }
+
+    public long getAcquireCount() {
+        return acquireCount.sum();
+    }
+
+    public long getReuseCount() {
+        return reuseCount.sum();
+    }
+
+    /**
+     * @return released arrays dropped for exceeding maxRetainedSize
+     */
+    public long getDiscardCount() {
+        return discardCount.sum();
+    }
+
+    public double getReuseRate() {
+        final long acquire = getAcquireCount();
+        if (acquire == 0) {
+            return 0;
+        }
+        return (double) getReuseCount() / acquire;
+    }
+
+    /**
+     * @return largest content size released to this pool
+     */
+    public int getPeakSize() {
+        return peakSize.get();
+    }
+
+    public int getMaxRetainedSize() {
+        return maxRetainedSize;
+    }
+
+    public int getMaxBuffersPerThread() {
+        return maxBuffersPerThread;
+    }
+
+    @Override
+    public String toString() {
+        return "ThreadLocalBufferPool{" +
+                "maxRetainedSize=" + maxRetainedSize +
+                ", maxBuffersPerThread=" + maxBuffersPerThread +
+                '}';
+    }
+
+    private static class FreeList {
+        private final byte[][] arrays;
+        private int size;
+
+        private FreeList(int capacity) {
+            this.arrays = new byte[capacity][];
+        }
+
+        private byte[] poll() {
+            if (size == 0) {
+                return null;
+            }
+            final byte[] bytes = arrays[--size];
+            arrays[size] = null;
+            return bytes;
+        }
+
+        private void offer(byte[] bytes) {
+            if (size < arrays.length) {
+                arrays[size++] = bytes;
+            }
+        }
+    }
+}
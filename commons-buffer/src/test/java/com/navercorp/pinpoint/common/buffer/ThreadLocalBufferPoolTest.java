@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.buffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ThreadLocalBufferPoolTest {
+
+    @Test
+    void acquire_reuseGrownBuffer() {
+        ThreadLocalBufferPool pool = new ThreadLocalBufferPool(1024, 2);
+
+        Buffer buffer = pool.acquire(4);
+        buffer.putLong(1);
+        buffer.putLong(2);
+        byte[] grown = buffer.getInternalBuffer();
+        pool.release(buffer);
+
+        Buffer reused = pool.acquire(4);
+        assertSame(grown, reused.getInternalBuffer());
+        assertEquals(0, reused.getOffset());
+
+        reused.putInt(3);
+        assertArrayEquals(new byte[]{0, 0, 0, 3}, reused.copyBuffer());
+
+        assertEquals(2, pool.getAcquireCount());
+        assertEquals(1, pool.getReuseCount());
+        assertEquals(0.5, pool.getReuseRate());
+        assertEquals(16, pool.getPeakSize());
+    }
+
+    @Test
+    void acquire_nested() {
+        ThreadLocalBufferPool pool = new ThreadLocalBufferPool(1024, 2);
+        pool.release(pool.acquire(16));
+
+        Buffer first = pool.acquire(16);
+        Buffer second = pool.acquire(16);
+        assertNotSame(first.getInternalBuffer(), second.getInternalBuffer());
+        pool.release(second);
+        pool.release(first);
+
+        assertEquals(1, pool.getReuseCount());
+    }
+
+    @Test
+    void release_discardLargeBuffer() {
+        ThreadLocalBufferPool pool = new ThreadLocalBufferPool(16, 2);
+
+        Buffer buffer = pool.acquire(8);
+        buffer.putBytes(new byte[32]);
+        pool.release(buffer);
+
+        pool.acquire(8);
+        assertEquals(0, pool.getReuseCount());
+        assertEquals(1, pool.getDiscardCount());
+    }
+
+    @Test
+    void release_perThread() {
+        ThreadLocalBufferPool pool = new ThreadLocalBufferPool(1024, 2);
+        pool.release(pool.acquire(16));
+
+        CompletableFuture.runAsync(() -> pool.acquire(16)).join();
+        assertEquals(0, pool.getReuseCount());
+
+        pool.acquire(16);
+        assertEquals(1, pool.getReuseCount());
+    }
+}
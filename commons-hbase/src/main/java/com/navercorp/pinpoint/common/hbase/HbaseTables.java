@@ -112,6 +112,7 @@ public class HbaseTables {
     }
 
     public static final HbaseColumnFamily TRACE_V2_SPAN = new HbaseColumnFamily(HbaseTableV2.TRACE_V2, Bytes.toBytes("S"));
+    public static final HbaseColumnFamily TRACE_V2_ID_FILTER = new HbaseColumnFamily(HbaseTableV2.TRACE_V2, Bytes.toBytes("F"));
 
     // ------------------- Map Self V3 -------------------
     public static final byte[] MAP_V3_COLUMN_FAMILY_NAME = Bytes.toBytes("C");
@@ -88,6 +88,7 @@ public class HbaseTemplate extends HbaseAccessor implements HbaseOperations, Ini
 
 
     private boolean nativeAsync = false;
+    private boolean asyncDistributedScan = false;
 
     private static final CheckAndMutateResult CHECK_AND_MUTATE_RESULT_FAILURE = new CheckAndMutateResult(false, null);
 
@@ -124,6 +125,10 @@ public class HbaseTemplate extends HbaseAccessor implements HbaseOperations, Ini
         this.nativeAsync = nativeAsync;
     }
 
+    public void setAsyncDistributedScan(boolean asyncDistributedScan) {
+        this.asyncDistributedScan = asyncDistributedScan;
+    }
+
     public void setScanMetricReporter(ScanMetricReporter scanReporter) {
         this.scanMetric = scanReporter;
     }
@@ -564,6 +569,9 @@ public class HbaseTemplate extends HbaseAccessor implements HbaseOperations, Ini
 
     protected final <T> T executeParallelDistributedScan(TableName tableName, Scan scan, RowKeyDistributor rowKeyDistributor, ResultsExtractor<T> action, int numParallelThreads) {
         assertAccessAvailable();
+        if (asyncDistributedScan) {
+            return asyncTemplate.executeAsyncDistributedScan(tableName, scan, rowKeyDistributor, action);
+        }
         if (nativeAsync) {
             return asyncTemplate.executeParallelDistributedScan(tableName, scan, rowKeyDistributor, action, numParallelThreads);
         }
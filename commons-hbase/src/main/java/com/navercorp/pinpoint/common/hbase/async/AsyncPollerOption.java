@@ -14,6 +14,7 @@ public class AsyncPollerOption {
 
     private int connectionSize = 1;
 
+    private boolean coalesce = false;
 
     public int getQueueSize() {
         return queueSize;
@@ -84,6 +85,17 @@ public class AsyncPollerOption {
         this.connectionSize = connectionSize;
     }
 
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    /**
+     * Merge Puts to the same row within a write buffer into a single Put.
+     */
+    public void setCoalesce(boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+
     @Override
     public String toString() {
         return "AsyncPollerOption{" +
@@ -94,6 +106,7 @@ public class AsyncPollerOption {
                 ", cpuRatio=" + cpuRatio +
                 ", minCpuCore=" + minCpuCore +
                 ", connectionSize=" + connectionSize +
+                ", coalesce=" + coalesce +
                 '}';
     }
 }
@@ -32,6 +32,7 @@ public class AsyncPollerThread implements Closeable {
     private final int writeBufferSize;
     private final int writeBufferPeriodicFlush;
     private final int pollTimeout;
+    private final boolean coalesce;
 
     private final Thread thread;
     private final AtomicBoolean runState = new AtomicBoolean(true);
@@ -48,6 +49,7 @@ public class AsyncPollerThread implements Closeable {
         this.writeBufferSize = option.getWriteBufferSize();
         this.writeBufferPeriodicFlush = option.getWriteBufferPeriodicFlush();
         this.pollTimeout = Math.max(writeBufferPeriodicFlush / 4, 20);
+        this.coalesce = option.isCoalesce();
 
         this.thread = new Thread(this::dispatch, id);
         this.thread.setDaemon(true);
@@ -88,7 +90,7 @@ public class AsyncPollerThread implements Closeable {
                     List<Put> puts = getPuts(writes);
 
                     AsyncTableWriterFactory.Writer writer = this.writerFactory.writer(tableName);
-                    List<CompletableFuture<Void>> hbaseResults = writer.put(puts);
+                    List<CompletableFuture<Void>> hbaseResults = put(writer, tableName, puts);
                     addListeners(hbaseResults, writes);
                 }
             } catch (Throwable th) {
@@ -101,6 +103,18 @@ public class AsyncPollerThread implements Closeable {
         logger.info("dispatch terminated {}", this.thread.getName());
     }
 
+    private List<CompletableFuture<Void>> put(TableWriterFactory.Writer writer, TableName tableName, List<Put> puts) {
+        if (!coalesce) {
+            return writer.put(puts);
+        }
+        PutCoalescer.Coalesced coalesced = PutCoalescer.coalesce(puts);
+        if (logger.isDebugEnabled() && coalesced.isCoalesced()) {
+            logger.debug("coalesce {} {} puts:{} -> {}", this.thread.getName(), tableName, puts.size(), coalesced.getPuts().size());
+        }
+        List<CompletableFuture<Void>> hbaseResults = writer.put(coalesced.getPuts());
+        return coalesced.expand(hbaseResults);
+    }
+
     private boolean isRun() {
         return runState.get();
     }
@@ -197,6 +211,7 @@ public class AsyncPollerThread implements Closeable {
                 ", writeBufferSize=" + writeBufferSize +
                 ", writeBufferPeriodicFlush=" + writeBufferPeriodicFlush +
                 ", pollTimeout=" + pollTimeout +
+                ", coalesce=" + coalesce +
                 ", thread=" + thread +
                 '}';
     }
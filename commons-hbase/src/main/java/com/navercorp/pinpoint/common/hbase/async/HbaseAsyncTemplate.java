@@ -29,6 +29,7 @@ import com.navercorp.pinpoint.common.hbase.scan.Scanner;
 import com.navercorp.pinpoint.common.hbase.util.HBaseExceptionUtils;
 import com.navercorp.pinpoint.common.hbase.util.MutationType;
 import com.navercorp.pinpoint.common.hbase.util.ScanMetricReporter;
+import com.navercorp.pinpoint.common.hbase.wd.AsyncDistributedScanner;
 import com.navercorp.pinpoint.common.hbase.wd.DistributedScan;
 import com.navercorp.pinpoint.common.hbase.wd.DistributedScanner;
 import com.navercorp.pinpoint.common.hbase.wd.RowKeyDistributor;
@@ -430,6 +431,42 @@ public class HbaseAsyncTemplate implements DisposableBean, AsyncHbaseOperations
     }
 
 
+    /**
+     * Merges the salted sub-scans with {@link AsyncDistributedScanner}.
+     * Unlike {@link #executeParallelDistributedScan(TableName, Scan, RowKeyDistributor, ResultsExtractor, int)},
+     * no thread is blocked per sub-scan.
+     */
+    public <T> T executeAsyncDistributedScan(TableName tableName, Scan scan, RowKeyDistributor rowKeyDistributor, ResultsExtractor<T> action) {
+        Objects.requireNonNull(tableName, "tableName");
+        Objects.requireNonNull(scan, "scan");
+        Objects.requireNonNull(rowKeyDistributor, "rowKeyDistributor");
+        Objects.requireNonNull(action, "action");
+
+        final int maxCacheSize = scan.getCaching() > 0 ? scan.getCaching() : AsyncDistributedScanner.DEFAULT_MAX_CACHE_SIZE;
+
+        return advancedExecute(tableName, new AdvancedAsyncTableCallback<T>() {
+            @Override
+            public T doInTable(AsyncTable<AdvancedScanResultConsumer> table) throws Throwable {
+                final StopWatch watch = StopWatch.createStarted();
+
+                DistributedScan dScan = rowKeyDistributor.getDistributedScans(scan);
+                dScan.setScanMetricReporter(scanMetric.isEnable());
+
+                AsyncDistributedScanner scanner = new AsyncDistributedScanner(table, dScan, maxCacheSize);
+                try (scanner) {
+                    return action.extractData(scanner);
+                } finally {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("AsyncDistributedScanner scanTime: {}ms", watch.stop());
+                    }
+                    ScanMetricReporter.Reporter reporter = scanMetric.newReporter(tableName, "async-advanced-multi");
+                    reporter.report(scanner.getScanMetrics());
+                }
+            }
+        });
+    }
+
+
     public AsyncTable<ScanResultConsumer> getAsyncTable(TableName tableName) {
         return getAsyncTableFactory().getTable(tableName, executor);
     }
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.async;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.Durability;
+import org.apache.hadoop.hbase.client.Put;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Merges Puts of the same table that target the same row into a single Put.
+ * <p>
+ * Cells keep their order, so a later Put still overwrites an earlier one on the same cell.
+ * Puts with attributes (TTL, ACL, ...) are never merged.
+ */
+public final class PutCoalescer {
+
+    private PutCoalescer() {
+    }
+
+    public static Coalesced coalesce(List<Put> puts) {
+        Objects.requireNonNull(puts, "puts");
+        final int size = puts.size();
+        if (size < 2) {
+            return new Coalesced(puts, null);
+        }
+
+        final Map<RowKey, Integer> rowIndex = new HashMap<>(size);
+        final List<Put> merged = new ArrayList<>(size);
+        final BitSet copied = new BitSet();
+        final int[] mapping = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            final Put put = puts.get(i);
+            if (!put.getAttributesMap().isEmpty()) {
+                mapping[i] = merged.size();
+                merged.add(put);
+                continue;
+            }
+            final RowKey rowKey = new RowKey(ByteBuffer.wrap(put.getRow()), put.getDurability());
+            final Integer index = rowIndex.get(rowKey);
+            if (index == null) {
+                rowIndex.put(rowKey, merged.size());
+                mapping[i] = merged.size();
+                merged.add(put);
+                continue;
+            }
+            Put target = merged.get(index);
+            if (!copied.get(index)) {
+                target = copyOf(target);
+                merged.set(index, target);
+                copied.set(index);
+            }
+            addCells(target, put);
+            mapping[i] = index;
+        }
+
+        if (merged.size() == size) {
+            return new Coalesced(puts, null);
+        }
+        return new Coalesced(merged, mapping);
+    }
+
+    private static Put copyOf(Put put) {
+        final Put copy = new Put(put.getRow(), put.getTimestamp(), true);
+        copy.setDurability(put.getDurability());
+        addCells(copy, put);
+        return copy;
+    }
+
+    private static void addCells(Put target, Put source) {
+        for (List<Cell> cells : source.getFamilyCellMap().values()) {
+            for (Cell cell : cells) {
+                try {
+                    target.add(cell);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    private record RowKey(ByteBuffer row, Durability durability) {
+    }
+
+    public static final class Coalesced {
+        private final List<Put> puts;
+        private final int[] mapping;
+
+        private Coalesced(List<Put> puts, int[] mapping) {
+            this.puts = puts;
+            this.mapping = mapping;
+        }
+
+        /**
+         * Puts to write, one per row.
+         */
+        public List<Put> getPuts() {
+            return puts;
+        }
+
+        public boolean isCoalesced() {
+            return mapping != null;
+        }
+
+        /**
+         * Maps the results of {@link #getPuts()} back to one future per original Put.
+         */
+        public List<CompletableFuture<Void>> expand(List<CompletableFuture<Void>> results) {
+            if (mapping == null) {
+                return results;
+            }
+            final List<CompletableFuture<Void>> expanded = new ArrayList<>(mapping.length);
+            for (int index : mapping) {
+                expanded.add(results.get(index));
+            }
+            return expanded;
+        }
+    }
+}
@@ -121,10 +121,26 @@ public class HbasePutWriterConfiguration {
             return new ConcurrencyDecorator(concurrency);
         }
 
+        @ConfigurationProperties(prefix = "hbase.client.put-writer.async-buffered-mutator.span-coalescer")
+        @Bean
+        public AsyncPollerOption spanCoalescerOption() {
+            return new AsyncPollerOption();
+        }
+
         @Bean
         public HbasePutWriter spanPutWriter(@Qualifier("hbaseAsyncBufferedMutatorFactory") AsyncBufferedMutatorFactory asyncTableFactory,
-                                            @Qualifier("spanConcurrencyDecorator") HbasePutWriterDecorator decorator) {
-            HbasePutWriter hbasePutWriter = newPutWriter(asyncTableFactory, decorator);
+                                            @Qualifier("spanConcurrencyDecorator") HbasePutWriterDecorator decorator,
+                                            @Qualifier("spanCoalescerOption") AsyncPollerOption coalescerOption) {
+            if (!coalescerOption.isCoalesce()) {
+                HbasePutWriter hbasePutWriter = newPutWriter(asyncTableFactory, decorator);
+                logger.info("HbaseSpanPutWriter {}", hbasePutWriter);
+                return hbasePutWriter;
+            }
+            // Puts to the same row are merged in the poller window before reaching the buffered mutator
+            final HbasePutWriter writer = new BatchAsyncHbasePutWriter(asyncTableFactory);
+            final TableWriterFactory factory = tableName -> puts -> writer.put(tableName, puts);
+            HbasePutWriter coalescer = new AsyncPollingPutWriter("spanCoalescer-", factory, coalescerOption);
+            HbasePutWriter hbasePutWriter = new LoggingHbasePutWriter(decorator.decorator(coalescer));
             logger.info("HbaseSpanPutWriter {}", hbasePutWriter);
             return hbasePutWriter;
         }
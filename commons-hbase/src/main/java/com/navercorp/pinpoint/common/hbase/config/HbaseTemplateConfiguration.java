@@ -141,6 +141,7 @@ public class HbaseTemplateConfiguration {
             template2.setEnableParallelScan(true);
             template2.setMaxThreads(scan.getMaxThreads());
             template2.setMaxThreadsPerParallelScan(scan.getMaxThreadsPerParallelScan());
+            template2.setAsyncDistributedScan(scan.isAsyncDistributedScan());
         }
         template2.setResultScannerFactory(resultScannerFactory);
 
@@ -26,6 +26,8 @@ public class ParallelScan {
     private int maxThreads = CpuUtils.workerCount() * 4;
     private int maxThreadsPerParallelScan = CpuUtils.workerCount();
     private int maxConcurrentAsyncScanner = DEFAULT_MAX_CONCURRENT_ASYNC_SCANNER;
+    // merge salted scans on the async client instead of a thread per salt bucket
+    private boolean asyncDistributedScan = false;
 
 
     public ParallelScan() {
@@ -56,12 +58,21 @@ public class ParallelScan {
         this.maxConcurrentAsyncScanner = maxConcurrentAsyncScanner;
     }
 
+    public boolean isAsyncDistributedScan() {
+        return asyncDistributedScan;
+    }
+
+    public void setAsyncDistributedScan(boolean asyncDistributedScan) {
+        this.asyncDistributedScan = asyncDistributedScan;
+    }
+
     @Override
     public String toString() {
         return "ParallelScan{" +
                 "maxThreads=" + maxThreads +
                 ", maxThreadsPerParallelScan=" + maxThreadsPerParallelScan +
                 ", maxConcurrentAsyncScanner=" + maxConcurrentAsyncScanner +
+                ", asyncDistributedScan=" + asyncDistributedScan +
                 '}';
     }
 }
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.wd;
+
+import com.navercorp.pinpoint.common.hbase.util.CellUtils;
+import com.navercorp.pinpoint.common.hbase.util.ScanMetricUtils;
+import org.apache.hadoop.hbase.client.AdvancedScanResultConsumer;
+import org.apache.hadoop.hbase.client.AsyncTable;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Client-side merge of the salted sub-scans of a {@link DistributedScan} on top of {@link AsyncTable}.
+ * <p>
+ * Every sub-scan is driven by the HBase async client through an {@link AdvancedScanResultConsumer},
+ * so no thread is dedicated to a salt bucket. Buffered results are bounded per sub-scan by suspending the scan,
+ * and the sub-scans are merged with a heap ordered by the de-salted row key.
+ * Closing the scanner (e.g. when a limit is reached) terminates the outstanding sub-scans.
+ */
+public class AsyncDistributedScanner implements ResultScanner {
+
+    public static final int DEFAULT_MAX_CACHE_SIZE = 256;
+
+    private final int saltKeySize;
+    private final int maxCacheSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    private final SaltScanConsumer[] consumers;
+    private final PriorityQueue<SaltScanConsumer> heap;
+
+    private boolean initialized = false;
+    private boolean closed = false;
+
+    public AsyncDistributedScanner(AsyncTable<AdvancedScanResultConsumer> table, DistributedScan dScan) {
+        this(table, dScan, DEFAULT_MAX_CACHE_SIZE);
+    }
+
+    public AsyncDistributedScanner(AsyncTable<AdvancedScanResultConsumer> table, DistributedScan dScan, int maxCacheSize) {
+        Objects.requireNonNull(table, "table");
+        Objects.requireNonNull(dScan, "dScan");
+
+        this.saltKeySize = dScan.getSaltKeySize();
+        this.maxCacheSize = Math.max(maxCacheSize, 1);
+
+        final Scan[] scans = dScan.getScans();
+        this.consumers = new SaltScanConsumer[scans.length];
+        this.heap = new PriorityQueue<>(Math.max(scans.length, 1), headComparator());
+        for (int i = 0; i < scans.length; i++) {
+            consumers[i] = new SaltScanConsumer(i);
+        }
+        for (int i = 0; i < scans.length; i++) {
+            table.scan(scans[i], consumers[i]);
+        }
+    }
+
+    private Comparator<SaltScanConsumer> headComparator() {
+        return (left, right) -> {
+            final int compare = CellUtils.compareFirstRow(left.cache.peekFirst(), right.cache.peekFirst(), saltKeySize);
+            if (compare != 0) {
+                return compare;
+            }
+            // same as DistributedScanner, the first sub-scan wins
+            return Integer.compare(left.index, right.index);
+        };
+    }
+
+    @Override
+    public Result next() throws IOException {
+        SaltScanConsumer fetched;
+        Result result;
+        lock.lock();
+        try {
+            if (closed) {
+                return null;
+            }
+            if (!initialized) {
+                for (SaltScanConsumer consumer : consumers) {
+                    offer(consumer);
+                }
+                initialized = true;
+            }
+            fetched = heap.poll();
+            if (fetched == null) {
+                return null;
+            }
+            result = fetched.cache.pollFirst();
+            // the next head of the fetched sub-scan is required before the following merge step
+            offer(fetched);
+        } finally {
+            lock.unlock();
+        }
+        fetched.resumeIfRequired();
+        return result;
+    }
+
+    private void offer(SaltScanConsumer consumer) throws IOException {
+        if (awaitHead(consumer)) {
+            heap.add(consumer);
+        }
+    }
+
+    private boolean awaitHead(SaltScanConsumer consumer) throws IOException {
+        while (consumer.cache.isEmpty()) {
+            if (consumer.error != null) {
+                throw new IOException("scan failed. salt index:" + consumer.index, consumer.error);
+            }
+            if (consumer.completed) {
+                return false;
+            }
+            consumer.resumeIfRequired();
+            try {
+                notEmpty.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for the scan result");
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        final List<AdvancedScanResultConsumer.ScanResumer> resumers = new ArrayList<>(consumers.length);
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            heap.clear();
+            for (SaltScanConsumer consumer : consumers) {
+                consumer.cache.clear();
+                if (consumer.resumer != null) {
+                    resumers.add(consumer.resumer);
+                    consumer.resumer = null;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        // resumed scans are terminated on the next callback
+        for (AdvancedScanResultConsumer.ScanResumer resumer : resumers) {
+            resumer.resume();
+        }
+    }
+
+    @Override
+    public boolean renewLease() {
+        return false;
+    }
+
+    @Override
+    public ScanMetrics getScanMetrics() {
+        ScanMetrics merge = null;
+        for (SaltScanConsumer consumer : consumers) {
+            ScanMetrics scanMetrics = consumer.scanMetrics;
+            if (scanMetrics == null) {
+                continue;
+            }
+            if (merge == null) {
+                merge = new ScanMetrics();
+            }
+            ScanMetricUtils.sum(merge, scanMetrics);
+        }
+        return merge;
+    }
+
+    private class SaltScanConsumer implements AdvancedScanResultConsumer {
+        private final int index;
+
+        // guarded by lock
+        private final ArrayDeque<Result> cache = new ArrayDeque<>();
+        private ScanResumer resumer;
+        private boolean completed;
+        private Throwable error;
+
+        private volatile ScanMetrics scanMetrics;
+
+        private SaltScanConsumer(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void onNext(Result[] results, ScanController controller) {
+            lock.lock();
+            try {
+                if (closed) {
+                    controller.terminate();
+                    return;
+                }
+                for (Result result : results) {
+                    if (!CellUtils.isEmpty(result)) {
+                        cache.addLast(result);
+                    }
+                }
+                if (cache.size() >= maxCacheSize) {
+                    resumer = controller.suspend();
+                }
+                notEmpty.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void onHeartbeat(ScanController controller) {
+            lock.lock();
+            try {
+                if (closed) {
+                    controller.terminate();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            lock.lock();
+            try {
+                this.error = error;
+                this.completed = true;
+                notEmpty.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            lock.lock();
+            try {
+                this.completed = true;
+                notEmpty.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void onScanMetricsCreated(ScanMetrics scanMetrics) {
+            this.scanMetrics = scanMetrics;
+        }
+
+        /**
+         * resumes the suspended scan once half of the cache has been consumed
+         */
+        private void resumeIfRequired() {
+            final ScanResumer resumer;
+            lock.lock();
+            try {
+                if (this.resumer == null || cache.size() > maxCacheSize / 2) {
+                    return;
+                }
+                resumer = this.resumer;
+                this.resumer = null;
+            } finally {
+                lock.unlock();
+            }
+            resumer.resume();
+        }
+    }
+}
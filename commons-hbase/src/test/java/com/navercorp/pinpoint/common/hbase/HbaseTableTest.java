@@ -124,4 +124,11 @@ public class HbaseTableTest {
         Assertions.assertEquals("TraceV2", traceV2Span.getTable().getName());
     }
 
+    @Test
+    public void traceV2IdFilterTest() {
+        HbaseColumnFamily traceV2IdFilter = HbaseTables.TRACE_V2_ID_FILTER;
+        Assertions.assertArrayEquals(Bytes.toBytes("F"), traceV2IdFilter.getName());
+        Assertions.assertEquals("TraceV2", traceV2IdFilter.getTable().getName());
+    }
+
 }
@@ -4,18 +4,21 @@ import com.navercorp.pinpoint.common.util.concurrent.FutureUtils;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Row;
+import org.apache.hadoop.hbase.util.Bytes;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 
 class AsyncPollerThreadTest {
     private final Random random = new Random();
     TableName table = TableName.valueOf("table");
+    private static final byte[] CF = Bytes.toBytes("CF");
 
     @Test
 //    @RepeatedTest(5)
@@ -48,6 +51,38 @@ class AsyncPollerThreadTest {
         poller.close();
     }
 
+    @Test
+    void write_coalesce() throws Exception {
+        List<Integer> writeSizes = new CopyOnWriteArrayList<>();
+        TableWriterFactory factory = tableName -> puts -> {
+            writeSizes.add(puts.size());
+            return putAll(puts);
+        };
+
+        AsyncPollerOption option = new AsyncPollerOption();
+        option.setQueueSize(100);
+        option.setWriteBufferSize(3);
+        option.setWriteBufferPeriodicFlush(1000);
+        option.setCoalesce(true);
+
+        AsyncPollerThread poller = new AsyncPollerThread("test", factory, option);
+
+        byte[] row = nextBytes(8);
+        Put put1 = new Put(row).addColumn(CF, Bytes.toBytes("q1"), Bytes.toBytes("v"));
+        Put put2 = new Put(nextBytes(9)).addColumn(CF, Bytes.toBytes("q1"), Bytes.toBytes("v"));
+        Put put3 = new Put(row).addColumn(CF, Bytes.toBytes("q2"), Bytes.toBytes("v"));
+
+        List<CompletableFuture<Void>> future1 = poller.write(this.table, List.of(put1));
+        List<CompletableFuture<Void>> future2 = poller.write(this.table, List.of(put2, put3));
+
+        Assertions.assertNull(awaitAndGet(future1, 0));
+        Assertions.assertNull(awaitAndGet(future2, 0));
+        Assertions.assertNull(awaitAndGet(future2, 1));
+        Assertions.assertEquals(List.of(2), writeSizes);
+
+        poller.close();
+    }
+
     private byte[] nextBytes(int size) {
         byte[] bytes = new byte[size];
         random.nextBytes(bytes);
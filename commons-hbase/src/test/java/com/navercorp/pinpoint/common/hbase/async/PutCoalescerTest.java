@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.async;
+
+import org.apache.hadoop.hbase.client.Durability;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PutCoalescerTest {
+
+    private static final byte[] FAMILY = Bytes.toBytes("S");
+
+    @Test
+    void coalesce_sameRow() {
+        Put put1 = newPut("row1", "q1");
+        Put put2 = newPut("row2", "q1");
+        Put put3 = newPut("row1", "q2");
+
+        PutCoalescer.Coalesced coalesced = PutCoalescer.coalesce(List.of(put1, put2, put3));
+
+        assertThat(coalesced.isCoalesced()).isTrue();
+        List<Put> puts = coalesced.getPuts();
+        assertThat(puts).hasSize(2);
+        assertThat(puts.get(0).getRow()).isEqualTo(Bytes.toBytes("row1"));
+        assertThat(puts.get(0).size()).isEqualTo(2);
+        assertThat(puts.get(1)).isSameAs(put2);
+
+        // source Put is not modified
+        assertThat(put1.size()).isEqualTo(1);
+    }
+
+    @Test
+    void coalesce_expand() {
+        Put put1 = newPut("row1", "q1");
+        Put put2 = newPut("row2", "q1");
+        Put put3 = newPut("row1", "q2");
+
+        PutCoalescer.Coalesced coalesced = PutCoalescer.coalesce(List.of(put1, put2, put3));
+
+        CompletableFuture<Void> row1 = new CompletableFuture<>();
+        CompletableFuture<Void> row2 = new CompletableFuture<>();
+        List<CompletableFuture<Void>> expanded = coalesced.expand(List.of(row1, row2));
+
+        assertThat(expanded).containsExactly(row1, row2, row1);
+    }
+
+    @Test
+    void coalesce_differentRows() {
+        List<Put> puts = List.of(newPut("row1", "q1"), newPut("row2", "q1"));
+
+        PutCoalescer.Coalesced coalesced = PutCoalescer.coalesce(puts);
+
+        assertThat(coalesced.isCoalesced()).isFalse();
+        assertThat(coalesced.getPuts()).isSameAs(puts);
+    }
+
+    @Test
+    void coalesce_skipAttributesAndDurability() {
+        Put put1 = newPut("row1", "q1");
+        Put put2 = newPut("row1", "q2");
+        put2.setTTL(1000);
+        Put put3 = newPut("row1", "q3");
+        put3.setDurability(Durability.SKIP_WAL);
+
+        PutCoalescer.Coalesced coalesced = PutCoalescer.coalesce(List.of(put1, put2, put3));
+
+        assertThat(coalesced.isCoalesced()).isFalse();
+        assertThat(coalesced.getPuts()).containsExactly(put1, put2, put3);
+    }
+
+    private Put newPut(String row, String qualifier) {
+        Put put = new Put(Bytes.toBytes(row), 100L, true);
+        put.addColumn(FAMILY, Bytes.toBytes(qualifier), Bytes.toBytes("value"));
+        return put;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.wd;
+
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.AdvancedScanResultConsumer;
+import org.apache.hadoop.hbase.client.AsyncTable;
+import org.apache.hadoop.hbase.client.Cursor;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class AsyncDistributedScannerTest {
+
+    private static final byte[] FAMILY = Bytes.toBytes("f");
+    private static final byte[] QUALIFIER = Bytes.toBytes("q");
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void merge() throws IOException {
+        List<FakeScan> scans = List.of(
+                new FakeScan(0, 1, 4, 7, 10),
+                new FakeScan(1, 2, 5, 8),
+                new FakeScan(2, 0, 3, 6, 9, 11)
+        );
+        AsyncTable<AdvancedScanResultConsumer> table = newTable(scans);
+
+        List<Integer> keys = new ArrayList<>();
+        try (AsyncDistributedScanner scanner = new AsyncDistributedScanner(table, distributedScan(scans.size()), 2)) {
+            Result result;
+            while ((result = scanner.next()) != null) {
+                keys.add(key(result));
+            }
+        }
+
+        assertThat(keys).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+    }
+
+    @Test
+    public void close_terminateScans() throws IOException {
+        FakeScan scan = new FakeScan(0, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        AsyncTable<AdvancedScanResultConsumer> table = newTable(List.of(scan));
+
+        try (AsyncDistributedScanner scanner = new AsyncDistributedScanner(table, distributedScan(1), 2)) {
+            assertThat(key(scanner.next())).isZero();
+        }
+
+        assertThat(scan.terminated || scan.delivered < scan.keys.length).isTrue();
+    }
+
+    @Test
+    public void error() {
+        FakeScan scan = new FakeScan(0, 0, 1);
+        scan.error = new IOException("test");
+        AsyncTable<AdvancedScanResultConsumer> table = newTable(List.of(scan));
+
+        AsyncDistributedScanner scanner = new AsyncDistributedScanner(table, distributedScan(1), 2);
+        assertThatThrownBy(() -> {
+            while (scanner.next() != null) {
+                // drain
+            }
+        }).isInstanceOf(IOException.class)
+                .hasCause(scan.error);
+        scanner.close();
+    }
+
+    private DistributedScan distributedScan(int count) {
+        Scan[] scans = new Scan[count];
+        for (int i = 0; i < count; i++) {
+            scans[i] = new Scan().setId(Integer.toString(i));
+        }
+        return new DistributedScan(scans, 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private AsyncTable<AdvancedScanResultConsumer> newTable(List<FakeScan> scans) {
+        AsyncTable<AdvancedScanResultConsumer> table = mock(AsyncTable.class);
+        doAnswer(invocation -> {
+            Scan scan = invocation.getArgument(0);
+            AdvancedScanResultConsumer consumer = invocation.getArgument(1);
+            FakeScan fakeScan = scans.get(Integer.parseInt(scan.getId()));
+            fakeScan.consumer = consumer;
+            executor.execute(fakeScan::feed);
+            return null;
+        }).when(table).scan(any(Scan.class), any(AdvancedScanResultConsumer.class));
+        return table;
+    }
+
+    private static int key(Result result) {
+        return Bytes.toInt(result.getRow(), 1);
+    }
+
+    private class FakeScan {
+        private final byte salt;
+        private final int[] keys;
+        private volatile AdvancedScanResultConsumer consumer;
+        private volatile int delivered;
+        private volatile boolean terminated;
+        private Throwable error;
+
+        private FakeScan(int salt, int... keys) {
+            this.salt = (byte) salt;
+            this.keys = keys;
+        }
+
+        private void feed() {
+            while (delivered < keys.length) {
+                int end = Math.min(delivered + 2, keys.length);
+                Result[] batch = new Result[end - delivered];
+                for (int i = delivered; i < end; i++) {
+                    batch[i - delivered] = result(salt, keys[i]);
+                }
+                delivered = end;
+                FakeController controller = new FakeController();
+                consumer.onNext(batch, controller);
+                if (controller.terminated) {
+                    terminated = true;
+                    return;
+                }
+                if (controller.suspended) {
+                    return;
+                }
+            }
+            if (error != null) {
+                consumer.onError(error);
+            } else {
+                consumer.onComplete();
+            }
+        }
+
+        private class FakeController implements AdvancedScanResultConsumer.ScanController {
+            private boolean suspended;
+            private boolean terminated;
+
+            @Override
+            public AdvancedScanResultConsumer.ScanResumer suspend() {
+                suspended = true;
+                return () -> executor.execute(FakeScan.this::feed);
+            }
+
+            @Override
+            public void terminate() {
+                terminated = true;
+            }
+
+            @Override
+            public Optional<Cursor> cursor() {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private static Result result(byte salt, int key) {
+        byte[] row = Bytes.add(new byte[]{salt}, Bytes.toBytes(key));
+        KeyValue cell = new KeyValue(row, FAMILY, QUALIFIER, 1L, KeyValue.Type.Put, Bytes.toBytes(key));
+        return Result.create(List.of(cell));
+    }
+}
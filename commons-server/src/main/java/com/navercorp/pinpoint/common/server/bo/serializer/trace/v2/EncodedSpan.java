@@ -0,0 +1,36 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.serializer.trace.v2;
+
+import com.navercorp.pinpoint.common.server.bo.BasicSpan;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * TRACE_V2 span column of a span or a span chunk.
+ *
+ * @param span the span header only, the span event list is not bound
+ */
+public record EncodedSpan(BasicSpan span, ByteBuffer qualifier, ByteBuffer value) {
+
+    public EncodedSpan {
+        Objects.requireNonNull(span, "span");
+        Objects.requireNonNull(qualifier, "qualifier");
+        Objects.requireNonNull(value, "value");
+    }
+}
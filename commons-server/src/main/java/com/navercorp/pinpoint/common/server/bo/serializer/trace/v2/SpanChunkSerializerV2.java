@@ -1,5 +1,7 @@
 package com.navercorp.pinpoint.common.server.bo.serializer.trace.v2;
 
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.BufferPool;
 import com.navercorp.pinpoint.common.hbase.HbaseTables;
 import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
 import com.navercorp.pinpoint.common.server.bo.serializer.HbaseSerializer;
@@ -15,9 +17,15 @@ import java.util.Objects;
 public class SpanChunkSerializerV2 implements HbaseSerializer<SpanChunkBo, Put> {
 
     private final SpanEncoder spanEncoder;
+    private final BufferPool bufferPool;
 
     public SpanChunkSerializerV2(SpanEncoder spanEncoder) {
+        this(spanEncoder, BufferPool.UNPOOLED);
+    }
+
+    public SpanChunkSerializerV2(SpanEncoder spanEncoder, BufferPool bufferPool) {
         this.spanEncoder = Objects.requireNonNull(spanEncoder, "spanEncoder");
+        this.bufferPool = Objects.requireNonNull(bufferPool, "bufferPool");
     }
 
     @Override
@@ -27,11 +35,21 @@ public class SpanChunkSerializerV2 implements HbaseSerializer<SpanChunkBo, Put>
 
         SpanEncodingContext<SpanChunkBo> encodingContext = new SpanEncodingContext<>(spanChunkBo);
 
-        ByteBuffer qualifier = spanEncoder.encodeSpanChunkQualifier(encodingContext);
-        ByteBuffer columnValue = spanEncoder.encodeSpanChunkColumnValue(encodingContext);
-
-        long acceptedTime = put.getTimestamp();
-        put.addColumn(HbaseTables.TRACE_V2_SPAN.getName(), qualifier, acceptedTime, columnValue);
+        final Buffer qualifier = bufferPool.acquire(SpanEncoder.QUALIFIER_BUFFER_SIZE);
+        final Buffer columnValue = bufferPool.acquire(SpanEncoder.COLUMN_VALUE_BUFFER_SIZE);
+        try {
+            spanEncoder.writeSpanChunkQualifier(qualifier, encodingContext);
+            spanEncoder.writeSpanChunkColumnValue(columnValue, encodingContext);
+
+            final ByteBuffer value = spanEncoder.compressColumnValue(columnValue.wrapByteBuffer());
+
+            long acceptedTime = put.getTimestamp();
+            // Put copies qualifier and value into its own KeyValue, so the buffers can be recycled right after
+            put.addColumn(HbaseTables.TRACE_V2_SPAN.getName(), qualifier.wrapByteBuffer(), acceptedTime, value);
+        } finally {
+            bufferPool.release(columnValue);
+            bufferPool.release(qualifier);
+        }
     }
 
 }
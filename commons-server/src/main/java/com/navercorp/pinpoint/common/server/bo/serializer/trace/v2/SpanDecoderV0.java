@@ -32,6 +32,7 @@ import com.navercorp.pinpoint.common.server.bo.filter.SpanEventFilter;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanBitField;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanEventBitField;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanEventQualifierBitField;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.compress.SpanValueCompression;
 import com.navercorp.pinpoint.common.server.io.AnnotationWriter;
 import com.navercorp.pinpoint.common.server.io.SpanEventWriter;
 import com.navercorp.pinpoint.common.server.trace.ServerTraceId;
@@ -40,6 +41,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * @author Woonduk Kang(emeroad)
@@ -53,14 +55,24 @@ public class SpanDecoderV0 implements SpanDecoder {
     private static final AnnotationDecoder annotationDecoder = new AnnotationDecoder();
     private static final AttributeTranscoder attributeTranscoder = new AttributeTranscoder();
 
+    private final SpanValueCompression compression;
+
+    public SpanDecoderV0() {
+        this(SpanValueCompression.NONE);
+    }
+
+    public SpanDecoderV0(SpanValueCompression compression) {
+        this.compression = Objects.requireNonNull(compression, "compression");
+    }
+
     @Override
     public BasicSpan decode(Buffer qualifier, Buffer columnValue, SpanDecodingContext decodingContext) {
         final byte type = qualifier.readByte();
 
         if (SpanEncoder.TYPE_SPAN == type) {
-            return readSpan(qualifier, columnValue, decodingContext);
+            return readSpan(qualifier, compression.decompress(columnValue), decodingContext);
         } else if (SpanEncoder.TYPE_SPAN_CHUNK == type) {
-            return readSpanChunk(qualifier, columnValue, decodingContext);
+            return readSpanChunk(qualifier, compression.decompress(columnValue), decodingContext);
         } else {
             logger.warn("Unknown span type {}", type);
             return null;
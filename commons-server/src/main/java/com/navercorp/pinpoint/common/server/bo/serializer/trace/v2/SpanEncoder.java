@@ -1,5 +1,6 @@
 package com.navercorp.pinpoint.common.server.bo.serializer.trace.v2;
 
+import com.navercorp.pinpoint.common.buffer.Buffer;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
 
@@ -17,6 +18,9 @@ public interface SpanEncoder {
     byte TYPE_PASSIVE_SPAN = 4;
     byte TYPE_INDEX = 7;
 
+    int QUALIFIER_BUFFER_SIZE = 128;
+    int COLUMN_VALUE_BUFFER_SIZE = 256;
+
     ByteBuffer encodeSpanQualifier(SpanEncodingContext<SpanBo> encodingContext);
 
     ByteBuffer encodeSpanColumnValue(SpanEncodingContext<SpanBo> encodingContext);
@@ -25,4 +29,20 @@ public interface SpanEncoder {
     ByteBuffer encodeSpanChunkQualifier(SpanEncodingContext<SpanChunkBo> encodingContext);
 
     ByteBuffer encodeSpanChunkColumnValue(SpanEncodingContext<SpanChunkBo> encodingContext);
+
+    // write into a buffer provided by the caller, e.g. from a BufferPool
+
+    void writeSpanQualifier(Buffer buffer, SpanEncodingContext<SpanBo> encodingContext);
+
+    void writeSpanColumnValue(Buffer buffer, SpanEncodingContext<SpanBo> encodingContext);
+
+    void writeSpanChunkQualifier(Buffer buffer, SpanEncodingContext<SpanChunkBo> encodingContext);
+
+    void writeSpanChunkColumnValue(Buffer buffer, SpanEncodingContext<SpanChunkBo> encodingContext);
+
+    /**
+     * applied by the encode*ColumnValue methods, to be called on values written by the write*ColumnValue methods
+     * @return columnValue itself if compression is disabled or not effective
+     */
+    ByteBuffer compressColumnValue(ByteBuffer columnValue);
 }
@@ -15,6 +15,7 @@ import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanBitField;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanEventBitField;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanEventQualifierBitField;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.compress.SpanValueCompression;
 import com.navercorp.pinpoint.io.SpanVersion;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.logging.log4j.LogManager;
@@ -23,6 +24,7 @@ import org.springframework.stereotype.Component;
 
 import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * @author Woonduk Kang(emeroad)
@@ -33,28 +35,61 @@ public class SpanEncoderV0 implements SpanEncoder {
     private static final AnnotationTranscoder transcoder = new AnnotationTranscoder();
     private static final AttributeTranscoder attributeTranscoder = new AttributeTranscoder();
 
+    private final SpanValueCompression compression;
+
+    public SpanEncoderV0() {
+        this(SpanValueCompression.NONE);
+    }
+
+    public SpanEncoderV0(SpanValueCompression compression) {
+        this.compression = Objects.requireNonNull(compression, "compression");
+    }
+
     @Override
     public ByteBuffer encodeSpanQualifier(SpanEncodingContext<SpanBo> encodingContext) {
+        final Buffer buffer = new AutomaticBuffer(QUALIFIER_BUFFER_SIZE);
+        writeSpanQualifier(buffer, encodingContext);
+        return buffer.wrapByteBuffer();
+    }
+
+    @Override
+    public void writeSpanQualifier(Buffer buffer, SpanEncodingContext<SpanBo> encodingContext) {
         final SpanBo spanBo = encodingContext.getValue();
         final List<SpanEventBo> spanEventBoList = spanBo.getSpanEventBoList();
         final SpanEventBo firstEvent = getFirstSpanEvent(spanEventBoList);
 
-        return encodeQualifier(TYPE_SPAN, spanBo, firstEvent, null);
+        writeQualifier(buffer, TYPE_SPAN, spanBo, firstEvent, null);
     }
 
     @Override
     public ByteBuffer encodeSpanChunkQualifier(SpanEncodingContext<SpanChunkBo> encodingContext) {
+        final Buffer buffer = new AutomaticBuffer(QUALIFIER_BUFFER_SIZE);
+        writeSpanChunkQualifier(buffer, encodingContext);
+        return buffer.wrapByteBuffer();
+    }
+
+    @Override
+    public void writeSpanChunkQualifier(Buffer buffer, SpanEncodingContext<SpanChunkBo> encodingContext) {
         final SpanChunkBo spanChunkBo = encodingContext.getValue();
 
         final List<SpanEventBo> spanEventBoList = spanChunkBo.getSpanEventBoList();
         final SpanEventBo firstEvent = getFirstSpanEvent(spanEventBoList);
 
         LocalAsyncIdBo localAsyncId = spanChunkBo.getLocalAsyncId();
-        return encodeQualifier(TYPE_SPAN_CHUNK, spanChunkBo, firstEvent, localAsyncId);
+        writeQualifier(buffer, TYPE_SPAN_CHUNK, spanChunkBo, firstEvent, localAsyncId);
+    }
+
+    /**
+     * @param firstEvent the first span event in sequence order, nullable
+     * @param localAsyncId nullable
+     */
+    public ByteBuffer encodeQualifier(byte type, BasicSpan basicSpan, SpanEventBo firstEvent, LocalAsyncIdBo localAsyncId) {
+        final Buffer buffer = new AutomaticBuffer(QUALIFIER_BUFFER_SIZE);
+        writeQualifier(buffer, type, basicSpan, firstEvent, localAsyncId);
+        return buffer.wrapByteBuffer();
     }
 
-    private ByteBuffer encodeQualifier(byte type, BasicSpan basicSpan, SpanEventBo firstEvent, LocalAsyncIdBo localAsyncId) {
-        final Buffer buffer = new AutomaticBuffer(128);
+    private void writeQualifier(Buffer buffer, byte type, BasicSpan basicSpan, SpanEventBo firstEvent, LocalAsyncIdBo localAsyncId) {
         buffer.putByte(type);
         buffer.putPrefixedString(basicSpan.getApplicationName());
         buffer.putPrefixedString(basicSpan.getAgentId());
@@ -79,8 +114,6 @@ public class SpanEncoderV0 implements SpanEncoder {
 //            byte cfBitField = SpanEventQualifierBitField.setAsync((byte) 0, false);
 //            buffer.putByte(cfBitField);
 //        }
-
-        return buffer.wrapByteBuffer();
     }
 
 
@@ -95,21 +128,36 @@ public class SpanEncoderV0 implements SpanEncoder {
 
     @Override
     public ByteBuffer encodeSpanChunkColumnValue(SpanEncodingContext<SpanChunkBo> encodingContext) {
+        final Buffer buffer = new AutomaticBuffer(COLUMN_VALUE_BUFFER_SIZE);
+        writeSpanChunkColumnValue(buffer, encodingContext);
+        return compressColumnValue(buffer.wrapByteBuffer());
+    }
+
+    @Override
+    public ByteBuffer compressColumnValue(ByteBuffer columnValue) {
+        return compression.compress(columnValue);
+    }
+
+    @Override
+    public void writeSpanChunkColumnValue(Buffer buffer, SpanEncodingContext<SpanChunkBo> encodingContext) {
         final SpanChunkBo spanChunkBo = encodingContext.getValue();
 
-        final Buffer buffer = new AutomaticBuffer(256);
+        writeSpanChunk(buffer, spanChunkBo);
 
+        final List<SpanEventBo> spanEventBoList = spanChunkBo.getSpanEventBoList();
+        writeSpanEventList(buffer, spanEventBoList, encodingContext);
+    }
+
+    /**
+     * Writes the span chunk fields preceding the span event list.
+     */
+    public void writeSpanChunk(Buffer buffer, SpanChunkBo spanChunkBo) {
         final byte version = (byte) spanChunkBo.getVersion();
         buffer.putByte(version);
         if (version == SpanVersion.TRACE_V2) {
             long keyTime = spanChunkBo.getKeyTime();
             buffer.putVLong(keyTime);
         }
-
-        final List<SpanEventBo> spanEventBoList = spanChunkBo.getSpanEventBoList();
-        writeSpanEventList(buffer, spanEventBoList, encodingContext);
-
-        return buffer.wrapByteBuffer();
     }
 
     private void writeSpanEventList(Buffer buffer, List<SpanEventBo> spanEventBoList, SpanEncodingContext<?> encodingContext) {
@@ -132,11 +180,26 @@ public class SpanEncoderV0 implements SpanEncoder {
 
     @Override
     public ByteBuffer encodeSpanColumnValue(SpanEncodingContext<SpanBo> encodingContext) {
+        final Buffer buffer = new AutomaticBuffer(COLUMN_VALUE_BUFFER_SIZE);
+        writeSpanColumnValue(buffer, encodingContext);
+        return compressColumnValue(buffer.wrapByteBuffer());
+    }
+
+    @Override
+    public void writeSpanColumnValue(Buffer buffer, SpanEncodingContext<SpanBo> encodingContext) {
         final SpanBo span = encodingContext.getValue();
 
-        final SpanBitField bitField = SpanBitField.build(span);
+        writeSpan(buffer, span, encodingContext);
+
+        final List<SpanEventBo> spanEventBoList = span.getSpanEventBoList();
+        writeSpanEventList(buffer, spanEventBoList, encodingContext);
+    }
 
-        final Buffer buffer = new AutomaticBuffer(256);
+    /**
+     * Writes the span fields preceding the span event list.
+     */
+    public void writeSpan(Buffer buffer, SpanBo span, SpanEncodingContext<?> encodingContext) {
+        final SpanBitField bitField = SpanBitField.build(span);
 
         final byte version = span.getRawVersion();
         buffer.putByte(version);
@@ -212,11 +275,6 @@ public class SpanEncoderV0 implements SpanEncoder {
             List<AttributeBo> attributeBoList = span.getAttributeBoList();
             attributeTranscoder.writeAttributeList(buffer, attributeBoList);
         }
-
-        final List<SpanEventBo> spanEventBoList = span.getSpanEventBoList();
-        writeSpanEventList(buffer, spanEventBoList, encodingContext);
-
-        return buffer.wrapByteBuffer();
     }
 
     public void writeFirstSpanEvent(Buffer buffer, SpanEventBo spanEventBo, SpanEncodingContext<?> encodingContext) {
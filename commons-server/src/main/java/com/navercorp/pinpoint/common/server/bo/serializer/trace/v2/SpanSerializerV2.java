@@ -1,5 +1,7 @@
 package com.navercorp.pinpoint.common.server.bo.serializer.trace.v2;
 
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.BufferPool;
 import com.navercorp.pinpoint.common.hbase.HbaseTables;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.serializer.HbaseSerializer;
@@ -16,9 +18,15 @@ public class SpanSerializerV2 implements HbaseSerializer<SpanBo, Put> {
 
 
     private final SpanEncoder spanEncoder;
+    private final BufferPool bufferPool;
 
     public SpanSerializerV2(SpanEncoder spanEncoder) {
+        this(spanEncoder, BufferPool.UNPOOLED);
+    }
+
+    public SpanSerializerV2(SpanEncoder spanEncoder, BufferPool bufferPool) {
         this.spanEncoder = Objects.requireNonNull(spanEncoder, "spanEncoder");
+        this.bufferPool = Objects.requireNonNull(bufferPool, "bufferPool");
     }
 
 
@@ -27,11 +35,21 @@ public class SpanSerializerV2 implements HbaseSerializer<SpanBo, Put> {
 
         final SpanEncodingContext<SpanBo> encodingContext = new SpanEncodingContext<>(spanBo);
 
-        ByteBuffer qualifier = spanEncoder.encodeSpanQualifier(encodingContext);
-        ByteBuffer columnValue = spanEncoder.encodeSpanColumnValue(encodingContext);
-
-        long acceptedTime = put.getTimestamp();
-        put.addColumn(HbaseTables.TRACE_V2_SPAN.getName(), qualifier, acceptedTime, columnValue);
+        final Buffer qualifier = bufferPool.acquire(SpanEncoder.QUALIFIER_BUFFER_SIZE);
+        final Buffer columnValue = bufferPool.acquire(SpanEncoder.COLUMN_VALUE_BUFFER_SIZE);
+        try {
+            spanEncoder.writeSpanQualifier(qualifier, encodingContext);
+            spanEncoder.writeSpanColumnValue(columnValue, encodingContext);
+
+            final ByteBuffer value = spanEncoder.compressColumnValue(columnValue.wrapByteBuffer());
+
+            long acceptedTime = put.getTimestamp();
+            // Put copies qualifier and value into its own KeyValue, so the buffers can be recycled right after
+            put.addColumn(HbaseTables.TRACE_V2_SPAN.getName(), qualifier.wrapByteBuffer(), acceptedTime, value);
+        } finally {
+            bufferPool.release(columnValue);
+            bufferPool.release(qualifier);
+        }
     }
 
 
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.compress;
+
+/**
+ * Compression algorithm of a span column value.
+ * The id is stored in the header of every compressed value and must never be reassigned.
+ */
+public interface SpanValueCodec {
+
+    /**
+     * @return 1 ~ {@link SpanValueCompression#MAX_CODEC_ID}
+     */
+    byte getId();
+
+    byte[] compress(byte[] src, int offset, int length);
+
+    byte[] decompress(byte[] src, int offset, int length, int rawLength);
+
+}
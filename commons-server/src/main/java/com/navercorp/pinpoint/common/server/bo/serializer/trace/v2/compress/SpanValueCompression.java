@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.compress;
+
+import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.FixedBuffer;
+import com.navercorp.pinpoint.common.util.BytesUtils;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Optional compression of span column values.
+ * <p>
+ * An uncompressed value starts with the span version (0 or 1).
+ * A compressed value starts with {@code COMPRESSED_FLAG | codecId}, followed by the raw length (vint) and the codec payload,
+ * so compressed and uncompressed cells can be decoded from the same table.
+ * Values smaller than {@code minSize}, or not getting smaller, are stored as is.
+ */
+public class SpanValueCompression {
+
+    public static final byte COMPRESSED_FLAG = (byte) 0x80;
+    public static final int MAX_CODEC_ID = 0x7F;
+
+    /**
+     * Does not compress, decompresses values written without dictionary.
+     */
+    public static final SpanValueCompression NONE = new SpanValueCompression(null, 0, List.of(new ZstdSpanValueCodec()));
+
+    private final SpanValueCodec writeCodec;
+    private final int minSize;
+    private final SpanValueCodec[] readCodecs = new SpanValueCodec[MAX_CODEC_ID + 1];
+
+    /**
+     * @param writeCodec nullable, values are not compressed if null
+     * @param readCodecs codecs able to decompress existing data, writeCodec is always included
+     */
+    public SpanValueCompression(SpanValueCodec writeCodec, int minSize, List<SpanValueCodec> readCodecs) {
+        Objects.requireNonNull(readCodecs, "readCodecs");
+        this.writeCodec = writeCodec;
+        this.minSize = minSize;
+        for (SpanValueCodec codec : readCodecs) {
+            register(codec);
+        }
+        if (writeCodec != null) {
+            register(writeCodec);
+        }
+    }
+
+    private void register(SpanValueCodec codec) {
+        final int id = codec.getId();
+        if (id <= 0 || id > MAX_CODEC_ID) {
+            throw new IllegalArgumentException("invalid codec id:" + id);
+        }
+        readCodecs[id] = codec;
+    }
+
+    public static boolean isCompressed(byte firstByte) {
+        return (firstByte & COMPRESSED_FLAG) != 0;
+    }
+
+    public boolean isEnabled() {
+        return writeCodec != null;
+    }
+
+    public ByteBuffer compress(ByteBuffer value) {
+        if (writeCodec == null) {
+            return value;
+        }
+        final int rawLength = value.remaining();
+        if (rawLength < minSize || !value.hasArray()) {
+            return value;
+        }
+        final byte[] payload = writeCodec.compress(value.array(), value.arrayOffset() + value.position(), rawLength);
+
+        final int headerSize = 1 + BytesUtils.computeVar32Size(rawLength);
+        if (headerSize + payload.length >= rawLength) {
+            return value;
+        }
+        final Buffer buffer = new AutomaticBuffer(headerSize + payload.length);
+        buffer.putByte((byte) (COMPRESSED_FLAG | writeCodec.getId()));
+        buffer.putVInt(rawLength);
+        buffer.putBytes(payload);
+        return buffer.wrapByteBuffer();
+    }
+
+    /**
+     * @return columnValue itself if not compressed
+     */
+    public Buffer decompress(Buffer columnValue) {
+        final int start = columnValue.getOffset();
+        final byte header = columnValue.readByte();
+        if (!isCompressed(header)) {
+            columnValue.setOffset(start);
+            return columnValue;
+        }
+        final int id = header & MAX_CODEC_ID;
+        final SpanValueCodec codec = readCodecs[id];
+        if (codec == null) {
+            throw new IllegalStateException("unknown span value codec:" + id);
+        }
+        final int rawLength = columnValue.readVInt();
+        final byte[] raw = codec.decompress(columnValue.getInternalBuffer(), columnValue.getOffset(), columnValue.remaining(), rawLength);
+        return new FixedBuffer(raw);
+    }
+
+    @Override
+    public String toString() {
+        return "SpanValueCompression{" +
+                "writeCodec=" + writeCodec +
+                ", minSize=" + minSize +
+                '}';
+    }
+}
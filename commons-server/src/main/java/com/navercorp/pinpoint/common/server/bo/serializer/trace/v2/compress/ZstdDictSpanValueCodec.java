@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.compress;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.navercorp.pinpoint.common.util.BytesUtils;
+import org.eclipse.collections.api.factory.primitive.IntObjectMaps;
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Zstandard with a shared trained dictionary (see {@code zstd --train}).
+ * <p>
+ * The value is prefixed with the id of the dictionary it was compressed with.
+ * The first dictionary compresses, all of them decompress,
+ * so a newly trained dictionary can be rolled out while the old one is still needed for old data.
+ */
+public class ZstdDictSpanValueCodec implements SpanValueCodec {
+
+    public static final byte ID = 2;
+
+    private static final int DICT_ID_SIZE = BytesUtils.INT_BYTE_LENGTH;
+
+    private final int dictId;
+    private final ZstdDictCompress compressDict;
+    private final MutableIntObjectMap<ZstdDictDecompress> decompressDicts = IntObjectMaps.mutable.empty();
+
+    public ZstdDictSpanValueCodec(int level, List<byte[]> dictionaries) {
+        Objects.requireNonNull(dictionaries, "dictionaries");
+        if (dictionaries.isEmpty()) {
+            throw new IllegalArgumentException("dictionaries must not be empty");
+        }
+        final byte[] first = dictionaries.get(0);
+        this.dictId = (int) Zstd.getDictIdFromDict(first);
+        this.compressDict = new ZstdDictCompress(first, level);
+        for (byte[] dictionary : dictionaries) {
+            final int id = (int) Zstd.getDictIdFromDict(dictionary);
+            if (decompressDicts.containsKey(id)) {
+                throw new IllegalArgumentException("duplicated dictionary id:" + id);
+            }
+            decompressDicts.put(id, new ZstdDictDecompress(dictionary));
+        }
+    }
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public byte[] compress(byte[] src, int offset, int length) {
+        final byte[] dst = new byte[DICT_ID_SIZE + Math.toIntExact(Zstd.compressBound(length))];
+        BytesUtils.writeInt(dictId, dst, 0);
+        final long size = Zstd.compressFastDict(dst, DICT_ID_SIZE, src, offset, length, compressDict);
+        ZstdSpanValueCodec.checkError(size);
+        return Arrays.copyOf(dst, DICT_ID_SIZE + (int) size);
+    }
+
+    @Override
+    public byte[] decompress(byte[] src, int offset, int length, int rawLength) {
+        final int id = BytesUtils.bytesToInt(src, offset);
+        final ZstdDictDecompress dict = decompressDicts.get(id);
+        if (dict == null) {
+            throw new IllegalStateException("unknown zstd dictionary id:" + id);
+        }
+        final byte[] dst = new byte[rawLength];
+        final long size = Zstd.decompressFastDict(dst, 0, src, offset + DICT_ID_SIZE, length - DICT_ID_SIZE, dict);
+        ZstdSpanValueCodec.checkError(size);
+        ZstdSpanValueCodec.checkLength(size, rawLength);
+        return dst;
+    }
+
+    @Override
+    public String toString() {
+        return "ZstdDictSpanValueCodec{" +
+                "dictId=" + dictId +
+                ", dictionaries=" + decompressDicts.size() +
+                '}';
+    }
+}
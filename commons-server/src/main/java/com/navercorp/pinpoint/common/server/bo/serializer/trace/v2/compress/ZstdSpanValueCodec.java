@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.compress;
+
+import com.github.luben.zstd.Zstd;
+
+import java.util.Arrays;
+
+/**
+ * Zstandard without dictionary.
+ */
+public class ZstdSpanValueCodec implements SpanValueCodec {
+
+    public static final byte ID = 1;
+
+    public static final int DEFAULT_LEVEL = 3;
+
+    private final int level;
+
+    public ZstdSpanValueCodec() {
+        this(DEFAULT_LEVEL);
+    }
+
+    public ZstdSpanValueCodec(int level) {
+        this.level = level;
+    }
+
+    @Override
+    public byte getId() {
+        return ID;
+    }
+
+    @Override
+    public byte[] compress(byte[] src, int offset, int length) {
+        final byte[] dst = new byte[Math.toIntExact(Zstd.compressBound(length))];
+        final long size = Zstd.compressByteArray(dst, 0, dst.length, src, offset, length, level);
+        checkError(size);
+        return Arrays.copyOf(dst, (int) size);
+    }
+
+    @Override
+    public byte[] decompress(byte[] src, int offset, int length, int rawLength) {
+        final byte[] dst = new byte[rawLength];
+        final long size = Zstd.decompressByteArray(dst, 0, rawLength, src, offset, length);
+        checkError(size);
+        checkLength(size, rawLength);
+        return dst;
+    }
+
+    static void checkError(long code) {
+        if (Zstd.isError(code)) {
+            throw new IllegalStateException("zstd error:" + Zstd.getErrorName(code));
+        }
+    }
+
+    static void checkLength(long size, int rawLength) {
+        if (size != rawLength) {
+            throw new IllegalStateException("corrupted span value. expected:" + rawLength + " actual:" + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ZstdSpanValueCodec{" +
+                "level=" + level +
+                '}';
+    }
+}
@@ -1,5 +1,7 @@
 package com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.config;
 
+import com.navercorp.pinpoint.common.buffer.BufferPool;
+import com.navercorp.pinpoint.common.buffer.ThreadLocalBufferPool;
 import com.navercorp.pinpoint.common.hbase.wd.RowKeyDistributor;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanChunkSerializerV2;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanDecoderV0;
@@ -8,30 +10,106 @@ import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoderV0
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanSerializerV2;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.TraceRowKeyDecoderV2;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.TraceRowKeyEncoderV2;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.compress.SpanValueCodec;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.compress.SpanValueCompression;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.compress.ZstdDictSpanValueCodec;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.compress.ZstdSpanValueCodec;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 public class SpanSerializeConfiguration {
+    private final Logger logger = LogManager.getLogger(SpanSerializeConfiguration.class);
+
+    @Bean
+    public BufferPool spanEncodeBufferPool(@Value("${collector.span.encode.buffer-pool.enable:false}") boolean enable,
+                                           @Value("${collector.span.encode.buffer-pool.max-retained-size:65536}") int maxRetainedSize,
+                                           @Value("${collector.span.encode.buffer-pool.max-buffers-per-thread:4}") int maxBuffersPerThread) {
+        if (!enable) {
+            return BufferPool.UNPOOLED;
+        }
+        BufferPool bufferPool = new ThreadLocalBufferPool(maxRetainedSize, maxBuffersPerThread);
+        logger.info("Span encode {}", bufferPool);
+        return bufferPool;
+    }
+
+    @Bean
+    public SpanChunkSerializerV2 spanChunkSerializerV2(SpanEncoder spanEncoder,
+                                                       @Qualifier("spanEncodeBufferPool") BufferPool bufferPool) {
+        return new SpanChunkSerializerV2(spanEncoder, bufferPool);
+    }
+
     @Bean
-    public SpanChunkSerializerV2 spanChunkSerializerV2(SpanEncoder spanEncoder) {
-        return new SpanChunkSerializerV2(spanEncoder);
+    public SpanSerializerV2 spanSerializerV2(SpanEncoder spanEncoder,
+                                             @Qualifier("spanEncodeBufferPool") BufferPool bufferPool) {
+        return new SpanSerializerV2(spanEncoder, bufferPool);
     }
 
+    /**
+     * @param codec none, zstd
+     * @param dictionaries comma separated resource locations of zstd dictionaries, the first one is used for compression.
+     *                     Dictionaries used by existing data have to remain listed to read them.
+     */
     @Bean
-    public SpanSerializerV2 spanSerializerV2(SpanEncoder spanEncoder) {
-        return new SpanSerializerV2(spanEncoder);
+    public SpanValueCompression spanValueCompression(@Value("${collector.span.compression.codec:none}") String codec,
+                                                     @Value("${collector.span.compression.level:3}") int level,
+                                                     @Value("${collector.span.compression.min-size:256}") int minSize,
+                                                     @Value("${pinpoint.span.compression.zstd.dictionary:}") String dictionaries) {
+        final List<byte[]> dictionaryList = loadDictionaries(dictionaries);
+        final ZstdDictSpanValueCodec dictCodec = dictionaryList.isEmpty() ? null : new ZstdDictSpanValueCodec(level, dictionaryList);
+
+        final List<SpanValueCodec> readCodecs = new ArrayList<>();
+        readCodecs.add(new ZstdSpanValueCodec(level));
+        if (dictCodec != null) {
+            readCodecs.add(dictCodec);
+        }
+
+        final SpanValueCodec writeCodec = switch (codec.toLowerCase()) {
+            case "none" -> null;
+            case "zstd" -> dictCodec != null ? dictCodec : new ZstdSpanValueCodec(level);
+            default -> throw new IllegalArgumentException("unsupported span compression codec:" + codec);
+        };
+        final SpanValueCompression compression = new SpanValueCompression(writeCodec, minSize, readCodecs);
+        logger.info("{}", compression);
+        return compression;
+    }
+
+    private List<byte[]> loadDictionaries(String locations) {
+        final ResourceLoader resourceLoader = new DefaultResourceLoader();
+        final List<byte[]> dictionaries = new ArrayList<>();
+        for (String location : StringUtils.tokenizeToStringArray(locations, ",")) {
+            final Resource resource = resourceLoader.getResource(location);
+            try (InputStream inputStream = resource.getInputStream()) {
+                dictionaries.add(inputStream.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException("zstd dictionary load failed. " + location, e);
+            }
+        }
+        return dictionaries;
     }
 
     @Bean
-    public SpanDecoderV0 spanDecoderV0() {
-        return new SpanDecoderV0();
+    public SpanDecoderV0 spanDecoderV0(SpanValueCompression spanValueCompression) {
+        return new SpanDecoderV0(spanValueCompression);
     }
 
     @Bean
-    public SpanEncoderV0 spanEncoderV0() {
-        return new SpanEncoderV0();
+    public SpanEncoderV0 spanEncoderV0(SpanValueCompression spanValueCompression) {
+        return new SpanEncoderV0(spanValueCompression);
     }
 
 
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.io;
+
+import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.server.bo.filter.SpanEventFilter;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.EncodedSpan;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoder;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoderV0;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncodingContext;
+import com.navercorp.pinpoint.grpc.trace.PSpan;
+import com.navercorp.pinpoint.grpc.trace.PSpanChunk;
+import com.navercorp.pinpoint.grpc.trace.PSpanEvent;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Encodes {@link PSpan} and {@link PSpanChunk} into the TRACE_V2 span column without building the span event list.
+ * <p>
+ * Only the span header is bound, span events are bound one at a time and written right away.
+ * The column is the same as the one written from the {@link SpanBo} of {@link CollectorGrpcSpanFactory}.
+ * Messages requiring the sort or the filter of span events are not encoded, they have to go through {@link GrpcSpanFactory}.
+ * <p>
+ * The span of the {@link EncodedSpan} keeps only the span events accepted by {@code retainedSpanEvent},
+ * e.g. the span events the application map statistics are built from.
+ */
+public class GrpcSpanColumnEncoder {
+
+    private final GrpcSpanBinder grpcBinder;
+    private final SpanEncoderV0 spanEncoder;
+    private final SpanEventFilter spanEventFilter;
+    private final Predicate<SpanEventBo> retainedSpanEvent;
+
+    /**
+     * @param spanEventFilter nullable, same as {@link CollectorGrpcSpanFactory}
+     */
+    public GrpcSpanColumnEncoder(GrpcSpanBinder grpcBinder, SpanEncoderV0 spanEncoder, SpanEventFilter spanEventFilter) {
+        this(grpcBinder, spanEncoder, spanEventFilter, null);
+    }
+
+    /**
+     * @param spanEventFilter   nullable, same as {@link CollectorGrpcSpanFactory}
+     * @param retainedSpanEvent nullable, span events added to the span event list of the encoded span. none if null
+     */
+    public GrpcSpanColumnEncoder(GrpcSpanBinder grpcBinder, SpanEncoderV0 spanEncoder, SpanEventFilter spanEventFilter,
+                                 Predicate<SpanEventBo> retainedSpanEvent) {
+        this.grpcBinder = Objects.requireNonNull(grpcBinder, "grpcBinder");
+        this.spanEncoder = Objects.requireNonNull(spanEncoder, "spanEncoder");
+        this.spanEventFilter = spanEventFilter;
+        this.retainedSpanEvent = retainedSpanEvent;
+    }
+
+    /**
+     * @return null if the span has to be built with {@link GrpcSpanFactory#buildSpanBo}
+     */
+    public EncodedSpan encodeSpan(PSpan pSpan, ServerHeader header, long requestTime) {
+        final List<PSpanEvent> pSpanEventList = pSpan.getSpanEventList();
+        if (!isSequenceOrdered(pSpanEventList)) {
+            return null;
+        }
+
+        final SpanBo spanBo = grpcBinder.bindSpanBo(pSpan, header, requestTime);
+        final SpanEventBo firstEvent = bindFirstSpanEvent(pSpanEventList);
+        if (!accept(firstEvent)) {
+            return null;
+        }
+
+        final SpanEncodingContext<SpanBo> encodingContext = new SpanEncodingContext<>(spanBo);
+        final Buffer buffer = new AutomaticBuffer(256);
+        spanEncoder.writeSpan(buffer, spanBo, encodingContext);
+        if (!writeSpanEventList(buffer, pSpanEventList, firstEvent, encodingContext, spanBo::addSpanEvent)) {
+            return null;
+        }
+
+        final ByteBuffer qualifier = spanEncoder.encodeQualifier(SpanEncoder.TYPE_SPAN, spanBo, firstEvent, null);
+        return new EncodedSpan(spanBo, qualifier, spanEncoder.compressColumnValue(buffer.wrapByteBuffer()));
+    }
+
+    /**
+     * @return null if the span chunk has to be built with {@link GrpcSpanFactory#buildSpanChunkBo}
+     */
+    public EncodedSpan encodeSpanChunk(PSpanChunk pSpanChunk, ServerHeader header, long requestTime) {
+        final List<PSpanEvent> pSpanEventList = pSpanChunk.getSpanEventList();
+        // an empty span chunk is not stored
+        if (pSpanEventList.isEmpty() || !isSequenceOrdered(pSpanEventList)) {
+            return null;
+        }
+
+        final SpanChunkBo spanChunkBo = grpcBinder.bindSpanChunkBo(pSpanChunk, header, requestTime);
+        final SpanEventBo firstEvent = bindFirstSpanEvent(pSpanEventList);
+        if (!accept(firstEvent)) {
+            return null;
+        }
+
+        final SpanEncodingContext<SpanChunkBo> encodingContext = new SpanEncodingContext<>(spanChunkBo);
+        final Buffer buffer = new AutomaticBuffer(256);
+        spanEncoder.writeSpanChunk(buffer, spanChunkBo);
+        if (!writeSpanEventList(buffer, pSpanEventList, firstEvent, encodingContext, spanChunkBo::addSpanEvent)) {
+            return null;
+        }
+
+        final ByteBuffer qualifier = spanEncoder.encodeQualifier(SpanEncoder.TYPE_SPAN_CHUNK, spanChunkBo, firstEvent, spanChunkBo.getLocalAsyncId());
+        return new EncodedSpan(spanChunkBo, qualifier, spanEncoder.compressColumnValue(buffer.wrapByteBuffer()));
+    }
+
+    /**
+     * The object path sorts span events by sequence with a stable sort,
+     * so events already in sequence order are written in the received order.
+     */
+    static boolean isSequenceOrdered(List<PSpanEvent> pSpanEventList) {
+        int prevSequence = Integer.MIN_VALUE;
+        for (PSpanEvent pSpanEvent : pSpanEventList) {
+            // compared as short, same as SpanEventBo
+            final int sequence = (short) pSpanEvent.getSequence();
+            if (sequence < prevSequence) {
+                return false;
+            }
+            prevSequence = sequence;
+        }
+        return true;
+    }
+
+    private SpanEventBo bindFirstSpanEvent(List<PSpanEvent> pSpanEventList) {
+        if (pSpanEventList.isEmpty()) {
+            return null;
+        }
+        return grpcBinder.buildSpanEventBo(pSpanEventList.get(0), null);
+    }
+
+    private boolean writeSpanEventList(Buffer buffer, List<PSpanEvent> pSpanEventList, SpanEventBo firstEvent,
+                                       SpanEncodingContext<?> encodingContext, Consumer<SpanEventBo> spanEventList) {
+        buffer.putVInt(pSpanEventList.size());
+        if (firstEvent == null) {
+            return true;
+        }
+        spanEncoder.writeFirstSpanEvent(buffer, firstEvent, encodingContext);
+        retain(firstEvent, spanEventList);
+
+        SpanEventBo prevSpanEvent = firstEvent;
+        for (int i = 1; i < pSpanEventList.size(); i++) {
+            // start elapsed and depth are delta decoded in the received order, same as GrpcSpanBinder.bindSpanEventBoList
+            final SpanEventBo spanEventBo = grpcBinder.buildSpanEventBo(pSpanEventList.get(i), prevSpanEvent);
+            if (!accept(spanEventBo)) {
+                return false;
+            }
+            spanEncoder.writeNextSpanEvent(buffer, spanEventBo, prevSpanEvent, encodingContext);
+            retain(spanEventBo, spanEventList);
+            prevSpanEvent = spanEventBo;
+        }
+        return true;
+    }
+
+    private void retain(SpanEventBo spanEventBo, Consumer<SpanEventBo> spanEventList) {
+        if (retainedSpanEvent != null && retainedSpanEvent.test(spanEventBo)) {
+            spanEventList.accept(spanEventBo);
+        }
+    }
+
+    private boolean accept(SpanEventBo spanEventBo) {
+        if (spanEventBo == null || spanEventFilter == null) {
+            return true;
+        }
+        return spanEventFilter.filter(spanEventBo) == SpanEventFilter.ACCEPT;
+    }
+}
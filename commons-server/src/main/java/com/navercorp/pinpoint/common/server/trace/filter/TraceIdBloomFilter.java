@@ -0,0 +1,125 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.trace.filter;
+
+import org.apache.commons.codec.digest.MurmurHash3;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free bloom filter of trace row keys.
+ * <p>
+ * {@link #mightContain(byte[])} never returns false for a key that was {@link #put(byte[]) put},
+ * so a negative answer proves the key was not added.
+ */
+public class TraceIdBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final int numHashes;
+
+    public static TraceIdBloomFilter create(long expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("fpp must be in (0, 1)");
+        }
+        final long numBits = optimalNumBits(expectedInsertions, fpp);
+        final int numWords = Math.toIntExact((numBits + Long.SIZE - 1) / Long.SIZE);
+        final int numHashes = optimalNumHashes(expectedInsertions, (long) numWords * Long.SIZE);
+        return new TraceIdBloomFilter(new long[numWords], numHashes);
+    }
+
+    static long optimalNumBits(long n, double p) {
+        return Math.max(Long.SIZE, (long) (-n * Math.log(p) / (Math.log(2) * Math.log(2))));
+    }
+
+    static int optimalNumHashes(long n, long m) {
+        return Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+    }
+
+    public TraceIdBloomFilter(long[] words, int numHashes) {
+        if (words.length == 0) {
+            throw new IllegalArgumentException("words must not be empty");
+        }
+        if (numHashes <= 0) {
+            throw new IllegalArgumentException("numHashes must be positive");
+        }
+        this.words = new AtomicLongArray(words);
+        this.numBits = (long) words.length * Long.SIZE;
+        this.numHashes = numHashes;
+    }
+
+    public void put(byte[] key) {
+        final long[] hash = MurmurHash3.hash128x64(key);
+        long combined = hash[0];
+        for (int i = 0; i < numHashes; i++) {
+            final long bitIndex = (combined & Long.MAX_VALUE) % numBits;
+            final int wordIndex = (int) (bitIndex >>> 6);
+            final long mask = 1L << bitIndex;
+            if ((words.get(wordIndex) & mask) == 0) {
+                words.getAndAccumulate(wordIndex, mask, TraceIdBloomFilter::or);
+            }
+            combined += hash[1];
+        }
+    }
+
+    private static long or(long word, long mask) {
+        return word | mask;
+    }
+
+    public boolean mightContain(byte[] key) {
+        final long[] hash = MurmurHash3.hash128x64(key);
+        long combined = hash[0];
+        for (int i = 0; i < numHashes; i++) {
+            final long bitIndex = (combined & Long.MAX_VALUE) % numBits;
+            if ((words.get((int) (bitIndex >>> 6)) & (1L << bitIndex)) == 0) {
+                return false;
+            }
+            combined += hash[1];
+        }
+        return true;
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    public int getNumWords() {
+        return words.length();
+    }
+
+    /**
+     * @return copy of the bits, keys put concurrently may or may not be included
+     */
+    public long[] toWords() {
+        final long[] copy = new long[words.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = words.get(i);
+        }
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return "TraceIdBloomFilter{" +
+                "numBits=" + numBits +
+                ", numHashes=" + numHashes +
+                '}';
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.trace.filter;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Filters written by every collector for one time bucket.
+ * <p>
+ * A trace is known to be absent only if every filter covers its accept time and none of them contains it.
+ * A collector writes its filter, tainted if needed, before storing the first span of a bucket, so it is never missing here.
+ */
+public class TraceIdFilterBucket {
+
+    private final List<TraceIdFilterSnapshot> snapshots;
+
+    public TraceIdFilterBucket(List<TraceIdFilterSnapshot> snapshots) {
+        this.snapshots = Objects.requireNonNull(snapshots, "snapshots");
+    }
+
+    public boolean mightContain(long collectorAcceptTime, byte[] traceRowKey) {
+        if (snapshots.isEmpty()) {
+            return true;
+        }
+        for (TraceIdFilterSnapshot snapshot : snapshots) {
+            if (!snapshot.covers(collectorAcceptTime)) {
+                return true;
+            }
+            if (snapshot.filter().mightContain(traceRowKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "TraceIdFilterBucket{" +
+                "snapshots=" + snapshots.size() +
+                '}';
+    }
+}
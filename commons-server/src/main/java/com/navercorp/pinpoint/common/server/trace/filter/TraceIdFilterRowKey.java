@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.trace.filter;
+
+import com.navercorp.pinpoint.common.util.BytesUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row key of the trace id filter bucket in {@code TraceV2:F}.
+ * <p>
+ * {@code salt(1) + 0x00 + bucketStart(8)}.
+ * Its 10 byte length keeps it apart from trace row keys, 17 bytes for an OpenTelemetry trace id
+ * and {@code salt + agentId(24) + agentStartTime(8) + sequence(8)} for a Pinpoint one.
+ * The zero byte alone would not, an OpenTelemetry trace id may start with it.
+ */
+public final class TraceIdFilterRowKey {
+
+    public static final long BUCKET_SIZE = TimeUnit.HOURS.toMillis(1);
+
+    private static final int ROW_KEY_SIZE = 2 + BytesUtils.LONG_BYTE_LENGTH;
+
+    private TraceIdFilterRowKey() {
+    }
+
+    public static long bucketStart(long collectorAcceptTime) {
+        return collectorAcceptTime - Math.floorMod(collectorAcceptTime, BUCKET_SIZE);
+    }
+
+    public static byte[] encodeRowKey(long bucketStart) {
+        final byte[] rowKey = new byte[ROW_KEY_SIZE];
+        rowKey[0] = (byte) (bucketStart / BUCKET_SIZE);
+        rowKey[1] = 0;
+        BytesUtils.writeLong(bucketStart, rowKey, 2);
+        return rowKey;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.trace.filter;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.FixedBuffer;
+import com.navercorp.pinpoint.common.util.BytesUtils;
+
+import java.util.Objects;
+
+/**
+ * Bloom filter of one collector for one time bucket, as stored in {@code TraceV2:F}.
+ *
+ * @param snapshotTime every span accepted before {@code snapshotTime - maxLag} is included, 0 if unknown
+ * @param maxLag       max delay between the collector accept time of a span and its insertion into the filter
+ */
+public record TraceIdFilterSnapshot(long snapshotTime, long maxLag, TraceIdBloomFilter filter) {
+
+    private static final byte VERSION = 0;
+    private static final int HEADER_SIZE = 1 + BytesUtils.LONG_BYTE_LENGTH * 2 + BytesUtils.INT_BYTE_LENGTH * 2;
+
+    public TraceIdFilterSnapshot {
+        Objects.requireNonNull(filter, "filter");
+    }
+
+    /**
+     * @return true if every span accepted at {@code collectorAcceptTime} is included in the filter
+     */
+    public boolean covers(long collectorAcceptTime) {
+        if (snapshotTime <= 0) {
+            return false;
+        }
+        return collectorAcceptTime + maxLag < snapshotTime;
+    }
+
+    public byte[] encode() {
+        final long[] words = filter.toWords();
+        final Buffer buffer = new FixedBuffer(HEADER_SIZE + words.length * BytesUtils.LONG_BYTE_LENGTH);
+        buffer.putByte(VERSION);
+        buffer.putLong(snapshotTime);
+        buffer.putLong(maxLag);
+        buffer.putInt(filter.getNumHashes());
+        buffer.putInt(words.length);
+        for (long word : words) {
+            buffer.putLong(word);
+        }
+        return buffer.getBuffer();
+    }
+
+    public static TraceIdFilterSnapshot decode(byte[] value) {
+        Objects.requireNonNull(value, "value");
+        final Buffer buffer = new FixedBuffer(value);
+        final byte version = buffer.readByte();
+        if (version != VERSION) {
+            throw new IllegalStateException("unknown trace id filter version:" + version);
+        }
+        final long snapshotTime = buffer.readLong();
+        final long maxLag = buffer.readLong();
+        final int numHashes = buffer.readInt();
+        final int numWords = buffer.readInt();
+        final long[] words = new long[numWords];
+        for (int i = 0; i < numWords; i++) {
+            words[i] = buffer.readLong();
+        }
+        return new TraceIdFilterSnapshot(snapshotTime, maxLag, new TraceIdBloomFilter(words, numHashes));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.compress;
+
+import com.github.luben.zstd.ZstdDictTrainer;
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.OffsetFixedBuffer;
+import com.navercorp.pinpoint.io.SpanVersion;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class SpanValueCompressionTest {
+
+    @Test
+    public void compress() {
+        SpanValueCompression compression = new SpanValueCompression(new ZstdSpanValueCodec(), 64, List.of());
+        byte[] value = spanValue(2000);
+
+        ByteBuffer compressed = compression.compress(ByteBuffer.wrap(value));
+
+        Assertions.assertTrue(compressed.remaining() < value.length);
+        Assertions.assertTrue(SpanValueCompression.isCompressed(compressed.get(compressed.position())));
+        // readable without the compression option
+        Assertions.assertArrayEquals(value, decompress(SpanValueCompression.NONE, compressed));
+    }
+
+    @Test
+    public void compress_smallValue() {
+        SpanValueCompression compression = new SpanValueCompression(new ZstdSpanValueCodec(), 64, List.of());
+        ByteBuffer value = ByteBuffer.wrap(spanValue(32));
+
+        Assertions.assertSame(value, compression.compress(value));
+    }
+
+    @Test
+    public void compress_disabled() {
+        ByteBuffer value = ByteBuffer.wrap(spanValue(2000));
+
+        Assertions.assertSame(value, SpanValueCompression.NONE.compress(value));
+    }
+
+    @Test
+    public void decompress_uncompressedValue() {
+        byte[] value = spanValue(100);
+        Buffer buffer = new OffsetFixedBuffer(value, 0, value.length);
+
+        Buffer decompressed = SpanValueCompression.NONE.decompress(buffer);
+
+        Assertions.assertSame(buffer, decompressed);
+        Assertions.assertEquals(SpanVersion.TRACE_V2, decompressed.readByte());
+    }
+
+    @Test
+    public void dictionary() {
+        byte[] oldDictionary = trainDictionary("old");
+        byte[] newDictionary = trainDictionary("new");
+        byte[] value = spanValue(500);
+
+        ZstdDictSpanValueCodec oldCodec = new ZstdDictSpanValueCodec(3, List.of(oldDictionary));
+        ByteBuffer oldValue = new SpanValueCompression(oldCodec, 64, List.of()).compress(ByteBuffer.wrap(value));
+
+        ZstdDictSpanValueCodec codec = new ZstdDictSpanValueCodec(3, List.of(newDictionary, oldDictionary));
+        SpanValueCompression compression = new SpanValueCompression(codec, 64, List.of());
+        ByteBuffer newValue = compression.compress(ByteBuffer.wrap(value));
+
+        Assertions.assertArrayEquals(value, decompress(compression, oldValue));
+        Assertions.assertArrayEquals(value, decompress(compression, newValue));
+        Assertions.assertThrows(IllegalStateException.class, () -> decompress(SpanValueCompression.NONE, newValue));
+    }
+
+    private byte[] decompress(SpanValueCompression compression, ByteBuffer value) {
+        byte[] bytes = new byte[value.remaining() + 2];
+        value.duplicate().get(bytes, 1, value.remaining());
+        Buffer buffer = compression.decompress(new OffsetFixedBuffer(bytes, 1, value.remaining()));
+        return buffer.readPadBytes(buffer.remaining());
+    }
+
+    private byte[] spanValue(int size) {
+        byte[] value = new byte[size];
+        byte[] text = "http://localhost:8080/api/v1/users SELECT * FROM user WHERE id = ? ".getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < size; i++) {
+            value[i] = text[i % text.length];
+        }
+        value[0] = SpanVersion.TRACE_V2;
+        return value;
+    }
+
+    private byte[] trainDictionary(String prefix) {
+        ZstdDictTrainer trainer = new ZstdDictTrainer(1024 * 1024, 4 * 1024);
+        for (int i = 0; i < 2000; i++) {
+            String sample = prefix + " /api/v1/users/" + i + " SELECT * FROM user WHERE id = " + (i * 31) + " agent-" + (i % 17);
+            trainer.addSample(sample.getBytes(StandardCharsets.UTF_8));
+        }
+        return trainer.trainSamples();
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.io;
+
+import com.navercorp.pinpoint.common.server.bo.RandomTSpan;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.server.bo.filter.SequenceSpanEventFilter;
+import com.navercorp.pinpoint.common.server.bo.filter.SpanEventFilter;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.EncodedSpan;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoderV0;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncodingContext;
+import com.navercorp.pinpoint.common.server.uid.ServiceUid;
+import com.navercorp.pinpoint.grpc.trace.PSpan;
+import com.navercorp.pinpoint.grpc.trace.PSpanChunk;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GrpcSpanColumnEncoderTest {
+
+    private static final int MAX_SEQUENCE = 10;
+
+    private final long requestTime = System.currentTimeMillis();
+    private final ServerHeader header = new DefaultServerHeader("agentId", "agentName", "applicationName", "serviceName", () -> ServiceUid.DEFAULT, 88, 100, false);
+
+    private final RandomTSpan randomTSpan = new RandomTSpan();
+
+    private final GrpcSpanBinder binder = new GrpcSpanBinder();
+    private final SpanEventFilter filter = new SequenceSpanEventFilter(MAX_SEQUENCE);
+    private final SpanEncoderV0 spanEncoder = new SpanEncoderV0();
+
+    private final GrpcSpanFactory spanFactory = new CollectorGrpcSpanFactory(binder, filter);
+    private final GrpcSpanColumnEncoder columnEncoder = new GrpcSpanColumnEncoder(binder, spanEncoder, filter);
+
+    @RepeatedTest(10)
+    public void encodeSpan() {
+        PSpan pSpan = randomTSpan.randomPSpan()
+                .addSpanEvent(randomTSpan.randomTSpanEvent((short) 1))
+                .addSpanEvent(randomTSpan.randomTSpanEvent((short) 2))
+                .addSpanEvent(randomTSpan.randomTSpanEvent((short) 2))
+                .addSpanEvent(randomTSpan.randomTSpanEvent((short) 5))
+                .build();
+
+        SpanBo spanBo = spanFactory.buildSpanBo(pSpan, header, requestTime);
+        SpanEncodingContext<SpanBo> encodingContext = new SpanEncodingContext<>(spanBo);
+
+        EncodedSpan encodedSpan = columnEncoder.encodeSpan(pSpan, header, requestTime);
+
+        assertThat(encodedSpan).isNotNull();
+        assertThat(encodedSpan.span().getTransactionId()).isEqualTo(spanBo.getTransactionId());
+        assertThat(bytes(encodedSpan.qualifier())).isEqualTo(bytes(spanEncoder.encodeSpanQualifier(encodingContext)));
+        assertThat(bytes(encodedSpan.value())).isEqualTo(bytes(spanEncoder.encodeSpanColumnValue(encodingContext)));
+    }
+
+    @Test
+    public void encodeSpan_retainedSpanEvent() {
+        PSpan pSpan = randomTSpan.randomPSpan()
+                .addSpanEvent(randomTSpan.randomTSpanEvent((short) 1))
+                .addSpanEvent(randomTSpan.randomTSpanEvent((short) 2))
+                .addSpanEvent(randomTSpan.randomTSpanEvent((short) 3))
+                .build();
+
+        SpanBo spanBo = spanFactory.buildSpanBo(pSpan, header, requestTime);
+        SpanEncodingContext<SpanBo> encodingContext = new SpanEncodingContext<>(spanBo);
+
+        GrpcSpanColumnEncoder retainingEncoder = new GrpcSpanColumnEncoder(binder, spanEncoder, filter, spanEvent -> spanEvent.getSequence() != 2);
+        EncodedSpan encodedSpan = retainingEncoder.encodeSpan(pSpan, header, requestTime);
+
+        SpanBo encodedSpanBo = (SpanBo) encodedSpan.span();
+        assertThat(encodedSpanBo.getSpanEventBoList()).extracting(SpanEventBo::getSequence).containsExactly((short) 1, (short) 3);
+        assertThat(bytes(encodedSpan.value())).isEqualTo(bytes(spanEncoder.encodeSpanColumnValue(encodingContext)));
+
+        SpanBo notRetained = (SpanBo) columnEncoder.encodeSpan(pSpan, header, requestTime).span();
+        assertThat(notRetained.getSpanEventBoList()).isEmpty();
+    }
+
+    @Test
+    public void encodeSpan_noSpanEvent() {
+        PSpan pSpan = randomTSpan.randomPSpan().build();
+
+        SpanBo spanBo = spanFactory.buildSpanBo(pSpan, header, requestTime);
+        SpanEncodingContext<SpanBo> encodingContext = new SpanEncodingContext<>(spanBo);
+
+        EncodedSpan encodedSpan = columnEncoder.encodeSpan(pSpan, header, requestTime);
+
+        assertThat(bytes(encodedSpan.qualifier())).isEqualTo(bytes(spanEncoder.encodeSpanQualifier(encodingContext)));
+        assertThat(bytes(encodedSpan.value())).isEqualTo(bytes(spanEncoder.encodeSpanColumnValue(encodingContext)));
+    }
+
+    @RepeatedTest(10)
+    public void encodeSpanChunk() {
+        PSpanChunk pSpanChunk = randomTSpan.randomTSpanChunk()
+                .addSpanEvent(randomTSpan.randomTSpanEvent((short) 3))
+                .addSpanEvent(randomTSpan.randomTSpanEvent((short) 4))
+                .addSpanEvent(randomTSpan.randomTSpanEvent((short) 7))
+                .build();
+
+        SpanChunkBo spanChunkBo = spanFactory.buildSpanChunkBo(pSpanChunk, header, requestTime);
+        SpanEncodingContext<SpanChunkBo> encodingContext = new SpanEncodingContext<>(spanChunkBo);
+
+        EncodedSpan encodedSpan = columnEncoder.encodeSpanChunk(pSpanChunk, header, requestTime);
+
+        assertThat(encodedSpan).isNotNull();
+        assertThat(bytes(encodedSpan.qualifier())).isEqualTo(bytes(spanEncoder.encodeSpanChunkQualifier(encodingContext)));
+        assertThat(bytes(encodedSpan.value())).isEqualTo(bytes(spanEncoder.encodeSpanChunkColumnValue(encodingContext)));
+    }
+
+    @Test
+    public void encodeSpan_unordered_fallback() {
+        PSpan pSpan = randomTSpan.randomPSpan()
+                .addSpanEvent(randomTSpan.randomTSpanEvent((short) 2))
+                .addSpanEvent(randomTSpan.randomTSpanEvent((short) 1))
+                .build();
+
+        assertThat(columnEncoder.encodeSpan(pSpan, header, requestTime)).isNull();
+    }
+
+    @Test
+    public void encodeSpan_filtered_fallback() {
+        PSpan pSpan = randomTSpan.randomPSpan()
+                .addSpanEvent(randomTSpan.randomTSpanEvent((short) 1))
+                .addSpanEvent(randomTSpan.randomTSpanEvent((short) (MAX_SEQUENCE + 1)))
+                .build();
+
+        assertThat(columnEncoder.encodeSpan(pSpan, header, requestTime)).isNull();
+    }
+
+    @Test
+    public void encodeSpanChunk_empty_fallback() {
+        PSpanChunk pSpanChunk = randomTSpan.randomTSpanChunk().build();
+
+        assertThat(columnEncoder.encodeSpanChunk(pSpanChunk, header, requestTime)).isNull();
+    }
+
+    private static byte[] bytes(ByteBuffer byteBuffer) {
+        byte[] bytes = new byte[byteBuffer.remaining()];
+        byteBuffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.trace.filter;
+
+import com.navercorp.pinpoint.common.PinpointConstants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class TraceIdFilterBucketTest {
+
+    private static final long MAX_LAG = 10_000;
+
+    @Test
+    public void noFalseNegative() {
+        TraceIdBloomFilter filter = TraceIdBloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(key(i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            Assertions.assertTrue(filter.mightContain(key(i)));
+        }
+
+        int falsePositive = 0;
+        for (int i = 10_000; i < 20_000; i++) {
+            if (filter.mightContain(key(i))) {
+                falsePositive++;
+            }
+        }
+        Assertions.assertTrue(falsePositive < 300, "falsePositive:" + falsePositive);
+    }
+
+    @Test
+    public void encodeDecode() {
+        TraceIdBloomFilter filter = TraceIdBloomFilter.create(1000, 0.01);
+        filter.put(key(1));
+        TraceIdFilterSnapshot snapshot = new TraceIdFilterSnapshot(1000, MAX_LAG, filter);
+
+        TraceIdFilterSnapshot decoded = TraceIdFilterSnapshot.decode(snapshot.encode());
+
+        Assertions.assertEquals(1000, decoded.snapshotTime());
+        Assertions.assertEquals(MAX_LAG, decoded.maxLag());
+        Assertions.assertEquals(filter.getNumHashes(), decoded.filter().getNumHashes());
+        Assertions.assertArrayEquals(filter.toWords(), decoded.filter().toWords());
+    }
+
+    @Test
+    public void absent() {
+        long acceptTime = TraceIdFilterRowKey.bucketStart(System.currentTimeMillis()) + 100;
+        TraceIdFilterBucket bucket = new TraceIdFilterBucket(List.of(
+                snapshot(acceptTime + MAX_LAG + 1, key(1)),
+                snapshot(acceptTime + MAX_LAG + 1, key(2))));
+
+        Assertions.assertTrue(bucket.mightContain(acceptTime, key(1)));
+        Assertions.assertTrue(bucket.mightContain(acceptTime, key(2)));
+        Assertions.assertFalse(bucket.mightContain(acceptTime, key(3)));
+    }
+
+    @Test
+    public void notCovered() {
+        long acceptTime = TraceIdFilterRowKey.bucketStart(System.currentTimeMillis()) + 100;
+        TraceIdFilterBucket bucket = new TraceIdFilterBucket(List.of(
+                snapshot(acceptTime + MAX_LAG + 1, key(1)),
+                snapshot(acceptTime + MAX_LAG, key(2))));
+
+        Assertions.assertTrue(bucket.mightContain(acceptTime, key(3)));
+    }
+
+    @Test
+    public void tainted() {
+        TraceIdFilterBucket bucket = new TraceIdFilterBucket(List.of(snapshot(0, key(1))));
+
+        Assertions.assertTrue(bucket.mightContain(1000, key(3)));
+    }
+
+    @Test
+    public void unknown() {
+        TraceIdFilterBucket bucket = new TraceIdFilterBucket(List.of());
+
+        Assertions.assertTrue(bucket.mightContain(1000, key(3)));
+    }
+
+    @Test
+    public void rowKey() {
+        long bucketStart = TraceIdFilterRowKey.bucketStart(System.currentTimeMillis());
+        Assertions.assertEquals(0, bucketStart % TraceIdFilterRowKey.BUCKET_SIZE);
+        Assertions.assertEquals(bucketStart, TraceIdFilterRowKey.bucketStart(bucketStart + TraceIdFilterRowKey.BUCKET_SIZE - 1));
+
+        byte[] rowKey = TraceIdFilterRowKey.encodeRowKey(bucketStart);
+        Assertions.assertEquals(0, rowKey[1]);
+        Assertions.assertNotEquals(PinpointConstants.OPENTELEMETRY_TRACE_ID_LEN + 1, rowKey.length);
+    }
+
+    private TraceIdFilterSnapshot snapshot(long snapshotTime, byte[] key) {
+        TraceIdBloomFilter filter = TraceIdBloomFilter.create(1000, 0.01);
+        filter.put(key);
+        return new TraceIdFilterSnapshot(snapshotTime, MAX_LAG, filter);
+    }
+
+    private static byte[] key(int i) {
+        return ("agent^1700000000000^" + i).getBytes(StandardCharsets.UTF_8);
+    }
+}
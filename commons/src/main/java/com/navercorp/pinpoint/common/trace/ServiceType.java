@@ -189,6 +189,7 @@ import static com.navercorp.pinpoint.common.trace.ServiceTypeProperty.TERMINAL;
  * <tr><td>5501</td><td>IBATIS-SPRING</td></tr>
  * <tr><td>5510</td><td>MYBATIS</td></tr>
  * <tr><td>6001</td><td>THREAD_ASYNC</td></tr>
+ * <tr><td>6002</td><td>VIRTUAL_THREAD</td></tr>
  * <tr><td>6005</td><td>PROCESS</td></tr>
  * <tr><td>6050</td><td>DBCP</td></tr>
  * <tr><td>6052</td><td>DBCP2</td></tr>
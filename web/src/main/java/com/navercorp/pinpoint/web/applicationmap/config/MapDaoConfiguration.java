@@ -29,6 +29,7 @@ import com.navercorp.pinpoint.common.hbase.scan.ResultScannerFactory;
 import com.navercorp.pinpoint.common.hbase.util.ScanMetricReporter;
 import com.navercorp.pinpoint.common.server.executor.ExecutorCustomizer;
 import com.navercorp.pinpoint.common.server.executor.ExecutorProperties;
+import com.navercorp.pinpoint.web.applicationmap.dao.cache.MapSlotCache;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hbase.client.AsyncConnection;
 import org.apache.hadoop.hbase.client.Connection;
@@ -38,10 +39,12 @@ import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.scheduling.concurrent.ThreadPoolExecutorFactoryBean;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 
@@ -110,5 +113,14 @@ public class MapDaoConfiguration {
         return config.hbaseTemplate(configurable, tableFactory, asyncTemplate, parallelScan, nativeAsync, resultScannerFactory, reporter);
     }
 
+    @Bean
+    @ConditionalOnProperty(name = "web.servermap.slot-cache.enable", havingValue = "true")
+    public MapSlotCache mapSlotCache(@Value("${web.servermap.slot-cache.max-weight:200000}") long maximumWeight,
+                                     @Value("${web.servermap.slot-cache.close-delay:120000}") long closeDelayMillis,
+                                     @Value("${web.servermap.slot-cache.expire-after-access:600000}") long expireAfterAccessMillis) {
+        logger.info("MapSlotCache maximumWeight:{} closeDelay:{}ms expireAfterAccess:{}ms", maximumWeight, closeDelayMillis, expireAfterAccessMillis);
+        return new MapSlotCache(maximumWeight, Duration.ofMillis(closeDelayMillis), Duration.ofMillis(expireAfterAccessMillis));
+    }
+
 }
 
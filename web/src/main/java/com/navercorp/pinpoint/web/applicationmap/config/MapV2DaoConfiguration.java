@@ -36,6 +36,7 @@ import com.navercorp.pinpoint.web.applicationmap.dao.MapAgentResponseDao;
 import com.navercorp.pinpoint.web.applicationmap.dao.MapInLinkDao;
 import com.navercorp.pinpoint.web.applicationmap.dao.MapOutLinkDao;
 import com.navercorp.pinpoint.web.applicationmap.dao.MapResponseDao;
+import com.navercorp.pinpoint.web.applicationmap.dao.cache.MapSlotCache;
 import com.navercorp.pinpoint.web.applicationmap.dao.hbase.HbaseHostApplicationMapDao;
 import com.navercorp.pinpoint.web.applicationmap.dao.hbase.HbaseMapAgentResponseTimeDao;
 import com.navercorp.pinpoint.web.applicationmap.dao.hbase.HbaseMapInLinkDao;
@@ -69,6 +70,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 @Configuration
@@ -151,9 +153,11 @@ public class MapV2DaoConfiguration {
                                                     ResultExtractorFactory<ApplicationResponse> resultExtractFactory,
                                                     MapScanFactory mapScanFactory,
                                                     @Qualifier("mapSelfRowKeyDistributor")
-                                                    RowKeyDistributorByHashPrefix rowKeyDistributor) {
+                                                    RowKeyDistributorByHashPrefix rowKeyDistributor,
+                                                    Optional<MapSlotCache> mapSlotCache) {
         HbaseColumnFamily table = HbaseTables.MAP_STATISTICS_SELF_VER2_COUNTER;
-        return new HbaseMapResponseDao(table, hbaseTemplate, tableNameProvider, resultExtractFactory, mapScanFactory, rowKeyDistributor);
+        MapResponseDao dao = new HbaseMapResponseDao(table, hbaseTemplate, tableNameProvider, resultExtractFactory, mapScanFactory, rowKeyDistributor);
+        return mapSlotCache.map(cache -> cache.wrap(dao)).orElse(dao);
     }
 
     @Bean
@@ -164,9 +168,11 @@ public class MapV2DaoConfiguration {
                                      RowMapperFactory<LinkDataMap> inLinkMapper,
                                      MapScanFactory mapScanFactory,
                                      @Qualifier("mapLinkRowKeyDistributor")
-                                     RowKeyDistributorByHashPrefix rowKeyDistributor) {
+                                     RowKeyDistributorByHashPrefix rowKeyDistributor,
+                                     Optional<MapSlotCache> mapSlotCache) {
         HbaseColumnFamily table = HbaseTables.MAP_STATISTICS_CALLER_VER2_COUNTER;
-        return new HbaseMapInLinkDao(table, hbaseTemplate, tableNameProvider, inLinkMapper, mapScanFactory, rowKeyDistributor);
+        MapInLinkDao dao = new HbaseMapInLinkDao(table, hbaseTemplate, tableNameProvider, inLinkMapper, mapScanFactory, rowKeyDistributor);
+        return mapSlotCache.map(cache -> cache.wrap(dao)).orElse(dao);
     }
 
     @Bean
@@ -177,9 +183,11 @@ public class MapV2DaoConfiguration {
                                        RowMapperFactory<LinkDataMap> outLinkMapper,
                                        MapScanFactory mapScanFactory,
                                        @Qualifier("mapLinkRowKeyDistributor")
-                                       RowKeyDistributorByHashPrefix rowKeyDistributor) {
+                                       RowKeyDistributorByHashPrefix rowKeyDistributor,
+                                       Optional<MapSlotCache> mapSlotCache) {
         HbaseColumnFamily table = HbaseTables.MAP_STATISTICS_CALLEE_VER2_COUNTER;
-        return new HbaseMapOutLinkDao(table, hbaseTemplate, tableNameProvider, outLinkMapper, mapScanFactory, rowKeyDistributor);
+        MapOutLinkDao dao = new HbaseMapOutLinkDao(table, hbaseTemplate, tableNameProvider, outLinkMapper, mapScanFactory, rowKeyDistributor);
+        return mapSlotCache.map(cache -> cache.wrap(dao)).orElse(dao);
     }
 
     @Bean
@@ -39,6 +39,7 @@ import com.navercorp.pinpoint.web.applicationmap.dao.MapAgentResponseDao;
 import com.navercorp.pinpoint.web.applicationmap.dao.MapInLinkDao;
 import com.navercorp.pinpoint.web.applicationmap.dao.MapOutLinkDao;
 import com.navercorp.pinpoint.web.applicationmap.dao.MapResponseDao;
+import com.navercorp.pinpoint.web.applicationmap.dao.cache.MapSlotCache;
 import com.navercorp.pinpoint.web.applicationmap.dao.hbase.HbaseHostApplicationMapDao;
 import com.navercorp.pinpoint.web.applicationmap.dao.hbase.HbaseMapAgentResponseTimeDao;
 import com.navercorp.pinpoint.web.applicationmap.dao.hbase.HbaseMapInLinkDao;
@@ -77,6 +78,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
 
@@ -196,9 +198,11 @@ public class MapV3DaoConfiguration {
                                                     @Qualifier("mapAppScanFactory")
                                                     MapScanFactory mapScanFactory,
                                                     @Qualifier("uidRowKeyDistributor")
-                                                    RowKeyDistributorByHashPrefix rowKeyDistributor) {
+                                                    RowKeyDistributorByHashPrefix rowKeyDistributor,
+                                                    Optional<MapSlotCache> mapSlotCache) {
         HbaseColumnFamily table = HbaseTables.MAP_APP_SELF;
-        return new HbaseMapResponseDao(table, hbaseTemplate, tableNameProvider, resultExtractFactory, mapScanFactory, rowKeyDistributor);
+        MapResponseDao dao = new HbaseMapResponseDao(table, hbaseTemplate, tableNameProvider, resultExtractFactory, mapScanFactory, rowKeyDistributor);
+        return mapSlotCache.map(cache -> cache.wrap(dao)).orElse(dao);
     }
 
     @Bean
@@ -210,9 +214,11 @@ public class MapV3DaoConfiguration {
                                      @Qualifier("mapLinkScanFactory")
                                      MapScanFactory mapScanFactory,
                                      @Qualifier("uidRowKeyDistributor")
-                                     RowKeyDistributorByHashPrefix rowKeyDistributor) {
+                                     RowKeyDistributorByHashPrefix rowKeyDistributor,
+                                     Optional<MapSlotCache> mapSlotCache) {
         HbaseColumnFamily table = HbaseTables.MAP_APP_IN;
-        return new HbaseMapInLinkDao(table, hbaseTemplate, tableNameProvider, inLinkMapper, mapScanFactory, rowKeyDistributor);
+        MapInLinkDao dao = new HbaseMapInLinkDao(table, hbaseTemplate, tableNameProvider, inLinkMapper, mapScanFactory, rowKeyDistributor);
+        return mapSlotCache.map(cache -> cache.wrap(dao)).orElse(dao);
     }
 
     @Bean
@@ -224,9 +230,11 @@ public class MapV3DaoConfiguration {
                                        @Qualifier("mapLinkScanFactory")
                                        MapScanFactory mapScanFactory,
                                        @Qualifier("uidRowKeyDistributor")
-                                       RowKeyDistributorByHashPrefix rowKeyDistributor) {
+                                       RowKeyDistributorByHashPrefix rowKeyDistributor,
+                                       Optional<MapSlotCache> mapSlotCache) {
         HbaseColumnFamily table = HbaseTables.MAP_APP_OUT;
-        return new HbaseMapOutLinkDao(table, hbaseTemplate, tableNameProvider, outLinkMapper, mapScanFactory, rowKeyDistributor);
+        MapOutLinkDao dao = new HbaseMapOutLinkDao(table, hbaseTemplate, tableNameProvider, outLinkMapper, mapScanFactory, rowKeyDistributor);
+        return mapSlotCache.map(cache -> cache.wrap(dao)).orElse(dao);
     }
 
     @Bean
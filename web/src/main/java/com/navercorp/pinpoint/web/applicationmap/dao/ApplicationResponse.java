@@ -22,9 +22,11 @@ import com.navercorp.pinpoint.web.applicationmap.histogram.Histogram;
 import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogram;
 import com.navercorp.pinpoint.web.vo.Application;
 import org.eclipse.collections.api.factory.primitive.LongObjectMaps;
+import org.eclipse.collections.api.map.primitive.LongObjectMap;
 import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -39,14 +41,17 @@ public class ApplicationResponse {
     // agentId is the key
     private final List<TimeHistogram> histograms;
     private final Set<String> agentIdMap;
+    private final LongObjectMap<Set<String>> timestampAgentIdMap;
 
 
     ApplicationResponse(Application application,
                         List<TimeHistogram> histograms,
-                        Set<String> agentIdMap) {
+                        Set<String> agentIdMap,
+                        LongObjectMap<Set<String>> timestampAgentIdMap) {
         this.application = Objects.requireNonNull(application, "application");
         this.histograms = Objects.requireNonNull(histograms, "histograms");
         this.agentIdMap = Objects.requireNonNull(agentIdMap, "agentIdMap");
+        this.timestampAgentIdMap = Objects.requireNonNull(timestampAgentIdMap, "timestampAgentIdMap");
     }
 
     public Application getApplication() {
@@ -58,6 +63,13 @@ public class ApplicationResponse {
         return agentIdMap;
     }
 
+    /**
+     * @return agentIds that reported the histogram of the given timestamp
+     */
+    public Set<String> getAgentIds(long timestamp) {
+        return timestampAgentIdMap.getIfAbsent(timestamp, Set::of);
+    }
+
 
     public List<TimeHistogram> getApplicationHistograms() {
         return histograms;
@@ -85,6 +97,7 @@ public class ApplicationResponse {
         private final MutableLongObjectMap<TimeHistogram> histogramMap;
         // agentId is the key
         private final Set<String> agentIdMap;
+        private final MutableLongObjectMap<Set<String>> timestampAgentIdMap;
 
         private final Application application;
 
@@ -92,6 +105,7 @@ public class ApplicationResponse {
             this.application = Objects.requireNonNull(application, "application");
             this.histogramMap = LongObjectMaps.mutable.of();
             this.agentIdMap = new HashSet<>();
+            this.timestampAgentIdMap = LongObjectMaps.mutable.of();
         }
 
         public Application getApplication() {
@@ -107,13 +121,13 @@ public class ApplicationResponse {
         }
 
         public void addResponseTime(String agentId, long timeStamp, short slotNumber, long count) {
-            this.agentIdMap.add(agentId);
+            addAgentId(agentId, timeStamp);
             TimeHistogram timeHistogram = getTimeHistogram(timeStamp);
             timeHistogram.addCallCount(slotNumber, count);
         }
 
         public void addResponseTimeBySlotCode(String agentId, long timeStamp, SlotCode code, long count) {
-            this.agentIdMap.add(agentId);
+            addAgentId(agentId, timeStamp);
             TimeHistogram timeHistogram = getTimeHistogram(timeStamp);
             timeHistogram.addCallCountByCode(code, count);
         }
@@ -127,24 +141,49 @@ public class ApplicationResponse {
             Objects.requireNonNull(agentId, "agentId");
             Objects.requireNonNull(copyHistogram, "copyHistogram");
 
-            this.agentIdMap.add(agentId);
+            addAgentId(agentId, timestamp);
+            TimeHistogram histogram = getTimeHistogram(timestamp);
+            histogram.add(copyHistogram);
+        }
+
+        public void addTimeHistogram(TimeHistogram copyHistogram, Collection<String> agentIds) {
+            Objects.requireNonNull(copyHistogram, "copyHistogram");
+            Objects.requireNonNull(agentIds, "agentIds");
+
+            final long timestamp = copyHistogram.getTimeStamp();
+            for (String agentId : agentIds) {
+                addAgentId(agentId, timestamp);
+            }
             TimeHistogram histogram = getTimeHistogram(timestamp);
             histogram.add(copyHistogram);
         }
 
+        public void addApplicationResponse(ApplicationResponse copyResponse) {
+            Objects.requireNonNull(copyResponse, "copyResponse");
+
+            for (TimeHistogram histogram : copyResponse.getApplicationHistograms()) {
+                addTimeHistogram(histogram, copyResponse.getAgentIds(histogram.getTimeStamp()));
+            }
+        }
+
         public void addResponseTime(String agentId, long timestamp, int elapsedTime, boolean error) {
             Objects.requireNonNull(agentId, "agentId");
 
-            this.agentIdMap.add(agentId);
+            addAgentId(agentId, timestamp);
 
             TimeHistogram histogram = getTimeHistogram(timestamp);
             histogram.addCallCountByElapsedTime(elapsedTime, error);
         }
 
+        private void addAgentId(String agentId, long timestamp) {
+            this.agentIdMap.add(agentId);
+            this.timestampAgentIdMap.getIfAbsentPut(timestamp, HashSet::new).add(agentId);
+        }
+
         public ApplicationResponse build() {
             List<TimeHistogram> list = new ArrayList<>(this.histogramMap.values());
             list.sort(TimeHistogram.TIME_STAMP_ASC_COMPARATOR);
-            return new ApplicationResponse(application, list, this.agentIdMap);
+            return new ApplicationResponse(application, list, this.agentIdMap, this.timestampAgentIdMap);
         }
     }
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.dao.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.navercorp.pinpoint.common.timeseries.time.Range;
+import com.navercorp.pinpoint.common.timeseries.window.DefaultTimeSlot;
+import com.navercorp.pinpoint.common.timeseries.window.FixedTimeWindowSampler;
+import com.navercorp.pinpoint.common.timeseries.window.TimeWindow;
+import com.navercorp.pinpoint.web.applicationmap.dao.MapInLinkDao;
+import com.navercorp.pinpoint.web.applicationmap.dao.MapOutLinkDao;
+import com.navercorp.pinpoint.web.applicationmap.dao.MapResponseDao;
+import com.navercorp.pinpoint.web.vo.Application;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.eclipse.collections.api.map.primitive.LongObjectMap;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Caches server map statistics per closed one-minute window slot.
+ * <p>
+ * Only the slots that are still open (or not cached yet) are read from HBase,
+ * so refreshing a "last 5 minutes" server map scans one or two minutes instead of the whole window.
+ * A slot is closed once {@code closeDelay} has elapsed after its end, which leaves time for the collector to flush.
+ * Windows with a slot size other than the statistics time slot are not cached.
+ */
+public class MapSlotCache implements MeterBinder {
+
+    public static final String CACHE_NAME = "serverMapSlotCache";
+
+    private static final long SLOT_SIZE = DefaultTimeSlot.ONE_MIN_RESOLUTION;
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final Cache<SlotKey, Object> cache;
+    private final long closeDelayMillis;
+    private final Clock clock;
+
+    public MapSlotCache(long maximumWeight, Duration closeDelay, Duration expireAfterAccess) {
+        this(maximumWeight, closeDelay, expireAfterAccess, Clock.systemUTC());
+    }
+
+    MapSlotCache(long maximumWeight, Duration closeDelay, Duration expireAfterAccess, Clock clock) {
+        Objects.requireNonNull(closeDelay, "closeDelay");
+        Objects.requireNonNull(expireAfterAccess, "expireAfterAccess");
+        this.closeDelayMillis = closeDelay.toMillis();
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((SlotKey key, Object value) -> key.codec().weight(value))
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+    }
+
+    public MapInLinkDao wrap(MapInLinkDao mapInLinkDao) {
+        Objects.requireNonNull(mapInLinkDao, "mapInLinkDao");
+        return (application, timeWindow) -> select(SlotCodec.IN_LINK, application, timeWindow,
+                window -> mapInLinkDao.selectInLink(application, window));
+    }
+
+    public MapOutLinkDao wrap(MapOutLinkDao mapOutLinkDao) {
+        Objects.requireNonNull(mapOutLinkDao, "mapOutLinkDao");
+        return (application, timeWindow) -> select(SlotCodec.OUT_LINK, application, timeWindow,
+                window -> mapOutLinkDao.selectOutLink(application, window));
+    }
+
+    public MapResponseDao wrap(MapResponseDao mapResponseDao) {
+        Objects.requireNonNull(mapResponseDao, "mapResponseDao");
+        return (application, timeWindow) -> select(SlotCodec.RESPONSE, application, timeWindow,
+                window -> mapResponseDao.selectApplicationResponse(application, window));
+    }
+
+    <T> T select(SlotCodec<T> codec, Application application, TimeWindow timeWindow, Function<TimeWindow, T> loader) {
+        Objects.requireNonNull(application, "application");
+        Objects.requireNonNull(timeWindow, "timeWindow");
+
+        if (timeWindow.getWindowSlotSize() != SLOT_SIZE) {
+            return loader.apply(timeWindow);
+        }
+
+        final long closedTime = clock.millis() - closeDelayMillis;
+        final List<Long> slots = timeWindow.getTimeseriesWindows();
+
+        final List<T> cached = new ArrayList<>(slots.size());
+        int firstMiss = 0;
+        for (; firstMiss < slots.size(); firstMiss++) {
+            final long slot = slots.get(firstMiss);
+            if (!isClosed(slot, closedTime)) {
+                break;
+            }
+            final T value = codec.cast(cache.getIfPresent(new SlotKey(codec, application, slot)));
+            if (value == null) {
+                break;
+            }
+            cached.add(value);
+        }
+
+        if (firstMiss == slots.size()) {
+            return codec.merge(application, timeWindow, cached, null);
+        }
+
+        final Range fetchRange = Range.between(slots.get(firstMiss), timeWindow.getWindowRange().getTo());
+        final TimeWindow fetchWindow = new TimeWindow(fetchRange, new FixedTimeWindowSampler(SLOT_SIZE));
+        final T fetched = loader.apply(fetchWindow);
+
+        final LongObjectMap<T> split = codec.split(application, fetched);
+        for (int i = firstMiss; i < slots.size(); i++) {
+            final long slot = slots.get(i);
+            if (!isClosed(slot, closedTime)) {
+                break;
+            }
+            final T value = split.get(slot);
+            cache.put(new SlotKey(codec, application, slot), value != null ? value : codec.empty(application));
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} {} cached slots:{} fetch:{}", codec, application, firstMiss, fetchRange);
+        }
+        return codec.merge(application, timeWindow, cached, fetched);
+    }
+
+    private boolean isClosed(long slot, long closedTime) {
+        return slot + SLOT_SIZE <= closedTime;
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME, Tags.empty());
+    }
+
+    private record SlotKey(SlotCodec<?> codec, Application application, long slot) {
+    }
+}
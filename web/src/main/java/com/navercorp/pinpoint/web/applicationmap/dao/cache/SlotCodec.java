@@ -0,0 +1,160 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.dao.cache;
+
+import com.navercorp.pinpoint.common.timeseries.window.TimeWindow;
+import com.navercorp.pinpoint.web.applicationmap.dao.ApplicationResponse;
+import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogram;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkCallData;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkData;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
+import com.navercorp.pinpoint.web.vo.Application;
+import org.eclipse.collections.api.factory.primitive.LongObjectMaps;
+import org.eclipse.collections.api.map.primitive.LongObjectMap;
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+
+import java.util.List;
+
+/**
+ * Splits a query result into per-slot values and merges them back.
+ * Cached values are never handed out, {@link #merge} always copies them into a new result.
+ */
+abstract class SlotCodec<T> {
+
+    static final SlotCodec<LinkDataMap> IN_LINK = new LinkDataMapCodec("inLink");
+    static final SlotCodec<LinkDataMap> OUT_LINK = new LinkDataMapCodec("outLink");
+    static final SlotCodec<ApplicationResponse> RESPONSE = new ApplicationResponseCodec("response");
+
+    private final String name;
+    private final Class<T> type;
+
+    private SlotCodec(String name, Class<T> type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    T cast(Object value) {
+        return type.cast(value);
+    }
+
+    int weight(Object value) {
+        return weight0(cast(value));
+    }
+
+    abstract int weight0(T value);
+
+    abstract T empty(Application application);
+
+    abstract LongObjectMap<T> split(Application application, T value);
+
+    /**
+     * @param fetched nullable
+     */
+    abstract T merge(Application application, TimeWindow timeWindow, List<T> cached, T fetched);
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static class LinkDataMapCodec extends SlotCodec<LinkDataMap> {
+
+        private LinkDataMapCodec(String name) {
+            super(name, LinkDataMap.class);
+        }
+
+        @Override
+        int weight0(LinkDataMap value) {
+            return 1 + value.getLinkDataSize();
+        }
+
+        @Override
+        LinkDataMap empty(Application application) {
+            return new LinkDataMap();
+        }
+
+        @Override
+        LongObjectMap<LinkDataMap> split(Application application, LinkDataMap value) {
+            final MutableLongObjectMap<LinkDataMap> result = LongObjectMaps.mutable.of();
+            for (LinkData linkData : value.getLinkDataList()) {
+                for (LinkCallData linkCallData : linkData.getLinkCallDataMap().getLinkDataList()) {
+                    for (TimeHistogram histogram : linkCallData.getTimeHistogram()) {
+                        final LinkData slotLinkData = new LinkData(linkData.getFromApplication(), linkData.getToApplication());
+                        slotLinkData.getLinkCallDataMap().addCallData(linkCallData.getSource(), linkCallData.getTarget(), List.of(histogram));
+
+                        result.getIfAbsentPut(histogram.getTimeStamp(), LinkDataMap::new).addLinkData(slotLinkData);
+                    }
+                }
+            }
+            return result;
+        }
+
+        @Override
+        LinkDataMap merge(Application application, TimeWindow timeWindow, List<LinkDataMap> cached, LinkDataMap fetched) {
+            final LinkDataMap result = new LinkDataMap(timeWindow);
+            for (LinkDataMap linkDataMap : cached) {
+                result.addLinkDataMap(linkDataMap);
+            }
+            if (fetched != null) {
+                result.addLinkDataMap(fetched);
+            }
+            return result;
+        }
+    }
+
+    private static class ApplicationResponseCodec extends SlotCodec<ApplicationResponse> {
+
+        private ApplicationResponseCodec(String name) {
+            super(name, ApplicationResponse.class);
+        }
+
+        @Override
+        int weight0(ApplicationResponse value) {
+            return 1 + value.getApplicationHistograms().size();
+        }
+
+        @Override
+        ApplicationResponse empty(Application application) {
+            return ApplicationResponse.newBuilder(application).build();
+        }
+
+        @Override
+        LongObjectMap<ApplicationResponse> split(Application application, ApplicationResponse value) {
+            final MutableLongObjectMap<ApplicationResponse> result = LongObjectMaps.mutable.of();
+            for (TimeHistogram histogram : value.getApplicationHistograms()) {
+                final long timestamp = histogram.getTimeStamp();
+
+                ApplicationResponse.Builder builder = ApplicationResponse.newBuilder(application);
+                builder.addTimeHistogram(histogram, value.getAgentIds(timestamp));
+                result.put(timestamp, builder.build());
+            }
+            return result;
+        }
+
+        @Override
+        ApplicationResponse merge(Application application, TimeWindow timeWindow, List<ApplicationResponse> cached, ApplicationResponse fetched) {
+            final ApplicationResponse.Builder builder = ApplicationResponse.newBuilder(application);
+            for (ApplicationResponse response : cached) {
+                builder.addApplicationResponse(response);
+            }
+            if (fetched != null) {
+                builder.addApplicationResponse(fetched);
+            }
+            return builder.build();
+        }
+    }
+}
@@ -26,7 +26,9 @@ import com.navercorp.pinpoint.web.vo.Application;
 import com.navercorp.pinpoint.web.vo.ResponseTime;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -77,32 +79,22 @@ public class AgentTimeHistogramBuilder {
             return new AgentHistogramList();
         }
 
-        // create window space. Prior to using a AgentHistogramList, we used a raw data structure.
-        // could've been a list, but since range overflow may occur when applying filters, we use a map instead.
-        // TODO: find better structure
-        final AgentHistogramList.Builder resultAgentHistogramBuilder = AgentHistogramList.newBuilder();
-        for (AgentHistogram agentHistogram : agentHistograms) {
-            List<TimeHistogram> timeHistogramList = new ArrayList<>();
-            for (Long time : window) {
-                timeHistogramList.add(new TimeHistogram(application.getServiceType(), time));
-            }
-            Application agentId = agentHistogram.getAgentId();
-            resultAgentHistogramBuilder.addTimeHistogram(agentId, timeHistogramList);
-        }
-
+        // create window space per agent. each agent accumulates into a single long[] matrix,
+        // TimeHistograms are created only once per window slot when building the result
+        final Map<Application, TimeHistogramStore> storeMap = new HashMap<>();
         for (AgentHistogram agentHistogram : agentHistograms) {
+            final Application agentId = agentHistogram.getAgentId();
+            final TimeHistogramStore store = storeMap.computeIfAbsent(agentId,
+                    k -> new TimeHistogramStore(k.getServiceType().getHistogramSchema(), window));
             for (TimeHistogram timeHistogram : agentHistogram.getTimeHistogram()) {
-                final long time = window.refineTimestamp(timeHistogram.getTimeStamp());
-                Application agentId = agentHistogram.getAgentId();
-
-                TimeHistogram newHistogram = new TimeHistogram(timeHistogram.getHistogramSchema(), time);
-                newHistogram.add(timeHistogram);
-
-                resultAgentHistogramBuilder.addTimeHistogram(agentId, newHistogram);
+                store.add(timeHistogram.getTimeStamp(), timeHistogram);
             }
         }
 
-        return resultAgentHistogramBuilder.build();
+        final List<AgentHistogram> result = new ArrayList<>(storeMap.size());
+        storeMap.forEach((agentId, store) -> result.add(AgentHistogram.of(agentId, store.build())));
+        result.sort(AgentHistogramList.AGENT_HISTOGRAM_COMPARATOR);
+        return new AgentHistogramList(result);
     }
 
 
@@ -16,7 +16,6 @@
 
 package com.navercorp.pinpoint.web.applicationmap.histogram;
 
-import com.google.common.collect.Ordering;
 import com.navercorp.pinpoint.common.timeseries.time.Range;
 import com.navercorp.pinpoint.common.timeseries.window.TimeWindow;
 import com.navercorp.pinpoint.common.timeseries.window.TimeWindowDownSampler;
@@ -25,8 +24,6 @@ import com.navercorp.pinpoint.web.vo.Application;
 import com.navercorp.pinpoint.web.vo.ResponseTime;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.eclipse.collections.api.factory.primitive.LongObjectMaps;
-import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
 
 import java.util.Collection;
 import java.util.List;
@@ -38,8 +35,6 @@ import java.util.Objects;
 public class ApplicationTimeHistogramBuilder {
     private final Logger logger = LogManager.getLogger(this.getClass());
 
-    private static final Ordering<TimeHistogram> histogramOrdering = Ordering.from(TimeHistogram.TIME_STAMP_ASC_COMPARATOR);
-
     private final Application application;
     private final TimeWindow window;
 
@@ -57,68 +52,50 @@ public class ApplicationTimeHistogramBuilder {
     public ApplicationTimeHistogram build(List<ResponseTime> responseHistogramList) {
         Objects.requireNonNull(responseHistogramList, "responseHistogramList");
 
-        MutableLongObjectMap<TimeHistogram> applicationLevelHistogram = LongObjectMaps.mutable.of();
-
+        final TimeHistogramStore store = newStore();
         for (ResponseTime responseTime : responseHistogramList) {
-            final long timeStamp = responseTime.getTimeStamp();
-            TimeHistogram timeHistogram = applicationLevelHistogram.get(timeStamp);
-            if (timeHistogram == null) {
-                timeHistogram = new TimeHistogram(application.getServiceType(), timeStamp);
-                applicationLevelHistogram.put(timeStamp, timeHistogram);
-            }
             // add each agent-level data
             Histogram applicationResponseHistogram = responseTime.getApplicationResponseHistogram();
-            timeHistogram.add(applicationResponseHistogram);
+            store.add(responseTime.getTimeStamp(), applicationResponseHistogram);
         }
-
-        return buildFromTimeHistogram(applicationLevelHistogram.values());
+        return build(store);
     }
 
     public ApplicationTimeHistogram buildFromTimeHistogram(Collection<TimeHistogram> applicationHistograms) {
         Objects.requireNonNull(applicationHistograms, "applicationHistograms");
 
-        List<TimeHistogram> histogramList = interpolation(applicationHistograms);
-        if (logger.isTraceEnabled()) {
-            for (TimeHistogram histogram : histogramList) {
-                logger.trace("applicationLevel histogram:{}", histogram);
-            }
+        final TimeHistogramStore store = newStore();
+        for (TimeHistogram timeHistogram : applicationHistograms) {
+            store.add(timeHistogram.getTimeStamp(), timeHistogram);
         }
-        return new ApplicationTimeHistogram(application, histogramList);
+        return build(store);
     }
 
     public ApplicationTimeHistogram build(Collection<LinkCallData> linkCallDataMapList) {
-        MutableLongObjectMap<TimeHistogram> applicationLevelHistogram = LongObjectMaps.mutable.of();
+        Objects.requireNonNull(linkCallDataMapList, "linkCallDataMapList");
+
+        final TimeHistogramStore store = newStore();
         for (LinkCallData linkCallData : linkCallDataMapList) {
             for (TimeHistogram timeHistogram : linkCallData.getTimeHistogram()) {
-                long timeStamp = timeHistogram.getTimeStamp();
-                TimeHistogram histogram = applicationLevelHistogram.get(timeStamp);
-                if (histogram == null) {
-                    histogram = new TimeHistogram(timeHistogram.getHistogramSchema(), timeStamp);
-                    applicationLevelHistogram.put(timeStamp, histogram);
-                }
-                histogram.add(timeHistogram);
+                store.add(timeHistogram.getTimeStamp(), timeHistogram);
             }
         }
-
-        return buildFromTimeHistogram(applicationLevelHistogram.values());
+        return build(store);
     }
 
-    private List<TimeHistogram> interpolation(Collection<TimeHistogram> histogramList) {
+    private TimeHistogramStore newStore() {
         // upon individual span query, "window time" alone may not be enough
-        //
-        MutableLongObjectMap<TimeHistogram> resultMap = LongObjectMaps.mutable.of();
-        for (Long time : window) {
-            resultMap.put(time, new TimeHistogram(application.getServiceType(), time));
-        }
-
-        for (TimeHistogram timeHistogram : histogramList) {
-            long time = window.refineTimestamp(timeHistogram.getTimeStamp());
+        return new TimeHistogramStore(application.getServiceType().getHistogramSchema(), window);
+    }
 
-            TimeHistogram windowHistogram = resultMap.getIfAbsentPutWithKey(time, t -> new TimeHistogram(application.getServiceType(), t));
-            windowHistogram.add(timeHistogram);
+    private ApplicationTimeHistogram build(TimeHistogramStore store) {
+        List<TimeHistogram> histogramList = store.build();
+        if (logger.isTraceEnabled()) {
+            for (TimeHistogram histogram : histogramList) {
+                logger.trace("applicationLevel histogram:{}", histogram);
+            }
         }
-
-        return histogramOrdering.sortedCopy(resultMap.values());
+        return new ApplicationTimeHistogram(application, histogramList);
     }
 
 }
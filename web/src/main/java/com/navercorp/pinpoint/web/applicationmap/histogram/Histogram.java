@@ -316,6 +316,43 @@ public class Histogram implements StatisticsHistogram {
         this.pingCount += histogram.getPingCount();
     }
 
+    // column layout used by TimeHistogramStore
+    static final int COLUMN_COUNT = 11;
+
+    /**
+     * accumulates the counters of this histogram into {@code columns[offset, offset + COLUMN_COUNT)}
+     */
+    void addTo(long[] columns, int offset) {
+        columns[offset] += fastCount;
+        columns[offset + 1] += normalCount;
+        columns[offset + 2] += slowCount;
+        columns[offset + 3] += verySlowCount;
+        columns[offset + 4] += fastErrorCount;
+        columns[offset + 5] += normalErrorCount;
+        columns[offset + 6] += slowErrorCount;
+        columns[offset + 7] += verySlowErrorCount;
+        columns[offset + 8] += sumElapsed;
+        columns[offset + 9] = Math.max(columns[offset + 9], maxElapsed);
+        columns[offset + 10] += pingCount;
+    }
+
+    /**
+     * adds the counters stored in {@code columns[offset, offset + COLUMN_COUNT)} to this histogram
+     */
+    void addFrom(long[] columns, int offset) {
+        this.fastCount += columns[offset];
+        this.normalCount += columns[offset + 1];
+        this.slowCount += columns[offset + 2];
+        this.verySlowCount += columns[offset + 3];
+        this.fastErrorCount += columns[offset + 4];
+        this.normalErrorCount += columns[offset + 5];
+        this.slowErrorCount += columns[offset + 6];
+        this.verySlowErrorCount += columns[offset + 7];
+        this.sumElapsed += columns[offset + 8];
+        updateMaxElapsed(columns[offset + 9]);
+        this.pingCount += columns[offset + 10];
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.histogram;
+
+import com.navercorp.pinpoint.common.timeseries.window.TimeWindow;
+import com.navercorp.pinpoint.common.trace.HistogramSchema;
+import org.eclipse.collections.api.factory.primitive.LongObjectMaps;
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Accumulates histograms of a {@link TimeWindow} in a single long[] matrix (window slot x histogram column)
+ * instead of one {@link TimeHistogram} per slot.
+ * TimeHistogram instances are only created once by {@link #build()}.
+ */
+final class TimeHistogramStore {
+
+    private final HistogramSchema schema;
+    private final TimeWindow window;
+    private final long windowFrom;
+    private final long windowSlotSize;
+    private final int windowSlotCount;
+
+    private final long[] columns;
+    // upon filtered queries, timestamps may fall outside the window range
+    private MutableLongObjectMap<TimeHistogram> overflow;
+
+    TimeHistogramStore(HistogramSchema schema, TimeWindow window) {
+        this.schema = Objects.requireNonNull(schema, "schema");
+        this.window = Objects.requireNonNull(window, "window");
+        this.windowFrom = window.getWindowRange().getFrom();
+        this.windowSlotSize = window.getWindowSlotSize();
+        this.windowSlotCount = window.getWindowRangeCount();
+        this.columns = new long[Math.multiplyExact(windowSlotCount, Histogram.COLUMN_COUNT)];
+    }
+
+    void add(long timestamp, Histogram histogram) {
+        Objects.requireNonNull(histogram, "histogram");
+        if (this.schema != histogram.getHistogramSchema()) {
+            throw new IllegalArgumentException("schema not equals. schema=" + schema + ", histogram=" + histogram);
+        }
+
+        final long time = window.refineTimestamp(timestamp);
+        final int index = slotIndex(time);
+        if (index == -1) {
+            getOverflow().getIfAbsentPutWithKey(time, t -> new TimeHistogram(schema, t)).add(histogram);
+            return;
+        }
+        histogram.addTo(columns, index * Histogram.COLUMN_COUNT);
+    }
+
+    private int slotIndex(long time) {
+        final long offset = time - windowFrom;
+        if (offset < 0 || offset % windowSlotSize != 0) {
+            return -1;
+        }
+        final long index = offset / windowSlotSize;
+        if (index >= windowSlotCount) {
+            return -1;
+        }
+        return (int) index;
+    }
+
+    private MutableLongObjectMap<TimeHistogram> getOverflow() {
+        if (overflow == null) {
+            overflow = LongObjectMaps.mutable.of();
+        }
+        return overflow;
+    }
+
+    /**
+     * @return one histogram per window slot, plus the out-of-window histograms, ordered by timestamp
+     */
+    List<TimeHistogram> build() {
+        final int overflowSize = overflow == null ? 0 : overflow.size();
+        final List<TimeHistogram> result = new ArrayList<>(windowSlotCount + overflowSize);
+        for (int i = 0; i < windowSlotCount; i++) {
+            final TimeHistogram histogram = new TimeHistogram(schema, windowFrom + i * windowSlotSize);
+            histogram.addFrom(columns, i * Histogram.COLUMN_COUNT);
+            result.add(histogram);
+        }
+        if (overflowSize != 0) {
+            result.addAll(overflow.values());
+            result.sort(TimeHistogram.TIME_STAMP_ASC_COMPARATOR);
+        }
+        return result;
+    }
+}
@@ -73,6 +73,13 @@ public class AgentHistogram {
         return timeHistogramList;
     }
 
+    /**
+     * @param timeHistogramList histograms of the agent, ordered by timestamp
+     */
+    public static AgentHistogram of(Application agentId, List<TimeHistogram> timeHistogramList) {
+        return new AgentHistogram(agentId, timeHistogramList);
+    }
+
     public static Builder newBuilder(Application agentId) {
         return new Builder(agentId);
     }
@@ -13,6 +13,9 @@ public class ScatterChartProperties {
     @Value("${web.scatter.hbase.value-filter.enabled:true}")
     private boolean enableHbaseValueFilter;
 
+    @Value("${web.scatter.downsampling.enabled:false}")
+    private boolean enableDownsampling;
+
     public boolean isEnableFuzzyRowFilter() {
         return enableFuzzyRowFilter;
     }
@@ -24,4 +27,8 @@ public class ScatterChartProperties {
     public boolean isEnableHbaseValueFilter() {
         return enableHbaseValueFilter;
     }
+
+    public boolean isEnableDownsampling() {
+        return enableDownsampling;
+    }
 }
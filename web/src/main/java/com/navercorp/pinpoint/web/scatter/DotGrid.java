@@ -0,0 +1,120 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.scatter;
+
+import com.navercorp.pinpoint.common.server.trace.ServerTraceId;
+import com.navercorp.pinpoint.web.scatter.vo.Dot;
+import com.navercorp.pinpoint.web.scatter.vo.DotCollector;
+import com.navercorp.pinpoint.web.scatter.vo.DotColumns;
+import org.eclipse.collections.api.factory.primitive.LongIntMaps;
+import org.eclipse.collections.api.map.primitive.MutableLongIntMap;
+
+import java.util.Arrays;
+
+/**
+ * Downsamples dots into the xGroupUnit/yGroupUnit grid of {@link ScatterDataBuilder} while they are scanned.
+ * Only the first dot of a cell (x, y, status) is kept, the following ones are merged into its thickness.
+ */
+public class DotGrid implements DotCollector {
+
+    private static final int NOT_FOUND = -1;
+
+    private final long from;
+    private final long to;
+    private final int xGroupUnitMillis;
+    private final int yGroupUnitMillis;
+
+    // cell -> index of the leader dot
+    private final MutableLongIntMap cells = LongIntMaps.mutable.empty();
+    private final DotColumns leaders = new DotColumns();
+    private int[] mergedDotSizes = new int[256];
+
+    private long oldestAcceptedTime = Long.MAX_VALUE;
+    private long latestAcceptedTime = Long.MIN_VALUE;
+
+    public DotGrid(long from, long to, int xGroupUnitMillis, int yGroupUnitMillis) {
+        if (xGroupUnitMillis <= 0) {
+            throw new IllegalArgumentException("xGroupUnitMillis must be positive");
+        }
+        if (yGroupUnitMillis <= 0) {
+            throw new IllegalArgumentException("yGroupUnitMillis must be positive");
+        }
+        this.from = from;
+        this.to = to;
+        this.xGroupUnitMillis = xGroupUnitMillis;
+        this.yGroupUnitMillis = yGroupUnitMillis;
+    }
+
+    @Override
+    public boolean merge(long acceptedTime, int elapsedTime, int exceptionCode) {
+        final int index = cells.getIfAbsent(cell(acceptedTime, elapsedTime, exceptionCode), NOT_FOUND);
+        if (index == NOT_FOUND) {
+            return false;
+        }
+        mergedDotSizes[index]++;
+        addAcceptedTime(acceptedTime);
+        return true;
+    }
+
+    @Override
+    public void add(ServerTraceId transactionId, long acceptedTime, int elapsedTime, int exceptionCode, String agentId) {
+        final int index = leaders.size();
+        leaders.add(transactionId, acceptedTime, elapsedTime, exceptionCode, agentId);
+        cells.put(cell(acceptedTime, elapsedTime, exceptionCode), index);
+
+        if (index == mergedDotSizes.length) {
+            mergedDotSizes = Arrays.copyOf(mergedDotSizes, index + (index >> 1));
+        }
+        addAcceptedTime(acceptedTime);
+    }
+
+    /**
+     * same grouping as {@link ScatterDataBuilder} : x, y coordinates and {@link Dot.Status}
+     */
+    private long cell(long acceptedTime, int elapsedTime, int exceptionCode) {
+        final long acceptedTimeDiff = acceptedTime - from;
+        final long x = Math.max(acceptedTimeDiff - (acceptedTimeDiff % xGroupUnitMillis), 0);
+        final int y = elapsedTime - (elapsedTime % yGroupUnitMillis);
+        final int status = exceptionCode == Dot.EXCEPTION_NONE ? 1 : 0;
+        return ((x / xGroupUnitMillis) << 33) | (Integer.toUnsignedLong(y) << 1) | status;
+    }
+
+    private void addAcceptedTime(long acceptedTime) {
+        oldestAcceptedTime = Math.min(oldestAcceptedTime, acceptedTime);
+        latestAcceptedTime = Math.max(latestAcceptedTime, acceptedTime);
+    }
+
+    /**
+     * @return number of leader dots
+     */
+    public int getCellSize() {
+        return leaders.size();
+    }
+
+    public ScatterData build() {
+        final ScatterDataBuilder builder = new ScatterDataBuilder(from, to, xGroupUnitMillis, yGroupUnitMillis);
+        for (int i = 0; i < leaders.size(); i++) {
+            builder.addDot(leaders.getTransactionId(i), leaders.getAcceptedTime(i), leaders.getElapsedTime(i),
+                    leaders.getExceptionCode(i), leaders.getAgentId(i), mergedDotSizes[i]);
+        }
+        if (!leaders.isEmpty()) {
+            builder.addAcceptedTime(oldestAcceptedTime);
+            builder.addAcceptedTime(latestAcceptedTime);
+        }
+        return builder.build();
+    }
+}
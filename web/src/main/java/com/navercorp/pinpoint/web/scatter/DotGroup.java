@@ -29,7 +29,8 @@ public class DotGroup {
 
     private final Coordinates coordinates;
     private final List<Dot> dotList;
-
+    // dots merged into the group without being materialized (downsampling)
+    private int mergedDotSize;
 
     public DotGroup(Coordinates coordinates) {
         this.coordinates = Objects.requireNonNull(coordinates, "coordinates");
@@ -44,12 +45,16 @@ public class DotGroup {
         dotList.add(dot);
     }
 
+    void addMergedDot(int count) {
+        mergedDotSize += count;
+    }
+
     public List<Dot> getDotList() {
         return dotList;
     }
 
     public int getDotSize() {
-        return dotList.size();
+        return dotList.size() + mergedDotSize;
     }
 
     public boolean isEmpty() {
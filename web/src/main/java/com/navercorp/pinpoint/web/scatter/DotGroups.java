@@ -43,6 +43,13 @@ public class DotGroups {
 
 
     void addDot(Coordinates coordinates, Dot dot) {
+        addDot(coordinates, dot, 0);
+    }
+
+    /**
+     * @param mergedDotSize number of dots represented by the given dot, in addition to itself
+     */
+    void addDot(Coordinates coordinates, Dot dot, int mergedDotSize) {
         Objects.requireNonNull(coordinates, "coordinates");
         Objects.requireNonNull(dot, "dot");
 
@@ -55,6 +62,9 @@ public class DotGroups {
         }
 
         dotGroup.addDot(dot);
+        if (mergedDotSize > 0) {
+            dotGroup.addMergedDot(mergedDotSize);
+        }
     }
 
 
@@ -69,7 +79,7 @@ public class DotGroups {
     public List<Dot> getSortedDotSet() {
         Collection<DotGroup> dotGroupList = dotGroupMap.values();
 
-        int size = getSize(dotGroupList, DotGroup::getDotSize);
+        int size = getSize(dotGroupList, dotGroup -> dotGroup.getDotList().size());
 
         List<Dot> dotList = new ArrayList<>(size);
         for (DotGroup dotGroup : dotGroupList) {
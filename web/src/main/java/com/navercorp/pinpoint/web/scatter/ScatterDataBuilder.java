@@ -15,8 +15,10 @@
 
 package com.navercorp.pinpoint.web.scatter;
 
+import com.navercorp.pinpoint.common.server.trace.ServerTraceId;
 import com.navercorp.pinpoint.web.scatter.vo.Dot;
 import com.navercorp.pinpoint.web.scatter.vo.DotAgentInfo;
+import com.navercorp.pinpoint.web.scatter.vo.DotColumns;
 import org.eclipse.collections.api.factory.primitive.LongObjectMaps;
 import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
 
@@ -64,27 +66,43 @@ public class ScatterDataBuilder {
         if (dot == null) {
             return;
         }
+        addDot(dot.getTransactionId(), dot.getAcceptedTime(), dot.getElapsedTime(), dot.getExceptionCode(), dot.getAgentId(), 0);
+    }
+
+    public void addDot(DotColumns dotColumns) {
+        for (int i = 0; i < dotColumns.size(); i++) {
+            addDot(dotColumns.getTransactionId(i), dotColumns.getAcceptedTime(i), dotColumns.getElapsedTime(i),
+                    dotColumns.getExceptionCode(i), dotColumns.getAgentId(i), 0);
+        }
+    }
 
-        final long acceptedTime = dot.getAcceptedTime();
+    /**
+     * @param mergedDotSize number of dots of the same group represented by this dot, in addition to itself
+     */
+    void addDot(ServerTraceId transactionId, long acceptedTime, int elapsedTime, int exceptionCode, String agentId, int mergedDotSize) {
         long acceptedTimeDiff = acceptedTime - from;
         long x = acceptedTimeDiff - (acceptedTimeDiff  % xGroupUnitMillis);
         if (x < 0) {
             x = 0L;
         }
-        int y = dot.getElapsedTime() - (dot.getElapsedTime() % yGroupUnitMillis);
+        int y = elapsedTime - (elapsedTime % yGroupUnitMillis);
 
         Coordinates coordinates = new Coordinates(x, y);
-        addDot(coordinates, new Dot(dot.getTransactionId(), acceptedTimeDiff, dot.getElapsedTime(), dot.getExceptionCode(), dot.getAgentId()));
+        addDot(coordinates, new Dot(transactionId, acceptedTimeDiff, elapsedTime, exceptionCode, agentId), mergedDotSize);
+
+        addAcceptedTime(acceptedTime);
+    }
 
+    void addAcceptedTime(long acceptedTime) {
         oldestAcceptedTime = Math.min(oldestAcceptedTime, acceptedTime);
         latestAcceptedTime = Math.max(latestAcceptedTime, acceptedTime);
     }
 
-    private void addDot(Coordinates coordinates, Dot dot) {
+    private void addDot(Coordinates coordinates, Dot dot, int mergedDotSize) {
         final long x = coordinates.x();
         DotGroups dotGroups = this.scatterData.getIfAbsentPut(x, () -> new DotGroups(x));
 
-        dotGroups.addDot(coordinates, dot);
+        dotGroups.addDot(coordinates, dot, mergedDotSize);
 
         scatterAgentMetadataRepository.addDotAgentInfo(new DotAgentInfo(dot));
     }
@@ -20,6 +20,7 @@ import com.navercorp.pinpoint.common.server.trace.ServerTraceId;
 import com.navercorp.pinpoint.common.timeseries.time.Range;
 import com.navercorp.pinpoint.web.scatter.DragAreaQuery;
 import com.navercorp.pinpoint.web.scatter.vo.Dot;
+import com.navercorp.pinpoint.web.scatter.vo.DotCollector;
 import com.navercorp.pinpoint.web.scatter.vo.DotMetaData;
 import com.navercorp.pinpoint.web.vo.LimitedScanResult;
 
@@ -37,6 +38,11 @@ public interface ApplicationTraceIndexDao {
 
     LimitedScanResult<List<Dot>> scanTraceScatterData(String applicationName, Range range, int limit, boolean scanBackward);
 
+    /**
+     * decodes the dots directly into the given collector instead of creating a {@link Dot} per transaction
+     */
+    <C extends DotCollector> LimitedScanResult<C> scanTraceScatterData(String applicationName, Range range, int limit, boolean scanBackward, C collector);
+
     LimitedScanResult<List<DotMetaData>> scanScatterDataV2(String applicationName, DragAreaQuery dragAreaQuery, int limit);
 
 }
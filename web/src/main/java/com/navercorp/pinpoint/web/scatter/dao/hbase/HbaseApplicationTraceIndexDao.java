@@ -40,7 +40,9 @@ import com.navercorp.pinpoint.web.scatter.ElpasedTimeDotPredicate;
 import com.navercorp.pinpoint.web.scatter.dao.ApplicationTraceIndexDao;
 import com.navercorp.pinpoint.web.scatter.dao.LastTimeListExtractor;
 import com.navercorp.pinpoint.web.scatter.dao.mapper.TraceIndexMetaScatterMapper;
+import com.navercorp.pinpoint.web.scatter.dao.mapper.TraceIndexScatterExtractor;
 import com.navercorp.pinpoint.web.scatter.vo.Dot;
+import com.navercorp.pinpoint.web.scatter.vo.DotCollector;
 import com.navercorp.pinpoint.web.scatter.vo.DotMetaData;
 import com.navercorp.pinpoint.web.util.ListListUtils;
 import com.navercorp.pinpoint.web.vo.LimitedScanResult;
@@ -245,6 +247,24 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
         return new LimitedScanResult<>(lastTime, dots);
     }
 
+    @Override
+    public <C extends DotCollector> LimitedScanResult<C> scanTraceScatterData(String applicationName, Range range, int limit, boolean scanBackward, C collector) {
+        Objects.requireNonNull(applicationName, "applicationName");
+        Objects.requireNonNull(range, "range");
+        Objects.requireNonNull(collector, "collector");
+        if (limit < 0) {
+            throw new IllegalArgumentException("negative limit:" + limit);
+        }
+        logger.debug("scanTraceScatterData collector:{}", collector.getClass().getSimpleName());
+
+        Scan scan = createScan(applicationName, range, scanBackward, -1);
+
+        TableName applicationTraceIndexTableName = tableNameProvider.getTableName(INDEX.getTable());
+        TraceIndexScatterExtractor<C> extractor = new TraceIndexScatterExtractor<>(collector, limit, range.getFrom());
+        return hbaseOperations.findParallel(applicationTraceIndexTableName, scan,
+                traceIdRowKeyDistributor, extractor, APPLICATION_TRACE_INDEX_NUM_PARTITIONS);
+    }
+
     private Predicate<Dot> buildDotPredicate(DragAreaQuery dragAreaQuery) {
         DragArea dragArea = dragAreaQuery.getDragArea();
         Predicate<Dot> filter = ElpasedTimeDotPredicate.newDragAreaDotPredicate(dragArea);
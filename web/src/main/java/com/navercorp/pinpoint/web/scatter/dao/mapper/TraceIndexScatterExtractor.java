@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.scatter.dao.mapper;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.OffsetFixedBuffer;
+import com.navercorp.pinpoint.common.hbase.HbaseTables;
+import com.navercorp.pinpoint.common.hbase.ResultsExtractor;
+import com.navercorp.pinpoint.common.server.trace.ServerTraceId;
+import com.navercorp.pinpoint.web.scatter.vo.DotCollector;
+import com.navercorp.pinpoint.web.vo.LimitedScanResult;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+
+import java.util.Objects;
+
+/**
+ * Decodes the application trace index rows straight into a {@link DotCollector}.
+ * Same limit semantics as {@link TraceIndexScatterMapper} with a LastRowResultsExtractor :
+ * the scan stops after the row which reaches the limit.
+ */
+public class TraceIndexScatterExtractor<C extends DotCollector> implements ResultsExtractor<LimitedScanResult<C>> {
+
+    private static final byte[] INDEX = HbaseTables.APPLICATION_TRACE_INDEX_TRACE.getName();
+
+    private final C collector;
+    private final int limit;
+    private final long fallbackLastTime;
+
+    public TraceIndexScatterExtractor(C collector, int limit, long fallbackLastTime) {
+        this.collector = Objects.requireNonNull(collector, "collector");
+        this.limit = limit;
+        this.fallbackLastTime = fallbackLastTime;
+    }
+
+    @Override
+    public LimitedScanResult<C> extractData(ResultScanner results) throws Exception {
+        int dotCount = 0;
+        long lastAcceptedTime = fallbackLastTime;
+        for (Result result : results) {
+            if (result.isEmpty()) {
+                continue;
+            }
+            final Cell[] rawCells = result.rawCells();
+            // all cells of a result share the row key
+            final Cell first = rawCells[0];
+            final long acceptedTime = TraceIndexScatterMapper.extractAcceptTime(first.getRowArray(), first.getRowOffset());
+            for (Cell cell : rawCells) {
+                if (CellUtil.matchingFamily(cell, INDEX)) {
+                    collect(cell, acceptedTime);
+                    dotCount++;
+                    lastAcceptedTime = acceptedTime;
+                }
+            }
+            if (dotCount >= limit) {
+                return new LimitedScanResult<>(lastAcceptedTime, collector);
+            }
+        }
+        return new LimitedScanResult<>(fallbackLastTime, collector);
+    }
+
+    private void collect(Cell cell, long acceptedTime) {
+        final Buffer valueBuffer = new OffsetFixedBuffer(cell.getValueArray(), cell.getValueOffset(), cell.getValueLength());
+        final int elapsed = valueBuffer.readVInt();
+        final int exceptionCode = valueBuffer.readSVInt();
+        if (collector.merge(acceptedTime, elapsed, exceptionCode)) {
+            return;
+        }
+        final String agentId = valueBuffer.readPrefixedString();
+        final ServerTraceId transactionId = ServerTraceId.decodeApplicationTraceIndexQualifier(cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength());
+        collector.add(transactionId, acceptedTime, elapsed, exceptionCode, agentId);
+    }
+}
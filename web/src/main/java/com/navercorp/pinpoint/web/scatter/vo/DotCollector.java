@@ -0,0 +1,36 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.scatter.vo;
+
+import com.navercorp.pinpoint.common.server.trace.ServerTraceId;
+
+/**
+ * Receives the dots of a trace index scan without materializing a {@link Dot} per transaction.
+ */
+public interface DotCollector {
+
+    /**
+     * Merges the dot into an already collected dot if possible.
+     * The transactionId and agentId of a merged dot are not decoded.
+     *
+     * @return {@code true} if the dot was merged, otherwise it has to be passed to {@link #add}
+     */
+    boolean merge(long acceptedTime, int elapsedTime, int exceptionCode);
+
+    void add(ServerTraceId transactionId, long acceptedTime, int elapsedTime, int exceptionCode, String agentId);
+
+}
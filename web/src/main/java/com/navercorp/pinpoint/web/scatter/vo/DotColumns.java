@@ -0,0 +1,154 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.scatter.vo;
+
+import com.navercorp.pinpoint.common.server.trace.ServerTraceId;
+import org.eclipse.collections.api.factory.primitive.ObjectIntMaps;
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Columnar store of dots, one primitive array per field.
+ * The agentId is dictionary encoded since a scatter has few agents and many dots.
+ */
+public class DotColumns implements DotCollector {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private int size;
+    private ServerTraceId[] transactionIds;
+    private long[] acceptedTimes;
+    private int[] elapsedTimes;
+    private int[] exceptionCodes;
+    private int[] agentIndexes;
+
+    private final List<String> agentIds = new ArrayList<>();
+    private final MutableObjectIntMap<String> agentIdIndex = ObjectIntMaps.mutable.empty();
+
+    public DotColumns() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DotColumns(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("negative initialCapacity:" + initialCapacity);
+        }
+        this.transactionIds = new ServerTraceId[initialCapacity];
+        this.acceptedTimes = new long[initialCapacity];
+        this.elapsedTimes = new int[initialCapacity];
+        this.exceptionCodes = new int[initialCapacity];
+        this.agentIndexes = new int[initialCapacity];
+    }
+
+    @Override
+    public boolean merge(long acceptedTime, int elapsedTime, int exceptionCode) {
+        return false;
+    }
+
+    @Override
+    public void add(ServerTraceId transactionId, long acceptedTime, int elapsedTime, int exceptionCode, String agentId) {
+        Objects.requireNonNull(transactionId, "transactionId");
+        Objects.requireNonNull(agentId, "agentId");
+
+        if (size == acceptedTimes.length) {
+            grow();
+        }
+        transactionIds[size] = transactionId;
+        acceptedTimes[size] = acceptedTime;
+        elapsedTimes[size] = elapsedTime;
+        exceptionCodes[size] = exceptionCode;
+        agentIndexes[size] = agentIndex(agentId);
+        size++;
+    }
+
+    private int agentIndex(String agentId) {
+        return agentIdIndex.getIfAbsentPutWithKey(agentId, key -> {
+            agentIds.add(key);
+            return agentIds.size() - 1;
+        });
+    }
+
+    private void grow() {
+        final int capacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+        transactionIds = Arrays.copyOf(transactionIds, capacity);
+        acceptedTimes = Arrays.copyOf(acceptedTimes, capacity);
+        elapsedTimes = Arrays.copyOf(elapsedTimes, capacity);
+        exceptionCodes = Arrays.copyOf(exceptionCodes, capacity);
+        agentIndexes = Arrays.copyOf(agentIndexes, capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public ServerTraceId getTransactionId(int index) {
+        Objects.checkIndex(index, size);
+        return transactionIds[index];
+    }
+
+    public long getAcceptedTime(int index) {
+        Objects.checkIndex(index, size);
+        return acceptedTimes[index];
+    }
+
+    public int getElapsedTime(int index) {
+        Objects.checkIndex(index, size);
+        return elapsedTimes[index];
+    }
+
+    public int getExceptionCode(int index) {
+        Objects.checkIndex(index, size);
+        return exceptionCodes[index];
+    }
+
+    public int getAgentIndex(int index) {
+        Objects.checkIndex(index, size);
+        return agentIndexes[index];
+    }
+
+    public String getAgentId(int index) {
+        return agentIds.get(getAgentIndex(index));
+    }
+
+    /**
+     * @return agentId dictionary, indexed by {@link #getAgentIndex(int)}
+     */
+    public List<String> getAgentIds() {
+        return agentIds;
+    }
+
+    public Dot getDot(int index) {
+        Objects.checkIndex(index, size);
+        return new Dot(transactionIds[index], acceptedTimes[index], elapsedTimes[index], exceptionCodes[index], agentIds.get(agentIndexes[index]));
+    }
+
+    @Override
+    public String toString() {
+        return "DotColumns{" +
+                "size=" + size +
+                ", agentIds=" + agentIds +
+                '}';
+    }
+}
@@ -20,11 +20,14 @@ import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.trace.ServerTraceId;
 import com.navercorp.pinpoint.common.timeseries.time.Range;
 import com.navercorp.pinpoint.common.util.CollectionUtils;
+import com.navercorp.pinpoint.web.config.ScatterChartProperties;
+import com.navercorp.pinpoint.web.scatter.DotGrid;
 import com.navercorp.pinpoint.web.scatter.ScatterData;
 import com.navercorp.pinpoint.web.scatter.ScatterDataBuilder;
 import com.navercorp.pinpoint.web.scatter.dao.ApplicationTraceIndexDao;
 import com.navercorp.pinpoint.web.scatter.dao.TraceIndexDao;
 import com.navercorp.pinpoint.web.scatter.vo.Dot;
+import com.navercorp.pinpoint.web.scatter.vo.DotColumns;
 import com.navercorp.pinpoint.web.trace.dao.TraceDao;
 import com.navercorp.pinpoint.web.trace.service.SpanService;
 import com.navercorp.pinpoint.web.util.ListListUtils;
@@ -55,14 +58,18 @@ public class ScatterChartServiceImpl implements ScatterChartService {
 
     private final SpanService spanService;
 
+    private final ScatterChartProperties scatterChartProperties;
+
     public ScatterChartServiceImpl(ApplicationTraceIndexDao applicationTraceIndexDao,
                                    TraceIndexDao traceIndexDao,
                                    TraceDao traceDao,
-                                   SpanService spanService) {
+                                   SpanService spanService,
+                                   ScatterChartProperties scatterChartProperties) {
         this.applicationTraceIndexDao = Objects.requireNonNull(applicationTraceIndexDao, "applicationTraceIndexDao");
         this.traceIndexDao = Objects.requireNonNull(traceIndexDao, "applicationTraceIndexV2Dao");
         this.traceDao = Objects.requireNonNull(traceDao, "traceDao");
         this.spanService = Objects.requireNonNull(spanService, "spanService");
+        this.scatterChartProperties = Objects.requireNonNull(scatterChartProperties, "scatterChartProperties");
     }
 
     /**
@@ -104,7 +111,12 @@ public class ScatterChartServiceImpl implements ScatterChartService {
     public ScatterData selectScatterData(String applicationName, Range range, int xGroupUnit, int yGroupUnit, int limit, boolean backwardDirection) {
         Objects.requireNonNull(applicationName, "applicationName");
         Objects.requireNonNull(range, "range");
-        LimitedScanResult<List<Dot>> scanResult = applicationTraceIndexDao.scanTraceScatterData(applicationName, range, limit, backwardDirection);
+        if (scatterChartProperties.isEnableDownsampling()) {
+            DotGrid dotGrid = new DotGrid(range.getFrom(), range.getTo(), xGroupUnit, yGroupUnit);
+            LimitedScanResult<DotGrid> scanResult = applicationTraceIndexDao.scanTraceScatterData(applicationName, range, limit, backwardDirection, dotGrid);
+            return scanResult.scanData().build();
+        }
+        LimitedScanResult<DotColumns> scanResult = applicationTraceIndexDao.scanTraceScatterData(applicationName, range, limit, backwardDirection, new DotColumns());
 
         ScatterDataBuilder builder = new ScatterDataBuilder(range.getFrom(), range.getTo(), xGroupUnit, yGroupUnit);
         builder.addDot(scanResult.scanData());
@@ -19,6 +19,8 @@ package com.navercorp.pinpoint.web.trace;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.config.SpanSerializeConfiguration;
 import com.navercorp.pinpoint.web.service.ProxyRequestTypeRegistryService;
 import com.navercorp.pinpoint.web.trace.callstacks.AnnotationRecordFormatter;
+import com.navercorp.pinpoint.web.trace.span.SpanParallelExecutor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -60,5 +62,16 @@ public class TraceConfiguration {
             }
             return builder.build();
         }
+
+        @Bean
+        public SpanParallelExecutor spanParallelExecutor(@Value("${web.trace.parallel.enable:false}") boolean enable,
+                                                         @Value("${web.trace.parallel.threads:0}") int threads,
+                                                         @Value("${web.trace.parallel.align.threshold:10000}") int alignThreshold,
+                                                         @Value("${web.trace.parallel.decode.threshold:64}") int decodeThreshold) {
+            if (!enable) {
+                return SpanParallelExecutor.serial();
+            }
+            return SpanParallelExecutor.newParallel(threads, alignThreshold, decodeThreshold);
+        }
     }
 }
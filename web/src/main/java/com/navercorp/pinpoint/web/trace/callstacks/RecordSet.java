@@ -31,6 +31,7 @@ public class RecordSet {
     private long endTime = -1;
 
     private List<Record> recordList;
+    private RecordStream recordStream;
     private String uri;
     private long beginTimestamp;
 
@@ -54,6 +55,17 @@ public class RecordSet {
         return recordList;
     }
 
+    public void setRecordStream(RecordStream recordStream) {
+        this.recordStream = recordStream;
+    }
+
+    /**
+     * @return records populated lazily while being consumed, {@code null} if the records are materialized
+     */
+    public RecordStream getRecordStream() {
+        return recordStream;
+    }
+
     public long getStartTime() {
         return startTime;
     }
@@ -151,6 +163,10 @@ public class RecordSet {
         this.focusCallStackId = focusCallStackId;
     }
 
+    public boolean isFocusCallStackIdSet() {
+        return focusCallStackId != -1;
+    }
+
     public String getServiceType() {
         return serviceType;
     }
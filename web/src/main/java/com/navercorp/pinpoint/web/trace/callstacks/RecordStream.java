@@ -0,0 +1,30 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.trace.callstacks;
+
+import java.util.function.Consumer;
+
+/**
+ * Produces the records of a call tree one by one instead of materializing them into a list.
+ * Every {@link #forEach(Consumer)} walks the call tree again from the root, not thread safe.
+ */
+@FunctionalInterface
+public interface RecordStream {
+
+    void forEach(Consumer<Record> action);
+
+}
@@ -40,6 +40,7 @@ import com.navercorp.pinpoint.web.trace.service.TransactionInfoService;
 import com.navercorp.pinpoint.web.trace.span.CallTreeIterator;
 import com.navercorp.pinpoint.web.trace.span.SpanFilters;
 import com.navercorp.pinpoint.web.trace.view.TraceViewerDataView;
+import com.navercorp.pinpoint.web.trace.view.StreamingTransactionCallTreeViewModel;
 import com.navercorp.pinpoint.web.trace.view.TransactionCallTreeViewModel;
 import com.navercorp.pinpoint.web.validation.NullOrNotBlank;
 import com.navercorp.pinpoint.web.view.LogLinkBuilder;
@@ -87,6 +88,9 @@ public class TransactionController {
     @Value("${web.callstack.selectSpans.limit:-1}")
     private int callstackSelectSpansLimit;
 
+    @Value("${web.callstack.streaming.enable:false}")
+    private boolean callstackStreaming;
+
 
     public TransactionController(MapProperties mapProperties,
                                  SpanService spanService,
@@ -164,9 +168,14 @@ public class TransactionController {
             spanResult = this.spanService.selectSpan(serverTraceId, spanMatchFilter, columnGetCount);
         }
         final CallTreeIterator callTreeIterator = spanResult.callTree();
+        final String traceIdStr = serverTraceId.toString();
+        if (callstackStreaming) {
+            final RecordSet recordSet = this.transactionInfoService.createStreamingRecordSet(callTreeIterator, spanMatchFilter);
+            final LogLinkView logLinkView = logLinkBuilder.build(traceIdStr, spanId, recordSet.getApplicationName(), recordSet.getStartTime());
+            return new StreamingTransactionCallTreeViewModel(traceIdStr, spanId, recordSet, spanResult.traceState(), logLinkView);
+        }
         final RecordSet recordSet = this.transactionInfoService.createRecordSet(callTreeIterator, spanMatchFilter);
 
-        final String traceIdStr = serverTraceId.toString();
         final LogLinkView logLinkView = logLinkBuilder.build(traceIdStr, spanId, recordSet.getApplicationName(), recordSet.getStartTime());
         return new TransactionCallTreeViewModel(traceIdStr, spanId, recordSet, spanResult.traceState(), logLinkView);
     }
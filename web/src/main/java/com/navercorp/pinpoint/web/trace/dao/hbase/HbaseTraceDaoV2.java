@@ -34,8 +34,10 @@ import com.navercorp.pinpoint.common.server.trace.ServerTraceId;
 import com.navercorp.pinpoint.web.dao.hbase.HBaseUtils;
 import com.navercorp.pinpoint.web.service.FetchResult;
 import com.navercorp.pinpoint.web.trace.dao.TraceDao;
+import com.navercorp.pinpoint.web.trace.dao.TraceIdFilterDao;
 import com.navercorp.pinpoint.web.trace.dao.mapper.SpanMapperFactory;
 import com.navercorp.pinpoint.web.vo.GetTraceInfo;
+import com.navercorp.pinpoint.web.vo.SpanHint;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.hadoop.hbase.CompareOperator;
@@ -52,8 +54,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -76,6 +80,8 @@ public class HbaseTraceDaoV2 implements TraceDao {
 
     private final SpanMapperFactory spanMapperFactory;
 
+    private final TraceIdFilterDao traceIdFilterDao;
+
     @Value("${web.hbase.selectSpans.limit:500}")
     private int selectSpansLimit;
 
@@ -90,11 +96,13 @@ public class HbaseTraceDaoV2 implements TraceDao {
     public HbaseTraceDaoV2(HbaseOperations template2,
                            TableNameProvider tableNameProvider,
                            @Qualifier("traceRowKeyEncoderV2") RowKeyEncoder<ServerTraceId> rowKeyEncoder,
-                           SpanMapperFactory spanMapperFactory) {
+                           SpanMapperFactory spanMapperFactory,
+                           TraceIdFilterDao traceIdFilterDao) {
         this.template2 = Objects.requireNonNull(template2, "template2");
         this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
         this.rowKeyEncoder = Objects.requireNonNull(rowKeyEncoder, "rowKeyEncoder");
         this.spanMapperFactory = Objects.requireNonNull(spanMapperFactory, "spanMapperFactory");
+        this.traceIdFilterDao = Objects.requireNonNull(traceIdFilterDao, "traceIdFilterDao");
     }
 
     @Override
@@ -134,6 +142,58 @@ public class HbaseTraceDaoV2 implements TraceDao {
         if (CollectionUtils.isEmpty(getTraceInfoList)) {
             return Collections.emptyList();
         }
+        final BitSet absent = findAbsent(getTraceInfoList);
+        if (absent.isEmpty()) {
+            return selectSpans0(getTraceInfoList, eachPartitionSize);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("skip absent traces {}/{}", absent.cardinality(), getTraceInfoList.size());
+        }
+
+        final List<GetTraceInfo> mightExist = new ArrayList<>(getTraceInfoList.size() - absent.cardinality());
+        for (int i = 0; i < getTraceInfoList.size(); i++) {
+            if (!absent.get(i)) {
+                mightExist.add(getTraceInfoList.get(i));
+            }
+        }
+        final Iterator<List<SpanBo>> selected = selectSpans0(mightExist, eachPartitionSize).iterator();
+        final List<List<SpanBo>> result = new ArrayList<>(getTraceInfoList.size());
+        for (int i = 0; i < getTraceInfoList.size(); i++) {
+            if (absent.get(i)) {
+                result.add(Collections.emptyList());
+            } else {
+                result.add(selected.next());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Only hinted lookups can use the filter, the hint tells the time bucket of the span.
+     */
+    private BitSet findAbsent(List<GetTraceInfo> getTraceInfoList) {
+        final BitSet absent = new BitSet();
+        if (!traceIdFilterDao.isEnabled()) {
+            return absent;
+        }
+        for (int i = 0; i < getTraceInfoList.size(); i++) {
+            final GetTraceInfo getTraceInfo = getTraceInfoList.get(i);
+            final SpanHint hint = getTraceInfo.getHint();
+            if (!hint.isSet()) {
+                continue;
+            }
+            final byte[] rowKey = rowKeyEncoder.encodeRowKey(getTraceInfo.getTransactionId());
+            if (!traceIdFilterDao.mightExist(hint.getCollectorAcceptorTime(), rowKey)) {
+                absent.set(i);
+            }
+        }
+        return absent;
+    }
+
+    private List<List<SpanBo>> selectSpans0(List<GetTraceInfo> getTraceInfoList, int eachPartitionSize) {
+        if (getTraceInfoList.isEmpty()) {
+            return Collections.emptyList();
+        }
         List<SpanQuery> spanQuery = getTraceInfoList.stream()
                 .map(this::toSpanQuery)
                 .collect(Collectors.toList());
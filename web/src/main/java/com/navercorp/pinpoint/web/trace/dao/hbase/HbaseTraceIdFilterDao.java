@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.trace.dao.hbase;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations;
+import com.navercorp.pinpoint.common.hbase.HbaseTables;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.common.server.trace.filter.TraceIdFilterBucket;
+import com.navercorp.pinpoint.common.server.trace.filter.TraceIdFilterRowKey;
+import com.navercorp.pinpoint.common.server.trace.filter.TraceIdFilterSnapshot;
+import com.navercorp.pinpoint.web.trace.dao.TraceIdFilterDao;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reads the bloom filters of an hour bucket from {@code TraceV2:F}.
+ * <p>
+ * Every bucket is cached for the same short time, even a bucket every collector has sealed:
+ * a late span taints the bucket again, and a cached bucket does not see the taint before it expires.
+ */
+@Repository
+public class HbaseTraceIdFilterDao implements TraceIdFilterDao {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private static final HbaseColumnFamily DESCRIPTOR = HbaseTables.TRACE_V2_ID_FILTER;
+
+    private static final TraceIdFilterBucket UNKNOWN = new TraceIdFilterBucket(Collections.emptyList());
+
+    private final HbaseOperations template2;
+    private final TableNameProvider tableNameProvider;
+
+    private final boolean enable;
+    private final Cache<Long, CachedBucket> cache;
+
+    public HbaseTraceIdFilterDao(HbaseOperations template2,
+                                 TableNameProvider tableNameProvider,
+                                 @Value("${web.trace.id-filter.enable:false}") boolean enable,
+                                 @Value("${web.trace.id-filter.cache.maximum-weight:134217728}") long maximumWeight,
+                                 @Value("${web.trace.id-filter.cache.expire:30s}") Duration expire) {
+        this.template2 = Objects.requireNonNull(template2, "template2");
+        this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
+        this.enable = enable;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((Long bucketStart, CachedBucket cached) -> cached.weight())
+                .expireAfterWrite(expire)
+                .build();
+        logger.info("TraceIdFilter enable:{}", enable);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enable;
+    }
+
+    @Override
+    public boolean mightExist(long collectorAcceptTime, byte[] traceRowKey) {
+        if (!enable) {
+            return true;
+        }
+        final long bucketStart = TraceIdFilterRowKey.bucketStart(collectorAcceptTime);
+        final TraceIdFilterBucket bucket;
+        try {
+            bucket = cache.get(bucketStart, this::selectBucket).bucket();
+        } catch (RuntimeException e) {
+            logger.warn("TraceIdFilter select failed. bucketStart:{}", bucketStart, e);
+            return true;
+        }
+        return bucket.mightContain(collectorAcceptTime, traceRowKey);
+    }
+
+    private CachedBucket selectBucket(long bucketStart) {
+        final Get get = new Get(TraceIdFilterRowKey.encodeRowKey(bucketStart));
+        get.addFamily(DESCRIPTOR.getName());
+
+        final TableName tableName = tableNameProvider.getTableName(DESCRIPTOR.getTable());
+        final CachedBucket cached = template2.get(tableName, get, (result, rowNum) -> newCachedBucket(bucketStart, result));
+        if (cached == null) {
+            return new CachedBucket(UNKNOWN, 1);
+        }
+        return cached;
+    }
+
+    private CachedBucket newCachedBucket(long bucketStart, Result result) {
+        if (result == null || result.isEmpty()) {
+            return new CachedBucket(UNKNOWN, 1);
+        }
+        final List<TraceIdFilterSnapshot> snapshots = new ArrayList<>(result.size());
+        int weight = 1;
+        for (Cell cell : result.rawCells()) {
+            try {
+                snapshots.add(TraceIdFilterSnapshot.decode(CellUtil.cloneValue(cell)));
+            } catch (RuntimeException e) {
+                logger.warn("Invalid TraceIdFilter. bucketStart:{}", bucketStart, e);
+                // a filter can not be ignored, the trace may be in it
+                return new CachedBucket(UNKNOWN, 1);
+            }
+            weight += cell.getValueLength();
+        }
+        return new CachedBucket(new TraceIdFilterBucket(snapshots), weight);
+    }
+
+    private record CachedBucket(TraceIdFilterBucket bucket, int weight) {
+    }
+}
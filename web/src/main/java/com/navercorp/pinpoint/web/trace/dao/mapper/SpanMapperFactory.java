@@ -22,6 +22,7 @@ import com.navercorp.pinpoint.common.server.bo.serializer.RowKeyDecoder;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanDecoder;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanDecoderV0;
 import com.navercorp.pinpoint.common.server.trace.ServerTraceId;
+import com.navercorp.pinpoint.web.trace.span.SpanParallelExecutor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -40,16 +41,22 @@ public class SpanMapperFactory {
 
     private final int stringCacheSize;
 
+    private final SpanParallelExecutor executor;
+
     private final RowMapper<List<SpanBo>> mapper;
 
-    private final SpanDecoder spanDecoder = new SpanDecoderV0();
+    private final SpanDecoder spanDecoder;
 
     public SpanMapperFactory(@Qualifier("traceRowKeyDecoderV2") RowKeyDecoder<ServerTraceId> rowKeyDecoder,
-                             @Value("${web.hbase.mapper.cache.string.size:-1}") int stringCacheSize) {
+                             @Value("${web.hbase.mapper.cache.string.size:-1}") int stringCacheSize,
+                             SpanParallelExecutor executor,
+                             SpanDecoderV0 spanDecoder) {
         this.rowKeyDecoder = Objects.requireNonNull(rowKeyDecoder, "rowKeyDecoder");
+        this.spanDecoder = Objects.requireNonNull(spanDecoder, "spanDecoder");
         this.stringCacheSize = stringCacheSize;
+        this.executor = Objects.requireNonNull(executor, "executor");
 
-        this.mapper = wrap(new SpanMapperV2(rowKeyDecoder, stringCacheSize));
+        this.mapper = wrap(new SpanMapperV2(rowKeyDecoder, spanDecoder, stringCacheSize, executor));
     }
 
     public RowMapper<List<SpanBo>> getSpanMapper() {
@@ -71,6 +78,6 @@ public class SpanMapperFactory {
         }
 
         final SpanDecoder targetSpanDecoder = new FilteringSpanDecoder(spanDecoder, spanFilter);
-        return new SpanMapperV2(rowKeyDecoder, targetSpanDecoder, stringCacheSize);
+        return new SpanMapperV2(rowKeyDecoder, targetSpanDecoder, stringCacheSize, executor);
     }
 }
@@ -32,10 +32,12 @@ import com.navercorp.pinpoint.common.server.bo.serializer.RowKeyDecoder;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanDecoder;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanDecoderV0;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanDecodingContext;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.compress.SpanValueCompression;
 import com.navercorp.pinpoint.common.server.trace.ServerTraceId;
 import com.navercorp.pinpoint.common.trace.ServiceTypeCategory;
 import com.navercorp.pinpoint.common.util.CollectionUtils;
 import com.navercorp.pinpoint.io.SpanVersion;
+import com.navercorp.pinpoint.web.trace.span.SpanParallelExecutor;
 import com.navercorp.pinpoint.web.util.OpenTelemetryAnnotationValueUtils;
 import org.apache.commons.lang3.Strings;
 import org.apache.hadoop.hbase.Cell;
@@ -66,6 +68,8 @@ public class SpanMapperV2 implements RowMapper<List<SpanBo>> {
 
     private final int cacheSize;
 
+    private final SpanParallelExecutor executor;
+
     public SpanMapperV2(RowKeyDecoder<ServerTraceId> rowKeyDecoder) {
         this(rowKeyDecoder, new SpanDecoderV0(), DISABLED_CACHE);
     }
@@ -79,9 +83,14 @@ public class SpanMapperV2 implements RowMapper<List<SpanBo>> {
     }
 
     public SpanMapperV2(RowKeyDecoder<ServerTraceId> rowKeyDecoder, SpanDecoder spanDecoder, int cacheSize) {
+        this(rowKeyDecoder, spanDecoder, cacheSize, SpanParallelExecutor.serial());
+    }
+
+    public SpanMapperV2(RowKeyDecoder<ServerTraceId> rowKeyDecoder, SpanDecoder spanDecoder, int cacheSize, SpanParallelExecutor executor) {
         this.rowKeyDecoder = Objects.requireNonNull(rowKeyDecoder, "rowKeyDecoder");
         this.spanDecoder = Objects.requireNonNull(spanDecoder, "spanDecoder");
         this.cacheSize = cacheSize;
+        this.executor = Objects.requireNonNull(executor, "executor");
     }
 
     @Override
@@ -99,12 +108,56 @@ public class SpanMapperV2 implements RowMapper<List<SpanBo>> {
         ListMultimap<AgentKey, SpanBo> spanMap = LinkedListMultimap.create();
         List<SpanChunkBo> spanChunkList = new ArrayList<>();
 
+        final List<BasicSpan> decodedList = decode(transactionId, rawCells);
+        for (BasicSpan decodeObject : decodedList) {
+            if (decodeObject instanceof SpanBo spanBo) {
+                if (logger.isTraceEnabled()) {
+                    logger.trace("spanBo:{}", spanBo);
+                }
+                AgentKey agentKey = newAgentKey(spanBo);
+                spanMap.put(agentKey, spanBo);
+            } else if (decodeObject instanceof SpanChunkBo spanChunkBo) {
+                if (logger.isTraceEnabled()) {
+                    logger.trace("spanChunkBo:{}", spanChunkBo);
+                }
+                spanChunkList.add(spanChunkBo);
+            }
+        }
+
+        return buildSpanBoList(spanMap, spanChunkList);
+
+    }
+
+    private List<BasicSpan> decode(ServerTraceId transactionId, Cell[] rawCells) {
+        if (!executor.isParallelDecode(rawCells.length)) {
+            return decode(transactionId, rawCells, 0, rawCells.length);
+        }
+        // columns are independent of each other, decode them in ranges and keep the column order
+        final int rangeSize = Math.max(rawCells.length / (executor.getParallelism() * 4), 1);
+        final List<CellRange> rangeList = new ArrayList<>();
+        for (int from = 0; from < rawCells.length; from += rangeSize) {
+            rangeList.add(new CellRange(from, Math.min(from + rangeSize, rawCells.length)));
+        }
+        final List<List<BasicSpan>> decodedRangeList = executor.map(rangeList,
+                (CellRange range) -> decode(transactionId, rawCells, range.from(), range.to()));
+
+        final List<BasicSpan> decodedList = new ArrayList<>(rawCells.length);
+        for (List<BasicSpan> decodedRange : decodedRangeList) {
+            decodedList.addAll(decodedRange);
+        }
+        return decodedList;
+    }
+
+    private List<BasicSpan> decode(ServerTraceId transactionId, Cell[] rawCells, int from, int to) {
+        final List<BasicSpan> decodedList = new ArrayList<>(to - from);
+
         final SpanDecodingContext decodingContext = new SpanDecodingContext(transactionId);
         if (cacheSize > 0) {
             decodingContext.setStringAllocator(new CachedStringAllocator(cacheSize));
         }
 
-        for (Cell cell : rawCells) {
+        for (int i = from; i < to; i++) {
+            final Cell cell = rawCells[i];
             SpanDecoder spanDecoder = null;
             // only if family name is "span"
             if (CellUtil.matchingFamily(cell, HbaseTables.TRACE_V2_SPAN.getName())) {
@@ -116,17 +169,8 @@ public class SpanMapperV2 implements RowMapper<List<SpanBo>> {
 
                 spanDecoder = resolveDecoder(columnValue);
                 final BasicSpan decodeObject = spanDecoder.decode(qualifier, columnValue, decodingContext);
-                if (decodeObject instanceof SpanBo spanBo) {
-                    if (logger.isTraceEnabled()) {
-                        logger.trace("spanBo:{}", spanBo);
-                    }
-                    AgentKey agentKey = newAgentKey(spanBo);
-                    spanMap.put(agentKey, spanBo);
-                } else if (decodeObject instanceof SpanChunkBo spanChunkBo) {
-                    if (logger.isTraceEnabled()) {
-                        logger.trace("spanChunkBo:{}", spanChunkBo);
-                    }
-                    spanChunkList.add(spanChunkBo);
+                if (decodeObject != null) {
+                    decodedList.add(decodeObject);
                 }
 
             } else {
@@ -138,10 +182,7 @@ public class SpanMapperV2 implements RowMapper<List<SpanBo>> {
             nextCell(spanDecoder, decodingContext);
         }
         decodingContext.finish();
-
-
-        return buildSpanBoList(spanMap, spanChunkList);
-
+        return decodedList;
     }
 
     private void nextCell(SpanDecoder spanDecoder, SpanDecodingContext decodingContext) {
@@ -154,7 +195,7 @@ public class SpanMapperV2 implements RowMapper<List<SpanBo>> {
 
     private SpanDecoder resolveDecoder(Buffer columnValue) {
         final byte version = columnValue.getByte(0);
-        if (SpanVersion.supportedVersionRange(version)) {
+        if (SpanVersion.supportedVersionRange(version) || SpanValueCompression.isCompressed(version)) {
             return this.spanDecoder;
         } else {
             throw new IllegalStateException("unsupported version" + version);
@@ -260,4 +301,7 @@ public class SpanMapperV2 implements RowMapper<List<SpanBo>> {
 
     private record AgentKey(String applicationName, String agentId, long spanId) {
     }
+
+    private record CellRange(int from, int to) {
+    }
 }
@@ -55,6 +55,7 @@ import com.navercorp.pinpoint.web.trace.span.CallTreeIterator;
 import com.navercorp.pinpoint.web.trace.span.CallTreeNode;
 import com.navercorp.pinpoint.web.trace.span.SpanAligner;
 import com.navercorp.pinpoint.web.trace.span.SpanCallTree;
+import com.navercorp.pinpoint.web.trace.span.SpanParallelExecutor;
 import com.navercorp.pinpoint.web.trace.span.TraceState;
 import com.navercorp.pinpoint.web.vo.agent.AgentInfo;
 import org.apache.commons.collections4.CollectionUtils;
@@ -101,6 +102,8 @@ public class SpanServiceImpl implements SpanService {
 
     private final AgentInfoService agentInfoService;
 
+    private final SpanParallelExecutor spanParallelExecutor;
+
     private final SqlNormalizer sqlNormalizer = new DefaultSqlNormalizer();
     private final OutputParameterParser outputParameterParser = new OutputParameterParser();
 
@@ -113,7 +116,8 @@ public class SpanServiceImpl implements SpanService {
                            ApiMetaDataDao apiMetaDataDao,
                            StringMetaDataDao stringMetaDataDao,
                            ServiceTypeRegistryService serviceTypeRegistryService,
-                           AgentInfoService agentInfoService) {
+                           AgentInfoService agentInfoService,
+                           SpanParallelExecutor spanParallelExecutor) {
         this.traceDao = Objects.requireNonNull(traceDao, "traceDao");
         this.sqlMetaDataDao = Objects.requireNonNull(sqlMetaDataDao, "sqlMetaDataDao");
         this.sqlUidMetaDataDao = Objects.requireNonNull(sqlUidMetaDataDao, "sqlUidMetaDataDao");
@@ -122,6 +126,7 @@ public class SpanServiceImpl implements SpanService {
         this.stringMetaDataDao = Objects.requireNonNull(stringMetaDataDao, "stringMetaDataDao");
         this.serviceTypeRegistryService = Objects.requireNonNull(serviceTypeRegistryService, "serviceTypeRegistryService");
         this.agentInfoService = Objects.requireNonNull(agentInfoService, "agentInfoService");
+        this.spanParallelExecutor = Objects.requireNonNull(spanParallelExecutor, "spanParallelExecutor");
 
         this.annotationCallback = newAnnotationCallback();
     }
@@ -188,7 +193,7 @@ public class SpanServiceImpl implements SpanService {
 
         final boolean isReachedLimit = columnGetCount.isReachedLimit(fetchResult.fetchCount());
 
-        final SpanAligner mainAligner = new SpanAligner(spans, filter, serviceTypeRegistryService);
+        final SpanAligner mainAligner = new SpanAligner(spans, filter, serviceTypeRegistryService, spanParallelExecutor);
         final CallTree mainTree = mainAligner.align();
 
         TraceState.State matchType = mainAligner.getMatchType();
@@ -233,7 +238,7 @@ public class SpanServiceImpl implements SpanService {
         }
         populateAgentName(linkedSpans);
 
-        final CallTree linkedTree = new SpanAligner(linkedSpans, filter, serviceTypeRegistryService).align();
+        final CallTree linkedTree = new SpanAligner(linkedSpans, filter, serviceTypeRegistryService, spanParallelExecutor).align();
         if (linkedTree.isEmpty()) {
             logger.warn("Linked tree empty after alignment. linkServerTraceId:{}", linkServerTraceId);
             return false;
@@ -726,7 +731,7 @@ public class SpanServiceImpl implements SpanService {
     }
 
     private SpanResult order(List<SpanBo> spans, Predicate<SpanBo> filter, boolean isReachedLimit) {
-        SpanAligner spanAligner = new SpanAligner(spans, filter, serviceTypeRegistryService);
+        SpanAligner spanAligner = new SpanAligner(spans, filter, serviceTypeRegistryService, spanParallelExecutor);
         final CallTree callTree = spanAligner.align();
 
         TraceState.State matchType = spanAligner.getMatchType();
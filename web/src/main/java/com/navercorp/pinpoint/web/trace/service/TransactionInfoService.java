@@ -27,4 +27,10 @@ import java.util.function.Predicate;
  */
 public interface TransactionInfoService {
     RecordSet createRecordSet(CallTreeIterator callTreeIterator, Predicate<SpanBo> viewPointFilter);
+
+    /**
+     * Same as {@link #createRecordSet(CallTreeIterator, Predicate)} but records are populated while
+     * {@link RecordSet#getRecordStream()} is consumed. The focus call stack id is resolved once the stream has passed the focus record.
+     */
+    RecordSet createStreamingRecordSet(CallTreeIterator callTreeIterator, Predicate<SpanBo> viewPointFilter);
 }
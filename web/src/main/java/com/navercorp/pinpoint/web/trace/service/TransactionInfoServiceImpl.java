@@ -44,6 +44,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
@@ -78,14 +79,56 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
         Objects.requireNonNull(callTreeIterator, "callTreeIterator");
         Objects.requireNonNull(viewPointFilter, "viewPointFilter");
 
-        RecordSet recordSet = new RecordSet();
         final List<Align> alignList = callTreeIterator.values();
+        final Align viewPointAlign = findViewPoint(alignList, viewPointFilter);
+        final RecordSet recordSet = newRecordSet(alignList, viewPointAlign);
+
+        final SpanAlignPopulate spanAlignPopulate = new SpanAlignPopulate();
+        List<Record> recordList = new ArrayList<>(callTreeIterator.size() * 2);
+        spanAlignPopulate.populateSpanRecord(callTreeIterator, recordList::add);
+        if (viewPointAlign != null) {
+            // mark the record to be used as focus
+            markFocusRecord(recordSet, recordList, viewPointAlign);
+        }
+
+        recordSet.setRecordList(recordList);
+
+        return recordSet;
+    }
+
+    @Override
+    public RecordSet createStreamingRecordSet(CallTreeIterator callTreeIterator, Predicate<SpanBo> viewPointFilter) {
+        Objects.requireNonNull(callTreeIterator, "callTreeIterator");
+        Objects.requireNonNull(viewPointFilter, "viewPointFilter");
+
+        final List<Align> alignList = callTreeIterator.alignView();
+        final Align viewPointAlign = findViewPoint(alignList, viewPointFilter);
+        final RecordSet recordSet = newRecordSet(alignList, viewPointAlign);
+
+        recordSet.setRecordStream((Consumer<Record> action) -> {
+            // every walk starts from the root
+            callTreeIterator.reset();
+            final SpanAlignPopulate spanAlignPopulate = new SpanAlignPopulate();
+            spanAlignPopulate.populateSpanRecord(callTreeIterator, (Record record) -> {
+                if (viewPointAlign != null && !recordSet.isFocusCallStackIdSet()) {
+                    // mark the record to be used as focus
+                    if (isFocusRecord(record, viewPointAlign)) {
+                        recordSet.setFocusCallStackId(record.getId());
+                    }
+                }
+                action.accept(record);
+            });
+        });
+        return recordSet;
+    }
+
+    private RecordSet newRecordSet(List<Align> alignList, Align viewPointAlign) {
+        RecordSet recordSet = new RecordSet();
 
         // finds and marks the viewPoint.base on focusTimestamp.
         // focusTimestamp is needed to determine which span to use as reference when there are more than 2 spans making up a transaction.
         // for cases where focus cannot be found due to an error, a separate marker is needed.
         // TODO potential error - because server time is used, there may be more than 2 focusTime due to differences in server times.
-        Align viewPointAlign = findViewPoint(alignList, viewPointFilter);
         // FIXME patched temporarily for cases where focusTimeSpanBo is not found. Need a more complete solution.
         if (viewPointAlign != null) {
             recordSet.setAgentId(viewPointAlign.getAgentId());
@@ -122,18 +165,10 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
 
         recordSet.setLoggingTransactionInfo(findIsLoggingTransactionInfo(alignList));
 
-        final SpanAlignPopulate spanAlignPopulate = new SpanAlignPopulate();
-        List<Record> recordList = spanAlignPopulate.populateSpanRecord(callTreeIterator);
         if (viewPointAlign != null) {
-            // mark the record to be used as focus
             long beginTimeStamp = viewPointAlign.getStartTime();
-
-            markFocusRecord(recordSet, recordList, viewPointAlign);
             recordSet.setBeginTimestamp(beginTimeStamp);
         }
-
-        recordSet.setRecordList(recordList);
-
         return recordSet;
     }
 
@@ -150,22 +185,24 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
     }
 
     private void markFocusRecord(RecordSet recordSet, List<Record> recordList, final Align viewPointTimeAlign) {
-        final String agentId = viewPointTimeAlign.getAgentId();
         for (Record record : recordList) {
-            if (viewPointTimeAlign.getSpanId() == record.getSpanId() && record.getBegin() == viewPointTimeAlign.getStartTime()) {
-                if (agentId == null) {
-                    if (record.getAgentId() == null) {
-                        recordSet.setFocusCallStackId(record.getId());
-                        break;
-                    }
-                } else {
-                    if (Strings.CS.equals(record.getAgentId(), record.getAgentId())) {
-                        recordSet.setFocusCallStackId(record.getId());
-                        break;
-                    }
-                }
+            if (isFocusRecord(record, viewPointTimeAlign)) {
+                recordSet.setFocusCallStackId(record.getId());
+                break;
+            }
+        }
+    }
+
+    static boolean isFocusRecord(Record record, final Align viewPointTimeAlign) {
+        if (viewPointTimeAlign.getSpanId() == record.getSpanId() && record.getBegin() == viewPointTimeAlign.getStartTime()) {
+            final String agentId = viewPointTimeAlign.getAgentId();
+            if (agentId == null) {
+                return record.getAgentId() == null;
+            } else {
+                return Strings.CS.equals(agentId, record.getAgentId());
             }
         }
+        return false;
     }
 
     // private void addlogLink(RecordSet recordSet) {
@@ -290,10 +327,10 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
     }
 
     private class SpanAlignPopulate {
-        private List<Record> populateSpanRecord(CallTreeIterator callTreeIterator) {
+        private void populateSpanRecord(CallTreeIterator callTreeIterator, Consumer<Record> recordList) {
             Objects.requireNonNull(callTreeIterator, "callTreeIterator");
+            Objects.requireNonNull(recordList, "recordList");
 
-            final List<Record> recordList = new ArrayList<>(callTreeIterator.size() * 2);
             final RecordFactory factory = recordFactoryProvider.getRecordFactory();
 
             // annotation id has nothing to do with spanAlign's seq and thus may be incremented as long as they don't overlap.
@@ -308,7 +345,7 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
                 if (metaDataFilter != null && metaDataFilter.filter(align, MetaData.API)) {
                     if (align.isSpan()) {
                         Record record = metaDataFilter.createRecord(node, factory);
-                        recordList.add(record);
+                        recordList.accept(record);
                     }
                     continue;
                 }
@@ -318,7 +355,7 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
                 }
 
                 final Record record = factory.get(node);
-                recordList.add(record);
+                recordList.accept(record);
 
                 // add error category record.(span only)
                 if (align.isSpan()) {
@@ -327,7 +364,7 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
                         Set<ErrorCategory> flagged = errorCategoryResolver.resolve(spanBo.getErrCode());
                         if (!flagged.isEmpty()) {
                             final Record errorCategoryRecord = factory.getErrorCategory(record.getTab() + 1, record.getId(), flagged);
-                            recordList.add(errorCategoryRecord);
+                            recordList.accept(errorCategoryRecord);
                         }
                     }
                 }
@@ -336,26 +373,26 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
                 if (align.hasException()) {
                     final Record exceptionRecord = factory.getException(record.getTab() + 1, record.getId(), align);
                     if (exceptionRecord != null) {
-                        recordList.add(exceptionRecord);
+                        recordList.accept(exceptionRecord);
                     }
                 }
 
                 // add annotation record.
                 if (!align.getAnnotationBoList().isEmpty()) {
                     final List<Record> annotations = factory.getAnnotations(record.getTab() + 1, record.getId(), align);
-                    recordList.addAll(annotations);
+                    annotations.forEach(recordList);
                 }
 
                 // add attribute record.
                 final Record attribute = factory.getAttribute(record.getTab() + 1, record.getId(), align);
                 if (attribute != null) {
-                    recordList.add(attribute);
+                    recordList.accept(attribute);
                 }
 
                 // add remote record.(span only)
                 if (align.getRemoteAddr() != null) {
                     final Record remoteAddressRecord = factory.getParameter(record.getTab() + 1, record.getId(), "REMOTE_ADDRESS", align.getRemoteAddr());
-                    recordList.add(remoteAddressRecord);
+                    recordList.accept(remoteAddressRecord);
                 }
 
                 // add endPoint.(span only)
@@ -364,12 +401,10 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
                     final String endPoint = spanBo.getEndPoint();
                     if (endPoint != null) {
                         final Record endPointRecord = factory.getParameter(record.getTab() + 1, record.getId(), "ENDPOINT", endPoint);
-                        recordList.add(endPointRecord);
+                        recordList.accept(endPointRecord);
                     }
                 }
             }
-
-            return recordList;
         }
     }
 }
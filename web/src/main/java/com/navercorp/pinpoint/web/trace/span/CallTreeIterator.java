@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.web.trace.span;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -253,6 +254,30 @@ public class CallTreeIterator implements Iterator<CallTreeNode> {
         return values;
     }
 
+    /**
+     * Aligns in visiting order, backed by the nodes of this iterator instead of a copy.
+     */
+    public List<Align> alignView() {
+        return new AbstractList<>() {
+            @Override
+            public Align get(int index) {
+                return nodes.get(index).getAlign();
+            }
+
+            @Override
+            public int size() {
+                return nodes.size();
+            }
+        };
+    }
+
+    /**
+     * Rewinds the iterator so that the call tree can be walked again.
+     */
+    public void reset() {
+        this.index = -1;
+    }
+
     public int size() {
         return nodes.size();
     }
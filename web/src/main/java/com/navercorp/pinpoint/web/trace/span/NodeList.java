@@ -39,15 +39,17 @@ public class NodeList implements Iterable<Node> {
     private final List<Node> nodeList;
 
     public static NodeList newNodeList(List<SpanBo> spans) {
+        return newNodeList(spans, SpanParallelExecutor.serial());
+    }
+
+    public static NodeList newNodeList(List<SpanBo> spans, SpanParallelExecutor executor) {
         Objects.requireNonNull(spans, "spans");
+        Objects.requireNonNull(executor, "executor");
         if (spans.isEmpty()) {
             return EMPTY;
         }
 
-        List<Node> list = new ArrayList<>(spans.size());
-        for (SpanBo span : spans) {
-            list.add(new Node(span));
-        }
+        List<Node> list = executor.map(spans, Node::new);
         list.sort(STARTTIME_COMPARATOR);
         return new NodeList(list);
     }
@@ -96,6 +98,10 @@ public class NodeList implements Iterable<Node> {
         return this.nodeList.get(index);
     }
 
+    public List<Node> values() {
+        return Collections.unmodifiableList(this.nodeList);
+    }
+
 
     public NodeList filter(Predicate<Node> filter) {
         Objects.requireNonNull(filter, "filter");
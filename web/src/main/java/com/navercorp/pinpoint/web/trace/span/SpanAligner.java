@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.web.trace.span;
 
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
 import com.navercorp.pinpoint.common.util.CollectionUtils;
 import com.navercorp.pinpoint.loader.service.ServiceTypeRegistryService;
 import org.apache.logging.log4j.LogManager;
@@ -46,9 +47,25 @@ public class SpanAligner {
     private final MetaSpanCallTreeFactory metaSpanCallTreeFactory = new MetaSpanCallTreeFactory();
     private final Predicate<CallTreeNode> callTreeNodeNonProductiveFilter;
 
+    private final SpanParallelExecutor executor;
+    private final boolean parallel;
+
 
     public SpanAligner(final List<SpanBo> spans, Predicate<SpanBo> filter, ServiceTypeRegistryService serviceTypeRegistryService) {
-        this.nodeList = NodeList.newNodeList(spans);
+        this(spans, filter, serviceTypeRegistryService, SpanParallelExecutor.serial());
+    }
+
+    public SpanAligner(final List<SpanBo> spans, Predicate<SpanBo> filter, ServiceTypeRegistryService serviceTypeRegistryService,
+                       SpanParallelExecutor executor) {
+        Objects.requireNonNull(spans, "spans");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.parallel = spans.size() > 1 && executor.isParallelAlign(countSpanEvent(spans));
+        if (parallel) {
+            logger.debug("Parallel align spans:{} {}", spans.size(), executor);
+            this.nodeList = NodeList.newNodeList(spans, executor);
+        } else {
+            this.nodeList = NodeList.newNodeList(spans);
+        }
         this.linkList = new LinkList();
 
         Objects.requireNonNull(filter, "filter");
@@ -82,25 +99,59 @@ public class SpanAligner {
         return callTree;
     }
 
+    static int countSpanEvent(List<SpanBo> spans) {
+        int count = 0;
+        for (SpanBo span : spans) {
+            count += CollectionUtils.nullSafeSize(span.getSpanEventBoList());
+            for (SpanChunkBo spanChunkBo : span.getSpanChunkBoList()) {
+                count += CollectionUtils.nullSafeSize(spanChunkBo.getSpanEventBoList());
+            }
+        }
+        return count;
+    }
+
     private void populate() {
+        if (parallel) {
+            // each span builds its own subtree, links are merged in node order so the result matches the serial path
+            final List<LinkList> nodeLinkList = executor.map(this.nodeList.values(), this::populateNode);
+            for (LinkList links : nodeLinkList) {
+                links.forEach(this.linkList::add);
+            }
+        } else {
+            for (Node node : this.nodeList) {
+                populateNode(node, this.linkList);
+            }
+        }
         for (Node node : this.nodeList) {
-            if (isDebug) {
-                SpanBo span = node.getSpanBo();
-                List<Align> alignList = node.getAlignList();
-                SpanAsyncEventMap asyncSpanEventMap = node.getAsyncSpanEventMap();
-                logger.debug("Populate span {parentSpanId={}, spanId={}, startTime={}, root={}, eventSize={}, asyncEventSize={}}", span.getParentSpanId(), span.getSpanId(), span.getStartTime(), span.isRoot(), alignList.size(), asyncSpanEventMap.size());
+            if (node.isCorrupted()) {
+                traceState.progress();
             }
+        }
+    }
 
-            populateSpanEvent(node, node.getSpanCallTree(), node.getAlignList());
+    private LinkList populateNode(Node node) {
+        final LinkList links = new LinkList();
+        populateNode(node, links);
+        return links;
+    }
+
+    private void populateNode(Node node, LinkList links) {
+        if (isDebug) {
+            SpanBo span = node.getSpanBo();
+            List<Align> alignList = node.getAlignList();
+            SpanAsyncEventMap asyncSpanEventMap = node.getAsyncSpanEventMap();
+            logger.debug("Populate span {parentSpanId={}, spanId={}, startTime={}, root={}, eventSize={}, asyncEventSize={}}", span.getParentSpanId(), span.getSpanId(), span.getStartTime(), span.isRoot(), alignList.size(), asyncSpanEventMap.size());
         }
+
+        populateSpanEvent(node, node.getSpanCallTree(), node.getAlignList(), links);
     }
 
-    private void populateSpanEvent(final Node node, final SpanCallTree spanCallTree, final List<Align> alignList) {
+    private void populateSpanEvent(final Node node, final SpanCallTree spanCallTree, final List<Align> alignList, final LinkList links) {
         // cursor tree
         SpanCallTree tree = spanCallTree;
         if (node.isOpentelemetry()) {
             SpanBo spanBo = node.getSpanBo();
-            addLink(spanBo.getParentSpanId(), spanBo.getSpanId(), node, tree);
+            addLink(spanBo.getParentSpanId(), spanBo.getSpanId(), node, tree, links);
         }
 
         if (CollectionUtils.isEmpty(alignList)) {
@@ -115,7 +166,6 @@ public class SpanAligner {
             } catch (CorruptedSpanCallTreeNodeException e) {
                 logger.warn("Corrupted span event {}", e.getMessage(), e);
                 node.setCorrupted(true);
-                traceState.progress();
 
                 final long startTimeMillis = align.getStartTime();
                 final SpanBo spanBo = node.getSpanBo();
@@ -126,13 +176,13 @@ public class SpanAligner {
             }
             // link
             if (node.isOpentelemetry()) {
-                addLink(align.getSpanBo().getParentSpanId(), align.getOpenTelemetrySpanId(), node, tree);
+                addLink(align.getSpanBo().getParentSpanId(), align.getOpenTelemetrySpanId(), node, tree, links);
             } else {
                 final long nextSpanId = align.getSpanEventBo().getNextSpanId();
                 if (nextSpanId != -1) {
                     // add linked call trees
                     final Link link = new Link(align.getSpanBo().getParentSpanId(), align.getSpanBo().getSpanId(), align.getSpanEventBo().getNextSpanId(), node, tree.getCursor());
-                    this.linkList.add(link);
+                    links.add(link);
                 }
 
                 // async
@@ -140,30 +190,30 @@ public class SpanAligner {
                 final SpanAsyncEventMap asyncSpanEventMap = node.getAsyncSpanEventMap();
 
                 for (List<Align> asyncAlignList : asyncSpanEventMap.getAsyncAlign(nextAsyncId)) {
-                    populateAsyncSpanEvent(node, tree, asyncAlignList);
+                    populateAsyncSpanEvent(node, tree, asyncAlignList, links);
                 }
             }
         }
     }
 
-    private void populateAsyncSpanEvent(final Node node, final SpanCallTree callTree, final List<Align> alignList) {
+    private void populateAsyncSpanEvent(final Node node, final SpanCallTree callTree, final List<Align> alignList, final LinkList links) {
         if (node.isCorrupted()) {
             // populate current call tree
-            populateSpanEvent(node, callTree, alignList);
+            populateSpanEvent(node, callTree, alignList, links);
         } else {
             // populate new call tree
             final Align align = new SpanAlign(node.getSpanBo());
             final SpanAsyncCallTree spanAsyncCallTree = new SpanAsyncCallTree(align);
-            populateSpanEvent(node, spanAsyncCallTree, alignList);
+            populateSpanEvent(node, spanAsyncCallTree, alignList, links);
             callTree.add(spanAsyncCallTree);
         }
     }
 
-    private void addLink(long parentSpanId, long spanId, Node node, SpanCallTree tree) {
+    private void addLink(long parentSpanId, long spanId, Node node, SpanCallTree tree, LinkList links) {
         List<Node> linkNodeList = linkMap.getFirstKey(spanId);
         for (Node linkNode : linkNodeList) {
             final Link link = new Link(parentSpanId, spanId, linkNode.getSpanBo().getSpanId(), node, tree.getCursor());
-            this.linkList.add(link);
+            links.add(link);
         }
     }
 
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.trace.span;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs per-span work (column decoding, call tree population) of large transactions on a ForkJoin pool.
+ * Transactions below the thresholds stay on the caller thread.
+ */
+public class SpanParallelExecutor implements AutoCloseable {
+
+    private static final SpanParallelExecutor SERIAL = new SpanParallelExecutor(null, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final ForkJoinPool pool;
+    private final int alignThreshold;
+    private final int decodeThreshold;
+
+    public static SpanParallelExecutor serial() {
+        return SERIAL;
+    }
+
+    public static SpanParallelExecutor newParallel(int parallelism, int alignThreshold, int decodeThreshold) {
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        final ForkJoinPool pool = new ForkJoinPool(parallelism, new WorkerThreadFactory("Pinpoint-SpanParallel-"), null, false);
+        return new SpanParallelExecutor(pool, alignThreshold, decodeThreshold);
+    }
+
+    SpanParallelExecutor(ForkJoinPool pool, int alignThreshold, int decodeThreshold) {
+        this.pool = pool;
+        this.alignThreshold = Math.max(alignThreshold, 1);
+        this.decodeThreshold = Math.max(decodeThreshold, 1);
+    }
+
+    /**
+     * @param spanEventCount number of span events of the transaction
+     */
+    public boolean isParallelAlign(int spanEventCount) {
+        return pool != null && spanEventCount >= alignThreshold;
+    }
+
+    /**
+     * @param columnCount number of span and span chunk columns of the transaction row
+     */
+    public boolean isParallelDecode(int columnCount) {
+        return pool != null && columnCount >= decodeThreshold;
+    }
+
+    public int getParallelism() {
+        if (pool == null) {
+            return 1;
+        }
+        return pool.getParallelism();
+    }
+
+    /**
+     * Applies the function to every element on the pool and returns the results in the order of the source list.
+     */
+    public <T, R> List<R> map(List<T> source, Function<T, R> function) {
+        Objects.requireNonNull(source, "source");
+        Objects.requireNonNull(function, "function");
+
+        if (pool == null) {
+            final List<R> result = new ArrayList<>(source.size());
+            for (T element : source) {
+                result.add(function.apply(element));
+            }
+            return result;
+        }
+
+        final List<Callable<R>> tasks = new ArrayList<>(source.size());
+        for (T element : source) {
+            tasks.add(() -> function.apply(element));
+        }
+        final List<Future<R>> futures = pool.invokeAll(tasks);
+
+        final List<R> result = new ArrayList<>(futures.size());
+        for (Future<R> future : futures) {
+            result.add(get(future));
+        }
+        return result;
+    }
+
+    private <R> R get(Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) {
+            logger.info("SpanParallelExecutor shutdown");
+            pool.shutdown();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SpanParallelExecutor{" +
+                "parallelism=" + getParallelism() +
+                ", alignThreshold=" + alignThreshold +
+                ", decodeThreshold=" + decodeThreshold +
+                '}';
+    }
+
+    private static class WorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private WorkerThreadFactory(String prefix) {
+            this.prefix = Objects.requireNonNull(prefix, "prefix");
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.trace.view;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import com.navercorp.pinpoint.web.trace.callstacks.Record;
+import com.navercorp.pinpoint.web.trace.callstacks.RecordSet;
+import com.navercorp.pinpoint.web.trace.callstacks.RecordStream;
+import com.navercorp.pinpoint.web.trace.span.TraceState;
+import com.navercorp.pinpoint.web.view.LogLinkView;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes the call stack record by record while the call tree is walked, so the records of a large transaction are never held in memory at once.
+ * The call tree itself stays in memory.
+ * The output has the same fields as {@link TransactionCallTreeViewModel}, except that {@code focusCallStackId} is written after {@code callStack}
+ * because it is only known once the focus record has been populated.
+ */
+@JsonSerialize(using = StreamingTransactionCallTreeViewModel.Serializer.class)
+public class StreamingTransactionCallTreeViewModel extends TransactionCallTreeViewModel {
+
+    private final RecordSet recordSet;
+
+    public StreamingTransactionCallTreeViewModel(String traceId, long spanId, RecordSet recordSet, TraceState.State state, LogLinkView logLinkView) {
+        super(traceId, spanId, recordSet, state, logLinkView);
+        this.recordSet = Objects.requireNonNull(recordSet, "recordSet");
+        Objects.requireNonNull(recordSet.getRecordStream(), "recordStream");
+    }
+
+    RecordStream getRecordStream() {
+        return recordSet.getRecordStream();
+    }
+
+    /**
+     * Walks the call tree again and holds every record, the serializer does not use it.
+     */
+    @Override
+    public List<CallStack> getCallStack() {
+        final List<CallStack> list = new ArrayList<>();
+        final CallStackMapper mapper = new CallStackMapper();
+        getRecordStream().forEach(record -> list.add(mapper.map(record)));
+        return list;
+    }
+
+    private static class CallStackMapper {
+        private boolean first = true;
+        private long barRatio = 0;
+
+        CallStack map(Record record) {
+            if (first) {
+                if (record.isMethod()) {
+                    barRatio = getBarRatio(record, barRatio);
+                }
+                first = false;
+            }
+            return new CallStack(record, barRatio);
+        }
+    }
+
+    public static class Serializer extends JsonSerializer<StreamingTransactionCallTreeViewModel> {
+
+        private final TransactionCallTreeCallStackSerializer callStackSerializer = new TransactionCallTreeCallStackSerializer();
+
+        @Override
+        public void serialize(StreamingTransactionCallTreeViewModel value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            jgen.writeStartObject();
+            jgen.writeStringField("uri", value.getUri());
+            jgen.writeStringField("transactionId", value.getTransactionId());
+            jgen.writeNumberField("spanId", value.getSpanId());
+            jgen.writeStringField("agentId", value.getAgentId());
+            jgen.writeStringField("agentName", value.getAgentName());
+            jgen.writeStringField("applicationName", value.getApplicationName());
+            jgen.writeStringField("serviceType", value.getServiceType());
+            jgen.writeNumberField("callStackStart", value.getCallStackStart());
+            jgen.writeNumberField("callStackEnd", value.getCallStackEnd());
+            jgen.writeStringField("completeState", value.getCompleteState());
+            jgen.writeBooleanField("loggingTransactionInfo", value.isLoggingTransactionInfo());
+            writeLogLink(value.getLogLink(), jgen, provider);
+            provider.defaultSerializeField("callStackIndex", value.getCallStackIndex(), jgen);
+
+            jgen.writeArrayFieldStart("callStack");
+            writeCallStack(value.getRecordStream(), jgen, provider);
+            jgen.writeEndArray();
+
+            jgen.writeNumberField("focusCallStackId", value.getFocusCallStackId());
+            jgen.writeEndObject();
+        }
+
+        private void writeLogLink(LogLinkView logLink, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            JsonSerializer<Object> serializer = provider.findValueSerializer(LogLinkView.class);
+            serializer.unwrappingSerializer(NameTransformer.NOP).serialize(logLink, jgen, provider);
+        }
+
+        private void writeCallStack(RecordStream recordStream, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+            final CallStackWriter writer = new CallStackWriter(jgen, provider);
+            try {
+                recordStream.forEach(writer::write);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        private class CallStackWriter {
+            private final JsonGenerator jgen;
+            private final SerializerProvider provider;
+
+            private final CallStackMapper mapper = new CallStackMapper();
+
+            private CallStackWriter(JsonGenerator jgen, SerializerProvider provider) {
+                this.jgen = jgen;
+                this.provider = provider;
+            }
+
+            void write(Record record) {
+                try {
+                    callStackSerializer.serialize(mapper.map(record), jgen, provider);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
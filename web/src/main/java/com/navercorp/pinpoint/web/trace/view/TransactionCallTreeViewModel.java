@@ -142,7 +142,7 @@ public class TransactionCallTreeViewModel {
         return list;
     }
 
-    private long getBarRatio(Record record, long barRatio) {
+    static long getBarRatio(Record record, long barRatio) {
         long begin = record.getBegin();
         long end = record.getBegin() + record.getElapsed();
         if (end - begin > 0) {
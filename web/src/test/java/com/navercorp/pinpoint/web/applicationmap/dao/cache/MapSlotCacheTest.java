@@ -0,0 +1,184 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.dao.cache;
+
+import com.navercorp.pinpoint.common.timeseries.time.Range;
+import com.navercorp.pinpoint.common.timeseries.window.FixedTimeWindowSampler;
+import com.navercorp.pinpoint.common.timeseries.window.TimeWindow;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.web.applicationmap.dao.ApplicationResponse;
+import com.navercorp.pinpoint.web.applicationmap.dao.MapOutLinkDao;
+import com.navercorp.pinpoint.web.applicationmap.dao.MapResponseDao;
+import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogram;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
+import com.navercorp.pinpoint.web.vo.Application;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MapSlotCacheTest {
+
+    private static final long MINUTE = 60_000;
+    private static final long BASE = 28_333_334 * MINUTE;
+
+    private final Application application = new Application("app", ServiceType.STAND_ALONE);
+    private final Application target = new Application("target", ServiceType.STAND_ALONE);
+
+    private final MutableClock clock = new MutableClock(BASE + 30_000);
+    private final MapSlotCache cache = new MapSlotCache(10_000, Duration.ofMinutes(2), Duration.ofMinutes(10), clock);
+
+    @Test
+    public void response_fetchOpenSlotsOnly() {
+        List<Range> fetched = new ArrayList<>();
+        MapResponseDao dao = cache.wrap((MapResponseDao) (app, window) -> {
+            fetched.add(window.getWindowRange());
+            return response(app, window);
+        });
+
+        TimeWindow window = oneMinuteWindow(BASE - 5 * MINUTE, BASE);
+        ApplicationResponse first = dao.selectApplicationResponse(application, window);
+        ApplicationResponse second = dao.selectApplicationResponse(application, window);
+
+        assertThat(fetched).containsExactly(
+                Range.between(BASE - 5 * MINUTE, BASE),
+                Range.between(BASE - 2 * MINUTE, BASE)
+        );
+        assertThat(second.getApplicationHistograms()).hasSize(6);
+        assertThat(totalCount(second)).isEqualTo(totalCount(first)).isEqualTo(6);
+        assertThat(second.getAgentIds(BASE - 5 * MINUTE)).containsExactly("agent-" + (BASE - 5 * MINUTE));
+        assertThat(second.getAgentIds()).hasSize(6);
+        assertThat(cache.getStats().hitCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void response_slidingWindow() {
+        List<Range> fetched = new ArrayList<>();
+        MapResponseDao dao = cache.wrap((MapResponseDao) (app, window) -> {
+            fetched.add(window.getWindowRange());
+            return response(app, window);
+        });
+
+        dao.selectApplicationResponse(application, oneMinuteWindow(BASE - 5 * MINUTE, BASE));
+        clock.millis += MINUTE;
+        ApplicationResponse response = dao.selectApplicationResponse(application, oneMinuteWindow(BASE - 4 * MINUTE, BASE + MINUTE));
+
+        assertThat(fetched).containsExactly(
+                Range.between(BASE - 5 * MINUTE, BASE),
+                Range.between(BASE - 2 * MINUTE, BASE + MINUTE)
+        );
+        assertThat(totalCount(response)).isEqualTo(6);
+    }
+
+    @Test
+    public void response_otherSlotSize_bypass() {
+        List<Range> fetched = new ArrayList<>();
+        MapResponseDao dao = cache.wrap((MapResponseDao) (app, window) -> {
+            fetched.add(window.getWindowRange());
+            return response(app, window);
+        });
+
+        TimeWindow window = new TimeWindow(Range.between(BASE - 50 * MINUTE, BASE), new FixedTimeWindowSampler(5 * MINUTE));
+        dao.selectApplicationResponse(application, window);
+        dao.selectApplicationResponse(application, window);
+
+        assertThat(fetched).hasSize(2);
+        assertThat(cache.getStats().requestCount()).isZero();
+    }
+
+    @Test
+    public void outLink_emptySlotCached() {
+        List<Range> fetched = new ArrayList<>();
+        MapOutLinkDao dao = cache.wrap((MapOutLinkDao) (app, window) -> {
+            fetched.add(window.getWindowRange());
+            LinkDataMap linkDataMap = new LinkDataMap(window);
+            for (Long slot : window) {
+                // no call in the first minute
+                if (slot != BASE - 5 * MINUTE) {
+                    linkDataMap.addLinkData(app, "agent", target, "target-agent", slot, (short) 100, 2);
+                }
+            }
+            return linkDataMap;
+        });
+
+        TimeWindow window = oneMinuteWindow(BASE - 5 * MINUTE, BASE);
+        LinkDataMap first = dao.selectOutLink(application, window);
+        LinkDataMap second = dao.selectOutLink(application, window);
+
+        assertThat(fetched).containsExactly(
+                Range.between(BASE - 5 * MINUTE, BASE),
+                Range.between(BASE - 2 * MINUTE, BASE)
+        );
+        assertThat(second.getTotalCount()).isEqualTo(first.getTotalCount()).isEqualTo(10);
+        assertThat(second.size()).isEqualTo(1);
+    }
+
+    private TimeWindow oneMinuteWindow(long from, long to) {
+        return new TimeWindow(Range.between(from, to), new FixedTimeWindowSampler(MINUTE));
+    }
+
+    private ApplicationResponse response(Application application, TimeWindow window) {
+        ApplicationResponse.Builder builder = ApplicationResponse.newBuilder(application);
+        for (Long slot : window) {
+            builder.addResponseTime("agent-" + slot, slot, 100, false);
+        }
+        return builder.build();
+    }
+
+    private long totalCount(ApplicationResponse response) {
+        long count = 0;
+        for (TimeHistogram histogram : response.getApplicationHistograms()) {
+            count += histogram.getTotalCount();
+        }
+        return count;
+    }
+
+    private static class MutableClock extends Clock {
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.histogram;
+
+import com.navercorp.pinpoint.common.timeseries.time.Range;
+import com.navercorp.pinpoint.common.timeseries.window.TimeWindow;
+import com.navercorp.pinpoint.common.trace.HistogramSchema;
+import com.navercorp.pinpoint.common.trace.HistogramSchemas;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TimeHistogramStoreTest {
+
+    private static final long MINUTE = 60000;
+
+    private final HistogramSchema schema = ServiceType.STAND_ALONE.getHistogramSchema();
+
+    @Test
+    public void build() {
+        TimeWindow window = new TimeWindow(Range.between(0, 4 * MINUTE));
+        TimeHistogramStore store = new TimeHistogramStore(schema, window);
+
+        store.add(MINUTE, histogram(MINUTE, 1000, 10));
+        store.add(MINUTE + 10, histogram(MINUTE, 3000, 20));
+        store.add(3 * MINUTE, histogram(3 * MINUTE, 100, 5));
+
+        List<TimeHistogram> result = store.build();
+
+        assertThat(result).extracting(TimeHistogram::getTimeStamp)
+                .containsExactly(0L, MINUTE, 2 * MINUTE, 3 * MINUTE, 4 * MINUTE);
+
+        TimeHistogram minute = result.get(1);
+        assertThat(minute.getHistogramSchema()).isSameAs(schema);
+        assertThat(minute.getFastCount()).isEqualTo(10);
+        assertThat(minute.getNormalCount()).isEqualTo(20);
+        assertThat(minute.getSumElapsed()).isEqualTo(10 * 1000 + 20 * 3000);
+        assertThat(minute.getMaxElapsed()).isEqualTo(3000);
+
+        assertThat(result.get(3).getFastCount()).isEqualTo(5);
+        assertThat(result.get(0).getTotalCount()).isZero();
+    }
+
+    @Test
+    public void build_outOfWindow() {
+        TimeWindow window = new TimeWindow(Range.between(2 * MINUTE, 3 * MINUTE));
+        TimeHistogramStore store = new TimeHistogramStore(schema, window);
+
+        store.add(0, histogram(0, 1000, 1));
+        store.add(10 * MINUTE, histogram(10 * MINUTE, 1000, 2));
+        store.add(10 * MINUTE, histogram(10 * MINUTE, 1000, 3));
+
+        List<TimeHistogram> result = store.build();
+
+        assertThat(result).extracting(TimeHistogram::getTimeStamp)
+                .containsExactly(0L, 2 * MINUTE, 3 * MINUTE, 10 * MINUTE);
+        assertThat(result.get(0).getFastCount()).isEqualTo(1);
+        assertThat(result.get(3).getFastCount()).isEqualTo(5);
+    }
+
+    @Test
+    public void add_schemaMismatch() {
+        TimeWindow window = new TimeWindow(Range.between(0, MINUTE));
+        TimeHistogramStore store = new TimeHistogramStore(schema, window);
+
+        TimeHistogram fast = new TimeHistogram(HistogramSchemas.FAST_SCHEMA, 0);
+
+        assertThatThrownBy(() -> store.add(0, fast))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private TimeHistogram histogram(long timestamp, int elapsed, int count) {
+        TimeHistogram histogram = new TimeHistogram(schema, timestamp);
+        for (int i = 0; i < count; i++) {
+            histogram.addCallCountByElapsedTime(elapsed, false);
+        }
+        return histogram;
+    }
+}
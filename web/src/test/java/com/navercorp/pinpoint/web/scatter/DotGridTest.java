@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.scatter;
+
+import com.navercorp.pinpoint.common.server.trace.PinpointServerTraceId;
+import com.navercorp.pinpoint.common.server.trace.ServerTraceId;
+import com.navercorp.pinpoint.web.scatter.vo.DotColumns;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DotGridTest {
+
+    private static final long FROM = 1_000_000;
+    private static final long TO = FROM + 60_000;
+    private static final int X_GROUP_UNIT = 1000;
+    private static final int Y_GROUP_UNIT = 100;
+
+    @Test
+    public void sameGroupsAsScatterDataBuilder() {
+        DotColumns columns = new DotColumns();
+        DotGrid grid = new DotGrid(FROM, TO, X_GROUP_UNIT, Y_GROUP_UNIT);
+
+        Random random = new Random(1234);
+        for (int i = 0; i < 5000; i++) {
+            ServerTraceId transactionId = new PinpointServerTraceId("txAgent", 1, i);
+            long acceptedTime = FROM + random.nextInt(60_000);
+            int elapsed = random.nextInt(3000);
+            int exceptionCode = random.nextInt(10) == 0 ? 1 : 0;
+            String agentId = "agent-" + random.nextInt(3);
+
+            columns.add(transactionId, acceptedTime, elapsed, exceptionCode, agentId);
+            if (!grid.merge(acceptedTime, elapsed, exceptionCode)) {
+                grid.add(transactionId, acceptedTime, elapsed, exceptionCode, agentId);
+            }
+        }
+
+        ScatterDataBuilder builder = new ScatterDataBuilder(FROM, TO, X_GROUP_UNIT, Y_GROUP_UNIT);
+        builder.addDot(columns);
+        ScatterData expected = builder.build();
+        ScatterData actual = grid.build();
+
+        assertThat(columns.size()).isEqualTo(5000);
+        assertThat(columns.getAgentIds()).hasSize(3);
+
+        assertThat(actual.getDotSize()).isEqualTo(expected.getDotSize()).isEqualTo(5000);
+        assertThat(actual.getOldestAcceptedTime()).isEqualTo(expected.getOldestAcceptedTime());
+        assertThat(actual.getLatestAcceptedTime()).isEqualTo(expected.getLatestAcceptedTime());
+        assertThat(actual.getScatterDataMap().keySet()).isEqualTo(expected.getScatterDataMap().keySet());
+        for (DotGroups expectedGroups : expected.getScatterData()) {
+            DotGroups actualGroups = actual.getScatterDataMap().get(expectedGroups.getXCoordinates());
+            assertThat(actualGroups.getDotGroupMap().keySet()).isEqualTo(expectedGroups.getDotGroupMap().keySet());
+            expectedGroups.getDotGroupMap().forEach((key, group) -> {
+                DotGroup actualGroup = actualGroups.getDotGroupMap().get(key);
+                assertThat(actualGroup.getDotList()).hasSize(1);
+                assertThat(actualGroup.getDotSize()).isEqualTo(group.getDotSize());
+                assertThat(actualGroup.getDotLeader().getTransactionId()).isEqualTo(group.getDotLeader().getTransactionId());
+            });
+        }
+        assertThat(grid.getCellSize()).isLessThan(columns.size());
+    }
+
+    @Test
+    public void empty() {
+        DotGrid grid = new DotGrid(FROM, TO, X_GROUP_UNIT, Y_GROUP_UNIT);
+        ScatterData scatterData = grid.build();
+
+        assertThat(scatterData.getDotSize()).isZero();
+        assertThat(scatterData.getOldestAcceptedTime()).isEqualTo(-1);
+    }
+}
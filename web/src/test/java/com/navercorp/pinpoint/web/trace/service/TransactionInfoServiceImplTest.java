@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.trace.service;
+
+import com.navercorp.pinpoint.common.server.bo.MethodTypeEnum;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.trace.PinpointServerTraceId;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.web.trace.callstacks.DefaultRecord;
+import com.navercorp.pinpoint.web.trace.callstacks.Record;
+import com.navercorp.pinpoint.web.trace.span.Align;
+import com.navercorp.pinpoint.web.trace.span.SpanAlign;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionInfoServiceImplTest {
+
+    @Test
+    void isFocusRecord() {
+        Align viewPoint = newAlign("agentA", 7, 1000);
+
+        assertThat(TransactionInfoServiceImpl.isFocusRecord(newRecord("agentA", 7, 1000), viewPoint)).isTrue();
+        // same span id and start time, recorded by another agent
+        assertThat(TransactionInfoServiceImpl.isFocusRecord(newRecord("agentB", 7, 1000), viewPoint)).isFalse();
+        assertThat(TransactionInfoServiceImpl.isFocusRecord(newRecord(null, 7, 1000), viewPoint)).isFalse();
+        assertThat(TransactionInfoServiceImpl.isFocusRecord(newRecord("agentA", 8, 1000), viewPoint)).isFalse();
+        assertThat(TransactionInfoServiceImpl.isFocusRecord(newRecord("agentA", 7, 1001), viewPoint)).isFalse();
+    }
+
+    private static Align newAlign(String agentId, long spanId, long startTime) {
+        SpanBo spanBo = new SpanBo();
+        spanBo.setTransactionId(new PinpointServerTraceId("agentA", 1, 1));
+        spanBo.setAgentId(agentId);
+        spanBo.setSpanId(spanId);
+        spanBo.setStartTime(startTime);
+        return new SpanAlign(spanBo);
+    }
+
+    private static Record newRecord(String agentId, long spanId, long begin) {
+        return new DefaultRecord(0, 1, 0, true, "title", "arguments", begin, 10, 0,
+                agentId, "agentName", "applicationName", ServiceType.STAND_ALONE, null, false, false,
+                "agentA^1^1", spanId, 0, MethodTypeEnum.DEFAULT, true, 0, null);
+    }
+}
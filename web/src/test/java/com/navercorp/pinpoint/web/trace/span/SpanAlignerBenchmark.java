@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.trace.span;
+
+import com.navercorp.pinpoint.common.hbase.HbaseTables;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanDecoderV0;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoder;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncoderV0;
+import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.SpanEncodingContext;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.loader.service.ServiceTypeRegistryService;
+import com.navercorp.pinpoint.web.trace.dao.mapper.SpanMapperV2;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Decodes a synthetic trace row of 50k span events and builds its call tree, serially and on a ForkJoin pool.
+ * <pre>
+ * java -cp &lt;test-classpath&gt; com.navercorp.pinpoint.web.trace.span.SpanAlignerBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SpanAlignerBenchmark {
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    @Param({"100"})
+    public int spans;
+
+    @Param({"500"})
+    public int eventsPerSpan;
+
+    private SpanParallelExecutor executor;
+    private SpanMapperV2 spanMapper;
+    private ServiceTypeRegistryService serviceTypeRegistryService;
+    private final Predicate<SpanBo> filter = SpanFilters.collectorAcceptTimeFilter(1);
+
+    private Result row;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if (parallel) {
+            this.executor = SpanParallelExecutor.newParallel(0, 1, 1);
+        } else {
+            this.executor = SpanParallelExecutor.serial();
+        }
+        this.spanMapper = new SpanMapperV2(rowKey -> SyntheticTrace.TRANSACTION_ID, new SpanDecoderV0(), -1, executor);
+
+        this.serviceTypeRegistryService = Mockito.mock(ServiceTypeRegistryService.class);
+        Mockito.when(serviceTypeRegistryService.findServiceType(Mockito.anyInt())).thenReturn(ServiceType.UNKNOWN);
+
+        this.row = newRow(SyntheticTrace.newSpanList(spans, eventsPerSpan));
+    }
+
+    private Result newRow(List<SpanBo> spanList) {
+        final SpanEncoder encoder = new SpanEncoderV0();
+        final byte[] rowKey = Bytes.toBytes("synthetic-trace");
+        final byte[] family = HbaseTables.TRACE_V2_SPAN.getName();
+
+        final Cell[] cells = new Cell[spanList.size()];
+        for (int i = 0; i < cells.length; i++) {
+            final SpanBo span = spanList.get(i);
+            final SpanEncodingContext<SpanBo> encodingContext = new SpanEncodingContext<>(span);
+            final byte[] qualifier = toBytes(encoder.encodeSpanQualifier(encodingContext));
+            final byte[] value = toBytes(encoder.encodeSpanColumnValue(encodingContext));
+            cells[i] = new KeyValue(rowKey, family, qualifier, span.getCollectorAcceptTime(), value);
+        }
+        return Result.create(cells);
+    }
+
+    private byte[] toBytes(ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public int decode() throws Exception {
+        return spanMapper.mapRow(row, 0).size();
+    }
+
+    @Benchmark
+    public CallTree decodeAndAlign() throws Exception {
+        final List<SpanBo> spanList = spanMapper.mapRow(row, 0);
+        final SpanAligner spanAligner = new SpanAligner(spanList, filter, serviceTypeRegistryService, executor);
+        return spanAligner.align();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SpanAlignerBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
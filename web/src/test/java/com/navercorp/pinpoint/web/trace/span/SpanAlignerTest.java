@@ -27,6 +27,8 @@ import org.mockito.Mockito;
 import java.util.List;
 import java.util.function.Predicate;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * @author jaehong.kim
  */
@@ -493,6 +495,29 @@ public class SpanAlignerTest {
         CallTreeAssert.assertDepth("loopSpanList", callTree, expectResult);
     }
 
+    @Test
+    public void parallelAlign() {
+        Predicate<SpanBo> filter = SpanFilters.collectorAcceptTimeFilter(1);
+
+        SpanAligner serialAligner = new SpanAligner(SyntheticTrace.newSpanList(16, 64), filter, serviceTypeRegistryService);
+        List<String> expected = toTreeString(serialAligner.align());
+
+        try (SpanParallelExecutor executor = SpanParallelExecutor.newParallel(4, 1, 1)) {
+            SpanAligner parallelAligner = new SpanAligner(SyntheticTrace.newSpanList(16, 64), filter, serviceTypeRegistryService, executor);
+            List<String> actual = toTreeString(parallelAligner.align());
+
+            assertThat(actual).hasSize(1 + 16 + 16 * (1 + 64));
+            assertThat(actual).containsExactlyElementsOf(expected);
+            assertThat(parallelAligner.getMatchType()).isEqualTo(serialAligner.getMatchType());
+        }
+    }
+
+    private List<String> toTreeString(CallTree callTree) {
+        return callTree.iterator().values().stream()
+                .map(align -> align.getDepth() + ":" + align.getSpanId() + ":" + align.isSpan() + ":" + align.getStartTime())
+                .toList();
+    }
+
     private SpanEventBo makeSpanEvent(int sequence, int depth, int nextSpanId) {
         return makeSpanEvent(sequence, depth, nextSpanId, 0);
     }
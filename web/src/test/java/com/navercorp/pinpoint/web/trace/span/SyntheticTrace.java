@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.trace.span;
+
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.server.trace.PinpointServerTraceId;
+import com.navercorp.pinpoint.common.server.trace.ServerTraceId;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Root span calling every child span once; each child span carries a fixed number of nested span events.
+ */
+public final class SyntheticTrace {
+
+    public static final ServerTraceId TRANSACTION_ID = new PinpointServerTraceId("agent-0", 1000, 1);
+
+    private SyntheticTrace() {
+    }
+
+    public static List<SpanBo> newSpanList(int childSpanCount, int eventsPerSpan) {
+        final List<SpanBo> spans = new ArrayList<>(childSpanCount + 1);
+
+        final SpanBo root = newSpan(-1, 1, 0, 1000);
+        for (int i = 0; i < childSpanCount; i++) {
+            root.addSpanEvent(newSpanEvent(i, 1, childSpanId(i)));
+        }
+        spans.add(root);
+
+        for (int i = 0; i < childSpanCount; i++) {
+            final SpanBo child = newSpan(1, childSpanId(i), i + 1, 1000 + i + 1);
+            for (int sequence = 0; sequence < eventsPerSpan; sequence++) {
+                // 1, 2, 3, 4, 2, 3, 4, ...
+                final int depth = sequence == 0 ? 1 : (sequence - 1) % 3 + 2;
+                child.addSpanEvent(newSpanEvent(sequence, depth, -1));
+            }
+            spans.add(child);
+        }
+        return spans;
+    }
+
+    private static long childSpanId(int index) {
+        return 100 + index;
+    }
+
+    private static SpanBo newSpan(long parentSpanId, long spanId, int agentIndex, long startTime) {
+        final SpanBo span = new SpanBo();
+        span.setTransactionId(TRANSACTION_ID);
+        span.setApplicationName("application-" + agentIndex % 8);
+        span.setAgentId("agent-" + agentIndex);
+        span.setParentSpanId(parentSpanId);
+        span.setSpanId(spanId);
+        span.setStartTime(startTime);
+        span.setElapsed(100);
+        span.setCollectorAcceptTime(startTime + 100);
+        return span;
+    }
+
+    private static SpanEventBo newSpanEvent(int sequence, int depth, long nextSpanId) {
+        final SpanEventBo event = new SpanEventBo();
+        event.setSequence((short) sequence);
+        event.setDepth(depth);
+        event.setNextSpanId(nextSpanId);
+        event.setStartElapsed(sequence);
+        event.setEndElapsed(1);
+        event.setServiceType((short) 5000);
+        return event;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2025 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.trace.view;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.server.trace.ApiParserProvider;
+import com.navercorp.pinpoint.common.server.trace.PinpointServerTraceId;
+import com.navercorp.pinpoint.common.server.util.json.Jackson;
+import com.navercorp.pinpoint.loader.service.AnnotationKeyRegistryService;
+import com.navercorp.pinpoint.loader.service.ServiceTypeRegistryService;
+import com.navercorp.pinpoint.web.component.AnnotationKeyMatcherService;
+import com.navercorp.pinpoint.web.trace.callstacks.AnnotationRecordFormatter;
+import com.navercorp.pinpoint.web.trace.callstacks.ParameterRecord;
+import com.navercorp.pinpoint.web.trace.callstacks.Record;
+import com.navercorp.pinpoint.web.trace.callstacks.RecordFactory;
+import com.navercorp.pinpoint.web.trace.callstacks.RecordSet;
+import com.navercorp.pinpoint.web.trace.service.RecorderFactoryProvider;
+import com.navercorp.pinpoint.web.trace.service.TransactionInfoService;
+import com.navercorp.pinpoint.web.trace.service.TransactionInfoServiceImpl;
+import com.navercorp.pinpoint.web.trace.span.CallTree;
+import com.navercorp.pinpoint.web.trace.span.SpanAlign;
+import com.navercorp.pinpoint.web.trace.span.SpanCallTree;
+import com.navercorp.pinpoint.web.trace.span.SpanEventAlign;
+import com.navercorp.pinpoint.web.trace.span.TraceState;
+import com.navercorp.pinpoint.web.view.LogLinkView;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StreamingTransactionCallTreeViewModelTest {
+
+    private final ObjectMapper mapper = Jackson.newMapper();
+
+    @Test
+    void sameAsMaterializedCallStack() throws Exception {
+        List<Record> records = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            records.add(new ParameterRecord(i % 5, i, i - 1, "method-" + i, "argument-" + i));
+        }
+        LogLinkView logLinkView = new LogLinkView(true, "log", "disabled", "http://localhost/log");
+
+        RecordSet recordSet = newRecordSet();
+        recordSet.setRecordList(records);
+        recordSet.setFocusCallStackId(10);
+        TransactionCallTreeViewModel expected = new TransactionCallTreeViewModel("agent^1^1", 1, recordSet, TraceState.State.COMPLETE, logLinkView);
+
+        RecordSet streamingRecordSet = newRecordSet();
+        streamingRecordSet.setRecordStream(action -> {
+            for (Record record : records) {
+                if (record.getId() == 10) {
+                    streamingRecordSet.setFocusCallStackId(record.getId());
+                }
+                action.accept(record);
+            }
+        });
+        TransactionCallTreeViewModel actual = new StreamingTransactionCallTreeViewModel("agent^1^1", 1, streamingRecordSet, TraceState.State.COMPLETE, logLinkView);
+
+        JsonNode expectedJson = mapper.readTree(mapper.writeValueAsString(expected));
+        JsonNode actualJson = mapper.readTree(mapper.writeValueAsString(actual));
+
+        assertThat(actualJson.get("callStack")).hasSize(100);
+        assertThat(actualJson.get("focusCallStackId").asInt()).isEqualTo(10);
+        assertThat(actualJson).isEqualTo(expectedJson);
+
+        assertThat(actual.getCallStack())
+                .usingRecursiveFieldByFieldElementComparator()
+                .isEqualTo(expected.getCallStack());
+    }
+
+    @Test
+    void callTreeIterator_walkedOnEveryUse() throws Exception {
+        TransactionInfoService transactionInfoService = newTransactionInfoService();
+        Predicate<SpanBo> viewPoint = spanBo -> spanBo.getSpanId() == 7;
+        LogLinkView logLinkView = new LogLinkView(true, "log", "disabled", "http://localhost/log");
+
+        RecordSet recordSet = transactionInfoService.createRecordSet(newCallTree().iterator(), viewPoint);
+        TransactionCallTreeViewModel expected = new TransactionCallTreeViewModel("agent^1^1", 7, recordSet, TraceState.State.COMPLETE, logLinkView);
+
+        RecordSet streamingRecordSet = transactionInfoService.createStreamingRecordSet(newCallTree().iterator(), viewPoint);
+        StreamingTransactionCallTreeViewModel actual = new StreamingTransactionCallTreeViewModel("agent^1^1", 7, streamingRecordSet, TraceState.State.COMPLETE, logLinkView);
+
+        // the call stack is read before and after serialization
+        List<TransactionCallTreeViewModel.CallStack> before = actual.getCallStack();
+        JsonNode actualJson = mapper.readTree(mapper.writeValueAsString(actual));
+        List<TransactionCallTreeViewModel.CallStack> after = actual.getCallStack();
+
+        JsonNode expectedJson = mapper.readTree(mapper.writeValueAsString(expected));
+        assertThat(actualJson.get("callStack")).hasSize(recordSet.getRecordList().size());
+        assertThat(actualJson.get("callStack")).isEqualTo(expectedJson.get("callStack"));
+        assertThat(actualJson.get("focusCallStackId").asInt())
+                .isEqualTo(recordSet.getFocusCallStackId())
+                .isNotZero();
+        assertThat(before).usingRecursiveFieldByFieldElementComparator().isEqualTo(expected.getCallStack());
+        assertThat(after).usingRecursiveFieldByFieldElementComparator().isEqualTo(expected.getCallStack());
+    }
+
+    private TransactionInfoService newTransactionInfoService() {
+        ServiceTypeRegistryService registry = mock(ServiceTypeRegistryService.class);
+        RecorderFactoryProvider recorderFactoryProvider = mock(RecorderFactoryProvider.class);
+        when(recorderFactoryProvider.getRecordFactory()).thenAnswer(invocation -> new RecordFactory(mock(AnnotationKeyMatcherService.class), registry,
+                mock(AnnotationKeyRegistryService.class), mock(AnnotationRecordFormatter.class), new ApiParserProvider()));
+        return new TransactionInfoServiceImpl(mock(AnnotationKeyMatcherService.class), Optional.empty(), recorderFactoryProvider, registry);
+    }
+
+    private CallTree newCallTree() {
+        SpanBo spanBo = new SpanBo();
+        spanBo.setTransactionId(PinpointServerTraceId.of("agent^1^1"));
+        spanBo.setAgentId("agent");
+        spanBo.setApplicationName("application");
+        spanBo.setSpanId(7);
+        spanBo.setStartTime(1000);
+        spanBo.setElapsed(100);
+        spanBo.setAnnotationBoList(new ArrayList<>());
+
+        CallTree callTree = new SpanCallTree(new SpanAlign(spanBo));
+        int[] depths = {1, 2, 2, 3, 1};
+        for (int i = 0; i < depths.length; i++) {
+            SpanEventBo spanEventBo = new SpanEventBo();
+            spanEventBo.setSequence((short) i);
+            spanEventBo.setDepth(depths[i]);
+            spanEventBo.setStartElapsed(i * 10);
+            spanEventBo.setEndElapsed(5);
+            spanEventBo.setAnnotationBoList(new ArrayList<>());
+            callTree.add(depths[i], new SpanEventAlign(spanBo, spanEventBo));
+        }
+        return callTree;
+    }
+
+    private RecordSet newRecordSet() {
+        RecordSet recordSet = new RecordSet();
+        recordSet.setAgentId("agent");
+        recordSet.setApplicationName("application");
+        recordSet.setStartTime(1000);
+        recordSet.setEndTime(2000);
+        return recordSet;
+    }
+}